@@ -24,6 +24,7 @@ import jakarta.persistence.MappedSuperclass;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.pipelineframework.id.IdGenerators;
 
 @Setter
 @Getter
@@ -35,6 +36,6 @@ public abstract class BaseEntity extends PanacheEntityBase {
   public UUID id;
 
   public BaseEntity() {
-    id = UUID.randomUUID();
+    id = IdGenerators.nextId();
   }
 }
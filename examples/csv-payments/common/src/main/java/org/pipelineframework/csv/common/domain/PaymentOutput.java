@@ -22,6 +22,7 @@ import com.opencsv.bean.CsvNumber;
 import jakarta.persistence.*;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Currency;
 import java.util.Objects;
 import java.util.UUID;
@@ -34,6 +35,10 @@ import lombok.*;
 public class PaymentOutput extends BaseEntity implements Serializable {
 
     @CsvIgnore @Transient private PaymentStatus paymentStatus;
+    @CsvIgnore private UUID paymentStatusId;
+
+    // Only set in slim-message mode, where paymentStatus is not sent along
+    @CsvIgnore @Transient private Path csvPaymentsInputFilePath;
 
     // en-UK locale to match the format of the (mock) payment service
     @CsvBindByName(column = "CSV Id")
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.util.Currency;
 import java.util.UUID;
 import lombok.Builder;
@@ -42,6 +43,8 @@ public class PaymentOutputDto implements Serializable {
   String message;
   BigDecimal fee;
   PaymentStatus paymentStatus;
+  UUID paymentStatusId;
+  Path csvPaymentsInputFilePath;
 
   // Lombok will generate the builder, but Jackson needs to know how to interpret it
   @JsonPOJOBuilder(withPrefix = "")
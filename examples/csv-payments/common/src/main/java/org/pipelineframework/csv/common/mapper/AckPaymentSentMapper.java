@@ -18,6 +18,7 @@ package org.pipelineframework.csv.common.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 import org.pipelineframework.csv.common.domain.AckPaymentSent;
@@ -66,4 +67,21 @@ public interface AckPaymentSentMapper extends org.pipelineframework.mapper.Mappe
   @Mapping(target = "message")
   @Mapping(target = "paymentRecord")
   AckPaymentSentDto fromGrpc(PaymentsProcessingSvc.AckPaymentSent grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "id", qualifiedByName = "uuidToString")
+  @Mapping(target = "paymentRecordId", qualifiedByName = "uuidToString")
+  @Mapping(target = "status", qualifiedByName = "longToString")
+  @Mapping(target = "paymentRecord", qualifiedByName = "toGrpcFromDomain")
+  PaymentsProcessingSvc.AckPaymentSent toGrpcFromDomain(AckPaymentSent domain);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", qualifiedByName = "stringToUUID")
+  @Mapping(target = "paymentRecordId", qualifiedByName = "stringToUUID")
+  @Mapping(target = "status", qualifiedByName = "stringToLong")
+  @Mapping(target = "paymentRecord", qualifiedByName = "fromGrpcToDomain")
+  AckPaymentSent fromGrpcToDomain(PaymentsProcessingSvc.AckPaymentSent grpc);
 }
@@ -67,11 +67,11 @@ public class CommonConverters {
 
   @Named("pathToString")
   public String pathToString(Path path) {
-    return path != null ? path.toString() : null;
+    return path != null ? path.toString() : "";
   }
 
   @Named("stringToPath")
   public Path stringToPath(String path) {
-    return path != null ? Path.of(path) : null;
+    return path == null || path.isBlank() ? null : Path.of(path);
   }
 }
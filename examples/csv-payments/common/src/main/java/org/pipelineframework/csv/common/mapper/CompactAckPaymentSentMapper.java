@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+import org.pipelineframework.csv.common.domain.AckPaymentSent;
+import org.pipelineframework.csv.common.dto.AckPaymentSentDto;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+
+@SuppressWarnings("unused")
+@Mapper(
+    componentModel = "jakarta",
+    uses = {CompactConverters.class, CompactPaymentRecordMapper.class},
+    imports = CompactConverters.class,
+    unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface CompactAckPaymentSentMapper extends org.pipelineframework.mapper.Mapper<PaymentsCompact.CompactAckPaymentSent, AckPaymentSentDto, AckPaymentSent> {
+
+  CompactAckPaymentSentMapper INSTANCE = Mappers.getMapper( CompactAckPaymentSentMapper.class );
+
+  // Domain ↔ DTO
+  @Override
+  AckPaymentSentDto toDto(AckPaymentSent domain);
+
+  @Override
+  AckPaymentSent fromDto(AckPaymentSentDto dto);
+
+  // DTO ↔ gRPC
+  @Override
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "conversationIdMsb", source = "conversationId.mostSignificantBits")
+  @Mapping(target = "conversationIdLsb", source = "conversationId.leastSignificantBits")
+  @Mapping(target = "paymentRecordIdMsb", source = "paymentRecordId.mostSignificantBits")
+  @Mapping(target = "paymentRecordIdLsb", source = "paymentRecordId.leastSignificantBits")
+  PaymentsCompact.CompactAckPaymentSent toGrpc(AckPaymentSentDto dto);
+
+  @Override
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "conversationId", expression = "java(CompactConverters.toUuid(grpc.getConversationIdMsb(), grpc.getConversationIdLsb()))")
+  @Mapping(target = "paymentRecordId", expression = "java(CompactConverters.toUuid(grpc.getPaymentRecordIdMsb(), grpc.getPaymentRecordIdLsb()))")
+  AckPaymentSentDto fromGrpc(PaymentsCompact.CompactAckPaymentSent grpc);
+}
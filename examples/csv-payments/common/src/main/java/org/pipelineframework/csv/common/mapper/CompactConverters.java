@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.mapstruct.Mapper;
+import org.mapstruct.Named;
+
+/**
+ * Converters for the compact wire schema (payments_compact.proto).
+ *
+ * <p>UUIDs travel as two fixed64 halves, money as int64 minor units plus a scale, and currencies
+ * as their numeric ISO 4217 code. Zero values stand for "not set", matching proto3 defaults.
+ */
+@Mapper(componentModel = "jakarta")
+public class CompactConverters {
+
+  private static final Map<Integer, Currency> CURRENCIES_BY_NUMERIC_CODE = new HashMap<>();
+
+  static {
+    for (Currency currency : Currency.getAvailableCurrencies()) {
+      int numericCode = currency.getNumericCode();
+      if (numericCode > 0) {
+        CURRENCIES_BY_NUMERIC_CODE.putIfAbsent(numericCode, currency);
+      }
+    }
+  }
+
+  public static UUID toUuid(long mostSigBits, long leastSigBits) {
+    return mostSigBits == 0L && leastSigBits == 0L ? null : new UUID(mostSigBits, leastSigBits);
+  }
+
+  public static BigDecimal toBigDecimal(long minorUnits, int scale) {
+    return BigDecimal.valueOf(minorUnits, scale);
+  }
+
+  @Named("toMinorUnits")
+  public long toMinorUnits(BigDecimal value) {
+    // Fails fast rather than silently truncating amounts beyond 19 significant digits
+    return value != null ? value.unscaledValue().longValueExact() : 0L;
+  }
+
+  @Named("toScale")
+  public int toScale(BigDecimal value) {
+    return value != null ? value.scale() : 0;
+  }
+
+  @Named("currencyToNumeric")
+  public int currencyToNumeric(Currency currency) {
+    return currency != null ? currency.getNumericCode() : 0;
+  }
+
+  @Named("numericToCurrency")
+  public Currency numericToCurrency(int numericCode) {
+    return numericCode != 0 ? CURRENCIES_BY_NUMERIC_CODE.get(numericCode) : null;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+import org.pipelineframework.csv.common.domain.PaymentOutput;
+import org.pipelineframework.csv.common.dto.PaymentOutputDto;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+
+@SuppressWarnings("unused")
+@Mapper(
+    componentModel = "jakarta",
+    uses = {CommonConverters.class, CompactConverters.class, CompactPaymentStatusMapper.class},
+    imports = CompactConverters.class,
+    unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface CompactPaymentOutputMapper extends org.pipelineframework.mapper.Mapper<PaymentsCompact.CompactPaymentOutput, PaymentOutputDto, PaymentOutput> {
+
+  CompactPaymentOutputMapper INSTANCE = Mappers.getMapper( CompactPaymentOutputMapper.class );
+
+  // Domain ↔ DTO
+  @Override
+  PaymentOutputDto toDto(PaymentOutput entity);
+
+  @Override
+  PaymentOutput fromDto(PaymentOutputDto dto);
+
+  // DTO ↔ gRPC
+  @Override
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "amountMinor", source = "amount", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "amountScale", source = "amount", qualifiedByName = "toScale")
+  @Mapping(target = "currency", qualifiedByName = "currencyToNumeric")
+  @Mapping(target = "conversationIdMsb", source = "conversationId.mostSignificantBits")
+  @Mapping(target = "conversationIdLsb", source = "conversationId.leastSignificantBits")
+  @Mapping(target = "feeMinor", source = "fee", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "feeScale", source = "fee", qualifiedByName = "toScale")
+  @Mapping(target = "paymentStatusIdMsb", source = "paymentStatusId.mostSignificantBits")
+  @Mapping(target = "paymentStatusIdLsb", source = "paymentStatusId.leastSignificantBits")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  PaymentsCompact.CompactPaymentOutput toGrpc(PaymentOutputDto dto);
+
+  @Override
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "amount", expression = "java(CompactConverters.toBigDecimal(grpc.getAmountMinor(), grpc.getAmountScale()))")
+  @Mapping(target = "currency", qualifiedByName = "numericToCurrency")
+  @Mapping(target = "conversationId", expression = "java(CompactConverters.toUuid(grpc.getConversationIdMsb(), grpc.getConversationIdLsb()))")
+  @Mapping(target = "fee", expression = "java(CompactConverters.toBigDecimal(grpc.getFeeMinor(), grpc.getFeeScale()))")
+  @Mapping(target = "paymentStatusId", expression = "java(CompactConverters.toUuid(grpc.getPaymentStatusIdMsb(), grpc.getPaymentStatusIdLsb()))")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  PaymentOutputDto fromGrpc(PaymentsCompact.CompactPaymentOutput grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "amountMinor", source = "amount", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "amountScale", source = "amount", qualifiedByName = "toScale")
+  @Mapping(target = "currency", qualifiedByName = "currencyToNumeric")
+  @Mapping(target = "conversationIdMsb", source = "conversationId.mostSignificantBits")
+  @Mapping(target = "conversationIdLsb", source = "conversationId.leastSignificantBits")
+  @Mapping(target = "feeMinor", source = "fee", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "feeScale", source = "fee", qualifiedByName = "toScale")
+  @Mapping(target = "paymentStatusIdMsb", source = "paymentStatusId.mostSignificantBits")
+  @Mapping(target = "paymentStatusIdLsb", source = "paymentStatusId.leastSignificantBits")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  PaymentsCompact.CompactPaymentOutput toGrpcFromDomain(PaymentOutput entity);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "amount", expression = "java(CompactConverters.toBigDecimal(grpc.getAmountMinor(), grpc.getAmountScale()))")
+  @Mapping(target = "currency", qualifiedByName = "numericToCurrency")
+  @Mapping(target = "conversationId", expression = "java(CompactConverters.toUuid(grpc.getConversationIdMsb(), grpc.getConversationIdLsb()))")
+  @Mapping(target = "fee", expression = "java(CompactConverters.toBigDecimal(grpc.getFeeMinor(), grpc.getFeeScale()))")
+  @Mapping(target = "paymentStatusId", expression = "java(CompactConverters.toUuid(grpc.getPaymentStatusIdMsb(), grpc.getPaymentStatusIdLsb()))")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  PaymentOutput fromGrpcToDomain(PaymentsCompact.CompactPaymentOutput grpc);
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+import org.pipelineframework.csv.common.domain.PaymentRecord;
+import org.pipelineframework.csv.common.dto.PaymentRecordDto;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+
+@SuppressWarnings("unused")
+@Mapper(
+    componentModel = "jakarta",
+    uses = {CommonConverters.class, CompactConverters.class},
+    imports = CompactConverters.class,
+    unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface CompactPaymentRecordMapper extends org.pipelineframework.mapper.Mapper<PaymentsCompact.CompactPaymentRecord, PaymentRecordDto, PaymentRecord> {
+
+  CompactPaymentRecordMapper INSTANCE = Mappers.getMapper( CompactPaymentRecordMapper.class );
+
+  // Domain ↔ DTO
+  @Override
+  PaymentRecordDto toDto(PaymentRecord entity);
+
+  @Override
+  PaymentRecord fromDto(PaymentRecordDto dto);
+
+  // DTO ↔ gRPC
+  @Override
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "amountMinor", source = "amount", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "amountScale", source = "amount", qualifiedByName = "toScale")
+  @Mapping(target = "currency", qualifiedByName = "currencyToNumeric")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  PaymentsCompact.CompactPaymentRecord toGrpc(PaymentRecordDto dto);
+
+  @Override
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "amount", expression = "java(CompactConverters.toBigDecimal(grpc.getAmountMinor(), grpc.getAmountScale()))")
+  @Mapping(target = "currency", qualifiedByName = "numericToCurrency")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  PaymentRecordDto fromGrpc(PaymentsCompact.CompactPaymentRecord grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "amountMinor", source = "amount", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "amountScale", source = "amount", qualifiedByName = "toScale")
+  @Mapping(target = "currency", qualifiedByName = "currencyToNumeric")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  PaymentsCompact.CompactPaymentRecord toGrpcFromDomain(PaymentRecord entity);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "amount", expression = "java(CompactConverters.toBigDecimal(grpc.getAmountMinor(), grpc.getAmountScale()))")
+  @Mapping(target = "currency", qualifiedByName = "numericToCurrency")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  PaymentRecord fromGrpcToDomain(PaymentsCompact.CompactPaymentRecord grpc);
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+import org.pipelineframework.csv.common.domain.PaymentStatus;
+import org.pipelineframework.csv.common.dto.PaymentStatusDto;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+
+@SuppressWarnings("unused")
+@Mapper(
+    componentModel = "jakarta",
+    uses = {CompactConverters.class, CompactAckPaymentSentMapper.class},
+    imports = CompactConverters.class,
+    unmappedTargetPolicy = ReportingPolicy.WARN)
+public interface CompactPaymentStatusMapper extends org.pipelineframework.mapper.Mapper<PaymentsCompact.CompactPaymentStatus, PaymentStatusDto, PaymentStatus> {
+
+  CompactPaymentStatusMapper INSTANCE = Mappers.getMapper( CompactPaymentStatusMapper.class );
+
+  // Domain ↔ DTO
+  @Override
+  PaymentStatusDto toDto(PaymentStatus entity);
+
+  @Override
+  PaymentStatus fromDto(PaymentStatusDto dto);
+
+  // DTO ↔ gRPC
+  @Override
+  @Mapping(target = "idMsb", source = "id.mostSignificantBits")
+  @Mapping(target = "idLsb", source = "id.leastSignificantBits")
+  @Mapping(target = "feeMinor", source = "fee", qualifiedByName = "toMinorUnits")
+  @Mapping(target = "feeScale", source = "fee", qualifiedByName = "toScale")
+  @Mapping(target = "ackPaymentSentIdMsb", source = "ackPaymentSentId.mostSignificantBits")
+  @Mapping(target = "ackPaymentSentIdLsb", source = "ackPaymentSentId.leastSignificantBits")
+  PaymentsCompact.CompactPaymentStatus toGrpc(PaymentStatusDto dto);
+
+  @Override
+  @Mapping(target = "id", expression = "java(CompactConverters.toUuid(grpc.getIdMsb(), grpc.getIdLsb()))")
+  @Mapping(target = "fee", expression = "java(CompactConverters.toBigDecimal(grpc.getFeeMinor(), grpc.getFeeScale()))")
+  @Mapping(target = "ackPaymentSentId", expression = "java(CompactConverters.toUuid(grpc.getAckPaymentSentIdMsb(), grpc.getAckPaymentSentIdLsb()))")
+  PaymentStatusDto fromGrpc(PaymentsCompact.CompactPaymentStatus grpc);
+}
@@ -18,6 +18,7 @@ package org.pipelineframework.csv.common.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 import org.pipelineframework.csv.common.domain.PaymentOutput;
@@ -44,6 +45,8 @@ public interface PaymentOutputMapper extends org.pipelineframework.mapper.Mapper
   @Mapping(target = "amount", qualifiedByName = "bigDecimalToString")
   @Mapping(target = "currency", qualifiedByName = "currencyToString")
   @Mapping(target = "fee", qualifiedByName = "bigDecimalToString")
+  @Mapping(target = "paymentStatusId", qualifiedByName = "uuidToString")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
   PaymentStatusSvc.PaymentOutput toGrpc(PaymentOutputDto dto);
 
   @Override
@@ -51,6 +54,31 @@ public interface PaymentOutputMapper extends org.pipelineframework.mapper.Mapper
   @Mapping(target = "amount", qualifiedByName = "stringToBigDecimal")
   @Mapping(target = "currency", qualifiedByName = "stringToCurrency")
   @Mapping(target = "fee", qualifiedByName = "stringToBigDecimal")
+  @Mapping(target = "paymentStatusId", qualifiedByName = "stringToUUID")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
   @Mapping(target = "paymentStatus")
   PaymentOutputDto fromGrpc(PaymentStatusSvc.PaymentOutput grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "id", qualifiedByName = "uuidToString")
+  @Mapping(target = "amount", qualifiedByName = "bigDecimalToString")
+  @Mapping(target = "currency", qualifiedByName = "currencyToString")
+  @Mapping(target = "fee", qualifiedByName = "bigDecimalToString")
+  @Mapping(target = "paymentStatusId", qualifiedByName = "uuidToString")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  @Mapping(target = "paymentStatus", qualifiedByName = "toGrpcFromDomain")
+  PaymentStatusSvc.PaymentOutput toGrpcFromDomain(PaymentOutput entity);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", qualifiedByName = "stringToUUID")
+  @Mapping(target = "amount", qualifiedByName = "stringToBigDecimal")
+  @Mapping(target = "currency", qualifiedByName = "stringToCurrency")
+  @Mapping(target = "fee", qualifiedByName = "stringToBigDecimal")
+  @Mapping(target = "paymentStatusId", qualifiedByName = "stringToUUID")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  @Mapping(target = "paymentStatus", qualifiedByName = "fromGrpcToDomain")
+  PaymentOutput fromGrpcToDomain(PaymentStatusSvc.PaymentOutput grpc);
 }
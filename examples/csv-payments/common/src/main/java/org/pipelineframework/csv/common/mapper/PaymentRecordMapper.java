@@ -18,6 +18,7 @@ package org.pipelineframework.csv.common.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 import org.pipelineframework.csv.common.domain.PaymentRecord;
@@ -54,4 +55,21 @@ public interface PaymentRecordMapper extends org.pipelineframework.mapper.Mapper
   @Mapping(target = "currency", qualifiedByName = "stringToCurrency")
   @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
   PaymentRecordDto fromGrpc(InputCsvFileProcessingSvc.PaymentRecord grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "id", qualifiedByName = "uuidToString")
+  @Mapping(target = "amount", qualifiedByName = "bigDecimalToString")
+  @Mapping(target = "currency", qualifiedByName = "currencyToString")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "pathToString")
+  InputCsvFileProcessingSvc.PaymentRecord toGrpcFromDomain(PaymentRecord entity);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", qualifiedByName = "stringToUUID")
+  @Mapping(target = "amount", qualifiedByName = "stringToBigDecimal")
+  @Mapping(target = "currency", qualifiedByName = "stringToCurrency")
+  @Mapping(target = "csvPaymentsInputFilePath", qualifiedByName = "stringToPath")
+  PaymentRecord fromGrpcToDomain(InputCsvFileProcessingSvc.PaymentRecord grpc);
 }
@@ -18,6 +18,7 @@ package org.pipelineframework.csv.common.mapper;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 import org.pipelineframework.csv.common.domain.PaymentStatus;
@@ -52,4 +53,21 @@ public interface PaymentStatusMapper extends org.pipelineframework.mapper.Mapper
   @Mapping(target = "fee", qualifiedByName = "stringToBigDecimal")
   @Mapping(target = "ackPaymentSentId", qualifiedByName = "stringToUUID")
   PaymentStatusDto fromGrpc(PaymentsProcessingSvc.PaymentStatus grpc);
+
+  // Domain ↔ gRPC, skipping the DTO hop
+  @Override
+  @Named("toGrpcFromDomain")
+  @Mapping(target = "id", qualifiedByName = "uuidToString")
+  @Mapping(target = "fee", qualifiedByName = "bigDecimalToString")
+  @Mapping(target = "ackPaymentSentId", qualifiedByName = "uuidToString")
+  @Mapping(target = "ackPaymentSent", qualifiedByName = "toGrpcFromDomain")
+  PaymentsProcessingSvc.PaymentStatus toGrpcFromDomain(PaymentStatus entity);
+
+  @Override
+  @Named("fromGrpcToDomain")
+  @Mapping(target = "id", qualifiedByName = "stringToUUID")
+  @Mapping(target = "fee", qualifiedByName = "stringToBigDecimal")
+  @Mapping(target = "ackPaymentSentId", qualifiedByName = "stringToUUID")
+  @Mapping(target = "ackPaymentSent", qualifiedByName = "fromGrpcToDomain")
+  PaymentStatus fromGrpcToDomain(PaymentsProcessingSvc.PaymentStatus grpc);
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class CompactConvertersTest {
+
+    private final CompactConverters converters = new CompactConverters();
+
+    @Test
+    void testMoneyRoundTripKeepsScale() {
+        BigDecimal amount = new BigDecimal("1234.50");
+
+        long minorUnits = converters.toMinorUnits(amount);
+        int scale = converters.toScale(amount);
+
+        assertEquals(123450L, minorUnits);
+        assertEquals(2, scale);
+        assertEquals(amount, CompactConverters.toBigDecimal(minorUnits, scale));
+    }
+
+    @Test
+    void testNullMoneyBecomesZero() {
+        assertEquals(0L, converters.toMinorUnits(null));
+        assertEquals(0, converters.toScale(null));
+        assertEquals(0, BigDecimal.ZERO.compareTo(CompactConverters.toBigDecimal(0L, 0)));
+    }
+
+    @Test
+    void testMoneyBeyondInt64Fails() {
+        BigDecimal tooLarge = new BigDecimal("123456789012345678901234.56");
+
+        assertThrows(ArithmeticException.class, () -> converters.toMinorUnits(tooLarge));
+    }
+
+    @Test
+    void testUuidRoundTrip() {
+        UUID id = UUID.randomUUID();
+
+        assertEquals(
+                id,
+                CompactConverters.toUuid(
+                        id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        assertNull(CompactConverters.toUuid(0L, 0L));
+    }
+
+    @Test
+    void testCurrencyRoundTripUsesNumericIsoCode() {
+        Currency gbp = Currency.getInstance("GBP");
+
+        assertEquals(826, converters.currencyToNumeric(gbp));
+        assertEquals(gbp, converters.numericToCurrency(826));
+        assertEquals(0, converters.currencyToNumeric(null));
+        assertNull(converters.numericToCurrency(0));
+    }
+}
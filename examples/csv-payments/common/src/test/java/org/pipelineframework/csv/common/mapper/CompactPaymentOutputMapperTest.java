@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.csv.common.domain.AckPaymentSent;
+import org.pipelineframework.csv.common.domain.PaymentOutput;
+import org.pipelineframework.csv.common.domain.PaymentRecord;
+import org.pipelineframework.csv.common.domain.PaymentStatus;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+import org.pipelineframework.lineage.SlimMessages;
+
+class CompactPaymentOutputMapperTest {
+
+    private CompactPaymentOutputMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        CommonConverters commonConverters = new CommonConverters();
+        CompactConverters compactConverters = new CompactConverters();
+
+        CompactPaymentRecordMapperImpl paymentRecordMapper = new CompactPaymentRecordMapperImpl();
+        CompactAckPaymentSentMapperImpl ackPaymentSentMapper =
+                new CompactAckPaymentSentMapperImpl();
+        CompactPaymentStatusMapperImpl paymentStatusMapper = new CompactPaymentStatusMapperImpl();
+        CompactPaymentOutputMapperImpl paymentOutputMapper = new CompactPaymentOutputMapperImpl();
+        try {
+            inject(paymentRecordMapper, "commonConverters", commonConverters);
+            inject(paymentRecordMapper, "compactConverters", compactConverters);
+            inject(ackPaymentSentMapper, "compactPaymentRecordMapper", paymentRecordMapper);
+            inject(paymentStatusMapper, "compactConverters", compactConverters);
+            inject(paymentStatusMapper, "compactAckPaymentSentMapper", ackPaymentSentMapper);
+            inject(paymentOutputMapper, "commonConverters", commonConverters);
+            inject(paymentOutputMapper, "compactConverters", compactConverters);
+            inject(paymentOutputMapper, "compactPaymentStatusMapper", paymentStatusMapper);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to set CompactPaymentOutputMapper dependencies", e);
+        }
+        mapper = paymentOutputMapper;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private PaymentOutput createTestPaymentOutput() {
+        PaymentRecord paymentRecord = new PaymentRecord();
+        paymentRecord.setCsvId("test-record");
+        paymentRecord.setRecipient("Test Recipient");
+        paymentRecord.setAmount(new BigDecimal("100.50"));
+        paymentRecord.setCurrency(Currency.getInstance("EUR"));
+        paymentRecord.setCsvPaymentsInputFilePath(Path.of("/test/path/file.csv"));
+
+        AckPaymentSent ackPaymentSent = new AckPaymentSent(UUID.randomUUID());
+        ackPaymentSent.setStatus(1000L);
+        ackPaymentSent.setMessage("Sent");
+        ackPaymentSent.setPaymentRecord(paymentRecord);
+        ackPaymentSent.setPaymentRecordId(paymentRecord.getId());
+
+        PaymentStatus paymentStatus = new PaymentStatus();
+        paymentStatus.setReference("test-ref");
+        paymentStatus.setStatus("SUCCESS");
+        paymentStatus.setMessage("Payment processed successfully");
+        paymentStatus.setFee(new BigDecimal("1.50"));
+        paymentStatus.setAckPaymentSent(ackPaymentSent);
+        paymentStatus.setAckPaymentSentId(ackPaymentSent.getId());
+
+        PaymentOutput paymentOutput = new PaymentOutput();
+        paymentOutput.setPaymentStatus(paymentStatus);
+        paymentOutput.setPaymentStatusId(paymentStatus.getId());
+        paymentOutput.setCsvPaymentsInputFilePath(paymentRecord.getCsvPaymentsInputFilePath());
+        paymentOutput.setCsvId(paymentRecord.getCsvId());
+        paymentOutput.setRecipient(paymentRecord.getRecipient());
+        paymentOutput.setAmount(paymentRecord.getAmount());
+        paymentOutput.setCurrency(paymentRecord.getCurrency());
+        paymentOutput.setConversationId(ackPaymentSent.getConversationId());
+        paymentOutput.setStatus(200L);
+        paymentOutput.setMessage("Success");
+        paymentOutput.setFee(paymentStatus.getFee());
+        return paymentOutput;
+    }
+
+    @Test
+    void testDomainToGrpc() {
+        // Given
+        PaymentOutput domain = createTestPaymentOutput();
+
+        // When
+        PaymentsCompact.CompactPaymentOutput grpc = mapper.toGrpcFromDomain(domain);
+
+        // Then
+        assertEquals(domain.getId().getMostSignificantBits(), grpc.getIdMsb());
+        assertEquals(domain.getId().getLeastSignificantBits(), grpc.getIdLsb());
+        assertEquals(10050L, grpc.getAmountMinor());
+        assertEquals(2, grpc.getAmountScale());
+        assertEquals(978, grpc.getCurrency());
+        assertEquals(150L, grpc.getFeeMinor());
+        assertEquals(2, grpc.getFeeScale());
+        assertEquals(
+                domain.getPaymentStatus().getAckPaymentSent().getPaymentRecord().getCsvId(),
+                grpc.getPaymentStatus().getAckPaymentSent().getPaymentRecord().getCsvId());
+    }
+
+    @Test
+    void testRoundTripThroughBytes() throws Exception {
+        // Given
+        PaymentOutput domain = createTestPaymentOutput();
+
+        // When
+        byte[] bytes = mapper.toGrpcFromDomain(domain).toByteArray();
+        PaymentOutput result =
+                mapper.fromGrpcToDomain(PaymentsCompact.CompactPaymentOutput.parseFrom(bytes));
+
+        // Then
+        assertEquals(domain.getId(), result.getId());
+        assertEquals(domain.getCsvId(), result.getCsvId());
+        assertEquals(domain.getRecipient(), result.getRecipient());
+        assertEquals(domain.getAmount(), result.getAmount());
+        assertEquals(domain.getCurrency(), result.getCurrency());
+        assertEquals(domain.getConversationId(), result.getConversationId());
+        assertEquals(domain.getStatus(), result.getStatus());
+        assertEquals(domain.getMessage(), result.getMessage());
+        assertEquals(domain.getFee(), result.getFee());
+        assertEquals(domain.getPaymentStatusId(), result.getPaymentStatusId());
+        assertEquals(domain.getCsvPaymentsInputFilePath(), result.getCsvPaymentsInputFilePath());
+
+        PaymentStatus status = result.getPaymentStatus();
+        assertEquals(domain.getPaymentStatus().getId(), status.getId());
+        assertEquals(domain.getPaymentStatus().getFee(), status.getFee());
+        assertEquals(domain.getPaymentStatus().getAckPaymentSentId(), status.getAckPaymentSentId());
+
+        AckPaymentSent ack = status.getAckPaymentSent();
+        assertEquals(domain.getConversationId(), ack.getConversationId());
+        assertEquals(
+                domain.getPaymentStatus().getAckPaymentSent().getPaymentRecordId(),
+                ack.getPaymentRecordId());
+
+        PaymentRecord record = ack.getPaymentRecord();
+        assertEquals(new BigDecimal("100.50"), record.getAmount());
+        assertEquals(Currency.getInstance("EUR"), record.getCurrency());
+    }
+
+    @Test
+    void testSlimRoundTripKeepsParentId() throws Exception {
+        // Given
+        PaymentOutput domain = createTestPaymentOutput();
+
+        // When
+        PaymentsCompact.CompactPaymentOutput slim =
+                SlimMessages.slim(mapper.toGrpcFromDomain(domain));
+        PaymentOutput result =
+                mapper.fromGrpcToDomain(
+                        PaymentsCompact.CompactPaymentOutput.parseFrom(slim.toByteArray()));
+
+        // Then
+        assertFalse(slim.hasPaymentStatus());
+        assertNull(result.getPaymentStatus());
+        assertEquals(domain.getId(), result.getId());
+        assertEquals(domain.getPaymentStatusId(), result.getPaymentStatusId());
+        assertEquals(domain.getCsvPaymentsInputFilePath(), result.getCsvPaymentsInputFilePath());
+        assertEquals(domain.getAmount(), result.getAmount());
+        assertEquals(domain.getFee(), result.getFee());
+    }
+}
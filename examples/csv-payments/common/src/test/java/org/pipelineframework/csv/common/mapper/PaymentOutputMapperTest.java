@@ -17,6 +17,10 @@
 package org.pipelineframework.csv.common.mapper;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
@@ -24,7 +28,9 @@ import java.util.Currency;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.pipelineframework.csv.common.domain.AckPaymentSent;
 import org.pipelineframework.csv.common.domain.PaymentOutput;
+import org.pipelineframework.csv.common.domain.PaymentRecord;
 import org.pipelineframework.csv.common.domain.PaymentStatus;
 import org.pipelineframework.csv.common.dto.PaymentOutputDto;
 import org.pipelineframework.csv.grpc.PaymentStatusSvc;
@@ -287,6 +293,121 @@ class PaymentOutputMapperTest {
         assertNull(domain.getPaymentStatus());
     }
 
+    @Test
+    void testDirectGrpcToDomainMatchesDtoHop() {
+        // Given
+        PaymentStatusSvc.PaymentOutput grpc =
+                PaymentStatusSvc.PaymentOutput.newBuilder()
+                        .setId(UUID.randomUUID().toString())
+                        .setCsvId("test-record")
+                        .setRecipient("Test Recipient")
+                        .setAmount("100.50")
+                        .setCurrency("EUR")
+                        .setConversationId(UUID.randomUUID().toString())
+                        .setStatus(200L)
+                        .setMessage("Success")
+                        .setFee("1.50")
+                        .build();
+
+        // When
+        PaymentOutput direct = mapper.fromGrpcToDomain(grpc);
+        PaymentOutput viaDto = mapper.fromGrpcFromDto(grpc);
+
+        // Then
+        assertEquals(viaDto.getId(), direct.getId());
+        assertEquals(viaDto.getCsvId(), direct.getCsvId());
+        assertEquals(viaDto.getRecipient(), direct.getRecipient());
+        assertEquals(viaDto.getAmount(), direct.getAmount());
+        assertEquals(viaDto.getCurrency(), direct.getCurrency());
+        assertEquals(viaDto.getConversationId(), direct.getConversationId());
+        assertEquals(viaDto.getStatus(), direct.getStatus());
+        assertEquals(viaDto.getMessage(), direct.getMessage());
+        assertEquals(viaDto.getFee(), direct.getFee());
+        assertNull(direct.getPaymentStatus());
+    }
+
+    @Test
+    void testDirectPathSkipsTheDtoMappers() throws Exception {
+        // Given - spies on every mapper in the chain
+        PaymentRecordMapperImpl paymentRecordImpl = new PaymentRecordMapperImpl();
+        inject(paymentRecordImpl, "commonConverters", commonConverters);
+        PaymentRecordMapperImpl paymentRecordMapper = spy(paymentRecordImpl);
+
+        AckPaymentSentMapperImpl ackPaymentSentImpl = new AckPaymentSentMapperImpl();
+        inject(ackPaymentSentImpl, "commonConverters", commonConverters);
+        inject(ackPaymentSentImpl, "paymentRecordMapper", paymentRecordMapper);
+        AckPaymentSentMapperImpl ackPaymentSentMapper = spy(ackPaymentSentImpl);
+
+        PaymentStatusMapperImpl paymentStatusImpl = new PaymentStatusMapperImpl();
+        inject(paymentStatusImpl, "commonConverters", commonConverters);
+        inject(paymentStatusImpl, "ackPaymentSentMapper", ackPaymentSentMapper);
+        PaymentStatusMapperImpl paymentStatusMapper = spy(paymentStatusImpl);
+
+        PaymentOutputMapperImpl paymentOutputImpl = new PaymentOutputMapperImpl();
+        inject(paymentOutputImpl, "commonConverters", commonConverters);
+        inject(paymentOutputImpl, "paymentStatusMapper", paymentStatusMapper);
+        PaymentOutputMapperImpl paymentOutputMapper = spy(paymentOutputImpl);
+
+        PaymentRecord paymentRecord = new PaymentRecord();
+        paymentRecord.setCsvId("test-record");
+        paymentRecord.setRecipient("Test Recipient");
+        paymentRecord.setAmount(new BigDecimal("100.50"));
+        paymentRecord.setCurrency(Currency.getInstance("EUR"));
+
+        AckPaymentSent ackPaymentSent = new AckPaymentSent(UUID.randomUUID());
+        ackPaymentSent.setStatus(1000L);
+        ackPaymentSent.setMessage("Sent");
+        ackPaymentSent.setPaymentRecord(paymentRecord);
+        ackPaymentSent.setPaymentRecordId(paymentRecord.getId());
+
+        PaymentStatus paymentStatus = createTestPaymentStatus();
+        paymentStatus.setAckPaymentSent(ackPaymentSent);
+        paymentStatus.setAckPaymentSentId(ackPaymentSent.getId());
+
+        PaymentOutput domain = new PaymentOutput();
+        domain.setPaymentStatus(paymentStatus);
+        domain.setPaymentStatusId(paymentStatus.getId());
+        domain.setCsvId(paymentRecord.getCsvId());
+        domain.setRecipient(paymentRecord.getRecipient());
+        domain.setConversationId(ackPaymentSent.getConversationId());
+        domain.setAmount(paymentRecord.getAmount());
+        domain.setCurrency(paymentRecord.getCurrency());
+        domain.setFee(paymentStatus.getFee());
+        domain.setStatus(200L);
+        domain.setMessage("Success");
+
+        // When
+        PaymentOutput result =
+                paymentOutputMapper.fromGrpcToDomain(paymentOutputMapper.toGrpcFromDomain(domain));
+
+        // Then
+        assertEquals(paymentStatus.getId(), result.getPaymentStatus().getId());
+        assertEquals(
+                ackPaymentSent.getConversationId(),
+                result.getPaymentStatus().getAckPaymentSent().getConversationId());
+        assertEquals(
+                paymentRecord.getAmount(),
+                result.getPaymentStatus().getAckPaymentSent().getPaymentRecord().getAmount());
+        verifyNoDtoHop(paymentOutputMapper);
+        verifyNoDtoHop(paymentStatusMapper);
+        verifyNoDtoHop(ackPaymentSentMapper);
+        verifyNoDtoHop(paymentRecordMapper);
+    }
+
+    private static <G, D, E> void verifyNoDtoHop(
+            org.pipelineframework.mapper.Mapper<G, D, E> mapper) {
+        verify(mapper, never()).toDto(any());
+        verify(mapper, never()).fromDto(any());
+        verify(mapper, never()).toGrpc(any());
+        verify(mapper, never()).fromGrpc(any());
+    }
+
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
     @Test
     void testSerializeDeserialize() throws Exception {
         // Build DTO
@@ -211,6 +211,37 @@ class PaymentRecordMapperTest {
         assertEquals(Path.of("/test/path/file.csv"), domain.getCsvPaymentsInputFilePath());
     }
 
+    @Test
+    void testDirectDomainToGrpcMatchesDtoHop() {
+        // Given
+        PaymentRecord domain = createTestPaymentRecord();
+
+        // When
+        InputCsvFileProcessingSvc.PaymentRecord direct = mapper.toGrpcFromDomain(domain);
+
+        // Then
+        assertEquals(mapper.toDtoToGrpc(domain), direct);
+    }
+
+    @Test
+    void testDirectGrpcToDomainMatchesDtoHop() {
+        // Given
+        InputCsvFileProcessingSvc.PaymentRecord grpc =
+                mapper.toDtoToGrpc(createTestPaymentRecord());
+
+        // When
+        PaymentRecord direct = mapper.fromGrpcToDomain(grpc);
+        PaymentRecord viaDto = mapper.fromGrpcFromDto(grpc);
+
+        // Then
+        assertEquals(viaDto.getId(), direct.getId());
+        assertEquals(viaDto.getCsvId(), direct.getCsvId());
+        assertEquals(viaDto.getRecipient(), direct.getRecipient());
+        assertEquals(viaDto.getAmount(), direct.getAmount());
+        assertEquals(viaDto.getCurrency(), direct.getCurrency());
+        assertEquals(viaDto.getCsvPaymentsInputFilePath(), direct.getCsvPaymentsInputFilePath());
+    }
+
     @Test
     void testSerializeDeserialize() throws Exception {
         // Build DTO
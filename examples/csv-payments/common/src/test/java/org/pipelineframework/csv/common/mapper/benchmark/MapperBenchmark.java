@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pipelineframework.csv.common.domain.PaymentOutput;
+import org.pipelineframework.csv.common.domain.PaymentRecord;
+import org.pipelineframework.csv.common.mapper.PaymentOutputMapper;
+import org.pipelineframework.csv.common.mapper.PaymentRecordMapper;
+import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc;
+import org.pipelineframework.csv.grpc.PaymentStatusSvc;
+
+/**
+ * JMH benchmark comparing the gRPC → DTO → domain hop ({@code fromGrpcFromDto}/{@code toDtoToGrpc})
+ * with the direct mapping ({@code fromGrpcToDomain}/{@code toGrpcFromDomain}) used by the generated
+ * gRPC adapters.
+ *
+ * <p>Disabled by default. Run with: {@code mvn test -pl common -Dtest=MapperBenchmark
+ * -Dpipeline.benchmark=true}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private PaymentRecordMapper paymentRecordMapper;
+    private PaymentOutputMapper paymentOutputMapper;
+
+    private PaymentRecord paymentRecord;
+    private InputCsvFileProcessingSvc.PaymentRecord paymentRecordGrpc;
+    private PaymentOutput paymentOutput;
+    private PaymentStatusSvc.PaymentOutput paymentOutputGrpc;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        PaymentFixtures fixtures = new PaymentFixtures();
+        paymentRecordMapper = fixtures.paymentRecordMapper;
+        paymentOutputMapper = fixtures.paymentOutputMapper;
+
+        paymentRecord = fixtures.paymentRecord;
+        paymentRecordGrpc = paymentRecordMapper.toDtoToGrpc(paymentRecord);
+        paymentOutput = fixtures.paymentOutput;
+        paymentOutputGrpc = paymentOutputMapper.toDtoToGrpc(paymentOutput);
+    }
+
+    @Benchmark
+    public PaymentRecord paymentRecordFromGrpcViaDto() {
+        return paymentRecordMapper.fromGrpcFromDto(paymentRecordGrpc);
+    }
+
+    @Benchmark
+    public PaymentRecord paymentRecordFromGrpcDirect() {
+        return paymentRecordMapper.fromGrpcToDomain(paymentRecordGrpc);
+    }
+
+    @Benchmark
+    public InputCsvFileProcessingSvc.PaymentRecord paymentRecordToGrpcViaDto() {
+        return paymentRecordMapper.toDtoToGrpc(paymentRecord);
+    }
+
+    @Benchmark
+    public InputCsvFileProcessingSvc.PaymentRecord paymentRecordToGrpcDirect() {
+        return paymentRecordMapper.toGrpcFromDomain(paymentRecord);
+    }
+
+    @Benchmark
+    public PaymentOutput paymentOutputFromGrpcViaDto() {
+        return paymentOutputMapper.fromGrpcFromDto(paymentOutputGrpc);
+    }
+
+    @Benchmark
+    public PaymentOutput paymentOutputFromGrpcDirect() {
+        return paymentOutputMapper.fromGrpcToDomain(paymentOutputGrpc);
+    }
+
+    @Benchmark
+    public PaymentStatusSvc.PaymentOutput paymentOutputToGrpcViaDto() {
+        return paymentOutputMapper.toDtoToGrpc(paymentOutput);
+    }
+
+    @Benchmark
+    public PaymentStatusSvc.PaymentOutput paymentOutputToGrpcDirect() {
+        return paymentOutputMapper.toGrpcFromDomain(paymentOutput);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "pipeline.benchmark", matches = "true")
+    void runBenchmarks() throws RunnerException {
+        main(new String[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options =
+                new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
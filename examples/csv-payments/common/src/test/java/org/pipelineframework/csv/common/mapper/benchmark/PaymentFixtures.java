@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper.benchmark;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Currency;
+import java.util.UUID;
+import org.pipelineframework.csv.common.domain.AckPaymentSent;
+import org.pipelineframework.csv.common.domain.PaymentOutput;
+import org.pipelineframework.csv.common.domain.PaymentRecord;
+import org.pipelineframework.csv.common.domain.PaymentStatus;
+import org.pipelineframework.csv.common.mapper.*;
+
+/**
+ * Mapper wiring and sample records shared by the benchmarks. Mappers are instantiated outside of
+ * CDI, so their injected collaborators are set reflectively, as in the mapper unit tests.
+ */
+final class PaymentFixtures {
+
+    final CommonConverters commonConverters = new CommonConverters();
+    final CompactConverters compactConverters = new CompactConverters();
+
+    final PaymentRecordMapperImpl paymentRecordMapper = new PaymentRecordMapperImpl();
+    final AckPaymentSentMapperImpl ackPaymentSentMapper = new AckPaymentSentMapperImpl();
+    final PaymentStatusMapperImpl paymentStatusMapper = new PaymentStatusMapperImpl();
+    final PaymentOutputMapperImpl paymentOutputMapper = new PaymentOutputMapperImpl();
+
+    final CompactPaymentRecordMapperImpl compactPaymentRecordMapper =
+            new CompactPaymentRecordMapperImpl();
+    final CompactAckPaymentSentMapperImpl compactAckPaymentSentMapper =
+            new CompactAckPaymentSentMapperImpl();
+    final CompactPaymentStatusMapperImpl compactPaymentStatusMapper =
+            new CompactPaymentStatusMapperImpl();
+    final CompactPaymentOutputMapperImpl compactPaymentOutputMapper =
+            new CompactPaymentOutputMapperImpl();
+
+    final PaymentRecord paymentRecord;
+    final AckPaymentSent ackPaymentSent;
+    final PaymentStatus paymentStatus;
+    final PaymentOutput paymentOutput;
+
+    PaymentFixtures() throws ReflectiveOperationException {
+        inject(paymentRecordMapper, "commonConverters", commonConverters);
+        inject(ackPaymentSentMapper, "commonConverters", commonConverters);
+        inject(ackPaymentSentMapper, "paymentRecordMapper", paymentRecordMapper);
+        inject(paymentStatusMapper, "commonConverters", commonConverters);
+        inject(paymentStatusMapper, "ackPaymentSentMapper", ackPaymentSentMapper);
+        inject(paymentOutputMapper, "commonConverters", commonConverters);
+        inject(paymentOutputMapper, "paymentStatusMapper", paymentStatusMapper);
+
+        inject(compactPaymentRecordMapper, "commonConverters", commonConverters);
+        inject(compactPaymentRecordMapper, "compactConverters", compactConverters);
+        inject(
+                compactAckPaymentSentMapper,
+                "compactPaymentRecordMapper",
+                compactPaymentRecordMapper);
+        inject(compactPaymentStatusMapper, "compactConverters", compactConverters);
+        inject(
+                compactPaymentStatusMapper,
+                "compactAckPaymentSentMapper",
+                compactAckPaymentSentMapper);
+        inject(compactPaymentOutputMapper, "commonConverters", commonConverters);
+        inject(compactPaymentOutputMapper, "compactConverters", compactConverters);
+        inject(
+                compactPaymentOutputMapper,
+                "compactPaymentStatusMapper",
+                compactPaymentStatusMapper);
+
+        paymentRecord = new PaymentRecord();
+        paymentRecord.setCsvId("a1b2c3");
+        paymentRecord.setRecipient("Jane Doe");
+        paymentRecord.setAmount(new BigDecimal("1234.56"));
+        paymentRecord.setCurrency(Currency.getInstance("GBP"));
+        paymentRecord.setCsvPaymentsInputFilePath(Path.of("/data/csv/payments-2025-01.csv"));
+
+        ackPaymentSent = new AckPaymentSent(UUID.randomUUID());
+        ackPaymentSent.setStatus(1000L);
+        ackPaymentSent.setMessage("OK but this is only a test");
+        ackPaymentSent.setPaymentRecord(paymentRecord);
+        ackPaymentSent.setPaymentRecordId(paymentRecord.getId());
+
+        paymentStatus = new PaymentStatus();
+        paymentStatus.setReference("ref-123");
+        paymentStatus.setStatus("nada");
+        paymentStatus.setMessage("This is a test");
+        paymentStatus.setFee(new BigDecimal("1.01"));
+        paymentStatus.setAckPaymentSent(ackPaymentSent);
+        paymentStatus.setAckPaymentSentId(ackPaymentSent.getId());
+        paymentStatus.setPaymentRecord(paymentRecord);
+        paymentStatus.setPaymentRecordId(paymentRecord.getId());
+
+        paymentOutput = new PaymentOutput();
+        paymentOutput.setPaymentStatus(paymentStatus);
+        paymentOutput.setPaymentStatusId(paymentStatus.getId());
+        paymentOutput.setCsvId(paymentRecord.getCsvId());
+        paymentOutput.setRecipient(paymentRecord.getRecipient());
+        paymentOutput.setAmount(paymentRecord.getAmount());
+        paymentOutput.setCurrency(paymentRecord.getCurrency());
+        paymentOutput.setConversationId(ackPaymentSent.getConversationId());
+        paymentOutput.setStatus(ackPaymentSent.getStatus());
+        paymentOutput.setMessage(paymentStatus.getMessage());
+        paymentOutput.setFee(paymentStatus.getFee());
+    }
+
+    private static void inject(Object target, String fieldName, Object value)
+            throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.Message;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.csv.grpc.PaymentStatusSvc;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc;
+import org.pipelineframework.lineage.SlimMessages;
+
+/** Reports and checks bytes per record for each hop, full messages vs slim messages. */
+class SlimMessageSizeTest {
+
+    private static final Logger LOG = Logger.getLogger(SlimMessageSizeTest.class);
+
+    @Test
+    void testSlimMessagesDropNestedLineage() throws ReflectiveOperationException {
+        PaymentFixtures f = new PaymentFixtures();
+
+        PaymentsProcessingSvc.AckPaymentSent ack =
+                f.ackPaymentSentMapper.toGrpcFromDomain(f.ackPaymentSent);
+        PaymentsProcessingSvc.PaymentStatus status =
+                f.paymentStatusMapper.toGrpcFromDomain(f.paymentStatus);
+        PaymentStatusSvc.PaymentOutput output =
+                f.paymentOutputMapper.toGrpcFromDomain(f.paymentOutput);
+
+        assertFalse(SlimMessages.slim(ack).hasPaymentRecord());
+        assertFalse(SlimMessages.slim(status).hasAckPaymentSent());
+        assertFalse(SlimMessages.slim(output).hasPaymentStatus());
+
+        report("AckPaymentSent", ack);
+        report("PaymentStatus", status);
+        report("PaymentOutput", output);
+    }
+
+    private static void report(String hop, Message full) {
+        int fullBytes = full.getSerializedSize();
+        int slimBytes = SlimMessages.slim(full).getSerializedSize();
+        LOG.infof(
+                "%s: %d bytes (full), %d bytes (slim), %.0f%% saved",
+                hop, fullBytes, slimBytes, 100.0 * (fullBytes - slimBytes) / fullBytes);
+        assertTrue(slimBytes < fullBytes, hop + " should be smaller as a slim message");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper.benchmark;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc;
+import org.pipelineframework.csv.grpc.PaymentStatusSvc;
+import org.pipelineframework.csv.grpc.PaymentsCompact;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc;
+import org.pipelineframework.mapper.Mapper;
+
+/**
+ * Compares the string-based wire schema with the compact one (payments_compact.proto) for each hop
+ * of the CSV payments pipeline: PaymentRecord, AckPaymentSent, PaymentStatus and PaymentOutput.
+ *
+ * <p>{@link #encode()} measures domain → protobuf → bytes, {@link #decode()} measures bytes →
+ * protobuf → domain, using the same mapper methods as the generated gRPC adapters. Bytes per record
+ * are reported by {@link #testCompactSchemaIsSmallerForEveryHop()}, which always runs.
+ *
+ * <p>The JMH run is disabled by default. Run with: {@code mvn test -pl common
+ * -Dtest=WireSchemaBenchmark -Dpipeline.benchmark=true}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireSchemaBenchmark {
+
+    @Param({"PaymentRecord", "AckPaymentSent", "PaymentStatus", "PaymentOutput"})
+    public String hop;
+
+    @Param({"string", "compact"})
+    public String schema;
+
+    private Codec<?, ?> codec;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        codec = codec(new PaymentFixtures(), hop, schema);
+        encoded = codec.encode();
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode();
+    }
+
+    @Benchmark
+    public Object decode() throws InvalidProtocolBufferException {
+        return codec.decode(encoded);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "pipeline.benchmark", matches = "true")
+    void runBenchmarks() throws RunnerException {
+        main(new String[0]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options =
+                new OptionsBuilder().include(WireSchemaBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+
+    static Codec<?, ?> codec(PaymentFixtures f, String hop, String schema) {
+        boolean compact = "compact".equals(schema);
+        return switch (hop) {
+            case "PaymentRecord" ->
+                    compact
+                            ? new Codec<>(
+                                    f.compactPaymentRecordMapper,
+                                    f.paymentRecord,
+                                    PaymentsCompact.CompactPaymentRecord.parser())
+                            : new Codec<>(
+                                    f.paymentRecordMapper,
+                                    f.paymentRecord,
+                                    InputCsvFileProcessingSvc.PaymentRecord.parser());
+            case "AckPaymentSent" ->
+                    compact
+                            ? new Codec<>(
+                                    f.compactAckPaymentSentMapper,
+                                    f.ackPaymentSent,
+                                    PaymentsCompact.CompactAckPaymentSent.parser())
+                            : new Codec<>(
+                                    f.ackPaymentSentMapper,
+                                    f.ackPaymentSent,
+                                    PaymentsProcessingSvc.AckPaymentSent.parser());
+            case "PaymentStatus" ->
+                    compact
+                            ? new Codec<>(
+                                    f.compactPaymentStatusMapper,
+                                    f.paymentStatus,
+                                    PaymentsCompact.CompactPaymentStatus.parser())
+                            : new Codec<>(
+                                    f.paymentStatusMapper,
+                                    f.paymentStatus,
+                                    PaymentsProcessingSvc.PaymentStatus.parser());
+            case "PaymentOutput" ->
+                    compact
+                            ? new Codec<>(
+                                    f.compactPaymentOutputMapper,
+                                    f.paymentOutput,
+                                    PaymentsCompact.CompactPaymentOutput.parser())
+                            : new Codec<>(
+                                    f.paymentOutputMapper,
+                                    f.paymentOutput,
+                                    PaymentStatusSvc.PaymentOutput.parser());
+            default -> throw new IllegalArgumentException("Unknown hop: " + hop);
+        };
+    }
+
+    /** One hop: a domain sample plus the mapper and parser for its wire message. */
+    record Codec<G extends MessageLite, D>(Mapper<G, ?, D> mapper, D domain, Parser<G> parser) {
+
+        byte[] encode() {
+            return mapper.toGrpcFromDomain(domain).toByteArray();
+        }
+
+        D decode(byte[] bytes) throws InvalidProtocolBufferException {
+            return mapper.fromGrpcToDomain(parser.parseFrom(bytes));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.common.mapper.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+/** Reports and checks bytes per record for each hop, string schema vs compact schema. */
+class WireSchemaSizeTest {
+
+    private static final Logger LOG = Logger.getLogger(WireSchemaSizeTest.class);
+
+    @Test
+    void testCompactSchemaIsSmallerForEveryHop() throws ReflectiveOperationException {
+        PaymentFixtures fixtures = new PaymentFixtures();
+        for (String hop :
+                new String[] {
+                    "PaymentRecord", "AckPaymentSent", "PaymentStatus", "PaymentOutput"
+                }) {
+            int stringBytes = WireSchemaBenchmark.codec(fixtures, hop, "string").encode().length;
+            int compactBytes = WireSchemaBenchmark.codec(fixtures, hop, "compact").encode().length;
+            LOG.infof(
+                    "%s: %d bytes (string schema), %d bytes (compact schema), %.0f%% saved",
+                    hop,
+                    stringBytes,
+                    compactBytes,
+                    100.0 * (stringBytes - compactBytes) / stringBytes);
+            assertTrue(
+                    compactBytes < stringBytes, hop + " should be smaller in the compact schema");
+        }
+    }
+}
@@ -93,6 +93,23 @@ public class ProcessCsvPaymentsInputReactiveService
    */
   @Override
   public Multi<PaymentRecord> process(CsvPaymentsInputFile input) {
+    return process(input, 0);
+  }
+
+  /**
+   * Stream the parsed PaymentRecord objects that follow the first {@code resumeFrom} rows of the
+   * provided CSV input file, with demand pacing.
+   *
+   * <p>The skipped rows are read past before the stream starts, so they are neither paced, logged
+   * nor sent again to a client resuming an interrupted stream.
+   *
+   * @param input the CSV input file wrapper providing the reader, source name and mapping strategy
+   * @param resumeFrom the number of records the client already received
+   * @return a {@code Multi<PaymentRecord>} that emits the remaining records
+   * @throws RuntimeException if an I/O error occurs while opening or preparing the CSV reader
+   */
+  @Override
+  public Multi<PaymentRecord> process(CsvPaymentsInputFile input, long resumeFrom) {
     return Multi.createFrom()
         .deferred(
             Unchecked.supplier(
@@ -112,6 +129,12 @@ public class ProcessCsvPaymentsInputReactiveService
 
                     // Lazy + typed
                     Iterator<PaymentRecord> iterator = csvReader.iterator();
+                    for (long skipped = 0; skipped < resumeFrom && iterator.hasNext(); skipped++) {
+                      iterator.next();
+                    }
+                    if (resumeFrom > 0) {
+                      LOG.infof("Resuming %s after %d records", input.getSourceName(), resumeFrom);
+                    }
                     Iterable<PaymentRecord> iterable = () -> iterator;
 
                     // rate limiter
@@ -107,6 +107,24 @@ class ProcessCsvPaymentsInputReactiveServiceTest {
         assertEquals(csvFile.getFilepath(), record2.getCsvPaymentsInputFilePath());
     }
 
+    @Test
+    void process_resumesAfterTheRecordsAlreadyReceived() {
+        // Given
+        CsvPaymentsInputFile csvFile = new CsvPaymentsInputFile(tempCsvFile.toFile());
+
+        // When
+        Multi<PaymentRecord> resultMulti = service.process(csvFile, 1);
+
+        // Then
+        AssertSubscriber<PaymentRecord> subscriber =
+                resultMulti.subscribe().withSubscriber(AssertSubscriber.create(2));
+        subscriber.awaitCompletion();
+
+        List<PaymentRecord> records = subscriber.getItems();
+        assertEquals(1, records.size());
+        assertEquals("Jane Smith", records.getFirst().getRecipient());
+    }
+
     @Test
     @SneakyThrows
     void process_fileNotFound() {
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.csv.orchestrator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import org.pipelineframework.dlq.DeadLetterEntry;
+import org.pipelineframework.dlq.DeadLetterQuery;
+import org.pipelineframework.dlq.DeadLetterStore;
+import org.pipelineframework.dlq.DeadLetters;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+/**
+ * Lists dead-lettered items and replays them into the pipeline.
+ *
+ * Without {@code --replay} the selected entries are only listed. With it, each entry is re-injected at the
+ * step that failed to process it and marked as replayed once its run completes.
+ */
+@Command(name = "dlq", mixinStandardHelpOptions = true,
+         description = "List and replay dead-lettered items")
+public class DeadLetterCommand implements Callable<Integer> {
+
+    @ParentCommand
+    OrchestratorApplication parent;
+
+    @Option(names = {"-s", "--step"}, description = "Only entries of this step (fully qualified class name)")
+    String step;
+
+    @Option(names = "--id", split = ",", description = "Only these entry ids")
+    Set<Long> ids;
+
+    @Option(names = "--all", description = "Include entries that were already replayed")
+    boolean includeReplayed;
+
+    @Option(names = "--replay", description = "Replay the selected entries instead of listing them")
+    boolean replay;
+
+    @Override
+    public Integer call() {
+        DeadLetterStore store = DeadLetters.store();
+        if (store == null) {
+            System.out.println("No dead-letter store is configured (pipeline.dlq.store)");
+            return CommandLine.ExitCode.USAGE;
+        }
+        DeadLetterQuery query = new DeadLetterQuery(step, ids, includeReplayed);
+
+        if (replay) {
+            long outputs = parent.pipelineExecutionService.replayDeadLetters(query)
+                    .collect().with(Collectors.counting())
+                    .await().indefinitely();
+            System.out.println("Dead-letter replay completed with " + outputs + " outputs");
+            return CommandLine.ExitCode.OK;
+        }
+
+        List<DeadLetterEntry> entries = store.read(query);
+        for (DeadLetterEntry entry : entries) {
+            System.out.printf("%d\t%s\t%s\t%s\tattempts=%d%s\t%s: %s%n",
+                    entry.id(), entry.timestamp(), entry.step(), entry.itemType(), entry.attempts(),
+                    entry.replayed() ? "\treplayed" : "", entry.causeType(), entry.causeMessage());
+        }
+        System.out.println(entries.size() + " dead letters");
+        return CommandLine.ExitCode.OK;
+    }
+}
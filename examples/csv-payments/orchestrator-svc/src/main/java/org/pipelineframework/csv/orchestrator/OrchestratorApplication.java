@@ -22,17 +22,20 @@ import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import java.util.concurrent.Callable;
 import org.pipelineframework.PipelineExecutionService;
+import org.pipelineframework.PipelineRun;
 import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc;
+import org.pipelineframework.sink.RunSink;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
 /**
  * Main application class for the orchestrator service.
- * This class provides the proper Quarkus integration for the orchestrator CLI.
+ * This class provides the proper Quarkus integration for the orchestrator CLI, which runs the pipeline once,
+ * or with the {@code serve} command keeps running and starts a run for each gRPC request.
  */
 @Command(name = "orchestrator", mixinStandardHelpOptions = true, version = "1.0.0",
-         description = "CSV Payments Orchestrator Service")
+         description = "CSV Payments Orchestrator Service", subcommands = {DeadLetterCommand.class, ServeCommand.class})
 @Dependent
 public class OrchestratorApplication implements QuarkusApplication, Callable<Integer> {
 
@@ -76,16 +79,17 @@ public class OrchestratorApplication implements QuarkusApplication, Callable<Int
 
         Multi<InputCsvFileProcessingSvc.CsvFolder> inputMulti = getInputMulti(actualInput);
 
-        // Execute the pipeline with the processed input using injected service
-        pipelineExecutionService.executePipeline(inputMulti)
-                .collect().asList()
-                .await().indefinitely();
+        // Start the pipeline with the processed input using injected service; outputs are
+        // counted as they arrive rather than collected, and on shutdown the run is drained
+        // before the application exits
+        PipelineRun run = pipelineExecutionService.start(inputMulti, RunSink.counting());
+        run.completion().await().indefinitely();
 
-        System.out.println("Pipeline execution completed");
+        System.out.println("Pipeline execution completed: " + run.summary());
         return CommandLine.ExitCode.OK;
     }
 
-    private static Multi<InputCsvFileProcessingSvc.CsvFolder> getInputMulti(String input) {
+    static Multi<InputCsvFileProcessingSvc.CsvFolder> getInputMulti(String input) {
         InputCsvFileProcessingSvc.CsvFolder csvFolder = InputCsvFileProcessingSvc.CsvFolder.newBuilder().setPath(input).build();
 
         // Create input Multi from the input parameter
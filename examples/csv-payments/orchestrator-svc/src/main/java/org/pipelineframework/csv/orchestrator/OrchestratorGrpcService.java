@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.pipelineframework.PipelineExecutionService;
+import org.pipelineframework.PipelineRun;
+import org.pipelineframework.RunSummary;
+import org.pipelineframework.csv.grpc.FileProgress;
+import org.pipelineframework.csv.grpc.OrchestratorService;
+import org.pipelineframework.csv.grpc.ProcessRequest;
+import org.pipelineframework.csv.grpc.ProcessResponse;
+import org.pipelineframework.csv.grpc.StepProgress;
+import org.pipelineframework.csv.grpc.WatchRequest;
+import org.pipelineframework.scheduler.RunShare;
+import org.pipelineframework.sink.RunSink;
+
+/**
+ * gRPC front end of the orchestrator when it runs as a server.
+ *
+ * Each {@code Process} request starts its own run of the shared pipeline and streams its progress: the first
+ * response carries the run id, then one follows every {@code orchestrator.progress-interval-ms} and a last one
+ * once the run is over. Closing the stream leaves the run going; {@code Watch} streams its progress again, and
+ * {@code GetProgress} returns it once. Progress carries the throughput and backlog of each step and the estimated
+ * time left for each CSV file being read, as reported by {@link RunProgressReporter}.
+ */
+@GrpcService
+public class OrchestratorGrpcService implements OrchestratorService {
+
+    private static final Logger LOG = Logger.getLogger(OrchestratorGrpcService.class);
+
+    @Inject
+    PipelineExecutionService pipelineExecutionService;
+
+    @Inject
+    RunProgressReporter reporter;
+
+    @ConfigProperty(name = "orchestrator.progress-interval-ms", defaultValue = "1000")
+    long progressIntervalMs;
+
+    @Override
+    public Multi<ProcessResponse> process(ProcessRequest request) {
+        if (request.getCsvFolderPath().isBlank()) {
+            return Multi.createFrom().failure(
+                    Status.INVALID_ARGUMENT.withDescription("csv_folder_path is required").asRuntimeException());
+        }
+        if (request.getWeight() < 0) {
+            return Multi.createFrom().failure(
+                    Status.INVALID_ARGUMENT.withDescription("weight must not be negative").asRuntimeException());
+        }
+        RunShare share = new RunShare(request.getPriority(), request.getWeight() > 0 ? request.getWeight() : 1);
+        PipelineRun run;
+        try {
+            run = pipelineExecutionService.start(
+                    OrchestratorApplication.getInputMulti(request.getCsvFolderPath()), RunSink.counting(), share);
+        } catch (RejectedExecutionException e) {
+            return Multi.createFrom().failure(
+                    Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage()).asRuntimeException());
+        }
+        LOG.infof("Started run %s for %s with %s", run.id(), request.getCsvFolderPath(), share);
+        return progress(run);
+    }
+
+    @Override
+    public Multi<ProcessResponse> watch(WatchRequest request) {
+        return pipelineExecutionService.run(request.getRunId())
+                .map(this::progress)
+                .orElseGet(() -> Multi.createFrom().failure(Status.NOT_FOUND
+                        .withDescription("No active run " + request.getRunId()).asRuntimeException()));
+    }
+
+    private Multi<ProcessResponse> progress(PipelineRun run) {
+        Multi<ProcessResponse> updates = Multi.createFrom().ticks()
+                .every(Duration.ofMillis(progressIntervalMs))
+                .onOverflow().drop()
+                .select().first(tick -> !run.isDone())
+                .map(tick -> response(run).build());
+        Multi<ProcessResponse> result = run.completion()
+                .map(ignored -> response(run).setDone(true).setSuccess(true)
+                        .setMessage("Run completed: " + run.summary()).build())
+                .onFailure().recoverWithItem(failure -> response(run).setDone(true).setSuccess(false)
+                        .setMessage("Run failed: " + failure.getMessage()).build())
+                .toMulti();
+        return Multi.createBy().concatenating()
+                .streams(Multi.createFrom().item(() -> response(run).build()), updates, result);
+    }
+
+    @Override
+    @Blocking
+    public Uni<ProcessResponse> getProgress(WatchRequest request) {
+        return pipelineExecutionService.run(request.getRunId())
+                .map(run -> Uni.createFrom().item(response(run).build()))
+                .orElseGet(() -> Uni.createFrom().failure(Status.NOT_FOUND
+                        .withDescription("No active run " + request.getRunId()).asRuntimeException()));
+    }
+
+    private ProcessResponse.Builder response(PipelineRun run) {
+        RunSummary summary = run.summary();
+        RunProgressView progress = reporter.report(run);
+        ProcessResponse.Builder response = ProcessResponse.newBuilder()
+                .setRunId(run.id())
+                .setSourceItems(summary.sourceItems())
+                .setRecords(summary.records())
+                .setBytes(summary.bytes())
+                .putAllStepItems(summary.stepItems())
+                .setElapsedSeconds(progress.elapsedSeconds());
+        for (RunProgressView.Step step : progress.steps()) {
+            response.addSteps(StepProgress.newBuilder()
+                    .setStep(step.step())
+                    .setItems(step.items())
+                    .setItemsPerSecond(step.itemsPerSecond())
+                    .setBacklog(step.backlog()));
+        }
+        for (RunProgressView.File file : progress.files()) {
+            response.addFiles(FileProgress.newBuilder()
+                    .setPath(file.path())
+                    .setRows(file.rows())
+                    .setEstimatedRows(file.estimatedRows())
+                    .setRowsPerSecond(file.rowsPerSecond())
+                    .setEtaSeconds(file.etaSeconds()));
+        }
+        return response;
+    }
+}
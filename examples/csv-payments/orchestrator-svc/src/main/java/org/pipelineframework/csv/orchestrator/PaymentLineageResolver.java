@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.csv.orchestrator;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc.PaymentRecord;
+import org.pipelineframework.csv.grpc.PaymentStatusSvc.PaymentOutput;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc.AckPaymentSent;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc.PaymentStatus;
+import org.pipelineframework.lineage.LineageCache;
+import org.pipelineframework.lineage.LineageResolver;
+
+/**
+ * Resolves the payment lineage between steps in slim-message mode.
+ * <p>
+ * Payment records, acks and statuses are recorded as they come back from the services. When a
+ * payment output arrives without its nested payment status, the fields it copies from its lineage
+ * (and the input file path the output step groups by) are filled in from the cache, following
+ * paymentStatusId, ackPaymentSentId and paymentRecordId. The output is the last consumer of its
+ * lineage, so those entries are evicted once resolved. Payments that are dead-lettered or filtered
+ * before their output never resolve; their entries are dropped, oldest first, once the cache reaches
+ * {@code pipeline.lineage-max-entries}.
+ */
+@ApplicationScoped
+public class PaymentLineageResolver implements LineageResolver {
+
+  private static final Logger LOG = Logger.getLogger(PaymentLineageResolver.class);
+
+  @Override
+  public Object resolve(Object item, LineageCache lineage) {
+    switch (item) {
+      case PaymentRecord paymentRecord -> lineage.record(paymentRecord.getId(), paymentRecord);
+      case AckPaymentSent ackPaymentSent -> lineage.record(ackPaymentSent.getId(), ackPaymentSent);
+      case PaymentStatus paymentStatus -> lineage.record(paymentStatus.getId(), paymentStatus);
+      case PaymentOutput paymentOutput -> {
+        return resolvePaymentOutput(paymentOutput, lineage);
+      }
+      default -> {
+      }
+    }
+    return item;
+  }
+
+  private PaymentOutput resolvePaymentOutput(PaymentOutput paymentOutput, LineageCache lineage) {
+    if (paymentOutput.hasPaymentStatus()) {
+      // Full message, the lineage is already nested
+      return paymentOutput;
+    }
+
+    PaymentStatus paymentStatus = lineage.resolve(paymentOutput.getPaymentStatusId(), PaymentStatus.class);
+    AckPaymentSent ackPaymentSent = paymentStatus != null
+        ? lineage.resolve(paymentStatus.getAckPaymentSentId(), AckPaymentSent.class)
+        : null;
+    PaymentRecord paymentRecord = ackPaymentSent != null
+        ? lineage.resolve(ackPaymentSent.getPaymentRecordId(), PaymentRecord.class)
+        : null;
+    if (paymentRecord == null) {
+      LOG.warnf("No lineage found for payment output %s (paymentStatusId=%s)",
+          paymentOutput.getId(), paymentOutput.getPaymentStatusId());
+      return paymentOutput;
+    }
+
+    lineage.evict(paymentStatus.getId());
+    lineage.evict(ackPaymentSent.getId());
+    lineage.evict(paymentRecord.getId());
+
+    return paymentOutput.toBuilder()
+        .setCsvId(paymentRecord.getCsvId())
+        .setRecipient(paymentRecord.getRecipient())
+        .setAmount(paymentRecord.getAmount())
+        .setCurrency(paymentRecord.getCurrency())
+        .setCsvPaymentsInputFilePath(paymentRecord.getCsvPaymentsInputFilePath())
+        .setConversationId(ackPaymentSent.getConversationId())
+        .setStatus(ackPaymentSent.getStatus())
+        .build();
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.pipelineframework.PipelineRun;
+import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc.CsvPaymentsInputFile;
+import org.pipelineframework.progress.InputProgress;
+import org.pipelineframework.progress.RunProgress;
+import org.pipelineframework.progress.StepProgress;
+
+/**
+ * Reports the progress of runs, with an estimate of the time left for each CSV file being read.
+ *
+ * <p>The number of rows of a file is estimated once per run from the size of the file and the
+ * average length of its first lines, and the time left from the rate at which its rows are
+ * currently read. Files the orchestrator cannot read, for instance because the input service runs
+ * on another host, are reported without an estimate.
+ */
+@ApplicationScoped
+public class RunProgressReporter {
+
+    private static final int SAMPLE_BYTES = 64 * 1024;
+
+    private final Map<String, Map<String, Long>> expectedRows = new ConcurrentHashMap<>();
+
+    /**
+     * Reports the progress of a run.
+     *
+     * @param run the run
+     * @return its progress
+     */
+    public RunProgressView report(PipelineRun run) {
+        RunProgress progress = run.progress();
+        List<RunProgressView.Step> steps = new ArrayList<>();
+        for (StepProgress step : progress.steps()) {
+            steps.add(new RunProgressView.Step(step.step(), step.items(), step.itemsPerSecond(), step.backlog()));
+        }
+        List<RunProgressView.File> files = new ArrayList<>();
+        Map<String, Long> estimates = progress.inputs().isEmpty() ? Map.of() : estimates(run);
+        for (InputProgress input : progress.inputs()) {
+            if (input.input() instanceof CsvPaymentsInputFile file) {
+                long estimate = estimates.computeIfAbsent(file.getFilepath(), RunProgressReporter::estimateRows);
+                double eta = estimate < 0
+                        ? -1
+                        : input.eta(estimate).map(left -> left.toMillis() / 1000.0).orElse(-1.0);
+                files.add(new RunProgressView.File(
+                        file.getFilepath(), input.items(), estimate, input.itemsPerSecond(), eta));
+            }
+        }
+        return new RunProgressView(
+                progress.runId(),
+                progress.done(),
+                seconds(progress.elapsed()),
+                progress.sourceItems(),
+                progress.records(),
+                steps,
+                files);
+    }
+
+    private Map<String, Long> estimates(PipelineRun run) {
+        Map<String, Long> created = new ConcurrentHashMap<>();
+        Map<String, Long> existing = expectedRows.putIfAbsent(run.id(), created);
+        if (existing != null) {
+            return existing;
+        }
+        run.completion().subscribe().with(
+                ignored -> expectedRows.remove(run.id()),
+                failure -> expectedRows.remove(run.id()));
+        return created;
+    }
+
+    /**
+     * Estimates the number of rows of a CSV file, not counting its header.
+     *
+     * @param filepath the path of the file
+     * @return the estimated number of rows, or -1 if the file cannot be read
+     */
+    static long estimateRows(String filepath) {
+        try {
+            Path path = Path.of(filepath);
+            long size = Files.size(path);
+            byte[] sample;
+            try (InputStream in = Files.newInputStream(path)) {
+                sample = in.readNBytes(SAMPLE_BYTES);
+            }
+            long lines = 0;
+            int lastNewline = -1;
+            for (int i = 0; i < sample.length; i++) {
+                if (sample[i] == '\n') {
+                    lines++;
+                    lastNewline = i;
+                }
+            }
+            if (sample.length == size) {
+                // The whole file was read, so the count is exact
+                boolean unterminated = size > 0 && sample[sample.length - 1] != '\n';
+                return Math.max(lines + (unterminated ? 1 : 0) - 1, 0);
+            }
+            if (lines == 0) {
+                return -1;
+            }
+            double bytesPerLine = (lastNewline + 1.0) / lines;
+            return Math.max(Math.round(size / bytesPerLine) - 1, 0);
+        } catch (IOException | InvalidPathException e) {
+            return -1;
+        }
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toMillis() / 1000.0;
+    }
+}
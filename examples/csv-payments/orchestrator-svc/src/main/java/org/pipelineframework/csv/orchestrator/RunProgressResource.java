@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+import org.pipelineframework.PipelineExecutionService;
+
+/**
+ * Serves the progress of the active runs over REST, when the orchestrator runs as a server.
+ */
+@Path("/runs")
+@Produces(MediaType.APPLICATION_JSON)
+public class RunProgressResource {
+
+    @Inject
+    PipelineExecutionService pipelineExecutionService;
+
+    @Inject
+    RunProgressReporter reporter;
+
+    /**
+     * Reports the progress of every active run.
+     *
+     * @return the progress of the active runs
+     */
+    @GET
+    public List<RunProgressView> runs() {
+        return pipelineExecutionService.activeRuns().stream().map(reporter::report).toList();
+    }
+
+    /**
+     * Reports the progress of an active run.
+     *
+     * @param id the id of the run
+     * @return the progress of the run
+     * @throws NotFoundException if there is no such active run
+     */
+    @GET
+    @Path("/{id}")
+    public RunProgressView run(@PathParam("id") String id) {
+        return pipelineExecutionService.run(id)
+                .map(reporter::report)
+                .orElseThrow(() -> new NotFoundException("No active run " + id));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import java.util.List;
+
+/**
+ * Progress of a run as reported by the REST and gRPC APIs of the orchestrator.
+ *
+ * @param runId the id of the run
+ * @param done whether the run is over
+ * @param elapsedSeconds the time since the run started
+ * @param sourceItems the number of items taken from the source
+ * @param records the number of outputs of the run
+ * @param steps the progress of each step, in pipeline order
+ * @param files the CSV files being read
+ */
+public record RunProgressView(
+        String runId,
+        boolean done,
+        double elapsedSeconds,
+        long sourceItems,
+        long records,
+        List<Step> steps,
+        List<File> files) {
+
+    /**
+     * Progress of one step.
+     *
+     * @param step the class name of the step
+     * @param items the number of items the step has emitted
+     * @param itemsPerSecond the moving average of the rate at which it emits them
+     * @param backlog the number of items the step holds, or -1 if it is not tracked
+     */
+    public record Step(String step, long items, double itemsPerSecond, long backlog) {}
+
+    /**
+     * Progress of a CSV file being read.
+     *
+     * @param path the path of the file
+     * @param rows the number of rows read so far
+     * @param estimatedRows the number of rows estimated from the size of the file, or -1 if the
+     *     file cannot be read by the orchestrator
+     * @param rowsPerSecond the moving average of the rate at which rows are read
+     * @param etaSeconds the estimated time left to read the file, or -1 if it is not known
+     */
+    public record File(
+            String path, long rows, long estimatedRows, double rowsPerSecond, double etaSeconds) {}
+}
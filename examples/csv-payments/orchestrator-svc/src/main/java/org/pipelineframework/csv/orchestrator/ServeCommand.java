@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import io.quarkus.runtime.Quarkus;
+import java.util.concurrent.Callable;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+
+/**
+ * Keeps the orchestrator running as a gRPC server, so that each {@code Process} request starts a run without
+ * paying for JVM startup, CDI boot and health checks again.
+ *
+ * Runs go on concurrently up to {@code pipeline.runs.max-active} and are drained when the server shuts down.
+ */
+@Command(name = "serve", mixinStandardHelpOptions = true,
+         description = "Serve pipeline runs over gRPC until the application is stopped")
+public class ServeCommand implements Callable<Integer> {
+
+    @Override
+    public Integer call() {
+        System.out.println("Orchestrator serving pipeline runs; stop it to drain the active runs and exit");
+        Quarkus.waitForExit();
+        return CommandLine.ExitCode.OK;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.csv.orchestrator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.csv.grpc.InputCsvFileProcessingSvc.PaymentRecord;
+import org.pipelineframework.csv.grpc.PaymentStatusSvc.PaymentOutput;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc.AckPaymentSent;
+import org.pipelineframework.csv.grpc.PaymentsProcessingSvc.PaymentStatus;
+import org.pipelineframework.lineage.LineageCache;
+
+class PaymentLineageResolverTest {
+
+    private final PaymentLineageResolver resolver = new PaymentLineageResolver();
+
+    private final PaymentRecord paymentRecord =
+            PaymentRecord.newBuilder()
+                    .setId("record-1")
+                    .setCsvId("1")
+                    .setRecipient("John Doe")
+                    .setAmount("100.00")
+                    .setCurrency("GBP")
+                    .setCsvPaymentsInputFilePath("/tmp/payments.csv")
+                    .build();
+
+    private final AckPaymentSent ackPaymentSent =
+            AckPaymentSent.newBuilder()
+                    .setId("ack-1")
+                    .setConversationId("conversation-1")
+                    .setStatus(1000L)
+                    .setPaymentRecordId("record-1")
+                    .build();
+
+    private final PaymentStatus paymentStatus =
+            PaymentStatus.newBuilder()
+                    .setId("status-1")
+                    .setReference("reference-1")
+                    .setMessage("OK")
+                    .setFee("1.01")
+                    .setAckPaymentSentId("ack-1")
+                    .build();
+
+    @Test
+    void resolvesSlimPaymentOutputFromLineage() {
+        LineageCache lineage = new LineageCache();
+        resolver.resolve(paymentRecord, lineage);
+        resolver.resolve(ackPaymentSent, lineage);
+        resolver.resolve(paymentStatus, lineage);
+
+        PaymentOutput slim =
+                PaymentOutput.newBuilder()
+                        .setId("output-1")
+                        .setMessage("OK")
+                        .setFee("1.01")
+                        .setPaymentStatusId("status-1")
+                        .build();
+
+        PaymentOutput resolved = (PaymentOutput) resolver.resolve(slim, lineage);
+
+        assertEquals("1", resolved.getCsvId());
+        assertEquals("John Doe", resolved.getRecipient());
+        assertEquals("100.00", resolved.getAmount());
+        assertEquals("GBP", resolved.getCurrency());
+        assertEquals("conversation-1", resolved.getConversationId());
+        assertEquals(1000L, resolved.getStatus());
+        assertEquals("/tmp/payments.csv", resolved.getCsvPaymentsInputFilePath());
+        assertEquals("OK", resolved.getMessage());
+        assertFalse(resolved.hasPaymentStatus());
+        assertEquals(0, lineage.size(), "Resolved lineage should be evicted");
+    }
+
+    @Test
+    void leavesFullPaymentOutputUnchanged() {
+        LineageCache lineage = new LineageCache();
+        PaymentOutput full =
+                PaymentOutput.newBuilder()
+                        .setId("output-1")
+                        .setPaymentStatusId("status-1")
+                        .setPaymentStatus(
+                                paymentStatus.toBuilder().setAckPaymentSent(ackPaymentSent))
+                        .build();
+
+        assertSame(full, resolver.resolve(full, lineage));
+    }
+
+    @Test
+    void leavesPaymentOutputUnchangedWithoutLineage() {
+        LineageCache lineage = new LineageCache();
+        PaymentOutput slim =
+                PaymentOutput.newBuilder().setId("output-1").setPaymentStatusId("status-1").build();
+
+        assertSame(slim, resolver.resolve(slim, lineage));
+    }
+
+    @Test
+    void recordsUpstreamMessagesAndPassesThemThrough() {
+        LineageCache lineage = new LineageCache();
+
+        assertSame(paymentRecord, resolver.resolve(paymentRecord, lineage));
+        assertSame(ackPaymentSent, resolver.resolve(ackPaymentSent, lineage));
+        assertSame(paymentRecord, lineage.resolve("record-1", PaymentRecord.class));
+        assertSame(ackPaymentSent, lineage.resolve("ack-1", AckPaymentSent.class));
+    }
+
+    @Test
+    void lineageOfDeadLetteredPaymentsDoesNotGrowWithoutBound() {
+        LineageCache lineage = new LineageCache(3);
+        // Payments whose acks never come back, e.g. because the send step dead-lettered them
+        for (int i = 0; i < 10; i++) {
+            resolver.resolve(paymentRecord.toBuilder().setId("lost-" + i).build(), lineage);
+        }
+        resolver.resolve(paymentRecord, lineage);
+        resolver.resolve(ackPaymentSent, lineage);
+        resolver.resolve(paymentStatus, lineage);
+
+        PaymentOutput resolved =
+                (PaymentOutput)
+                        resolver.resolve(
+                                PaymentOutput.newBuilder()
+                                        .setId("output-1")
+                                        .setPaymentStatusId("status-1")
+                                        .build(),
+                                lineage);
+
+        assertEquals("/tmp/payments.csv", resolved.getCsvPaymentsInputFilePath());
+        assertEquals(0, lineage.size());
+        assertEquals(10, lineage.dropped());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.csv.orchestrator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunProgressReporterTest {
+
+    private static final String HEADER = "ID,Recipient,Amount,Currency\n";
+
+    @TempDir Path folder;
+
+    @Test
+    void smallFilesAreCountedExactly() throws IOException {
+        Path file = folder.resolve("small.csv");
+        Files.writeString(file, HEADER + "1,John Doe,100.00,GBP\n2,Jane Doe,25.50,EUR");
+
+        assertEquals(2, RunProgressReporter.estimateRows(file.toString()));
+    }
+
+    @Test
+    void largeFilesAreEstimatedFromTheirFirstLines() throws IOException {
+        Path file = folder.resolve("large.csv");
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < 100_000; i++) {
+            csv.append(String.format("%06d,Recipient %06d,100.00,GBP%n", i, i));
+        }
+        Files.writeString(file, csv);
+
+        long estimate = RunProgressReporter.estimateRows(file.toString());
+        assertEquals(100_000, estimate, 1_000);
+    }
+
+    @Test
+    void filesTheOrchestratorCannotReadHaveNoEstimate() {
+        assertEquals(
+                -1, RunProgressReporter.estimateRows(folder.resolve("missing.csv").toString()));
+    }
+}
@@ -98,10 +98,7 @@ public class ProcessCsvPaymentsOutputFileReactiveService
                   // Group by input file path
                   Map<Path, List<PaymentOutput>> groupedOutputs =
                           paymentOutputs.stream()
-                                  .collect(Collectors.groupingBy(po -> po.getPaymentStatus()
-                                          .getAckPaymentSent()
-                                          .getPaymentRecord()
-                                          .getCsvPaymentsInputFilePath()
+                                  .collect(Collectors.groupingBy(po -> getCsvPaymentsInputFilePath(po)
                                           .toAbsolutePath()
                                           .normalize()));
 
@@ -176,15 +173,29 @@ public class ProcessCsvPaymentsOutputFileReactiveService
   protected CsvPaymentsOutputFile getCsvPaymentsOutputFile(PaymentOutput paymentOutput)
       throws IOException {
     assert paymentOutput != null;
+    return new CsvPaymentsOutputFile(getCsvPaymentsInputFilePath(paymentOutput));
+  }
+
+  /**
+   * Resolves the input file a payment output originates from.
+   * <p>
+   * In slim-message mode the path is set on the payment output itself, resolved by the orchestrator
+   * from the run's lineage; otherwise it is read from the nested payment record.
+   *
+   * @param paymentOutput the payment output
+   * @return the path of the input CSV file
+   */
+  protected Path getCsvPaymentsInputFilePath(PaymentOutput paymentOutput) {
+    if (paymentOutput.getCsvPaymentsInputFilePath() != null) {
+      return paymentOutput.getCsvPaymentsInputFilePath();
+    }
     PaymentStatus paymentStatus = paymentOutput.getPaymentStatus();
     assert paymentStatus != null;
     AckPaymentSent ackPaymentSent = paymentStatus.getAckPaymentSent();
     assert ackPaymentSent != null;
     PaymentRecord paymentRecord = ackPaymentSent.getPaymentRecord();
     assert paymentRecord != null;
-    Path csvPaymentsInputFilePath = paymentRecord.getCsvPaymentsInputFilePath();
-
-    return new CsvPaymentsOutputFile(csvPaymentsInputFilePath);
+    return paymentRecord.getCsvPaymentsInputFilePath();
   }
 
 }
\ No newline at end of file
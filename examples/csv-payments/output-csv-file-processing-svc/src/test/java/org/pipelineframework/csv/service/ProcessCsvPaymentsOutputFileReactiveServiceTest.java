@@ -211,6 +211,33 @@ class ProcessCsvPaymentsOutputFileReactiveServiceTest {
         }
     }
 
+    @Test
+    void execute_slim_payment_outputs_use_resolved_input_file() throws IOException {
+        // Given - slim payment outputs carry the input file path instead of the nested lineage
+        PaymentOutput paymentOutput = new PaymentOutput();
+        paymentOutput.setCsvPaymentsInputFilePath(tempFile);
+        paymentOutput.setCsvId("80e055c9-7dbe-4ef0-ad37-8360eb8d1e3e");
+        paymentOutput.setRecipient("recipient123");
+        paymentOutput.setAmount(new BigDecimal("100.00"));
+        paymentOutput.setCurrency(Currency.getInstance("USD"));
+        paymentOutput.setConversationId(UUID.randomUUID());
+        paymentOutput.setPaymentStatusId(UUID.randomUUID());
+
+        // When
+        List<CsvPaymentsOutputFile> results =
+                service.process(Multi.createFrom().item(paymentOutput))
+                        .collect()
+                        .asList()
+                        .await()
+                        .indefinitely();
+
+        // Then
+        assertThat(results).hasSize(1);
+        List<String> lines = Files.readAllLines(results.getFirst().getFilepath());
+        assertThat(lines).hasSize(2);
+        AssertionsForClassTypes.assertThat(lines.get(1)).contains("100.00", "recipient123");
+    }
+
     private Multi<PaymentOutput> getMultiPaymentOutputFromMultipleFiles() {
         // Create payment record for first file
         Path firstFile = tempDir.resolve("first.csv");
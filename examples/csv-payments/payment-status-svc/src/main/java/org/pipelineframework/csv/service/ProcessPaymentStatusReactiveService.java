@@ -18,7 +18,6 @@ package org.pipelineframework.csv.service;
 
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.UUID;
 import lombok.Getter;
 import org.jboss.logging.Logger;
 import org.jboss.logging.MDC;
@@ -30,6 +29,7 @@ import org.pipelineframework.csv.common.domain.PaymentStatus;
 import org.pipelineframework.csv.common.dto.PaymentOutputDto;
 import org.pipelineframework.csv.common.mapper.PaymentOutputMapper;
 import org.pipelineframework.csv.common.mapper.PaymentStatusMapper;
+import org.pipelineframework.id.IdGenerators;
 import org.pipelineframework.service.ReactiveService;
 
 @PipelineStep(
@@ -56,26 +56,38 @@ public class ProcessPaymentStatusReactiveService
 
   PaymentOutputMapper mapper = PaymentOutputMapper.INSTANCE;
 
+  /**
+   * Build the payment output for a payment status.
+   * <p>
+   * In slim-message mode the status arrives without its AckPaymentSent and PaymentRecord, so only the
+   * status' own fields are set here; the orchestrator fills in the rest from the run's lineage.
+   *
+   * @param paymentStatus the payment status to report
+   * @return the payment output
+   */
   @Override
   public Uni<PaymentOutput> process(PaymentStatus paymentStatus) {
-      AckPaymentSent ackPaymentSent = paymentStatus.getAckPaymentSent();
-      assert ackPaymentSent != null;
-      PaymentRecord paymentRecord = ackPaymentSent.getPaymentRecord();
-      assert paymentRecord != null;
+    AckPaymentSent ackPaymentSent = paymentStatus.getAckPaymentSent();
+    PaymentRecord paymentRecord = ackPaymentSent != null ? ackPaymentSent.getPaymentRecord() : null;
 
-    PaymentOutputDto dto =
+    PaymentOutputDto.PaymentOutputDtoBuilder builder =
         PaymentOutputDto.builder()
-            .id(UUID.randomUUID())
+            .id(IdGenerators.nextId())
             .paymentStatus(paymentStatus)
-            .csvId(paymentRecord.getCsvId())
-            .recipient(paymentRecord.getRecipient())
-            .amount(paymentRecord.getAmount())
-            .currency(paymentRecord.getCurrency())
-            .conversationId(ackPaymentSent.getConversationId())
-            .status(ackPaymentSent.getStatus())
+            .paymentStatusId(paymentStatus.getId())
             .message(paymentStatus.getMessage())
-            .fee(paymentStatus.getFee())
-            .build();
+            .fee(paymentStatus.getFee());
+    if (ackPaymentSent != null) {
+      builder.conversationId(ackPaymentSent.getConversationId()).status(ackPaymentSent.getStatus());
+    }
+    if (paymentRecord != null) {
+      builder
+          .csvId(paymentRecord.getCsvId())
+          .recipient(paymentRecord.getRecipient())
+          .amount(paymentRecord.getAmount())
+          .currency(paymentRecord.getCurrency());
+    }
+    PaymentOutputDto dto = builder.build();
 
     return Uni.createFrom()
             .item(mapper.fromDto(dto))
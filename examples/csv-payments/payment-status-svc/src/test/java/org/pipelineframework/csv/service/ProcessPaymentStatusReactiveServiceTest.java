@@ -18,6 +18,7 @@ package org.pipelineframework.csv.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -105,4 +106,29 @@ class ProcessPaymentStatusReactiveServiceTest {
         assertEquals(paymentStatus.getMessage(), capturedDto.getMessage());
         assertEquals(paymentStatus.getFee(), capturedDto.getFee());
     }
+
+    @Test
+    void processSlimPaymentStatus() {
+        // Given - in slim-message mode the status arrives without its ack and record
+        UUID paymentStatusId = UUID.randomUUID();
+        PaymentStatus paymentStatus = mock(PaymentStatus.class);
+        when(paymentStatus.getId()).thenReturn(paymentStatusId);
+        when(paymentStatus.getMessage()).thenReturn("Payment processed successfully");
+        when(paymentStatus.getFee()).thenReturn(new java.math.BigDecimal("1.50"));
+        when(mapper.fromDto(dtoCaptor.capture())).thenReturn(new PaymentOutput());
+
+        // When
+        service.process(paymentStatus)
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .awaitItem();
+
+        // Then - only the status' own fields are set, the rest is resolved by the orchestrator
+        PaymentOutputDto capturedDto = dtoCaptor.getValue();
+        assertEquals(paymentStatusId, capturedDto.getPaymentStatusId());
+        assertEquals(paymentStatus.getMessage(), capturedDto.getMessage());
+        assertEquals(paymentStatus.getFee(), capturedDto.getFee());
+        assertNull(capturedDto.getCsvId());
+        assertNull(capturedDto.getConversationId());
+    }
 }
@@ -22,7 +22,6 @@ import io.grpc.StatusRuntimeException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.math.BigDecimal;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import lombok.NonNull;
 import org.jboss.logging.Logger;
@@ -33,6 +32,7 @@ import org.pipelineframework.csv.common.dto.PaymentStatusDto;
 import org.pipelineframework.csv.common.mapper.AckPaymentSentMapper;
 import org.pipelineframework.csv.common.mapper.PaymentStatusMapper;
 import org.pipelineframework.csv.common.mapper.SendPaymentRequestMapper;
+import org.pipelineframework.id.IdGenerators;
 
 @SuppressWarnings("UnstableApiUsage")
 @ApplicationScoped
@@ -77,10 +77,10 @@ public class PaymentProviderServiceMock implements PaymentProviderService {
 
     return ackPaymentSentMapper.fromDto(
         AckPaymentSentDto.builder()
-            .id(UUID.randomUUID())
+            .id(IdGenerators.nextId())
             .status(1000L)
             .message("OK but this is only a test")
-            .conversationId(UUID.randomUUID())
+            .conversationId(IdGenerators.nextId())
             .paymentRecordId(requestMap.getPaymentRecordId())
             .paymentRecord(requestMap.getPaymentRecord())
             .build());
@@ -106,7 +106,7 @@ public class PaymentProviderServiceMock implements PaymentProviderService {
 
     return paymentStatusMapper.fromDto(
         PaymentStatusDto.builder()
-            .id(UUID.randomUUID())
+            .id(IdGenerators.nextId())
             .reference("101")
             .status("Complete")
             .fee(new BigDecimal("1.01"))
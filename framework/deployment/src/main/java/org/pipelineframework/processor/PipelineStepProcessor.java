@@ -24,11 +24,13 @@ import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.inject.Inject;
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
@@ -56,6 +58,7 @@ public class PipelineStepProcessor extends AbstractProcessor {
      */
     public static final String GRPC_SERVICE_SUFFIX = "GrpcService";
     private static final String PIPELINE_PACKAGE_SUFFIX = ".pipeline";
+    private static final String STREAM_METHOD_NAME = "remoteProcessStream";
 
     /**
      * Suffix to append to generated REST resource classes.
@@ -167,7 +170,13 @@ public class PipelineStepProcessor extends AbstractProcessor {
      * class extends ConfigurableStep, implements the appropriate pipeline step interface (OneToOne,
      * OneToMany, ManyToOne, ManyToMany) using gRPC types, and exposes an apply/transform method that
      * calls the configured gRPC client's remoteProcess method. Mapper and gRPC client fields are
-     * injected when configured in the annotation.</p>
+     * injected when configured in the annotation. One-to-one steps whose stub also declares a
+     * {@code remoteProcessStream} rpc can additionally use the multiplexed STREAM transport, and all
+     * steps route their calls through a {@code ChannelPool} when one is configured for the client,
+     * through the step's circuit breaker, and consult the {@code HealthMonitor} before each call.
+     * Unary one-to-one calls are also routed through the step's hedging policy. Unary calls get the
+     * step timeout, capped by the time left until the run deadline, as their gRPC deadline, and
+     * streaming calls the run deadline.</p>
      *
      * @param serviceClass the annotated service class element to read configuration from and base the generated class on
      * @param pipelineStep the resolved {@code PipelineStep} annotation instance for the service class
@@ -210,6 +219,8 @@ public class PipelineStepProcessor extends AbstractProcessor {
 
 
         // Add necessary imports as field declarations or annotations
+        String clientRef = "this.grpcClient";
+        boolean healthGuarded = false;
         if (grpcStubType != null && !grpcStubType.toString().equals("void")) {
             // Add gRPC client field with @GrpcClient annotation
             FieldSpec grpcClientField = FieldSpec.builder(
@@ -222,6 +233,24 @@ public class PipelineStepProcessor extends AbstractProcessor {
                 .build();
             
             clientStepBuilder.addField(grpcClientField);
+
+            // Route calls through a channel pool when one is configured for this client
+            TypeName grpcStubTypeName = ClassName.get(grpcStubType);
+            if (grpcStubTypeName instanceof ClassName stubClassName && stubClassName.enclosingClassName() != null) {
+                addChannelPool(clientStepBuilder, stubClassName, grpcClientName);
+                clientRef = "grpcClient()";
+            }
+
+            // Consult the health monitor before each call
+            if (grpcClientName != null && !grpcClientName.isEmpty()) {
+                clientStepBuilder.addField(FieldSpec.builder(
+                        ClassName.get("org.pipelineframework.health", "HealthMonitor"),
+                        "healthMonitor",
+                        Modifier.PRIVATE)
+                    .addAnnotation(AnnotationSpec.builder(ClassName.get("jakarta.inject", "Inject")).build())
+                    .build());
+                healthGuarded = true;
+            }
         }
         
         // Add mapper fields with CDI injection if provided
@@ -295,16 +324,30 @@ public class PipelineStepProcessor extends AbstractProcessor {
         // Server-side GrpcReactiveServiceAdapter handles gRPC-to-domain conversion
         if (stepType != null && stepType.toString().equals("org.pipelineframework.step.StepOneToMany")) {
             // For OneToMany: Input -> Multi<Output> (StepOneToMany interface has applyOneToMany(Input in) method)
+            TypeName oneToManyReturnType = ParameterizedTypeName.get(ClassName.get(Multi.class),
+                outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT);
+            TypeName oneToManyInputType = inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT;
             MethodSpec applyMethod = MethodSpec.methodBuilder("applyOneToMany")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
-                .returns(ParameterizedTypeName.get(ClassName.get(Multi.class), 
-                    outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT))
-                .addParameter(inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT, "input")
-                .addStatement("return this.grpcClient.remoteProcess(input)")
+                .returns(oneToManyReturnType)
+                .addParameter(oneToManyInputType, "input")
+                .addStatement("return applyOneToMany(input, 0L)")
                 .build();
-                
+
+            // Retries ask the server to resume the stream after the outputs already received
+            MethodSpec resumeMethod = MethodSpec.methodBuilder("applyOneToMany")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(oneToManyReturnType)
+                .addParameter(oneToManyInputType, "input")
+                .addParameter(TypeName.LONG, "resumeFrom")
+                .addStatement("return " + guardedCall(healthGuarded, true), guardedCallArgs(healthGuarded, grpcClientName,
+                    "withResumeFrom(withRunDeadline(" + clientRef + "), resumeFrom).remoteProcess(input)"))
+                .build();
+
             clientStepBuilder.addMethod(applyMethod);
+            clientStepBuilder.addMethod(resumeMethod);
         } else if (stepType != null && stepType.toString().equals("org.pipelineframework.step.StepManyToOne")) {
             // For ManyToOne: Multi<Input> -> Uni<Output> (ManyToOne interface has applyBatchMulti(Multi<Input> in) method)
             MethodSpec applyMethod = MethodSpec.methodBuilder("applyBatchMulti")
@@ -314,7 +357,8 @@ public class PipelineStepProcessor extends AbstractProcessor {
                     outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT))
                 .addParameter(ParameterizedTypeName.get(ClassName.get(Multi.class), 
                     inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT), "inputs")
-                .addStatement("return this.grpcClient.remoteProcess(inputs)")
+                .addStatement("return " + guardedCall(healthGuarded, false), guardedCallArgs(healthGuarded, grpcClientName,
+                    "withRunDeadline(" + clientRef + ").remoteProcess(inputs)"))
                 .build();
                 
             clientStepBuilder.addMethod(applyMethod);
@@ -327,22 +371,37 @@ public class PipelineStepProcessor extends AbstractProcessor {
                     outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT))
                 .addParameter(ParameterizedTypeName.get(ClassName.get(Multi.class), 
                     inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT), "inputs")
-                .addStatement("return this.grpcClient.remoteProcess(inputs)")
+                .addStatement("return " + guardedCall(healthGuarded, true), guardedCallArgs(healthGuarded, grpcClientName,
+                    "withRunDeadline(" + clientRef + ").remoteProcess(inputs)"))
                 .build();
                 
             clientStepBuilder.addMethod(applyMethod);
         } else {
             // Default to OneToOne: Input -> Uni<Output> (StepOneToOne interface has applyOneToOne(Input in) method)
-            MethodSpec applyMethod = MethodSpec.methodBuilder("applyOneToOne")
+            MethodSpec.Builder applyMethodBuilder = MethodSpec.methodBuilder("applyOneToOne")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(ParameterizedTypeName.get(ClassName.get(Uni.class), 
                     outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT))
-                .addParameter(inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT, "input")
-                .addStatement("return this.grpcClient.remoteProcess(input)")
-                .build();
-                
-            clientStepBuilder.addMethod(applyMethod);
+                .addParameter(inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT, "input");
+
+            // Services declaring a remoteProcessStream rpc can also be called over a multiplexed stream
+            List<TypeMirror> envelopeTypes = findStreamEnvelopeTypes(grpcStubType);
+            if (!envelopeTypes.isEmpty() && inputGrpcType != null && outputGrpcType != null) {
+                addStreamTransport(clientStepBuilder, clientRef, ClassName.get(inputGrpcType), ClassName.get(outputGrpcType),
+                    ClassName.get(envelopeTypes.get(0)), ClassName.get(envelopeTypes.get(1)));
+                applyMethodBuilder
+                    .beginControlFlow("if ($S.equals(transport()))", "STREAM")
+                    .addStatement("return " + guardedCall(healthGuarded, false), guardedCallArgs(healthGuarded, grpcClientName,
+                        "streamClient().call(input)"))
+                    .endControlFlow();
+            }
+            // Unary calls may be hedged; each attempt goes through the channel pool on its own and gets
+            // the step timeout or what is left of the run deadline as its gRPC deadline
+            applyMethodBuilder.addStatement("return " + guardedCall(healthGuarded, false), guardedCallArgs(healthGuarded,
+                grpcClientName, "hedging().call(() -> withCallDeadline(" + clientRef + ").remoteProcess(input))"));
+
+            clientStepBuilder.addMethod(applyMethodBuilder.build());
         }
         
         TypeSpec clientStepClass = clientStepBuilder.build();
@@ -553,6 +612,13 @@ public class PipelineStepProcessor extends AbstractProcessor {
                 inboundMapperType, outboundMapperType, autoPersistenceEnabled, runOnVirtualThreads,
                 ClassName.get("io.smallrye.mutiny", "Uni"),
                 inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT, "request");
+
+            // Serve the multiplexed stream transport when the service declares a remoteProcessStream rpc
+            List<TypeMirror> envelopeTypes = findStreamEnvelopeTypes(grpcImplType);
+            if (!envelopeTypes.isEmpty()) {
+                grpcServiceBuilder.addMethod(createRemoteProcessStreamMethod(
+                    ClassName.get(envelopeTypes.get(0)), ClassName.get(envelopeTypes.get(1))));
+            }
         }
 
         TypeSpec grpcServiceClass = grpcServiceBuilder.build();
@@ -1083,14 +1149,16 @@ public class PipelineStepProcessor extends AbstractProcessor {
                 .addModifiers(Modifier.PROTECTED)
                 .returns(inputType != null ? ClassName.get(inputType) : ClassName.OBJECT)
                 .addParameter(inputGrpcType != null ? ClassName.get(inputGrpcType) : ClassName.OBJECT, "grpcIn")
-                .addStatement("return $N.fromGrpcFromDto(grpcIn)", "inboundMapper")
+                .addStatement("return $N.$L(grpcIn)", "inboundMapper",
+                    overridesMapperMethod(inboundMapperType, "fromGrpcToDomain") ? "fromGrpcToDomain" : "fromGrpcFromDto")
                 .build())
             .addMethod(MethodSpec.methodBuilder("toGrpc")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PROTECTED)
                 .returns(outputGrpcType != null ? ClassName.get(outputGrpcType) : ClassName.OBJECT)
                 .addParameter(outputType != null ? ClassName.get(outputType) : ClassName.OBJECT, "output")
-                .addStatement("return $N.toDtoToGrpc(output)", "outboundMapper")
+                .addStatement("return $N.$L(output)", "outboundMapper",
+                    overridesMapperMethod(outboundMapperType, "toGrpcFromDomain") ? "toGrpcFromDomain" : "toDtoToGrpc")
                 .build())
             .addMethod(MethodSpec.methodBuilder("isAutoPersistenceEnabled")
                 .addAnnotation(Override.class)
@@ -1124,6 +1192,174 @@ public class PipelineStepProcessor extends AbstractProcessor {
         grpcServiceBuilder.addMethod(remoteProcessMethodBuilder.build());
     }
 
+    /**
+     * Returns the code format of a client step's remote call: through the step's circuit breaker,
+     * then through the {@code HealthMonitor} when the step has a named gRPC client.
+     *
+     * @param healthGuarded whether the call is routed through the health monitor
+     * @param multi whether the call returns a {@code Multi} rather than a {@code Uni}
+     * @return the code format, to be used with {@link #guardedCallArgs}
+     */
+    private static String guardedCall(boolean healthGuarded, boolean multi) {
+        String call = "$L";
+        if (healthGuarded) {
+            call = multi ? "healthMonitor.guardMulti($S, () -> $L)" : "healthMonitor.guard($S, () -> $L)";
+        }
+        return (multi ? "circuitBreaker().callMulti(() -> " : "circuitBreaker().call(() -> ") + call + ")";
+    }
+
+    private static Object[] guardedCallArgs(boolean healthGuarded, String grpcClientName, String call) {
+        return healthGuarded ? new Object[] {grpcClientName, call} : new Object[] {call};
+    }
+
+    /**
+     * Adds channel pooling to a client step: an injected {@code ChannelPools} and a
+     * {@code grpcClient()} accessor that returns a stub over the client's pooled channel when pooling
+     * is configured for it, or the Quarkus-managed stub otherwise.
+     *
+     * @param clientStepBuilder the client step being generated
+     * @param stubClassName the Mutiny stub class, nested in the generated {@code Mutiny*Grpc} class
+     * @param grpcClientName the gRPC client name
+     */
+    private void addChannelPool(TypeSpec.Builder clientStepBuilder, ClassName stubClassName, String grpcClientName) {
+        clientStepBuilder.addField(FieldSpec.builder(
+                ClassName.get("org.pipelineframework.grpc", "ChannelPools"),
+                "channelPools",
+                Modifier.PRIVATE)
+            .addAnnotation(AnnotationSpec.builder(ClassName.get("jakarta.inject", "Inject")).build())
+            .build());
+        clientStepBuilder.addField(FieldSpec.builder(stubClassName, "resolvedClient", Modifier.PRIVATE, Modifier.VOLATILE)
+            .build());
+
+        clientStepBuilder.addMethod(MethodSpec.methodBuilder("grpcClient")
+            .addModifiers(Modifier.PRIVATE)
+            .returns(stubClassName)
+            .addStatement("$T client = resolvedClient", stubClassName)
+            .beginControlFlow("if (client == null)")
+            .addStatement("$T pooled = channelPools != null ? channelPools.channel($S) : null",
+                ClassName.get("io.grpc", "Channel"), grpcClientName)
+            .addStatement("client = pooled != null ? $T.newMutinyStub(pooled) : this.grpcClient",
+                stubClassName.enclosingClassName())
+            .addStatement("resolvedClient = client")
+            .endControlFlow()
+            .addStatement("return client")
+            .build());
+    }
+
+    /**
+     * Adds the STREAM transport to a one-to-one client step: a lazily created
+     * {@code StreamMultiplexingClient} over the stub's {@code remoteProcessStream} rpc, and a
+     * {@code close()} that half-closes the stream when the pipeline run terminates.
+     *
+     * <p>The envelopes follow a fixed convention: the request envelope has {@code correlationId} and
+     * {@code payload} fields, the response envelope additionally has {@code errorCode} (a gRPC status
+     * code, 0 on success) and {@code errorMessage}.</p>
+     *
+     * @param clientStepBuilder the client step being generated
+     * @param clientRef the expression that yields the gRPC stub
+     * @param inputGrpcType the gRPC input message type
+     * @param outputGrpcType the gRPC output message type
+     * @param requestEnvelopeType the request envelope message type
+     * @param responseEnvelopeType the response envelope message type
+     */
+    private void addStreamTransport(TypeSpec.Builder clientStepBuilder, String clientRef,
+            TypeName inputGrpcType, TypeName outputGrpcType,
+            TypeName requestEnvelopeType, TypeName responseEnvelopeType) {
+        TypeName streamClientType = ParameterizedTypeName.get(
+            ClassName.get("org.pipelineframework.grpc", "StreamMultiplexingClient"),
+            inputGrpcType, outputGrpcType, requestEnvelopeType, responseEnvelopeType);
+
+        clientStepBuilder.addSuperinterface(ClassName.get(AutoCloseable.class));
+        clientStepBuilder.addField(FieldSpec.builder(streamClientType, "streamClient", Modifier.PRIVATE).build());
+
+        clientStepBuilder.addMethod(MethodSpec.methodBuilder("streamClient")
+            .addModifiers(Modifier.PRIVATE, Modifier.SYNCHRONIZED)
+            .returns(streamClientType)
+            .beginControlFlow("if (streamClient == null)")
+            .addStatement("streamClient = new $T<>(\n"
+                    + "requests -> withRunDeadline($L).$L(requests),\n"
+                    + "(correlationId, payload) -> $T.newBuilder().setCorrelationId(correlationId).setPayload(payload).build(),\n"
+                    + "$T::getCorrelationId,\n"
+                    + "$T::getPayload,\n"
+                    + "response -> $T.fromCodeValue(response.getErrorCode()).withDescription(response.getErrorMessage()),\n"
+                    + "streamBatchSize())",
+                ClassName.get("org.pipelineframework.grpc", "StreamMultiplexingClient"),
+                clientRef, STREAM_METHOD_NAME, requestEnvelopeType, responseEnvelopeType, responseEnvelopeType,
+                ClassName.get("io.grpc", "Status"))
+            .endControlFlow()
+            .addStatement("return streamClient")
+            .build());
+
+        clientStepBuilder.addMethod(MethodSpec.methodBuilder("close")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC, Modifier.SYNCHRONIZED)
+            .beginControlFlow("if (streamClient != null)")
+            .addStatement("streamClient.close()")
+            .addStatement("streamClient = null")
+            .endControlFlow()
+            .build());
+    }
+
+    /**
+     * Creates the server side of the STREAM transport: a {@code remoteProcessStream} method that fans
+     * the request envelopes out to the unary {@code remoteProcess} with bounded concurrency and
+     * returns correlated response envelopes.
+     *
+     * @param requestEnvelopeType the request envelope message type
+     * @param responseEnvelopeType the response envelope message type
+     * @return the generated method
+     */
+    private MethodSpec createRemoteProcessStreamMethod(TypeName requestEnvelopeType, TypeName responseEnvelopeType) {
+        ClassName streamServer = ClassName.get("org.pipelineframework.grpc", "StreamMultiplexingServer");
+        return MethodSpec.methodBuilder(STREAM_METHOD_NAME)
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(ClassName.get(Multi.class), responseEnvelopeType))
+            .addParameter(ParameterizedTypeName.get(ClassName.get(Multi.class), requestEnvelopeType), "request")
+            .addStatement("return $T.serve(request,\n"
+                    + "$T::getCorrelationId,\n"
+                    + "$T::getPayload,\n"
+                    + "this::remoteProcess,\n"
+                    + "(correlationId, output) -> $T.newBuilder().setCorrelationId(correlationId).setPayload(output).build(),\n"
+                    + "(correlationId, status) -> $T.newBuilder().setCorrelationId(correlationId)"
+                    + ".setErrorCode(status.getCode().value()).setErrorMessage(status.getDescription()).build(),\n"
+                    + "$T.concurrency())",
+                streamServer, requestEnvelopeType, requestEnvelopeType,
+                responseEnvelopeType, responseEnvelopeType, streamServer)
+            .build();
+    }
+
+    /**
+     * Looks up the {@code remoteProcessStream} rpc on a gRPC stub or service base class and returns
+     * its envelope types.
+     *
+     * @param grpcType the stub or service base class type (may be null)
+     * @return the request and response envelope types, in that order, or an empty list if the type
+     *         does not declare a bidirectional {@code remoteProcessStream} method
+     */
+    List<TypeMirror> findStreamEnvelopeTypes(TypeMirror grpcType) {
+        if (grpcType == null || grpcType.toString().equals("void")) {
+            return List.of();
+        }
+        Element grpcElement = processingEnv.getTypeUtils().asElement(grpcType);
+        if (!(grpcElement instanceof TypeElement grpcTypeElement)) {
+            return List.of();
+        }
+        for (Element member : processingEnv.getElementUtils().getAllMembers(grpcTypeElement)) {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getSimpleName().contentEquals(STREAM_METHOD_NAME)
+                    && member instanceof ExecutableElement method
+                    && method.getParameters().size() == 1
+                    && method.getParameters().get(0).asType() instanceof DeclaredType parameterType
+                    && method.getReturnType() instanceof DeclaredType returnType
+                    && parameterType.getTypeArguments().size() == 1
+                    && returnType.getTypeArguments().size() == 1) {
+                return List.of(parameterType.getTypeArguments().get(0), returnType.getTypeArguments().get(0));
+            }
+        }
+        return List.of();
+    }
+
     /**
      * Recursively checks if a class implements a specific interface.
      *
@@ -1165,6 +1401,34 @@ public class PipelineStepProcessor extends AbstractProcessor {
         return false;
     }
     
+    /**
+     * Checks whether a mapper type declares its own version of one of the optional direct mapping
+     * methods of {@code org.pipelineframework.mapper.Mapper}, rather than inheriting the default
+     * that goes through the DTO.
+     *
+     * @param mapperType the mapper type to inspect (may be null)
+     * @param methodName the name of the method to look for
+     * @return true if a type other than the framework Mapper interface declares the method
+     */
+    boolean overridesMapperMethod(TypeMirror mapperType, String methodName) {
+        if (mapperType == null) {
+            return false;
+        }
+        Element mapperElement = processingEnv.getTypeUtils().asElement(mapperType);
+        if (!(mapperElement instanceof TypeElement mapperTypeElement)) {
+            return false;
+        }
+        for (Element member : processingEnv.getElementUtils().getAllMembers(mapperTypeElement)) {
+            if (member.getKind() == ElementKind.METHOD
+                    && member.getSimpleName().contentEquals(methodName)
+                    && member.getEnclosingElement() instanceof TypeElement owner
+                    && !owner.getQualifiedName().contentEquals("org.pipelineframework.mapper.Mapper")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Derives the resource path from the service class name.
      * For example, ProcessPaymentStatusService becomes /api/v1/process-payment-status
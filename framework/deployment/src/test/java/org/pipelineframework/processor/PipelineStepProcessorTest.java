@@ -25,6 +25,7 @@ import java.util.*;
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
 import javax.tools.Diagnostic;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -308,4 +309,92 @@ class PipelineStepProcessorTest {
         // This should return false since the service doesn't implement ReactiveService
         assertFalse(result);
     }
+
+    @Test
+    void testOverridesMapperMethod() {
+        PipelineStepProcessor localProcessor = new PipelineStepProcessor();
+
+        ProcessingEnvironment localProcessingEnv = mock(ProcessingEnvironment.class);
+        javax.lang.model.util.Elements elements = mock(javax.lang.model.util.Elements.class);
+        javax.lang.model.util.Types types = mock(javax.lang.model.util.Types.class);
+        when(localProcessingEnv.getElementUtils()).thenReturn(elements);
+        when(localProcessingEnv.getTypeUtils()).thenReturn(types);
+        localProcessor.init(localProcessingEnv);
+
+        javax.lang.model.type.TypeMirror mapperType = mock(javax.lang.model.type.TypeMirror.class);
+        TypeElement mapperElement = mock(TypeElement.class);
+        when(types.asElement(mapperType)).thenReturn(mapperElement);
+
+        TypeElement frameworkMapper = mockTypeElement("org.pipelineframework.mapper.Mapper");
+        TypeElement userMapper = mockTypeElement("com.example.PaymentRecordMapper");
+        Element inheritedDefault = mockMethod("toGrpcFromDomain", frameworkMapper);
+        Element overridden = mockMethod("fromGrpcToDomain", userMapper);
+        doReturn(List.of(inheritedDefault, overridden)).when(elements).getAllMembers(mapperElement);
+
+        assertTrue(localProcessor.overridesMapperMethod(mapperType, "fromGrpcToDomain"));
+        assertFalse(localProcessor.overridesMapperMethod(mapperType, "toGrpcFromDomain"));
+        assertFalse(localProcessor.overridesMapperMethod(null, "fromGrpcToDomain"));
+    }
+
+    @Test
+    void testFindStreamEnvelopeTypes() {
+        PipelineStepProcessor localProcessor = new PipelineStepProcessor();
+
+        ProcessingEnvironment localProcessingEnv = mock(ProcessingEnvironment.class);
+        javax.lang.model.util.Elements elements = mock(javax.lang.model.util.Elements.class);
+        javax.lang.model.util.Types types = mock(javax.lang.model.util.Types.class);
+        when(localProcessingEnv.getElementUtils()).thenReturn(elements);
+        when(localProcessingEnv.getTypeUtils()).thenReturn(types);
+        localProcessor.init(localProcessingEnv);
+
+        javax.lang.model.type.TypeMirror stubType = mock(javax.lang.model.type.TypeMirror.class);
+        TypeElement stubElement = mockTypeElement("com.example.MutinyPaymentServiceStub");
+        when(types.asElement(stubType)).thenReturn(stubElement);
+
+        javax.lang.model.type.TypeMirror requestEnvelope =
+                mock(javax.lang.model.type.TypeMirror.class);
+        javax.lang.model.type.TypeMirror responseEnvelope =
+                mock(javax.lang.model.type.TypeMirror.class);
+        ExecutableElement unary = (ExecutableElement) mockMethod("remoteProcess", stubElement);
+        ExecutableElement stream =
+                (ExecutableElement) mockMethod("remoteProcessStream", stubElement);
+        javax.lang.model.element.VariableElement parameter =
+                mock(javax.lang.model.element.VariableElement.class);
+        DeclaredType parameterType = mock(DeclaredType.class);
+        DeclaredType returnType = mock(DeclaredType.class);
+        when(parameter.asType()).thenReturn(parameterType);
+        doReturn(List.of(requestEnvelope)).when(parameterType).getTypeArguments();
+        doReturn(List.of(responseEnvelope)).when(returnType).getTypeArguments();
+        doReturn(List.of(parameter)).when(stream).getParameters();
+        when(stream.getReturnType()).thenReturn(returnType);
+        doReturn(List.of(unary, stream)).when(elements).getAllMembers(stubElement);
+
+        assertEquals(
+                List.of(requestEnvelope, responseEnvelope),
+                localProcessor.findStreamEnvelopeTypes(stubType));
+        assertTrue(localProcessor.findStreamEnvelopeTypes(null).isEmpty());
+
+        doReturn(List.of(unary)).when(elements).getAllMembers(stubElement);
+        assertTrue(localProcessor.findStreamEnvelopeTypes(stubType).isEmpty());
+    }
+
+    private static TypeElement mockTypeElement(String qualifiedName) {
+        TypeElement element = mock(TypeElement.class);
+        Name name = mock(Name.class);
+        when(name.contentEquals(anyString()))
+                .thenAnswer(inv -> qualifiedName.equals(inv.getArgument(0)));
+        when(element.getQualifiedName()).thenReturn(name);
+        return element;
+    }
+
+    private static Element mockMethod(String methodName, TypeElement owner) {
+        ExecutableElement method = mock(ExecutableElement.class);
+        Name name = mock(Name.class);
+        when(name.contentEquals(anyString()))
+                .thenAnswer(inv -> methodName.equals(inv.getArgument(0)));
+        when(method.getKind()).thenReturn(ElementKind.METHOD);
+        when(method.getSimpleName()).thenReturn(name);
+        when(method.getEnclosingElement()).thenReturn(owner);
+        return method;
+    }
 }
@@ -16,226 +16,70 @@
 
 package org.pipelineframework;
 
+import io.grpc.Channel;
+import io.grpc.stub.AbstractStub;
+import io.quarkus.grpc.GrpcClient;
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.io.FileNotFoundException;
-import java.io.InputStream;
+import jakarta.inject.Inject;
 import java.lang.reflect.Field;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
+import org.pipelineframework.config.PipelineStepConfig;
+import org.pipelineframework.grpc.ChannelPools;
+import org.pipelineframework.health.GrpcHealthProbe;
+import org.pipelineframework.health.HealthProbe;
+import org.pipelineframework.health.HealthTarget;
+import org.pipelineframework.health.HttpHealthProbe;
 
 /**
  * Service for checking the health of dependent services before pipeline execution.
+ *
+ * <p>All services are probed concurrently. Healthy results are cached for {@code
+ * pipeline.health.cache-ttl-ms}, and only the services that were not healthy are probed again, with
+ * an exponential backoff, until {@code pipeline.health.max-wait-ms} elapses.
+ *
+ * <p>Each service is probed through its HTTP health endpoint unless {@code
+ * quarkus.grpc.clients.<name>.health-check=grpc}, in which case the standard gRPC health service
+ * is called over the channel the step already uses.
  */
 @ApplicationScoped
 public class HealthCheckService {
 
     private static final Logger LOG = Logger.getLogger(HealthCheckService.class);
 
-    /**
-     * Default constructor for HealthCheckService.
-     */
-    public HealthCheckService() {
-    }
-
-	/**
-	 * Creates an SSLContext that accepts all certificates (insecure).
-	 * <p>
-	 * If building the permissive context fails, returns the platform default SSLContext.
-	 *
-	 * @return an SSLContext that does not validate peer certificates, or the default SSLContext if creation of an insecure context and retrieval of the default SSLContext fail
-	 * @throws RuntimeException if both creation of the insecure context and retrieval of the default SSLContext fail
-	 */
-    private javax.net.ssl.SSLContext createInsecureSslContext() {
-        try {
-            javax.net.ssl.SSLContext sslContext = javax.net.ssl.SSLContext.getInstance("TLS");
-            javax.net.ssl.TrustManager[] trustAllCerts = new javax.net.ssl.TrustManager[] {
-                    new javax.net.ssl.X509TrustManager() {
-                        /**
-                         * List the certificate issuer authorities trusted by this trust manager.
-                         *
-                         * @return an array of trusted CA issuer certificates, or `null` if no specific issuers are defined
-                         */
-                        public java.security.cert.X509Certificate[] getAcceptedIssuers() {
-                            return null;
-                        }
-                        /**
- * Accepts any client certificate chain without performing validation.
- *
- * @param certs the client certificate chain presented during the TLS handshake; may be null or empty
- * @param authType the key exchange algorithm used for authentication (for example "RSA"); ignored
- */
-public void checkClientTrusted(java.security.cert.X509Certificate[] certs, String authType) { }
-                        /**
- * Accepts any X.509 certificate chain without performing validation.
- *
- * @param certs the certificate chain presented by the peer, may be null or empty
- * @param authType the authentication type based on the certificate, typically a key exchange algorithm (e.g. "RSA")
- */
-public void checkServerTrusted(java.security.cert.X509Certificate[] certs, String authType) { }
-                    }
-            };
-            sslContext.init(null, trustAllCerts, new java.security.SecureRandom());
-            return sslContext;
-        } catch (Exception e) {
-            LOG.warn("Failed to create insecure SSL context, proceeding with default", e);
-            try {
-	            return javax.net.ssl.SSLContext.getDefault();
-            } catch (Exception ex) {
-                LOG.error("Failed to get default SSL context", ex);
-                throw new RuntimeException(ex);
-            }
-        }
-    }
-
-    /**
-     * Creates an SSL context based on the gRPC client's truststore configuration.
-     *
-     * Supports the following keystore types based on file extension:
-     * - JKS (Java KeyStore) for files with .jks extension
-     * - PKCS12 for files with .p12, .pfx, or .pkcs12 extensions
-     * - Defaults to JKS if no recognized extension is found
-     *
-     * @param grpcClientName the name of the gRPC client whose truststore configuration to use
-     * @return SSL context with trust anchors loaded from the configured truststore
-     */
-    private javax.net.ssl.SSLContext createSslContextForGrpcClient(String grpcClientName) {
-        try {
-            // First, try to get the truststore configuration for this specific gRPC client
-            String trustStorePath = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".tls.trust-store-file", String.class)
-                    .orElse(ConfigProvider.getConfig()
-                            .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".tls.trust-store", String.class)
-                            .orElse(null));
-
-            String trustStorePassword = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".tls.trust-store-password", String.class)
-                    .orElse(ConfigProvider.getConfig()
-                            .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".tls.trust-password", String.class)
-                            .orElse(null));
+    /** Health check timeouts, cache and backoff settings. */
+    @Inject
+    PipelineStepConfig pipelineStepConfig;
 
-            // If client-specific truststore is not configured, try the global truststore
-            if (trustStorePath == null) {
-                trustStorePath = ConfigProvider.getConfig()
-                        .getOptionalValue("quarkus.tls.trust-store.jks.path", String.class)
-                        .orElse(ConfigProvider.getConfig()
-                                .getOptionalValue("quarkus.tls.trust-store.path", String.class)
-                                .orElse(null));
+    /** Pooled channels, preferred over a step's own channel for gRPC probes. */
+    @Inject
+    ChannelPools channelPools;
 
-                if (trustStorePath != null) {
-                    trustStorePassword = ConfigProvider.getConfig()
-                            .getOptionalValue("quarkus.tls.trust-store.jks.password", String.class)
-                            .orElse(ConfigProvider.getConfig()
-                                    .getOptionalValue("quarkus.tls.trust-store.password", String.class)
-                                    .orElse("secret")); // Default to 'secret' if not specified
-                }
-            }
-
-            // Use default password if not specified
-            if (trustStorePassword == null) {
-                trustStorePassword = "changeit"; // Default Java truststore password
-            }
-
-            if (trustStorePath != null) {
-                // Try to load the truststore from the classpath first, then as a file
-                InputStream trustStoreStream = getTrustStoreStream(trustStorePath);
-
-                if (trustStoreStream != null) {
-                    try {
-                        javax.net.ssl.TrustManagerFactory tmf = javax.net.ssl.TrustManagerFactory.getInstance(
-                                javax.net.ssl.TrustManagerFactory.getDefaultAlgorithm());
-
-                        // Determine keystore type based on file extension, default to JKS
-                        String keyStoreType = determineKeyStoreType(trustStorePath);
-                        java.security.KeyStore ts = java.security.KeyStore.getInstance(keyStoreType);
-                        try (trustStoreStream) {
-                            ts.load(trustStoreStream, trustStorePassword.toCharArray());
-                        }
-                        tmf.init(ts);
-
-                        javax.net.ssl.SSLContext sslContext = javax.net.ssl.SSLContext.getInstance("TLS");
-                        sslContext.init(null, tmf.getTrustManagers(), null);
-
-                        LOG.info("Using custom truststore for gRPC client '" + grpcClientName + "'");
-                        return sslContext;
-                    } catch (Exception e) {
-                        LOG.warn("Failed to load truststore from: " + trustStorePath, e);
-                    }
-                } else {
-                    LOG.warn("Truststore file not found for gRPC client '" + grpcClientName + "': " + trustStorePath);
-                }
-            }
-
-            // If no specific truststore is configured, fall back to the default
-            return javax.net.ssl.SSLContext.getDefault();
-        } catch (Exception e) {
-            LOG.warn("Failed to create SSL context with custom truststore, falling back to default", e);
-            try {
-                return javax.net.ssl.SSLContext.getDefault();
-            } catch (Exception ex) {
-                LOG.error("Failed to get default SSL context", ex);
-                throw new RuntimeException(ex);
-            }
-        }
-    }
-
-    private static InputStream getTrustStoreStream(String trustStorePath) throws FileNotFoundException {
-        InputStream trustStoreStream = null;
-
-        // Try loading from classpath first
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        if (classLoader != null) {
-            trustStoreStream = classLoader.getResourceAsStream(trustStorePath);
-        }
-
-        if (trustStoreStream == null) {
-            // If not found in classpath, try as a regular file
-            java.io.File trustStoreFile = new java.io.File(trustStorePath);
-            if (trustStoreFile.exists()) {
-                trustStoreStream = new java.io.FileInputStream(trustStoreFile);
-            }
-        }
-        return trustStoreStream;
-    }
+    private final HttpHealthProbe httpProbe = new HttpHealthProbe();
+    private final GrpcHealthProbe grpcProbe = new GrpcHealthProbe();
+    private final Map<String, Long> healthyUntil = new ConcurrentHashMap<>();
 
     /**
-     * Determines the keystore type based on the file extension.
-     *
-     * Currently supports:
-     * - .p12, .pfx: PKCS12 format
-     * - .jks: JKS format
-     * - .pkcs12: PKCS12 format
-     * - Default: JKS format
-     *
-     * @param trustStorePath the path to the truststore file
-     * @return the appropriate keystore type string
+     * Default constructor for HealthCheckService.
      */
-    private String determineKeyStoreType(String trustStorePath) {
-        if (trustStorePath != null) {
-            String lowerPath = trustStorePath.toLowerCase();
-            if (lowerPath.endsWith(".p12") || lowerPath.endsWith(".pfx") || lowerPath.endsWith(".pkcs12")) {
-                return "PKCS12";
-            } else if (lowerPath.endsWith(".jks")) {
-                return "JKS";
-            }
-        }
-        // Default to JKS if no specific extension is recognized
-        return "JKS";
+    public HealthCheckService() {
     }
 
     /**
      * Checks the health of all dependent services before running the pipeline.
-     * This method inspects each step to detect gRPC client dependencies and checks their health endpoints.
-     * Retries every 5 seconds for up to 2 minutes before giving up.
+     * This method inspects each step to detect gRPC client dependencies and probes them
+     * concurrently, retrying only the unhealthy ones with an exponential backoff.
      *
      * @param steps the list of pipeline steps to check for dependent services
      * @return true if all dependent services are healthy, false otherwise
@@ -243,183 +87,196 @@ public void checkServerTrusted(java.security.cert.X509Certificate[] certs, Strin
     public boolean checkHealthOfDependentServices(List<Object> steps) {
         LOG.info("Checking health of dependent services before pipeline execution...");
 
-        // Extract all gRPC client names from the steps
-        Set<String> grpcClientNames = new HashSet<>();
-        for (Object step : steps) {
-            if (step != null) {
-                Set<String> stepClientNames = extractGrpcClientNames(step);
-                grpcClientNames.addAll(stepClientNames);
-            }
-        }
-
-        if (grpcClientNames.isEmpty()) {
+        Map<String, HealthTarget> targets = extractHealthTargets(steps);
+        if (targets.isEmpty()) {
             LOG.info("No gRPC client dependencies found. Proceeding with pipeline execution.");
             return true;
         }
 
-        // Create a Uni that performs the health checks and apply retry logic
-        Uni<Boolean> healthCheckUni = Uni.createFrom().item(() -> {
-            boolean allHealthy = true;
-            Set<String> unhealthyServices = new HashSet<>();
-
-            // Check the health of each gRPC client endpoint
-            for (String grpcClientName : grpcClientNames) {
-                if (!isGrpcClientServiceHealthy(grpcClientName)) {
-                    allHealthy = false;
-                    unhealthyServices.add(grpcClientName);
-                }
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        for (String clientName : targets.keySet()) {
+            if (!isCachedHealthy(clientName)) {
+                pending.add(clientName);
             }
+        }
+        if (pending.isEmpty()) {
+            LOG.info("All dependent services were recently healthy. Proceeding with pipeline execution.");
+            return true;
+        }
 
-            if (allHealthy) {
-                LOG.info("All dependent services are healthy. Proceeding with pipeline execution.");
-                return true;
-            } else {
-                LOG.warn("Health check failed. Services not healthy: " + unhealthyServices);
-                throw new RuntimeException("Health check failed: " + unhealthyServices);
+        PipelineStepConfig.HealthConfig config = pipelineStepConfig.health();
+        Duration probeTimeout = Duration.ofMillis(config.probeTimeoutMs());
+        Duration cacheTtl = Duration.ofMillis(config.cacheTtlMs());
+
+        Uni<Void> healthCheckUni = Uni.createFrom().deferred(() -> {
+            List<Uni<Boolean>> probes = new ArrayList<>();
+            for (String clientName : pending) {
+                HealthTarget target = targets.get(clientName);
+                probes.add(probe(target, probeTimeout)
+                        .invoke(healthy -> {
+                            if (healthy) {
+                                markHealthy(clientName, cacheTtl);
+                                pending.remove(clientName);
+                            }
+                        }));
             }
+            return Uni.join().all(probes).andCollectFailures().chain(() -> {
+                if (pending.isEmpty()) {
+                    LOG.info("All dependent services are healthy. Proceeding with pipeline execution.");
+                    return Uni.createFrom().voidItem();
+                }
+                LOG.warn("Health check failed. Services not healthy: " + pending);
+                return Uni.createFrom().failure(
+                        new IllegalStateException("Health check failed: " + pending));
+            });
         })
         .onFailure().retry()
-        .withBackOff(Duration.ofSeconds(5), Duration.ofSeconds(5))
-        .atMost(24); // 24 attempts with 5s backoff = ~2 minutes
+        .withBackOff(Duration.ofMillis(config.initialBackoffMs()), Duration.ofMillis(config.maxBackoffMs()))
+        .expireIn(config.maxWaitMs());
 
         try {
-            return healthCheckUni.await().indefinitely();
+            healthCheckUni.await().indefinitely();
+            return true;
         } catch (Exception e) {
-            LOG.error("Health checks failed after maximum attempts. Pipeline execution will not proceed.");
+            LOG.error("Health checks failed after waiting " + config.maxWaitMs()
+                    + " ms. Services not healthy: " + pending + ". Pipeline execution will not proceed.");
             return false;
         }
     }
 
     /**
-     * Checks the health of a gRPC client service by attempting to access its health endpoint.
-     * Uses the gRPC client configuration from the application properties to determine the host and port.
+     * Probes one service once with the configured probe timeout.
      *
-     * @param grpcClientName the name of the gRPC client
-     * @return true if the service is healthy, false otherwise
+     * @param target the service to probe
+     * @return a Uni emitting true if the service is healthy and false otherwise; never fails
      */
-    private boolean isGrpcClientServiceHealthy(String grpcClientName) {
-        try {
-            // Get host and port from configuration
-            String host = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".host", String.class)
-                    .orElse("localhost");
-
-            String portStr = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".port", String.class)
-                    .orElse("8080");
-
-            int port = Integer.parseInt(portStr);
-
-            // Determine if the service uses HTTPS based on TLS configuration
-            boolean useTls = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".tls.enabled", Boolean.class)
-                    .orElse(false);
-
-            // Get health endpoint path from configuration, default to /q/health
-            String healthPath = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".health-path", String.class)
-                    .orElse("/q/health");
+    public Uni<Boolean> probe(HealthTarget target) {
+        return probe(target, Duration.ofMillis(pipelineStepConfig.health().probeTimeoutMs()));
+    }
 
-            // Use a custom SSL context based on service configuration
-            boolean allowInsecureSSL = ConfigProvider.getConfig()
-                    .getOptionalValue("quarkus.grpc.clients." + grpcClientName + ".allow-insecure-ssl", Boolean.class)
-                    .orElse(
-                            ConfigProvider.getConfig()
-                                    .getOptionalValue("quarkus.grpc.clients.allow-insecure-ssl", Boolean.class)
-                                    .orElse(false));
+    private Uni<Boolean> probe(HealthTarget target, Duration probeTimeout) {
+        return probeFor(target).probe(target, probeTimeout)
+                .ifNoItem().after(probeTimeout).recoverWithItem(false);
+    }
 
-            HttpClient.Builder clientBuilder = HttpClient.newBuilder()
-                    .connectTimeout(Duration.ofSeconds(5));
+    /**
+     * Forgets a cached healthy result, so that the service is probed again by the next check.
+     *
+     * @param clientName the gRPC client name of the service
+     */
+    public void invalidate(String clientName) {
+        healthyUntil.remove(clientName);
+    }
 
-            if (useTls) {
-                javax.net.ssl.SSLContext sslContext;
-                if (allowInsecureSSL) {
-                    LOG.warn("Using insecure SSL context with disabled certificate validation for gRPC client '" +
-                            grpcClientName + "'. This setting MUST NOT be enabled in production!");
-                    sslContext = createInsecureSslContext();
-                } else {
-                    // Try to use the same truststore configuration as the gRPC client
-                    sslContext = createSslContextForGrpcClient(grpcClientName);
-                }
-                clientBuilder.sslContext(sslContext);
+    /**
+     * Selects the probe for a service from {@code quarkus.grpc.clients.<name>.health-check}.
+     * The gRPC probe needs a channel; without one the HTTP probe is used.
+     *
+     * @param target the service to probe
+     * @return the probe to use
+     */
+    protected HealthProbe probeFor(HealthTarget target) {
+        String mode = ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.grpc.clients." + target.clientName() + ".health-check", String.class)
+                .orElse("http");
+        if ("grpc".equalsIgnoreCase(mode)) {
+            if (target.channel() != null) {
+                return grpcProbe;
             }
+            LOG.debug("No channel found for gRPC client '" + target.clientName() + "', checking its HTTP health endpoint");
+        }
+        return httpProbe;
+    }
 
-            HttpClient serviceHttpClient = clientBuilder.build();
-
-            // Construct the health check URL
-            String protocol = useTls ? "https" : "http";
-            String healthUrl = String.format("%s://%s:%d%s", protocol, host, port, healthPath);
-
-            // Create and execute the HTTP request
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(healthUrl))
-                    .timeout(Duration.ofSeconds(5))  // Increase timeout
-                    .GET()
-                    .build();
+    /**
+     * Releases the HTTP clients kept for health probes.
+     */
+    @PreDestroy
+    void close() {
+        httpProbe.close();
+    }
 
-            // Use sendAsync with a timeout to avoid blocking indefinitely and handle interruptions better
-            CompletableFuture<HttpResponse<String>> responseFuture =
-                    serviceHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    private boolean isCachedHealthy(String clientName) {
+        Long until = healthyUntil.get(clientName);
+        return until != null && until - System.nanoTime() > 0;
+    }
 
-            // Wait for the response with timeout
-            HttpResponse<String> response = responseFuture
-                    .orTimeout(5, java.util.concurrent.TimeUnit.SECONDS)
-                    .join(); // This is safe in this context since we have timeout handling
+    private void markHealthy(String clientName, Duration cacheTtl) {
+        if (!cacheTtl.isZero()) {
+            healthyUntil.put(clientName, System.nanoTime() + cacheTtl.toNanos());
+        }
+    }
 
-            boolean isHealthy = response.statusCode() == 200;
-            if (isHealthy) {
-                LOG.info("✓ gRPC client '" + grpcClientName + "' service at " + host + ":" + port + " is healthy");
-            } else {
-                LOG.info("✗ gRPC client '" + grpcClientName + "' service at " + host + ":" + port + " is not healthy. Status: " + response.statusCode());
+    /**
+     * Finds the services the given steps depend on, together with the channel each step calls
+     * its service over: the client's pooled channel if pooling is configured, otherwise the
+     * channel of the injected stub.
+     *
+     * @param steps the pipeline steps to inspect
+     * @return the targets keyed by gRPC client name, in discovery order
+     */
+    Map<String, HealthTarget> extractHealthTargets(List<Object> steps) {
+        Map<String, HealthTarget> targets = new LinkedHashMap<>();
+        for (Object step : steps) {
+            if (step == null) {
+                continue;
             }
+            forEachGrpcClientField(step, (clientName, field) -> {
+                HealthTarget existing = targets.get(clientName);
+                if (existing == null || existing.channel() == null) {
+                    targets.put(clientName, new HealthTarget(clientName, channelOf(clientName, step, field)));
+                }
+            });
+        }
+        return targets;
+    }
 
-            return isHealthy;
-        } catch (java.util.concurrent.CompletionException e) {
-            // Handle TimeoutException and other completion-related exceptions
-            if (e.getCause() instanceof java.util.concurrent.TimeoutException) {
-                LOG.info("✗ gRPC client '" + grpcClientName + "' service health check timed out");
-            } else {
-                LOG.info("✗ gRPC client '" + grpcClientName + "' service is not accessible. Error: " + e.getMessage());
-            }
-            return false;
-        } catch (Exception e) {
-            LOG.info("✗ Error checking health of gRPC client '" + grpcClientName + "' service. Error: " + e.getMessage());
-            return false;
+    private Channel channelOf(String clientName, Object step, Field field) {
+        Channel pooled = channelPools != null ? channelPools.channel(clientName) : null;
+        if (pooled != null) {
+            return pooled;
+        }
+        try {
+            field.setAccessible(true);
+            return field.get(step) instanceof AbstractStub<?> stub ? stub.getChannel() : null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Cannot read gRPC client field " + field.getName() + " of " + step.getClass().getName(), e);
+            return null;
         }
     }
 
     /**
      * Finds gRPC client names declared on the given step by scanning its fields and superclasses for the `@GrpcClient` annotation.
      *
-     * If the annotation's value is empty, the field name is used as the client name.
+     * If the annotation's value is empty or left at its default, the field name is used as the client name.
      *
      * @param step the step instance to inspect for gRPC client fields
      * @return a set of discovered gRPC client names
      */
     public Set<String> extractGrpcClientNames(Object step) {
         Set<String> grpcClientNames = new HashSet<>();
+        forEachGrpcClientField(step, (clientName, field) -> grpcClientNames.add(clientName));
+        return grpcClientNames;
+    }
 
-	    // Walk the class hierarchy to check all fields including superclasses
+    private static void forEachGrpcClientField(
+            Object step, BiConsumer<String, Field> action) {
+        // Walk the class hierarchy to check all fields including superclasses
         Class<?> currentClass = step.getClass();
         while (currentClass != null && currentClass != Object.class) {
-            // Check all declared fields in the current class
             for (Field field : currentClass.getDeclaredFields()) {
-                if (field.isAnnotationPresent(io.quarkus.grpc.GrpcClient.class)) {
-                    io.quarkus.grpc.GrpcClient grpcClientAnnotation = field.getAnnotation(io.quarkus.grpc.GrpcClient.class);
+                GrpcClient grpcClientAnnotation = field.getAnnotation(GrpcClient.class);
+                if (grpcClientAnnotation != null) {
                     String clientName = grpcClientAnnotation.value();
 
-                    // If the value is empty, use the field name as default
-                    if (clientName.isEmpty()) {
+                    // If the value is empty or left at its default, use the field name
+                    if (clientName.isEmpty() || GrpcClient.ELEMENT_NAME.equals(clientName)) {
                         clientName = field.getName();
                     }
-
-                    grpcClientNames.add(clientName);
+                    action.accept(clientName, field);
                 }
             }
-            // Move to the superclass
             currentClass = currentClass.getSuperclass();
         }
-
-        return grpcClientNames;
     }
-}
\ No newline at end of file
+}
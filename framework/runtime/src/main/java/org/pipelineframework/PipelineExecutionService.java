@@ -18,16 +18,32 @@ package org.pipelineframework;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.quarkus.runtime.ShutdownEvent;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.spi.CDI;
 import jakarta.inject.Inject;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.time.StopWatch;
 import org.jboss.logging.Logger;
 import org.pipelineframework.config.PipelineConfig;
 import org.pipelineframework.config.PipelineStepConfig;
+import org.pipelineframework.dlq.DeadLetterEntry;
+import org.pipelineframework.dlq.DeadLetterQuery;
+import org.pipelineframework.dlq.DeadLetterStore;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.dlq.TruncatedStreamException;
+import org.pipelineframework.health.HealthMonitor;
+import org.pipelineframework.resilience.FailureBudget;
+import org.pipelineframework.resilience.FailureBudgetExceededException;
+import org.pipelineframework.scheduler.RunShare;
+import org.pipelineframework.sink.RunSink;
 
 /**
  * Service responsible for executing pipeline logic.
@@ -51,6 +67,19 @@ public class PipelineExecutionService {
   @Inject
   protected HealthCheckService healthCheckService;
 
+  /** Monitor that keeps the health of dependent services current while the pipeline runs. */
+  @Inject
+  protected HealthMonitor healthMonitor;
+
+  /** Pipeline-wide settings, including the failure budget of each run, the limit on active runs and the drain timeout on shutdown. */
+  @Inject
+  protected PipelineStepConfig pipelineStepConfig;
+
+  private final Map<String, PipelineRun> activeRuns = new ConcurrentHashMap<>();
+
+  /** The step classes in execution order, resolved from configuration once and shared by all runs. */
+  private volatile List<Class<?>> stepClasses;
+
   /**
    * Default constructor for PipelineExecutionService.
    */
@@ -71,6 +100,109 @@ public class PipelineExecutionService {
    *         an IllegalStateException
    */
   public Multi<?> executePipeline(Multi<?> input) {
+    return execute(input, new PipelineRun());
+  }
+
+  /**
+   * Start the configured pipeline on the provided input, counting its outputs without keeping them.
+   *
+   * @param input the input Multi supplied to the pipeline steps
+   * @return the handle of the run
+   * @see #start(Multi, RunSink)
+   */
+  public PipelineRun start(Multi<?> input) {
+    return start(input, RunSink.counting());
+  }
+
+  /**
+   * Start the configured pipeline on the provided input and return a handle to the run.
+   * <p>
+   * The run is subscribed to at once, as {@link #executePipeline(Multi)} would be, and its outputs are passed to
+   * the sink one at a time, so memory stays flat however many outputs the run has. The handle completes with the
+   * run, can cancel or drain it, and {@linkplain PipelineRun#summary() summarises} it. Runs still going when the
+   * application shuts down are drained for up to {@code pipeline.shutdown.drain-timeout-ms}.
+   * <p>
+   * Any number of runs may go on at the same time, up to {@code pipeline.runs.max-active}. They share the
+   * resolved pipeline and the gRPC channels of its steps, while each has its own step instances, lineage cache,
+   * failure budget and counts.
+   *
+   * @param input the input Multi supplied to the pipeline steps
+   * @param sink consumes the outputs of the run
+   * @return the handle of the run
+   * @throws RejectedExecutionException if {@code pipeline.runs.max-active} runs are already active
+   */
+  public PipelineRun start(Multi<?> input, RunSink sink) {
+    return start(input, sink, RunShare.DEFAULT);
+  }
+
+  /**
+   * Start the configured pipeline on the provided input with the given share of step capacity.
+   * <p>
+   * Steps with a capacity limit ({@code pipeline.scheduler.step-capacity}) grant their calls to the runs of the
+   * highest priority first, and to runs of the same priority in proportion to their weights.
+   *
+   * @param input the input Multi supplied to the pipeline steps
+   * @param sink consumes the outputs of the run
+   * @param share the priority and weight of the run
+   * @return the handle of the run
+   * @throws RejectedExecutionException if {@code pipeline.runs.max-active} runs are already active
+   * @see org.pipelineframework.scheduler.FairScheduler
+   */
+  public PipelineRun start(Multi<?> input, RunSink sink, RunShare share) {
+    PipelineRun run = new PipelineRun(share);
+    int maxActive = pipelineStepConfig != null ? pipelineStepConfig.runs().maxActive() : 0;
+    synchronized (activeRuns) {
+      if (maxActive > 0 && activeRuns.size() >= maxActive) {
+        throw new RejectedExecutionException(MessageFormat.format(
+          "{0} pipeline runs are already active, the maximum allowed by pipeline.runs.max-active", activeRuns.size()));
+      }
+      activeRuns.put(run.id(), run);
+    }
+    run.start(execute(input, run).onTermination().invoke(() -> activeRuns.remove(run.id())), sink);
+    return run;
+  }
+
+  /**
+   * Find an active run started with {@link #start(Multi, RunSink)}.
+   *
+   * @param id the id of the run
+   * @return the run, or empty if there is no such run or it is over
+   */
+  public Optional<PipelineRun> run(String id) {
+    return Optional.ofNullable(activeRuns.get(id));
+  }
+
+  /**
+   * The runs started with {@link #start(Multi, RunSink)} that are not over yet.
+   *
+   * @return the active runs
+   */
+  public Collection<PipelineRun> activeRuns() {
+    return List.copyOf(activeRuns.values());
+  }
+
+  /**
+   * Drain the runs still going when the application shuts down, so that the items they have taken finish and
+   * nothing is lost or processed twice by the next deployment. All runs stop taking new items at once and share
+   * the drain timeout; runs that do not finish in time are cancelled.
+   *
+   * @param event the shutdown event
+   */
+  void onShutdown(@Observes ShutdownEvent event) {
+    if (activeRuns.isEmpty()) {
+      return;
+    }
+    long timeoutMs = pipelineStepConfig != null ? pipelineStepConfig.shutdown().drainTimeoutMs() : 30000;
+    List<PipelineRun> runs = List.copyOf(activeRuns.values());
+    LOG.infof("Draining %d pipeline runs for up to %d ms before shutting down", runs.size(), timeoutMs);
+    runs.forEach(PipelineRun::stopIntake);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    for (PipelineRun run : runs) {
+      run.drain(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 0)));
+    }
+  }
+
+  private Multi<?> execute(Multi<?> input, PipelineRun run) {
     return Multi.createFrom().deferred(() -> {
       // This code is executed at subscription time
       StopWatch watch = new StopWatch();
@@ -87,10 +219,23 @@ public class PipelineExecutionService {
       if (!healthCheckService.checkHealthOfDependentServices(steps)) {
         return Multi.createFrom().failure(new RuntimeException("One or more dependent services are not healthy. Pipeline execution aborted after retries."));
       }
+      healthMonitor.watch(healthCheckService.extractHealthTargets(steps).values());
 
-      Object result = pipelineRunner.run(input, steps);
+      List<String> stepNames =
+        steps.stream().filter(Objects::nonNull).map(step -> DeadLetters.stepName(step.getClass())).toList();
+      FailureBudget failureBudget = FailureBudget.of(
+        pipelineStepConfig != null ? pipelineStepConfig.failureBudget() : null, stepNames);
+      run.stepNames(stepNames);
+      run.failureBudget(failureBudget);
+      if (pipelineStepConfig != null) {
+        run.rateWindow(Duration.ofMillis(pipelineStepConfig.runs().rateWindowMs()));
+      }
+      Object result = pipelineRunner.run(input, steps, run);
+      if (failureBudget != null) {
+        result = enforce(result, failureBudget);
+      }
 
-      return switch (result) {
+      Multi<?> outputs = switch (result) {
         case null -> Multi.createFrom().failure(new IllegalStateException(
           "PipelineRunner returned null"));
         case Multi<?> multi1 -> multi1
@@ -123,20 +268,187 @@ public class PipelineExecutionService {
           MessageFormat.format("PipelineRunner returned unexpected type: {0}", result.getClass().getName())
         ));
       };
+      return failureBudget != null ? listenForDeadLetters(outputs, run) : outputs;
+    });
+  }
+
+  /**
+   * Charge the items the run dead-letters to its failure budget. Its steps find the run in the context of its
+   * subscription and notify it of its own dead letters only, also when it is subscribed to through
+   * {@link #executePipeline(Multi)} while other runs share the steps.
+   */
+  static <T> Multi<T> listenForDeadLetters(Multi<T> outputs, PipelineRun run) {
+    return outputs.withContext((multi, context) -> {
+      if (!context.contains(DeadLetters.RUN_LISTENER)) {
+        context.put(DeadLetters.RUN_LISTENER, run);
+      }
+      return multi;
+    });
+  }
+
+  /**
+   * Fail the run with a summary of its steps' outcomes if its failure budget is exhausted by the time the run
+   * completes. The runner has already stopped new work from entering the run at that point, and the items in
+   * flight have finished.
+   */
+  private static Object enforce(Object result, FailureBudget failureBudget) {
+    Supplier<Uni<?>> failIfExhausted = () -> failureBudget.isExhausted()
+      ? Uni.createFrom().failure(new FailureBudgetExceededException(failureBudget.summary()))
+      : Uni.createFrom().voidItem();
+    return switch (result) {
+      case Multi<?> multi -> multi.onCompletion().call(failIfExhausted);
+      case Uni<?> uni -> uni.call(ignored -> failIfExhausted.get());
+      case null, default -> result;
+    };
+  }
+
+  /**
+   * Replay dead-lettered items, re-injecting each into the pipeline at the step that failed to process it.
+   * <p>
+   * The entries selected by the query are read from the {@link DeadLetters#store() dead-letter store}. Items that
+   * failed together, as a stream or a batch, are replayed together in one run; the other items of a step are
+   * replayed in one run per step. Each run starts at the failing step and goes through the rest of the pipeline,
+   * and its entries are marked as replayed once it completes. Entries whose item is not a protobuf message, or
+   * whose step is no longer part of the pipeline, are skipped with a warning. Groups of streams that were too long
+   * to be recorded in full are skipped with an error.
+   *
+   * @param query the dead letters to replay
+   * @return the outputs of the replay runs, one run after the other; fails if no store is configured, the
+   *         pipeline cannot be loaded or dependent services are unhealthy
+   */
+  public Multi<?> replayDeadLetters(DeadLetterQuery query) {
+    return Multi.createFrom().deferred(() -> {
+      DeadLetterStore store = DeadLetters.store();
+      if (store == null) {
+        return Multi.createFrom().failure(new IllegalStateException("No dead-letter store is configured"));
+      }
+      List<Object> steps;
+      try {
+        steps = loadPipelineSteps();
+      } catch (PipelineConfigurationException e) {
+        return Multi.createFrom().failure(e);
+      }
+      List<String> stepNames = steps.stream().map(step -> DeadLetters.stepName(step.getClass())).toList();
+
+      List<DeadLetterEntry> selected = store.read(query);
+      // Groups of streams too long to be recorded in full would replay a different stream
+      Set<String> truncatedGroups = new HashSet<>();
+      for (DeadLetterEntry entry : selected) {
+        if (entry.group() != null && TruncatedStreamException.class.getName().equals(entry.causeType())) {
+          truncatedGroups.add(entry.group());
+          LOG.errorf("Skipping dead-letter group %s of step %s: %s", entry.group(), entry.step(), entry.causeMessage());
+        }
+      }
+
+      // Runs keyed by step index, then by group; ungrouped items of a step share one run
+      Map<Integer, Map<String, List<DeadLetterEntry>>> runs = new TreeMap<>();
+      for (DeadLetterEntry entry : selected) {
+        int index = stepNames.indexOf(entry.step());
+        if (entry.group() != null && truncatedGroups.contains(entry.group())) {
+          continue;
+        }
+        if (index < 0) {
+          LOG.warnf("Skipping dead letter %d: step %s is not part of the pipeline", entry.id(), entry.step());
+        } else if (entry.encoding() != DeadLetterEntry.Encoding.PROTOBUF) {
+          LOG.warnf("Skipping dead letter %d: its %s item cannot be replayed", entry.id(), entry.encoding());
+        } else {
+          runs.computeIfAbsent(index, ignored -> new LinkedHashMap<>())
+            .computeIfAbsent(entry.group() != null ? entry.group() : "", ignored -> new ArrayList<>())
+            .add(entry);
+        }
+      }
+      if (runs.isEmpty()) {
+        LOG.info("No dead letters to replay");
+        return Multi.createFrom().empty();
+      }
+
+      List<Object> replayedSteps = steps.subList(runs.keySet().iterator().next(), steps.size());
+      if (!healthCheckService.checkHealthOfDependentServices(replayedSteps)) {
+        return Multi.createFrom().failure(new RuntimeException("One or more dependent services are not healthy. Dead-letter replay aborted after retries."));
+      }
+
+      List<Multi<Object>> replays = new ArrayList<>();
+      runs.forEach((index, groups) -> groups.values().forEach(entries ->
+        replays.add(replay(store, entries, steps.subList(index, steps.size())))));
+      return Multi.createBy().concatenating().streams(replays);
+    });
+  }
+
+  private Multi<Object> replay(DeadLetterStore store, List<DeadLetterEntry> entries, List<Object> steps) {
+    return Multi.createFrom().deferred(() -> {
+      List<Object> items = new ArrayList<>(entries.size());
+      for (DeadLetterEntry entry : entries) {
+        items.add(DeadLetters.decode(entry));
+      }
+      List<Long> ids = entries.stream().map(DeadLetterEntry::id).toList();
+      LOG.infof("Replaying %d dead letters from step %s", ids.size(), entries.getFirst().step());
+
+      Object result = pipelineRunner.run(Multi.createFrom().iterable(items), steps);
+      Multi<Object> outputs = switch (result) {
+        case Multi<?> multi -> multi.map(Object.class::cast);
+        case Uni<?> uni -> uni.toMulti().map(Object.class::cast);
+        case null, default -> Multi.createFrom().failure(new IllegalStateException(
+          MessageFormat.format("PipelineRunner returned unexpected result: {0}", result)));
+      };
+      return outputs.onCompletion().invoke(() -> store.markReplayed(ids));
     });
   }
 
   /**
-   * Load configured pipeline steps, instantiate them as CDI-managed beans and return them in execution order.
+   * Instantiate the configured pipeline steps as CDI-managed beans and return them in execution order.
    *
-   * <p>Steps are ordered by their `order` property; entries without an `order` are treated as 0. If configuration
-   * cannot be read or an error occurs while instantiating steps, an exception is thrown to indicate the failure,
-   * except when no steps are configured (empty stepConfigs map), which returns an empty list.
+   * <p>The step classes are resolved from configuration on first use and shared by all runs, while each call
+   * creates the run's own step instances. If configuration cannot be read or an error occurs while instantiating
+   * steps, an exception is thrown to indicate the failure, except when no steps are configured (empty stepConfigs
+   * map), which returns an empty list.
    *
    * @return the instantiated pipeline step objects in execution order, or an empty list if no steps are configured
    * @throws PipelineConfigurationException if there are configuration or instantiation failures
    */
   private List<Object> loadPipelineSteps() {
+    List<Class<?>> classes = stepClasses;
+    if (classes == null) {
+      classes = resolveStepClasses();
+      stepClasses = classes;
+    }
+    try {
+      List<Object> steps = new ArrayList<>(classes.size());
+      List<String> failedSteps = new ArrayList<>();
+      for (Class<?> stepClass : classes) {
+        Object step = createStep(stepClass);
+        if (step != null) {
+          steps.add(step);
+        } else {
+          failedSteps.add(stepClass.getName());
+        }
+      }
+
+      if (!failedSteps.isEmpty()) {
+        String message = String.format("Failed to instantiate %d step(s): %s",
+          failedSteps.size(), String.join(", ", failedSteps));
+        LOG.error(message);
+        throw new PipelineConfigurationException(message);
+      }
+
+      if (LOG.isDebugEnabled()) {
+        LOG.debugf("Loaded %d pipeline steps from application properties", steps.size());
+      }
+      return steps;
+    } catch (Exception e) {
+      LOG.errorf(e, "Failed to load configuration: %s", e.getMessage());
+      throw new PipelineConfigurationException("Failed to load pipeline configuration: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Resolve the configured step classes in execution order.
+   *
+   * <p>Steps are ordered by their `order` property; entries without an `order` are treated as 0.
+   *
+   * @return the step classes in execution order, or an empty list if no steps are configured
+   * @throws PipelineConfigurationException if the configuration cannot be read or a step class cannot be loaded
+   */
+  private List<Class<?>> resolveStepClasses() {
     try {
       // Use the structured configuration mapping to get all pipeline steps
       PipelineStepConfig pipelineStepConfig = CDI.current()
@@ -158,14 +470,15 @@ public class PipelineExecutionService {
             Comparator.comparingInt(config -> config.order() != null ? config.order() : 0)))
           .toList();
 
-      List<Object> steps = new ArrayList<>();
+      List<Class<?>> classes = new ArrayList<>();
       List<String> failedSteps = new ArrayList<>();
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
       for (Map.Entry<String, org.pipelineframework.config.PipelineStepConfig.StepConfig> entry : sortedStepEntries) {
         String stepClassName = entry.getKey();  // The fully qualified class name
-	      Object step = createStepFromConfig(stepClassName);
-        if (step != null) {
-          steps.add(step);
-        } else {
+        try {
+          classes.add(classLoader.loadClass(stepClassName));
+        } catch (ClassNotFoundException e) {
+          LOG.errorf(e, "Failed to load pipeline step: %s, error: %s", stepClassName, e.getMessage());
           failedSteps.add(stepClassName);
         }
       }
@@ -176,11 +489,7 @@ public class PipelineExecutionService {
         LOG.error(message);
         throw new PipelineConfigurationException(message);
       }
-
-      if (LOG.isDebugEnabled()) {
-        LOG.debugf("Loaded %d pipeline steps from application properties", steps.size());
-      }
-      return steps;
+      return List.copyOf(classes);
     } catch (Exception e) {
       LOG.errorf(e, "Failed to load configuration: %s", e.getMessage());
       throw new PipelineConfigurationException("Failed to load pipeline configuration: " + e.getMessage(), e);
@@ -190,15 +499,14 @@ public class PipelineExecutionService {
   /**
    * Instantiates a pipeline step class and returns the CDI-managed bean.
    *
-   * @param stepClassName the fully qualified class name of the pipeline step
+   * @param stepClass the pipeline step class
    * @return the CDI-managed instance of the step, or null if instantiation fails
    */
-  private Object createStepFromConfig(String stepClassName) {
+  private Object createStep(Class<?> stepClass) {
     try {
-      Class<?> stepClass = Thread.currentThread().getContextClassLoader().loadClass(stepClassName);
       return io.quarkus.arc.Arc.container().instance(stepClass).get();
     } catch (Exception e) {
-      LOG.errorf(e, "Failed to instantiate pipeline step: %s, error: %s", stepClassName, e.getMessage());
+      LOG.errorf(e, "Failed to instantiate pipeline step: %s, error: %s", stepClass.getName(), e.getMessage());
       return null;
     }
   }
@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework;
+
+import com.google.protobuf.MessageLite;
+import io.smallrye.mutiny.Context;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.logging.Logger;
+import org.pipelineframework.dlq.DeadLetterStore;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.id.IdGenerators;
+import org.pipelineframework.progress.EwmaRate;
+import org.pipelineframework.progress.InputProgress;
+import org.pipelineframework.progress.RunProgress;
+import org.pipelineframework.progress.StepProgress;
+import org.pipelineframework.resilience.FailureBudget;
+import org.pipelineframework.scheduler.RunShare;
+import org.pipelineframework.sink.RunSink;
+
+/**
+ * Handle of a running pipeline, returned by {@link PipelineExecutionService#start(Multi)}.
+ *
+ * <p>A run can be stopped in two ways. {@link #cancel()} stops it at once: in-flight calls are
+ * cancelled and the run fails with a {@link CancellationException}. {@link #drain(Duration)}
+ * stops taking new items from the source, lets the items already taken go through the rest of the
+ * pipeline, and cancels the run only if they have not finished by the timeout. Either way the
+ * steps are closed and the dead-letter store is flushed before the call returns.
+ *
+ * <p>Draining only stops the source: an item being expanded by a one-to-many step, such as a file
+ * being read, is expanded in full. A run that drains within its timeout has therefore fully
+ * processed exactly the {@link #sourceItems()} first items of its source, so a new run over the
+ * same source can start after them. A run stopped by its failure budget also stops its expansions.
+ *
+ * <p>The run counts the items taken from its source, the items each step emits and its outputs,
+ * and logs its {@link #summary()} when it is over. Its {@link #progress()} adds the throughput and
+ * backlog of each step, read from the same counters while the run goes on. Its counts and failure
+ * budget are its own: the steps it shares with concurrent runs find it in the Mutiny context of its
+ * subscription and charge their dead letters to it alone.
+ */
+public final class PipelineRun implements RunControl, DeadLetters.Listener {
+
+    private static final Logger LOG = Logger.getLogger(PipelineRun.class);
+
+    private static final Duration DEFAULT_RATE_WINDOW = Duration.ofSeconds(30);
+
+    private final String id = IdGenerators.nextId().toString();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final LongAdder sourceItems = new LongAdder();
+    private final Map<String, StepCounters> stepCounters = new ConcurrentHashMap<>();
+    private final Set<Expansion> expansions = ConcurrentHashMap.newKeySet();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final long startNanos = System.nanoTime();
+
+    private volatile List<String> stepNames = List.of();
+    private volatile long endNanos;
+    private volatile Duration rateWindow = DEFAULT_RATE_WINDOW;
+
+    private volatile boolean draining;
+    private volatile FailureBudget failureBudget;
+    private volatile Cancellable subscription;
+
+    private final RunShare share;
+
+    /** Creates the handle of a run that has not started. */
+    PipelineRun() {
+        this(RunShare.DEFAULT);
+    }
+
+    /**
+     * Creates the handle of a run that has not started, with the given share of step capacity.
+     *
+     * @param share the priority and weight of the run
+     */
+    PipelineRun(RunShare share) {
+        this.share = Objects.requireNonNull(share, "share");
+    }
+
+    /**
+     * Subscribes to the run, passing its outputs to a sink one at a time.
+     *
+     * @param outputs the outputs of the run
+     * @param sink the sink consuming the outputs
+     */
+    void start(Multi<?> outputs, RunSink sink) {
+        subscription = outputs
+                .onItem().call(item -> {
+                    records.increment();
+                    if (item instanceof MessageLite message) {
+                        bytes.add(message.getSerializedSize());
+                    }
+                    return sink.accept(item);
+                })
+                .onCompletion().invoke(sink::complete)
+                .subscribe().with(
+                        Context.of(DeadLetters.RUN_LISTENER, this),
+                        ignored -> {},
+                        failure -> finish(failure),
+                        () -> finish(null));
+    }
+
+    /**
+     * The id of the run, time-ordered so that later runs sort after earlier ones.
+     *
+     * @return the run id
+     */
+    public String id() {
+        return id;
+    }
+
+    /**
+     * How the run shares step capacity with concurrent runs.
+     *
+     * @return the priority and weight of the run
+     */
+    @Override
+    public RunShare share() {
+        return share;
+    }
+
+    /**
+     * Sets the names of the run's steps, in pipeline order, once the run has been assembled.
+     *
+     * @param names the step names
+     */
+    void stepNames(List<String> names) {
+        this.stepNames = List.copyOf(names);
+    }
+
+    /**
+     * Sets the time over which the throughput in the {@link #progress()} of the run is averaged,
+     * before the run starts.
+     *
+     * @param window the averaging window
+     */
+    void rateWindow(Duration window) {
+        this.rateWindow = window;
+    }
+
+    /**
+     * Sets the failure budget that stops the run, once the run has been assembled.
+     *
+     * @param budget the budget, or null for none
+     */
+    void failureBudget(FailureBudget budget) {
+        this.failureBudget = budget;
+    }
+
+    /**
+     * The failure budget of the run.
+     *
+     * @return the budget, or null if the run has none or has not been assembled yet
+     */
+    public FailureBudget failureBudget() {
+        return failureBudget;
+    }
+
+    @Override
+    public boolean admitsWork() {
+        return !draining && admitsExpansion();
+    }
+
+    @Override
+    public boolean admitsExpansion() {
+        FailureBudget budget = failureBudget;
+        return budget == null || !budget.isExhausted();
+    }
+
+    @Override
+    public void onSourceItem() {
+        sourceItems.increment();
+    }
+
+    @Override
+    public void onStepItem(String stepName) {
+        counters(stepName).items.increment();
+        FailureBudget budget = failureBudget;
+        if (budget != null) {
+            budget.succeeded(stepName);
+        }
+    }
+
+    @Override
+    public StepCall onStepCall(String stepName) {
+        StepCounters counters = counters(stepName);
+        counters.calls.increment();
+        return counters;
+    }
+
+    @Override
+    public StepCall onExpansion(String stepName, Object input) {
+        StepCounters counters = counters(stepName);
+        counters.calls.increment();
+        Expansion expansion = new Expansion(counters, input);
+        expansions.add(expansion);
+        return expansion;
+    }
+
+    private StepCounters counters(String stepName) {
+        StepCounters counters = stepCounters.get(stepName);
+        return counters != null
+                ? counters
+                : stepCounters.computeIfAbsent(stepName, name -> new StepCounters(name, rateWindow));
+    }
+
+    /**
+     * Charges the items the run's steps dead-letter to its failure budget.
+     *
+     * @param stepName the name of the step
+     * @param items the number of items
+     * @param cause the failure
+     */
+    @Override
+    public void deadLettered(String stepName, int items, Throwable cause) {
+        FailureBudget budget = failureBudget;
+        if (budget != null) {
+            budget.deadLettered(stepName, items, cause);
+        }
+    }
+
+    /**
+     * The number of items taken from the source so far.
+     *
+     * @return the number of source items
+     */
+    public long sourceItems() {
+        return sourceItems.sum();
+    }
+
+    /**
+     * The number of items each step has emitted so far.
+     *
+     * @return the counts keyed by step name
+     */
+    public Map<String, Long> stepItems() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        stepCounters.forEach((step, counters) -> counts.put(step, counters.items.sum()));
+        return counts;
+    }
+
+    /**
+     * Summarises what the run has done so far, or did in total once it is over.
+     *
+     * @return the summary
+     */
+    public RunSummary summary() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String step : stepNames) {
+            StepCounters counters = stepCounters.get(step);
+            counts.put(step, counters != null ? counters.items.sum() : 0L);
+        }
+        stepCounters.forEach((step, counters) -> counts.putIfAbsent(step, counters.items.sum()));
+        return new RunSummary(sourceItems(), records.sum(), bytes.sum(), counts, elapsed());
+    }
+
+    /**
+     * Reports how far the run has got: the items each step has emitted and holds, the rate at
+     * which it emits them, and how far each item being expanded has got.
+     *
+     * <p>Only counters are read, without locks, so progress can be polled often while the run goes
+     * on at full speed; the steps do no more work than counting their items and calls.
+     *
+     * @return the progress of the run
+     */
+    public RunProgress progress() {
+        long now = System.nanoTime();
+        List<StepProgress> steps = new ArrayList<>();
+        Set<String> reported = new HashSet<>();
+        for (String step : stepNames) {
+            StepCounters counters = stepCounters.get(step);
+            steps.add(counters != null ? counters.progress(now) : new StepProgress(step, 0, 0, -1));
+            reported.add(step);
+        }
+        stepCounters.forEach((step, counters) -> {
+            if (reported.add(step)) {
+                steps.add(counters.progress(now));
+            }
+        });
+        List<InputProgress> inputs = new ArrayList<>();
+        for (Expansion expansion : expansions) {
+            inputs.add(expansion.progress(now));
+        }
+        return new RunProgress(id, isDone(), elapsed(), sourceItems(), records.sum(), steps, inputs);
+    }
+
+    private Duration elapsed() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return Duration.ofNanos(end - startNanos);
+    }
+
+    /**
+     * Completes when the run does.
+     *
+     * @return a Uni completing when the run completes, and failing when it fails or is cancelled
+     */
+    public Uni<Void> completion() {
+        return Uni.createFrom().completionStage(completion);
+    }
+
+    /**
+     * Whether the run has completed, failed or been cancelled.
+     *
+     * @return true once the run is over
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Stops the run at once, cancelling the items in flight.
+     */
+    public void cancel() {
+        draining = true;
+        Cancellable current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+        if (finish(new CancellationException("Pipeline run cancelled"))) {
+            LOG.warnf("Pipeline run %s cancelled after %d source items", id, sourceItems());
+        }
+        flushDeadLetters();
+    }
+
+    /**
+     * Stops taking new items and waits for the items in flight to finish; if they do not finish in
+     * time the run is cancelled.
+     *
+     * @param timeout the time the items in flight may take
+     * @return true if the run completed within the timeout, false if it failed, was cancelled or
+     *     did not finish in time
+     */
+    public boolean drain(Duration timeout) {
+        stopIntake();
+        try {
+            completion.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            LOG.infof("Pipeline run %s drained; the first %d source items were fully processed", id, sourceItems());
+            return true;
+        } catch (ExecutionException e) {
+            LOG.warnf("Pipeline run %s failed while draining: %s", id, e.getCause());
+            return false;
+        } catch (CancellationException e) {
+            return false;
+        } catch (TimeoutException e) {
+            LOG.warnf("Pipeline run %s did not drain within %d ms, cancelling it", id, timeout.toMillis());
+            cancel();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return false;
+        } finally {
+            flushDeadLetters();
+        }
+    }
+
+    private boolean finish(Throwable failure) {
+        if (completion.isDone()) {
+            return false;
+        }
+        endNanos = System.nanoTime();
+        boolean finished = failure != null ? completion.completeExceptionally(failure) : completion.complete(null);
+        if (finished) {
+            LOG.infof("Run %s summary: %s", id, summary());
+        }
+        return finished;
+    }
+
+    /** Stops taking new items, without waiting for the items in flight. */
+    void stopIntake() {
+        draining = true;
+    }
+
+    private static void flushDeadLetters() {
+        DeadLetterStore store = DeadLetters.store();
+        if (store != null) {
+            try {
+                store.flush();
+            } catch (RuntimeException e) {
+                LOG.warn("Failed to flush the dead-letter store", e);
+            }
+        }
+    }
+
+    /**
+     * Counts of one step. Steps that take items one at a time also count their calls, and how many
+     * of them have ended, which gives the backlog of the step.
+     */
+    private static final class StepCounters implements StepCall {
+
+        final String step;
+        final LongAdder items = new LongAdder();
+        final LongAdder calls = new LongAdder();
+        final LongAdder ended = new LongAdder();
+        final EwmaRate rate;
+
+        StepCounters(String step, Duration rateWindow) {
+            this.step = step;
+            this.rate = new EwmaRate(rateWindow, System.nanoTime());
+        }
+
+        @Override
+        public void onEnd() {
+            ended.increment();
+        }
+
+        StepProgress progress(long now) {
+            long count = items.sum();
+            // Read ended before calls, so that every call counted as ended is counted as started too
+            long done = ended.sum();
+            long started = calls.sum();
+            long backlog = started > 0 ? Math.max(started - done, 0) : -1;
+            return new StepProgress(step, count, rate.rate(count, now), backlog);
+        }
+    }
+
+    /** An item a one-to-many step is expanding. */
+    private final class Expansion implements StepCall {
+
+        final StepCounters counters;
+        final Object input;
+        final LongAdder items = new LongAdder();
+        final long startNanos = System.nanoTime();
+        final EwmaRate rate;
+
+        Expansion(StepCounters counters, Object input) {
+            this.counters = counters;
+            this.input = input;
+            this.rate = new EwmaRate(rateWindow, startNanos);
+        }
+
+        @Override
+        public void onItem() {
+            items.increment();
+        }
+
+        @Override
+        public void onEnd() {
+            expansions.remove(this);
+            counters.onEnd();
+        }
+
+        InputProgress progress(long now) {
+            long count = items.sum();
+            return new InputProgress(
+                    counters.step, input, count, rate.rate(count, now), Duration.ofNanos(now - startNanos));
+        }
+    }
+}
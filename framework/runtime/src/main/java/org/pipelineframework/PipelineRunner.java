@@ -16,15 +16,32 @@
 
 package org.pipelineframework;
 
+import io.grpc.Deadline;
 import io.quarkus.arc.Unremovable;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import java.text.MessageFormat;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.jboss.logging.Logger;
 import org.pipelineframework.config.PipelineConfig;
+import org.pipelineframework.config.PipelineStepConfig;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.id.IdGenerators;
+import org.pipelineframework.lineage.LineageCache;
+import org.pipelineframework.lineage.LineageResolver;
+import org.pipelineframework.lineage.SlimMessages;
+import org.pipelineframework.resilience.DeadlineExceededException;
+import org.pipelineframework.scheduler.Admission;
+import org.pipelineframework.scheduler.FairScheduler;
+import org.pipelineframework.scheduler.RunShare;
+import org.pipelineframework.scheduler.ScheduledRun;
 import org.pipelineframework.step.*;
 import org.pipelineframework.step.blocking.StepOneToManyBlocking;
 import org.pipelineframework.step.functional.ManyToOne;
@@ -48,6 +65,15 @@ public class PipelineRunner implements AutoCloseable {
     @Inject
     PipelineConfig pipelineConfig;
 
+    @Inject
+    Instance<LineageResolver> lineageResolvers;
+
+    @Inject
+    PipelineStepConfig pipelineStepConfig;
+
+    @Inject
+    FairScheduler scheduler;
+
     /**
      * Default constructor for PipelineRunner.
      */
@@ -58,6 +84,9 @@ public class PipelineRunner implements AutoCloseable {
      * Run a sequence of pipeline steps against the provided reactive source.
      *
      * Configurable steps are initialised with configuration built from the injected factories before being applied.
+     * In slim-message mode ({@code pipeline.slim-messages=true}) the application's {@link LineageResolver} is
+     * applied between steps. If {@code pipeline.deadline.run-timeout-ms} is set, the run gets a deadline that
+     * far from now.
      *
      * @param input the source Multi of items to process through the pipeline; may be transformed to a Uni/Multi by steps
      * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
@@ -65,8 +94,96 @@ public class PipelineRunner implements AutoCloseable {
      * @throws NullPointerException if steps is null
      */
     public Object run(Multi<?> input, List<Object> steps) {
+        return run(input, steps, slimMessagesLineageResolver());
+    }
+
+    /**
+     * Run a sequence of pipeline steps against the provided reactive source within the given deadline.
+     *
+     * Every step of the run limits its calls to the time left until the deadline, generated client steps send that
+     * time to their services as the gRPC deadline, and the run fails with a {@link DeadlineExceededException} once
+     * the deadline has passed.
+     *
+     * @param input the source Multi of items to process through the pipeline
+     * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
+     * @param runDeadline the deadline of the run, or null for none
+     * @return either a Multi containing the resulting stream of items or a Uni containing the final single result
+     * @throws NullPointerException if steps is null
+     */
+    public Object run(Multi<?> input, List<Object> steps, Deadline runDeadline) {
+        return run(input, steps, slimMessagesLineageResolver(), runDeadline);
+    }
+
+    /**
+     * Run a sequence of pipeline steps under the given control.
+     *
+     * The control is told about every item taken from the source and every item a step emits. It is asked whether
+     * the run still admits work for each item of the source and of every step that expands one item into many; once
+     * it does not, the stream completes there, cancelling everything upstream, while items already past that point
+     * finish.
+     *
+     * @param input the source Multi of items to process through the pipeline
+     * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
+     * @param control the control of the run, or null for none
+     * @return either a Multi containing the resulting stream of items or a Uni containing the final single result
+     * @throws NullPointerException if steps is null
+     */
+    public Object run(Multi<?> input, List<Object> steps, RunControl control) {
+        return run(input, steps, slimMessagesLineageResolver(), configuredRunDeadline(), control);
+    }
+
+    /**
+     * Run a sequence of pipeline steps, resolving lineage between steps with the given resolver.
+     *
+     * A new {@link LineageCache} is created for the run; every item a step emits is passed through the resolver
+     * before reaching the next step, and the cache is cleared when the run terminates.
+     *
+     * @param input the source Multi of items to process through the pipeline
+     * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
+     * @param lineageResolver the resolver to apply between steps, or null to pass items through unchanged
+     * @return either a Multi containing the resulting stream of items or a Uni containing the final single result
+     * @throws NullPointerException if steps is null
+     */
+    public Object run(Multi<?> input, List<Object> steps, LineageResolver lineageResolver) {
+        return run(input, steps, lineageResolver, configuredRunDeadline());
+    }
+
+    /**
+     * Run a sequence of pipeline steps within the given deadline, resolving lineage between steps with the given
+     * resolver.
+     *
+     * @param input the source Multi of items to process through the pipeline
+     * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
+     * @param lineageResolver the resolver to apply between steps, or null to pass items through unchanged
+     * @param runDeadline the deadline of the run, or null for none
+     * @return either a Multi containing the resulting stream of items or a Uni containing the final single result
+     * @throws NullPointerException if steps is null
+     */
+    public Object run(Multi<?> input, List<Object> steps, LineageResolver lineageResolver, Deadline runDeadline) {
+        return run(input, steps, lineageResolver, runDeadline, null);
+    }
+
+    /**
+     * Run a sequence of pipeline steps within the given deadline, resolving lineage between steps with the given
+     * resolver, under the given control.
+     *
+     * @param input the source Multi of items to process through the pipeline
+     * @param steps the ordered list of step instances to apply; must not be null; null entries are skipped
+     * @param lineageResolver the resolver to apply between steps, or null to pass items through unchanged
+     * @param runDeadline the deadline of the run, or null for none
+     * @param control the control of the run, or null for none
+     * @return either a Multi containing the resulting stream of items or a Uni containing the final single result
+     * @throws NullPointerException if steps is null
+     */
+    public Object run(Multi<?> input, List<Object> steps, LineageResolver lineageResolver, Deadline runDeadline,
+            RunControl control) {
         Objects.requireNonNull(steps, "Steps list must not be null");
-        Object current = input;
+        Object current = control != null && input != null
+                ? gate(input, control).onItem().invoke(control::onSourceItem)
+                : input;
+        LineageCache lineage = lineageResolver != null ? newLineageCache() : null;
+        List<AutoCloseable> closeableSteps = new ArrayList<>();
+        ScheduledRun scheduled = joinScheduler(control);
 
         for (Object step : steps) {
             if (step == null) {
@@ -78,26 +195,227 @@ public class PipelineRunner implements AutoCloseable {
                c.initialiseWithConfig(configFactory.buildConfig(step.getClass(), pipelineConfig));
             }
 
+            if (step instanceof ConfigurableStep configurableStep) {
+                configurableStep.runDeadline(runDeadline);
+            }
+
+            if (step instanceof AutoCloseable closeable) {
+                closeableSteps.add(closeable);
+            }
+
             Class<?> clazz = step.getClass();
             logger.debugf("Step class: %s", clazz.getName());
             for (Class<?> iface : clazz.getInterfaces()) {
                 logger.debugf("Implements: %s", iface.getName());
             }
 
+            String stepName = DeadLetters.stepName(clazz);
+            boolean expands = step instanceof StepOneToMany || step instanceof StepOneToManyBlocking;
+            Admission admission = scheduled != null ? scheduled.admission(stepName) : Admission.DIRECT;
+            Function<Object, Admission> calls = control != null
+                    ? trackCalls(admission, control, stepName, expands)
+                    : item -> admission;
             switch (step) {
-                case StepOneToOne stepOneToOne -> current = applyOneToOneUnchecked(stepOneToOne, current);
-                case StepOneToOneCompletableFuture stepFuture -> current = applyOneToOneFutureUnchecked(stepFuture, current);
-                case StepOneToMany stepOneToMany -> current = applyOneToManyUnchecked(stepOneToMany, current);
-                case StepOneToManyBlocking stepOneToManyBlocking -> current = applyOneToManyBlockingUnchecked(stepOneToManyBlocking, current);
+                case StepOneToOne stepOneToOne -> current = applyOneToOneUnchecked(stepOneToOne, current, calls);
+                case StepOneToOneCompletableFuture stepFuture -> current = applyOneToOneFutureUnchecked(stepFuture, current, calls);
+                case StepOneToMany stepOneToMany -> current = applyOneToManyUnchecked(stepOneToMany, current, calls);
+                case StepOneToManyBlocking stepOneToManyBlocking -> current = applyOneToManyBlockingUnchecked(stepOneToManyBlocking, current, calls);
                 case ManyToOne manyToOne -> current = applyManyToOneUnchecked(manyToOne, current);
                 case StepManyToMany manyToMany -> current = applyManyToManyUnchecked(manyToMany, current);
                 default -> logger.errorf("Step not recognised: %s", step.getClass().getName());
             }
+
+            if (control != null) {
+                current = observe(current, control, stepName, expands);
+            }
+
+            if (lineage != null) {
+                current = resolveLineage(current, lineageResolver, lineage);
+            }
         }
 
+        if (runDeadline != null) {
+            current = failAfter(current, runDeadline);
+        }
+        if (lineage != null) {
+            current = clearOnTermination(current, lineage);
+        }
+        if (!closeableSteps.isEmpty()) {
+            current = closeOnTermination(current, closeableSteps);
+        }
+        if (scheduled != null) {
+            current = leaveOnTermination(current, scheduled);
+        }
         return current; // could be Uni<?> or Multi<?>
     }
 
+    /**
+     * Join the fair scheduler with the share of the run, if any step has a capacity limit.
+     *
+     * @return the run in the scheduler, or null if no step is scheduled
+     */
+    private ScheduledRun joinScheduler(RunControl control) {
+        if (scheduler == null || !scheduler.enabled()) {
+            return null;
+        }
+        String runId = control instanceof PipelineRun run ? run.id() : IdGenerators.nextId().toString();
+        return scheduler.join(runId, control != null ? control.share() : RunShare.DEFAULT);
+    }
+
+    /**
+     * Create the run deadline configured by {@code pipeline.deadline.run-timeout-ms}, starting now.
+     *
+     * @return the run deadline, or null if runs have no timeout
+     */
+    public Deadline configuredRunDeadline() {
+        long timeoutMs = pipelineStepConfig != null ? pipelineStepConfig.deadline().runTimeoutMs() : 0;
+        return timeoutMs > 0 ? Deadline.after(timeoutMs, TimeUnit.MILLISECONDS) : null;
+    }
+
+    private LineageResolver slimMessagesLineageResolver() {
+        if (lineageResolvers == null || !SlimMessages.enabled()) {
+            return null;
+        }
+        if (lineageResolvers.isUnsatisfied()) {
+            logger.warn("Slim messages are enabled but no LineageResolver bean is available, parent fields will not be resolved");
+            return null;
+        }
+        return lineageResolvers.get();
+    }
+
+    private LineageCache newLineageCache() {
+        Integer maxEntries = pipelineStepConfig != null ? pipelineStepConfig.lineageMaxEntries() : null;
+        return maxEntries != null ? new LineageCache(maxEntries) : new LineageCache();
+    }
+
+    private static Object resolveLineage(Object current, LineageResolver resolver, LineageCache lineage) {
+        return switch (current) {
+            case Multi<?> multi -> multi.map(item -> resolver.resolve(item, lineage));
+            case Uni<?> uni -> uni.map(item -> item != null ? resolver.resolve(item, lineage) : null);
+            default -> current;
+        };
+    }
+
+    /**
+     * Fail the run once its deadline has passed. Steps fail calls that would start after the deadline and stop
+     * waiting for results when it passes; this also stops a run whose items keep flowing.
+     */
+    private static Object failAfter(Object current, Deadline runDeadline) {
+        return switch (current) {
+            case Multi<?> multi -> multi.onItem().invoke(item -> {
+                if (runDeadline.isExpired()) {
+                    throw new DeadlineExceededException("Run deadline exceeded");
+                }
+            });
+            case Uni<?> uni -> failAfter(uni, runDeadline);
+            default -> current;
+        };
+    }
+
+    private static <T> Uni<T> failAfter(Uni<T> uni, Deadline runDeadline) {
+        return Uni.createFrom().deferred(() -> uni.ifNoItem()
+                .after(Duration.ofNanos(Math.max(runDeadline.timeRemaining(TimeUnit.NANOSECONDS), 1)))
+                .failWith(() -> new DeadlineExceededException("Run deadline exceeded")));
+    }
+
+    /**
+     * Report the items a step emits, and gate the output of steps that expand items so that they stop once the
+     * run no longer admits expansions.
+     */
+    private static Object observe(Object current, RunControl control, String stepName, boolean expands) {
+        return switch (current) {
+            case Multi<?> multi -> {
+                Multi<?> observed = multi.onItem().invoke(item -> control.onStepItem(stepName));
+                yield expands ? observed.select().first(item -> control.admitsExpansion()) : observed;
+            }
+            case Uni<?> uni -> uni.onItem().invoke(item -> {
+                if (item != null) {
+                    control.onStepItem(stepName);
+                }
+            });
+            default -> current;
+        };
+    }
+
+    /**
+     * Report the calls a step makes for each item to the control, from the time they ask for a slot until they
+     * terminate. Calls of steps that expand items are reported with their item and each item they emit.
+     */
+    private static Function<Object, Admission> trackCalls(Admission admission, RunControl control, String stepName,
+            boolean expands) {
+        if (expands) {
+            return item -> tracking(admission, () -> control.onExpansion(stepName, item));
+        }
+        Admission tracked = tracking(admission, () -> control.onStepCall(stepName));
+        return item -> tracked;
+    }
+
+    private static Admission tracking(Admission admission, Supplier<RunControl.StepCall> start) {
+        return new Admission() {
+            @Override
+            public <T> Uni<T> call(Supplier<Uni<T>> call) {
+                return Uni.createFrom().deferred(() -> {
+                    RunControl.StepCall stepCall = start.get();
+                    return admission.call(call).onTermination().invoke(stepCall::onEnd);
+                });
+            }
+
+            @Override
+            public <T> Multi<T> stream(Supplier<Multi<T>> stream) {
+                return Multi.createFrom().deferred(() -> {
+                    RunControl.StepCall stepCall = start.get();
+                    return admission.stream(stream)
+                            .onItem().invoke(stepCall::onItem)
+                            .onTermination().invoke(stepCall::onEnd);
+                });
+            }
+        };
+    }
+
+    private static <T> Multi<T> gate(Multi<T> multi, RunControl control) {
+        return multi.select().first(item -> control.admitsWork());
+    }
+
+    private static Object clearOnTermination(Object current, LineageCache lineage) {
+        return switch (current) {
+            case Multi<?> multi -> multi.onTermination().invoke(lineage::clear);
+            case Uni<?> uni -> uni.onTermination().invoke(lineage::clear);
+            default -> current;
+        };
+    }
+
+    /**
+     * Close steps that hold per-run resources, such as the multiplexed streams of client steps using
+     * the STREAM transport, once the run terminates.
+     */
+    private static Object closeOnTermination(Object current, List<AutoCloseable> steps) {
+        Runnable closeAll = () -> steps.forEach(PipelineRunner::closeQuietly);
+        return switch (current) {
+            case Multi<?> multi -> multi.onTermination().invoke(closeAll);
+            case Uni<?> uni -> uni.onTermination().invoke(closeAll);
+            default -> current;
+        };
+    }
+
+    /**
+     * Leave the fair scheduler once the run terminates, withdrawing the calls still waiting for a step.
+     */
+    private static Object leaveOnTermination(Object current, ScheduledRun scheduled) {
+        return switch (current) {
+            case Multi<?> multi -> multi.onTermination().invoke(scheduled::leave);
+            case Uni<?> uni -> uni.onTermination().invoke(scheduled::leave);
+            default -> current;
+        };
+    }
+
+    private static void closeQuietly(AutoCloseable step) {
+        try {
+            step.close();
+        } catch (Exception e) {
+            logger.warnf(e, "Failed to close step %s", step.getClass().getName());
+        }
+    }
+
     /**
      * Apply a one-to-one pipeline step to the provided reactive stream and produce the transformed stream.
      *
@@ -108,17 +426,21 @@ public class PipelineRunner implements AutoCloseable {
      * @return        the resulting Uni&lt;?&gt; or Multi&lt;?&gt; after applying the step
      * @throws IllegalArgumentException if {@code current} is neither a Uni&lt;?&gt; nor a Multi&lt;?&gt;
      */
-    @SuppressWarnings({"unchecked"})
     public static <I, O> Object applyOneToOneUnchecked(StepOneToOne<I, O> step, Object current) {
+        return applyOneToOneUnchecked(step, current, item -> Admission.DIRECT);
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private static <I, O> Object applyOneToOneUnchecked(StepOneToOne<I, O> step, Object current, Function<Object, Admission> calls) {
         if (current instanceof Uni<?>) {
-            return step.apply((Uni<I>) current);
+            return calls.apply(null).call(() -> step.apply((Uni<I>) current));
         } else if (current instanceof Multi<?>) {
             if (step.parallel()) {
                 logger.debugf("Applying step %s (flatMap)", step.getClass());
-                return ((Multi<I>) current).flatMap(item -> step.apply(Uni.createFrom().item(item)).toMulti());
+                return ((Multi<I>) current).flatMap(item -> calls.apply(item).call(() -> step.apply(Uni.createFrom().item(item))).toMulti());
             } else {
                 logger.debugf("Applying step %s (concatMap)", step.getClass());
-                return ((Multi<I>) current).concatMap(item -> step.apply(Uni.createFrom().item(item)).toMulti());
+                return ((Multi<I>) current).concatMap(item -> calls.apply(item).call(() -> step.apply(Uni.createFrom().item(item))).toMulti());
             }
         } else {
             throw new IllegalArgumentException(MessageFormat.format("Unsupported current type for StepOneToOne: {0}", current));
@@ -126,14 +448,15 @@ public class PipelineRunner implements AutoCloseable {
     }
 
     @SuppressWarnings("unchecked")
-    private static <I, O> Object applyOneToOneFutureUnchecked(StepOneToOneCompletableFuture<I, O> step, Object current) {
+    private static <I, O> Object applyOneToOneFutureUnchecked(StepOneToOneCompletableFuture<I, O> step, Object current,
+            Function<Object, Admission> calls) {
         if (current instanceof Uni<?>) {
-            return step.apply((Uni<I>) current);
+            return calls.apply(null).call(() -> step.apply((Uni<I>) current));
         } else if (current instanceof Multi<?>) {
             if (step.parallel()) {
-                return ((Multi<I>) current).flatMap(item -> step.apply(Uni.createFrom().item(item)).toMulti());
+                return ((Multi<I>) current).flatMap(item -> calls.apply(item).call(() -> step.apply(Uni.createFrom().item(item))).toMulti());
             } else {
-                return ((Multi<I>) current).concatMap(item -> step.apply(Uni.createFrom().item(item)).toMulti());
+                return ((Multi<I>) current).concatMap(item -> calls.apply(item).call(() -> step.apply(Uni.createFrom().item(item))).toMulti());
             }
         } else {
             throw new IllegalArgumentException(MessageFormat.format("Unsupported current type for StepOneToOneCompletableFuture: {0}", current));
@@ -141,16 +464,16 @@ public class PipelineRunner implements AutoCloseable {
     }
 
     @SuppressWarnings({"unchecked"})
-    private static <I, O> Object applyOneToManyBlockingUnchecked(StepOneToManyBlocking<I, O> step, Object current) {
+    private static <I, O> Object applyOneToManyBlockingUnchecked(StepOneToManyBlocking<I, O> step, Object current, Function<Object, Admission> calls) {
         if (current instanceof Uni<?>) {
-            return step.apply((Uni<I>) current);
+            return calls.apply(null).stream(() -> step.apply((Uni<I>) current));
         } else if (current instanceof Multi<?>) {
             if (step.parallel()) {
                 logger.debugf("Applying step %s (flatMap)", step.getClass());
-                return ((Multi<I>) current).flatMap(item -> step.apply(Uni.createFrom().item(item)));
+                return ((Multi<I>) current).flatMap(item -> calls.apply(item).stream(() -> step.apply(Uni.createFrom().item(item))));
             } else {
                 logger.debugf("Applying step %s (concatMap)", step.getClass());
-                return ((Multi<I>) current).concatMap(item -> step.apply(Uni.createFrom().item(item)));
+                return ((Multi<I>) current).concatMap(item -> calls.apply(item).stream(() -> step.apply(Uni.createFrom().item(item))));
             }
         } else {
             throw new IllegalArgumentException(MessageFormat.format("Unsupported current type for StepOneToManyBlocking: {0}", current));
@@ -158,16 +481,16 @@ public class PipelineRunner implements AutoCloseable {
     }
 
     @SuppressWarnings({"unchecked"})
-    private static <I, O> Object applyOneToManyUnchecked(StepOneToMany<I, O> step, Object current) {
+    private static <I, O> Object applyOneToManyUnchecked(StepOneToMany<I, O> step, Object current, Function<Object, Admission> calls) {
         if (current instanceof Uni<?>) {
-            return step.apply((Uni<I>) current);
+            return calls.apply(null).stream(() -> step.apply((Uni<I>) current));
         } else if (current instanceof Multi<?>) {
             if (step.parallel()) {
                 logger.debugf("Applying step %s (flatMap)", step.getClass());
-                return ((Multi<I>) current).flatMap(item -> step.apply(Uni.createFrom().item(item)));
+                return ((Multi<I>) current).flatMap(item -> calls.apply(item).stream(() -> step.apply(Uni.createFrom().item(item))));
             } else {
                 logger.debugf("Applying step %s (concatMap)", step.getClass());
-                return ((Multi<I>) current).concatMap(item -> step.apply(Uni.createFrom().item(item)));
+                return ((Multi<I>) current).concatMap(item -> calls.apply(item).stream(() -> step.apply(Uni.createFrom().item(item))));
             }
         } else {
             throw new IllegalArgumentException(MessageFormat.format("Unsupported current type for StepOneToMany: {0}", current));
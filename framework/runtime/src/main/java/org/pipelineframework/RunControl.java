@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework;
+
+import org.pipelineframework.scheduler.RunShare;
+
+/**
+ * Observes and controls a run as {@link PipelineRunner} assembles it.
+ *
+ * <p>Work enters a run at its source and at the output of steps that expand one item into many.
+ * The runner checks {@link #admitsWork()} for each item taken from the source, and {@link
+ * #admitsExpansion()} for each item an expanding step emits; once the check returns false the
+ * stream completes there, which cancels everything upstream of it, while items already past it
+ * still go through the remaining steps. A drained run only stops its source, so that the items it
+ * has taken are expanded in full, while a failure budget also stops expansions.
+ *
+ * <p>Steps that take items one at a time report each of their calls, so that the control can tell
+ * how many items each step holds and how far each expanded item has got. The control also gives the
+ * {@linkplain #share() share} of step capacity the run gets from the {@link
+ * org.pipelineframework.scheduler.FairScheduler}.
+ */
+public interface RunControl {
+
+    /**
+     * Whether new work may still enter the run.
+     *
+     * @return false to stop taking items from the source and from expanding steps
+     */
+    boolean admitsWork();
+
+    /**
+     * Whether steps that expand items may keep emitting the items they expand into.
+     *
+     * @return false to stop the expansions in flight; {@link #admitsWork()} by default
+     */
+    default boolean admitsExpansion() {
+        return admitsWork();
+    }
+
+    /** Called for each item taken from the source. */
+    void onSourceItem();
+
+    /**
+     * Called for each item a step emits.
+     *
+     * @param stepName the {@linkplain org.pipelineframework.dlq.DeadLetters#stepName(Class) name}
+     *     of the step
+     */
+    void onStepItem(String stepName);
+
+    /**
+     * Called when a step that takes items one at a time starts a call for an item.
+     *
+     * @param stepName the name of the step
+     * @return told when the call ends
+     */
+    default StepCall onStepCall(String stepName) {
+        return StepCall.NONE;
+    }
+
+    /**
+     * Called when a one-to-many step starts expanding an item.
+     *
+     * @param stepName the name of the step
+     * @param input the item, or null if the step was given a single {@code Uni}
+     * @return told about each item the call emits and when it ends
+     */
+    default StepCall onExpansion(String stepName, Object input) {
+        return onStepCall(stepName);
+    }
+
+    /**
+     * How the run shares step capacity with concurrent runs.
+     *
+     * @return the priority and weight of the run
+     */
+    default RunShare share() {
+        return RunShare.DEFAULT;
+    }
+
+    /** A call a step makes for one item, from the time it asks for a slot until it terminates. */
+    interface StepCall {
+
+        /** Ignores the call. */
+        StepCall NONE = () -> {};
+
+        /** Called for each item the call emits. */
+        default void onItem() {}
+
+        /** Called once when the call completes, fails or is cancelled. */
+        void onEnd();
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * What a run has done so far, or did in total once it is over.
+ *
+ * @param sourceItems the number of items taken from the source
+ * @param records the number of outputs of the run
+ * @param bytes the serialized size of the outputs that are protobuf messages
+ * @param stepItems the number of items each step emitted, keyed by step name in pipeline order
+ * @param duration the time since the run started, or the time it took once it is over
+ */
+public record RunSummary(
+        long sourceItems, long records, long bytes, Map<String, Long> stepItems, Duration duration) {
+
+    /** Creates a summary. */
+    public RunSummary {
+        stepItems = Collections.unmodifiableMap(new LinkedHashMap<>(stepItems));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder()
+                .append(records).append(" records, ")
+                .append(bytes).append(" bytes from ")
+                .append(sourceItems).append(" source items in ")
+                .append(duration.toMillis()).append(" ms");
+        if (!stepItems.isEmpty()) {
+            summary.append("; step outputs:");
+            stepItems.forEach((step, count) -> summary.append(' ')
+                    .append(step.substring(step.lastIndexOf('.') + 1)).append('=').append(count));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ADAPTIVE} backpressure strategy: prefetches from upstream into a buffer whose
+ * capacity follows the skew between the producer and the consumer.
+ *
+ * <p>Upstream is never asked for more than the current capacity minus the items already buffered
+ * or requested, so the buffer cannot overflow. The capacity starts at the minimum and is
+ * re-evaluated every time as many items as the capacity have been emitted:
+ *
+ * <ul>
+ *   <li>if the consumer asked for items while the buffer was empty, the producer is the slower
+ *       side and the capacity doubles, up to the maximum, to absorb its bursts;
+ *   <li>if the buffer was full while the consumer had no outstanding demand, the consumer is the
+ *       slower side and the capacity halves, down to the minimum, to stop holding items it cannot
+ *       take yet.
+ * </ul>
+ *
+ * <p>Items come out in order, and an upstream failure is delivered after the items received
+ * before it.
+ *
+ * @param <T> the item type
+ */
+public final class AdaptiveBuffer<T> extends AbstractMultiOperator<T, T> {
+
+    private final int minCapacity;
+    private final int maxCapacity;
+
+    /**
+     * Creates the operator.
+     *
+     * @param upstream the stream to buffer
+     * @param minCapacity the initial and smallest capacity
+     * @param maxCapacity the largest capacity
+     */
+    public AdaptiveBuffer(Multi<? extends T> upstream, int minCapacity, int maxCapacity) {
+        super(upstream);
+        if (minCapacity <= 0 || maxCapacity < minCapacity) {
+            throw new IllegalArgumentException(
+                    "Buffer capacities must satisfy 0 < min <= max, got " + minCapacity + " and " + maxCapacity);
+        }
+        this.minCapacity = minCapacity;
+        this.maxCapacity = maxCapacity;
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super T> downstream) {
+        if (downstream == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        upstream.subscribe().withSubscriber(new AdaptiveSubscriber<T>(downstream, minCapacity, maxCapacity));
+    }
+
+    /** Prefetches up to the current capacity and emits as downstream requests. */
+    private static final class AdaptiveSubscriber<T> implements MultiSubscriber<T>, Flow.Subscription {
+
+        private final MultiSubscriber<? super T> downstream;
+        private final int minCapacity;
+        private final int maxCapacity;
+
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicLong outstanding = new AtomicLong();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private volatile int capacity;
+
+        // Only accessed from the drain loop
+        private long emittedSinceResize;
+        private boolean starved;
+        private boolean saturated;
+
+        AdaptiveSubscriber(MultiSubscriber<? super T> downstream, int minCapacity, int maxCapacity) {
+            this.downstream = downstream;
+            this.minCapacity = minCapacity;
+            this.maxCapacity = maxCapacity;
+            this.capacity = minCapacity;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            drain();
+        }
+
+        @Override
+        public void onItem(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            outstanding.decrementAndGet();
+            queue.offer(item);
+            queued.incrementAndGet();
+            drain();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            failure = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onCompletion() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onFailure(Subscriptions.getInvalidRequestException());
+                return;
+            }
+            Subscriptions.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long wanted = requested.get();
+                long emitted = 0;
+                while (emitted != wanted) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    boolean terminated = done;
+                    T item = queue.poll();
+                    if (item == null && !terminated) {
+                        // A synchronous producer delivers what is missing right away
+                        replenish();
+                        item = queue.poll();
+                    }
+                    if (item == null) {
+                        if (terminated) {
+                            terminate();
+                            return;
+                        }
+                        starved = true;
+                        break;
+                    }
+                    queued.decrementAndGet();
+                    downstream.onItem(item);
+                    emitted++;
+                    if (++emittedSinceResize >= capacity) {
+                        resize();
+                    }
+                }
+                if (cancelled) {
+                    clear();
+                    return;
+                }
+                if (done && queue.isEmpty()) {
+                    terminate();
+                    return;
+                }
+                if (emitted == wanted && queued.get() >= capacity) {
+                    saturated = true;
+                }
+                if (emitted != 0 && wanted != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                replenish();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void resize() {
+            if (starved && !saturated) {
+                capacity = Math.min(maxCapacity, capacity * 2);
+            } else if (saturated && !starved) {
+                capacity = Math.max(minCapacity, capacity / 2);
+            }
+            emittedSinceResize = 0;
+            starved = false;
+            saturated = false;
+        }
+
+        private void replenish() {
+            Flow.Subscription subscription = upstream;
+            if (subscription == null || done) {
+                return;
+            }
+            long missing = capacity - queued.get() - outstanding.get();
+            if (missing > 0) {
+                outstanding.addAndGet(missing);
+                subscription.request(missing);
+            }
+        }
+
+        private void clear() {
+            queue.clear();
+            queued.set(0);
+        }
+
+        private void terminate() {
+            cancelled = true;
+            clear();
+            Throwable error = failure;
+            if (error != null) {
+                downstream.onFailure(error);
+            } else {
+                downstream.onCompletion();
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.smallrye.mutiny.Multi;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.jboss.logging.Logger;
+import org.pipelineframework.step.Configurable;
+
+/**
+ * Applies a step's configured backpressure strategy to a stream.
+ *
+ * <ul>
+ *   <li>{@code BUFFER} holds up to {@code backpressureBufferCapacity} items the consumer has not
+ *       asked for yet, and fails the stream beyond that.
+ *   <li>{@code DROP} discards the items that arrive while the consumer has no outstanding demand.
+ *   <li>{@code LATEST} keeps only the most recent such item, replacing it as newer ones arrive.
+ *   <li>{@code SPILL} holds the excess in memory and then on disk, see {@link SpillBuffer}.
+ *   <li>{@code ADAPTIVE} prefetches into a buffer that grows and shrinks between {@code
+ *       backpressureBufferMinCapacity} and {@code backpressureBufferCapacity}, see {@link
+ *       AdaptiveBuffer}.
+ *   <li>{@code REQUEST_BOUNDED} buffers nothing: the consumer's demand is passed to the source as
+ *       is, so the source never produces more than was asked for. Its occupancy is always zero.
+ * </ul>
+ *
+ * <p>The number of items held between the producer and the consumer is published in the {@code
+ * pipeline.backpressure.occupancy} gauge, tagged with the step name and the strategy.
+ */
+public final class Backpressure {
+
+    private static final Logger LOG = Logger.getLogger(Backpressure.class);
+
+    private static final String OCCUPANCY = "pipeline.backpressure.occupancy";
+
+    private static final Map<String, AtomicLong> OCCUPANCIES = new ConcurrentHashMap<>();
+
+    private Backpressure() {
+    }
+
+    /**
+     * Applies the backpressure strategy and buffer capacities configured for a step.
+     *
+     * <p>An unknown strategy is logged and treated as {@code BUFFER} with the configured capacity.
+     *
+     * @param multi the stream to apply backpressure to
+     * @param step the step whose configuration selects the strategy
+     * @param <T> the item type
+     * @return the stream with the strategy applied
+     */
+    public static <T> Multi<T> apply(Multi<T> multi, Configurable step) {
+        String name = step.getClass().getSimpleName();
+        String configured = step.backpressureStrategy();
+        String strategy = configured == null || configured.isBlank() || "default".equalsIgnoreCase(configured.trim())
+                ? "BUFFER"
+                : configured.trim().toUpperCase(Locale.ROOT);
+        int capacity = step.backpressureBufferCapacity();
+        return switch (strategy) {
+            case "BUFFER" -> track(multi, name, strategy, (m, released) -> m.onOverflow().buffer(capacity));
+            case "DROP" -> track(multi, name, strategy, (m, released) -> m.onOverflow().invoke(released).drop());
+            case "LATEST" -> track(multi, name, strategy, Backpressure::latest);
+            case "SPILL" -> track(multi, name, strategy, (m, released) -> SpillBuffer.apply(m, capacity, name));
+            case "ADAPTIVE" -> track(multi, name, strategy, (m, released) -> new AdaptiveBuffer<>(
+                    m, Math.min(step.backpressureBufferMinCapacity(), capacity), capacity));
+            case "REQUEST_BOUNDED" -> track(multi, name, strategy, (m, released) -> m);
+            default -> {
+                LOG.warnf("Unknown backpressure strategy '%s' for %s, defaulting to buffer(%d)",
+                        configured, name, capacity);
+                yield track(multi, name, "BUFFER", (m, released) -> m.onOverflow().buffer(capacity));
+            }
+        };
+    }
+
+    /**
+     * Current number of items held by a step's backpressure operator.
+     *
+     * @param step the step name
+     * @param strategy the strategy name
+     * @return the items received from the producer and not yet delivered or dropped
+     */
+    static long occupancy(String step, String strategy) {
+        AtomicLong occupancy = OCCUPANCIES.get(step + '|' + strategy);
+        return occupancy == null ? 0 : occupancy.get();
+    }
+
+    /**
+     * Wraps an operator so that the items entering it and not yet leaving it are counted in the
+     * occupancy gauge. The operator is given a callback to report the items it drops.
+     */
+    private static <T> Multi<T> track(
+            Multi<T> multi,
+            String step,
+            String strategy,
+            BiFunction<Multi<T>, Consumer<T>, Multi<T>> operator) {
+        return Multi.createFrom().deferred(() -> {
+            AtomicLong occupancy = occupancyGauge(step, strategy);
+            AtomicLong held = new AtomicLong();
+            Consumer<T> released = item -> {
+                held.decrementAndGet();
+                occupancy.decrementAndGet();
+            };
+            Multi<T> counted = multi.onItem().invoke(item -> {
+                held.incrementAndGet();
+                occupancy.incrementAndGet();
+            });
+            return operator.apply(counted, released)
+                    .onItem().invoke(released)
+                    .onTermination().invoke(() -> occupancy.addAndGet(-held.getAndSet(0)));
+        });
+    }
+
+    /**
+     * Keeps the most recent item. The overflow callback runs for every item that arrives without
+     * demand, and only replaces, so releases one, when an item is already held.
+     */
+    private static <T> Multi<T> latest(Multi<T> multi, Consumer<T> released) {
+        AtomicBoolean holding = new AtomicBoolean();
+        return multi.onOverflow()
+                .invoke(item -> {
+                    if (holding.getAndSet(true)) {
+                        released.accept(item);
+                    }
+                })
+                .dropPreviousItems()
+                .onItem().invoke(item -> holding.set(false));
+    }
+
+    private static AtomicLong occupancyGauge(String step, String strategy) {
+        return OCCUPANCIES.computeIfAbsent(step + '|' + strategy, key -> Metrics.gauge(
+                OCCUPANCY, Tags.of("step", step, "strategy", strategy), new AtomicLong()));
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.operators.multi.AbstractMultiOperator;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import java.nio.file.Path;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+/**
+ * The {@code SPILL} backpressure strategy: requests everything from upstream and holds what
+ * downstream has not asked for yet in a {@link SpillQueue}, so that a stalled consumer costs disk
+ * space rather than heap.
+ *
+ * <p>Each subscription gets its own queue, holding {@code backpressureBufferCapacity} items in
+ * memory and the rest in segment files under {@code pipeline.spill.directory} (a {@code
+ * pipeline-spill} directory in the system temporary directory by default), each {@code
+ * pipeline.spill.segment-size-mb} large. Items come out in order, an upstream failure is delivered
+ * after the items received before it, and the queue's files are deleted when the stream
+ * terminates or is cancelled. Spilled items and bytes are counted in {@code
+ * pipeline.backpressure.spilled.items} and {@code pipeline.backpressure.spilled.bytes}, tagged with
+ * the step name.
+ *
+ * @param <T> the item type; must be a protobuf message for items to be spilled
+ */
+public final class SpillBuffer<T> extends AbstractMultiOperator<T, T> {
+
+    private static final Logger LOG = Logger.getLogger(SpillBuffer.class);
+
+    private static final String PREFIX = "pipeline.spill.";
+    private static final int DEFAULT_SEGMENT_SIZE_MB = 64;
+
+    private final int memoryCapacity;
+    private final Path directory;
+    private final int segmentBytes;
+    private final String name;
+
+    /**
+     * Creates the operator.
+     *
+     * @param upstream the stream to buffer
+     * @param memoryCapacity number of items kept in memory before spilling
+     * @param directory directory in which segment files are created
+     * @param segmentBytes size of each segment file
+     * @param name the step name, used to tag the metrics
+     */
+    public SpillBuffer(
+            Multi<? extends T> upstream,
+            int memoryCapacity,
+            Path directory,
+            int segmentBytes,
+            String name) {
+        super(upstream);
+        this.memoryCapacity = memoryCapacity;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.name = name;
+    }
+
+    /**
+     * Buffers a stream, spilling to the directory and segment size configured under {@code
+     * pipeline.spill}.
+     *
+     * @param upstream the stream to buffer
+     * @param memoryCapacity number of items kept in memory before spilling
+     * @param name the step name, used to tag the metrics
+     * @param <T> the item type
+     * @return the buffered stream
+     */
+    public static <T> Multi<T> apply(Multi<T> upstream, int memoryCapacity, String name) {
+        Config config = config();
+        Path directory = config == null
+                ? null
+                : config.getOptionalValue(PREFIX + "directory", String.class).map(Path::of).orElse(null);
+        if (directory == null) {
+            directory = Path.of(System.getProperty("java.io.tmpdir"), "pipeline-spill");
+        }
+        int segmentSizeMb = config == null
+                ? DEFAULT_SEGMENT_SIZE_MB
+                : config.getOptionalValue(PREFIX + "segment-size-mb", Integer.class)
+                        .orElse(DEFAULT_SEGMENT_SIZE_MB);
+        return new SpillBuffer<>(
+                upstream, memoryCapacity, directory, Math.multiplyExact(segmentSizeMb, 1 << 20), name);
+    }
+
+    @Override
+    public void subscribe(MultiSubscriber<? super T> downstream) {
+        if (downstream == null) {
+            throw new NullPointerException("Subscriber must not be null");
+        }
+        upstream.subscribe()
+                .withSubscriber(
+                        new SpillSubscriber<T>(
+                                downstream,
+                                new SpillQueue(memoryCapacity, directory, segmentBytes),
+                                name));
+    }
+
+    private static Config config() {
+        try {
+            return ConfigProvider.getConfig();
+        } catch (RuntimeException e) {
+            LOG.debug("No configuration available, using the default spill settings", e);
+            return null;
+        }
+    }
+
+    /** Receives everything from upstream and emits it as downstream requests it. */
+    private static final class SpillSubscriber<T> implements MultiSubscriber<T>, Flow.Subscription {
+
+        private final MultiSubscriber<? super T> downstream;
+        private final SpillQueue queue;
+        private final Counter spilledItems;
+        private final Counter spilledBytes;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Flow.Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+
+        SpillSubscriber(MultiSubscriber<? super T> downstream, SpillQueue queue, String name) {
+            this.downstream = downstream;
+            this.queue = queue;
+            this.spilledItems = Metrics.counter("pipeline.backpressure.spilled.items", "step", name);
+            this.spilledBytes = Metrics.counter("pipeline.backpressure.spilled.bytes", "step", name);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onItem(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            long bytes = queue.spilledBytes();
+            try {
+                queue.offer(item);
+            } catch (RuntimeException e) {
+                // Disk full or an item that cannot be spilled: nothing more can be buffered
+                upstream.cancel();
+                onFailure(e);
+                return;
+            }
+            long written = queue.spilledBytes() - bytes;
+            if (written > 0) {
+                spilledItems.increment();
+                spilledBytes.increment(written);
+            }
+            drain();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            failure = throwable;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onCompletion() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onFailure(Subscriptions.getInvalidRequestException());
+                return;
+            }
+            Subscriptions.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) {
+                subscription.cancel();
+            }
+            drain();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long wanted = requested.get();
+                long emitted = 0;
+                while (emitted != wanted) {
+                    if (cancelled) {
+                        queue.close();
+                        return;
+                    }
+                    boolean terminated = done;
+                    Object item;
+                    try {
+                        item = queue.poll();
+                    } catch (RuntimeException e) {
+                        cancelled = true;
+                        upstream.cancel();
+                        queue.close();
+                        downstream.onFailure(e);
+                        return;
+                    }
+                    if (item == null) {
+                        if (terminated) {
+                            terminate();
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onItem((T) item);
+                    emitted++;
+                }
+                if (cancelled) {
+                    queue.close();
+                    return;
+                }
+                if (done && queue.isEmpty()) {
+                    terminate();
+                    return;
+                }
+                if (emitted != 0 && wanted != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void terminate() {
+            cancelled = true;
+            queue.close();
+            Throwable error = failure;
+            if (error != null) {
+                downstream.onFailure(error);
+            } else {
+                downstream.onCompletion();
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FIFO queue that keeps up to a fixed number of items in memory and spills the rest to disk.
+ *
+ * <p>Spilled items are appended to memory-mapped segment files, each record holding the length
+ * and type of a protobuf message followed by its wire encoding. Items are taken from memory first
+ * and then from the oldest segment; once the queue has spilled, new items also go to disk until it
+ * has been drained, so that items always come out in the order they went in. A segment file is
+ * deleted as soon as its last record has been read.
+ *
+ * <p>Only protobuf messages can be spilled: offering any other item when the memory part is full
+ * fails with an {@link IllegalArgumentException}. The queue is safe for one producer and one
+ * consumer thread.
+ */
+public final class SpillQueue implements AutoCloseable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final int memoryCapacity;
+    private final Path directory;
+    private final int segmentBytes;
+
+    private final ArrayDeque<Object> memory = new ArrayDeque<>();
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final List<Parser<?>> parsers = new ArrayList<>();
+    private final Map<Class<?>, Integer> types = new HashMap<>();
+
+    private long spilledItems;
+    private long spilledBytes;
+    private boolean closed;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param memoryCapacity number of items kept in memory before spilling; at least 1
+     * @param directory directory in which segment files are created; created if missing
+     * @param segmentBytes size of each segment file; records larger than this get a segment of
+     *     their own
+     */
+    public SpillQueue(int memoryCapacity, Path directory, int segmentBytes) {
+        if (memoryCapacity < 1) {
+            throw new IllegalArgumentException("memoryCapacity must be >= 1");
+        }
+        if (segmentBytes < HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must be >= " + HEADER_BYTES);
+        }
+        this.memoryCapacity = memoryCapacity;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Appends an item to the queue.
+     *
+     * @param item the item; must be a protobuf message if it has to be spilled
+     * @throws IllegalArgumentException if the item has to be spilled but is not a protobuf message
+     * @throws UncheckedIOException if the item cannot be written to disk
+     */
+    public synchronized void offer(Object item) {
+        if (closed) {
+            return;
+        }
+        if (segments.isEmpty() && memory.size() < memoryCapacity) {
+            memory.add(item);
+            return;
+        }
+        if (!(item instanceof MessageLite message)) {
+            throw new IllegalArgumentException(
+                    "Cannot spill item of type "
+                            + item.getClass().getName()
+                            + ": only protobuf messages can be spilled to disk");
+        }
+        spill(message);
+    }
+
+    /**
+     * Removes the oldest item from the queue.
+     *
+     * @return the oldest item, or null if the queue is empty
+     * @throws UncheckedIOException if a spilled item cannot be read back
+     */
+    public synchronized Object poll() {
+        Object item = memory.poll();
+        if (item != null || segments.isEmpty()) {
+            return item;
+        }
+        Segment head = segments.peekFirst();
+        item = head.read(parsers);
+        spilledItems--;
+        if (head.isConsumed()) {
+            segments.removeFirst();
+            head.delete();
+        }
+        return item;
+    }
+
+    /**
+     * Whether the queue holds no items.
+     *
+     * @return true if the queue is empty
+     */
+    public synchronized boolean isEmpty() {
+        return memory.isEmpty() && spilledItems == 0;
+    }
+
+    /**
+     * Number of items in the queue, in memory and on disk.
+     *
+     * @return the queue size
+     */
+    public synchronized long size() {
+        return memory.size() + spilledItems;
+    }
+
+    /**
+     * Number of items currently on disk.
+     *
+     * @return the number of spilled items not yet taken
+     */
+    public synchronized long spilledItems() {
+        return spilledItems;
+    }
+
+    /**
+     * Total number of bytes written to disk since the queue was created.
+     *
+     * @return the bytes spilled
+     */
+    public synchronized long spilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * Number of segment files currently on disk.
+     *
+     * @return the number of segments
+     */
+    public synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /** Discards all items and deletes the segment files. */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        memory.clear();
+        segments.forEach(Segment::delete);
+        segments.clear();
+        spilledItems = 0;
+    }
+
+    private void spill(MessageLite message) {
+        int size = message.getSerializedSize();
+        int recordBytes = HEADER_BYTES + size;
+        Segment tail = segments.peekLast();
+        if (tail == null || !tail.fits(recordBytes)) {
+            tail = Segment.create(directory, Math.max(segmentBytes, recordBytes));
+            segments.addLast(tail);
+        }
+        tail.write(message, size, typeOf(message));
+        spilledItems++;
+        spilledBytes += recordBytes;
+    }
+
+    private int typeOf(MessageLite message) {
+        return types.computeIfAbsent(message.getClass(), type -> {
+            parsers.add(message.getParserForType());
+            return parsers.size() - 1;
+        });
+    }
+
+    /** One memory-mapped, append-only segment file. */
+    private static final class Segment {
+
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private int readPosition;
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path directory, int capacity) {
+            try {
+                Files.createDirectories(directory);
+                Path path = Files.createTempFile(directory, "spill-", ".seg");
+                try (FileChannel channel =
+                        FileChannel.open(
+                                path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    // The mapping stays valid after the channel is closed
+                    return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(path);
+                    throw e;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create spill segment in " + directory, e);
+            }
+        }
+
+        boolean fits(int recordBytes) {
+            return buffer.capacity() - writePosition >= recordBytes;
+        }
+
+        void write(MessageLite message, int size, int type) {
+            buffer.putInt(writePosition, size);
+            buffer.putInt(writePosition + Integer.BYTES, type);
+            try {
+                CodedOutputStream out =
+                        CodedOutputStream.newInstance(
+                                buffer.slice(writePosition + HEADER_BYTES, size));
+                message.writeTo(out);
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write to spill segment " + path, e);
+            }
+            writePosition += HEADER_BYTES + size;
+        }
+
+        Object read(List<Parser<?>> parsers) {
+            int size = buffer.getInt(readPosition);
+            int type = buffer.getInt(readPosition + Integer.BYTES);
+            ByteBuffer record = buffer.slice(readPosition + HEADER_BYTES, size);
+            readPosition += HEADER_BYTES + size;
+            try {
+                return parsers.get(type).parseFrom(record);
+            } catch (InvalidProtocolBufferException e) {
+                throw new UncheckedIOException("Cannot read from spill segment " + path, e);
+            }
+        }
+
+        boolean isConsumed() {
+            return readPosition == writePosition;
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // Not fatal: the file is only leftover disk space
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -96,7 +96,8 @@ public final class PipelineConfig {
      *
      * The returned config copies the active profile's settings for
      * retryLimit, retryWait, backpressureBufferCapacity, backpressureStrategy,
-     * parallel, recoverOnFailure, maxBackoff and jitter.
+     * parallel, recoverOnFailure, maxBackoff, jitter, transport, streamBatchSize, the circuit
+     * breaker and hedging settings, the timeout and the replay log capacity.
      *
      * @return a new StepConfig initialised with the active profile's corresponding settings
      */
@@ -106,11 +107,25 @@ public final class PipelineConfig {
                 .retryLimit(base.retryLimit())
                 .retryWait(base.retryWait())
                 .backpressureBufferCapacity(base.backpressureBufferCapacity())
+                .backpressureBufferMinCapacity(base.backpressureBufferMinCapacity())
                 .backpressureStrategy(base.backpressureStrategy())
                 .parallel(base.parallel())
                 .recoverOnFailure(base.recoverOnFailure())
                 .maxBackoff(base.maxBackoff())
-                .jitter(base.jitter());
+                .jitter(base.jitter())
+                .transport(base.transport())
+                .streamBatchSize(base.streamBatchSize())
+                .circuitBreakerFailureRate(base.circuitBreakerFailureRate())
+                .circuitBreakerSlowCall(base.circuitBreakerSlowCall())
+                .circuitBreakerWindowSize(base.circuitBreakerWindowSize())
+                .circuitBreakerOpenDuration(base.circuitBreakerOpenDuration())
+                .circuitBreakerHalfOpenCalls(base.circuitBreakerHalfOpenCalls())
+                .circuitBreakerDeadLetter(base.circuitBreakerDeadLetter())
+                .hedge(base.hedge())
+                .hedgeDelay(base.hedgeDelay())
+                .hedgeMaxPercent(base.hedgeMaxPercent())
+                .timeout(base.timeout())
+                .replayLogCapacity(base.replayLogCapacity());
     }
 
     @Override
@@ -62,10 +62,16 @@ public class PipelineConfigInitializer {
         logger.infof("Retry limit: %s", config.retryLimit());
         logger.infof("Retry wait: %s ms", config.retryWaitMs());
         logger.infof("Backpressure buffer capacity: %s", config.backpressureBufferCapacity());
+        logger.infof("Backpressure buffer min capacity: %s", config.backpressureBufferMinCapacity());
         logger.infof("Backpressure strategy: %s", config.backpressureStrategy());
         logger.infof("Jitter: %s", config.jitter());
         logger.infof("Max backoff: %s ms", config.maxBackoff());
         logger.infof("Recover on failure: %s", config.recoverOnFailure());
+        logger.infof("Transport: %s", config.transport());
+        logger.infof("Circuit breaker failure rate: %s%%", config.circuitBreakerFailureRate());
+        logger.infof("Hedge: %s", config.hedge());
+        logger.infof("Timeout: %s ms", config.timeoutMs());
+        logger.infof("Replay log capacity: %s", config.replayLogCapacity());
 
         // Apply these values to the PipelineConfig
         StepConfig defaults = pipelineConfig.defaults()
@@ -76,7 +82,21 @@ public class PipelineConfigInitializer {
                 .maxBackoff(Duration.ofMillis(config.maxBackoff()))
                 .jitter(config.jitter())
                 .backpressureBufferCapacity(config.backpressureBufferCapacity())
-                .backpressureStrategy(config.backpressureStrategy());
+                .backpressureBufferMinCapacity(config.backpressureBufferMinCapacity())
+                .backpressureStrategy(config.backpressureStrategy())
+                .transport(config.transport())
+                .streamBatchSize(config.streamBatchSize())
+                .circuitBreakerFailureRate(config.circuitBreakerFailureRate())
+                .circuitBreakerSlowCall(Duration.ofMillis(config.circuitBreakerSlowCallMs()))
+                .circuitBreakerWindowSize(config.circuitBreakerWindowSize())
+                .circuitBreakerOpenDuration(Duration.ofMillis(config.circuitBreakerOpenMs()))
+                .circuitBreakerHalfOpenCalls(config.circuitBreakerHalfOpenCalls())
+                .circuitBreakerDeadLetter(config.circuitBreakerDeadLetter())
+                .hedge(config.hedge())
+                .hedgeDelay(Duration.ofMillis(config.hedgeDelayMs()))
+                .hedgeMaxPercent(config.hedgeMaxPercent())
+                .timeout(Duration.ofMillis(config.timeoutMs()))
+                .replayLogCapacity(config.replayLogCapacity());
 
         logger.info("Pipeline configuration loaded from Quarkus config system");
     }
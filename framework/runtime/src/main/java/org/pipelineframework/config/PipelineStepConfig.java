@@ -20,7 +20,9 @@ import io.quarkus.arc.Unremovable;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Configuration mapping for pipeline steps, supporting both global defaults
@@ -53,6 +55,499 @@ public interface PipelineStepConfig {
     @WithName("step")
     Map<String, StepConfig> step();
 
+    /**
+     * Whether steps exchange slim messages.
+     *
+     * <p>When enabled, gRPC services send only each message's own fields plus the ids of its
+     * parents, and the orchestrator resolves parent fields from a per-run lineage cache through the
+     * application's {@link org.pipelineframework.lineage.LineageResolver}. Must be set consistently on
+     * the orchestrator and on every service: <code>pipeline.slim-messages=true</code>.
+     *
+     * @return true if slim-message mode is enabled, false by default
+     */
+    @WithDefault("false")
+    Boolean slimMessages();
+
+    /**
+     * Maximum number of messages the lineage cache of a run holds in slim-message mode.
+     *
+     * <p>Lineage left behind by items that were dead-lettered or filtered is dropped, oldest first,
+     * once the cache holds more messages than this.
+     *
+     * @return the maximum number of messages; 100000 by default
+     */
+    @WithDefault("100000")
+    Integer lineageMaxEntries();
+
+    /**
+     * Maximum number of requests a gRPC service processes concurrently from a single multiplexed
+     * stream opened by a client step using the {@code STREAM} transport.
+     *
+     * @return the per-stream concurrency on the server side; 64 by default
+     */
+    @WithDefault("64")
+    Integer streamConcurrency();
+
+    /**
+     * Health checks of the services that the pipeline's client steps depend on, run before each
+     * pipeline execution.
+     *
+     * <p>Configured under <code>pipeline.health.property=value</code>.
+     *
+     * @return the health check configuration
+     */
+    HealthConfig health();
+
+    /**
+     * Configuration of the health checks run by {@link org.pipelineframework.HealthCheckService}.
+     */
+    interface HealthConfig {
+        /**
+         * Time allowed for a single probe of one service.
+         *
+         * @return the probe timeout in milliseconds; 5000 by default
+         */
+        @WithDefault("5000")
+        Long probeTimeoutMs();
+
+        /**
+         * How long a healthy result is reused before the service is probed again.
+         *
+         * @return the cache time-to-live in milliseconds; 0 disables caching; 30000 by default
+         */
+        @WithDefault("30000")
+        Long cacheTtlMs();
+
+        /**
+         * Delay before the first re-probe of services that were not healthy.
+         *
+         * @return the initial backoff in milliseconds; doubled after every failed round; 1000 by
+         *     default
+         */
+        @WithDefault("1000")
+        Long initialBackoffMs();
+
+        /**
+         * Upper bound of the delay between re-probes.
+         *
+         * @return the maximum backoff in milliseconds; 10000 by default
+         */
+        @WithDefault("10000")
+        Long maxBackoffMs();
+
+        /**
+         * Total time to wait for all services to become healthy before the pipeline is not run.
+         *
+         * @return the maximum wait in milliseconds; 120000 by default
+         */
+        @WithDefault("120000")
+        Long maxWaitMs();
+
+        /**
+         * Interval between the background probes that keep each service's health state current
+         * while pipelines run.
+         *
+         * @return the probe interval in milliseconds; 0 disables background monitoring; 5000 by
+         *     default
+         */
+        @WithDefault("5000")
+        Long monitorIntervalMs();
+
+        /**
+         * Number of consecutive calls failing with {@code UNAVAILABLE} after which a service is
+         * considered unhealthy without waiting for the next probe.
+         *
+         * @return the consecutive failure threshold; 3 by default
+         */
+        @WithDefault("3")
+        Integer failureThreshold();
+
+        /**
+         * What client steps do with an item while the service they call is unhealthy.
+         *
+         * <p>Accepted values: "PARK" to hold the item until the service recovers, "FAIL_FAST" to
+         * fail it at once without retrying.</p>
+         *
+         * @return the action for items bound to an unhealthy service; "PARK" by default
+         */
+        @WithDefault("PARK")
+        String unhealthyAction();
+
+        /**
+         * Longest time an item is parked waiting for its service to recover before it fails.
+         *
+         * @return the park timeout in milliseconds; 120000 by default
+         */
+        @WithDefault("120000")
+        Long parkTimeoutMs();
+    }
+
+    /**
+     * Rules deciding which failures are retried, and the pipeline-wide retry budget.
+     *
+     * @return the retry configuration
+     */
+    RetryConfig retry();
+
+    /**
+     * Retry classification rules and retry budget. The rules are read by
+     * {@link org.pipelineframework.resilience.RetryPolicies}, which falls back to the same defaults
+     * outside of Quarkus.
+     */
+    interface RetryConfig {
+        /**
+         * gRPC status codes that are always retried.
+         *
+         * @return the status code names
+         */
+        @WithDefault("UNAVAILABLE,DEADLINE_EXCEEDED,RESOURCE_EXHAUSTED,ABORTED")
+        List<String> retryableStatuses();
+
+        /**
+         * gRPC status codes that are never retried.
+         *
+         * @return the status code names
+         */
+        @WithDefault("CANCELLED,INVALID_ARGUMENT,NOT_FOUND,ALREADY_EXISTS,PERMISSION_DENIED,UNAUTHENTICATED,FAILED_PRECONDITION,OUT_OF_RANGE,UNIMPLEMENTED")
+        List<String> nonRetryableStatuses();
+
+        /**
+         * Exception types, including their subclasses, that are always retried.
+         *
+         * @return fully qualified class names
+         */
+        @WithDefault("java.net.SocketException,java.net.SocketTimeoutException,java.nio.channels.ClosedChannelException,java.util.concurrent.TimeoutException,java.sql.SQLTransientException,java.sql.SQLRecoverableException,io.vertx.sqlclient.ClosedConnectionException")
+        List<String> retryableExceptions();
+
+        /**
+         * Exception types, including their subclasses, that are never retried.
+         *
+         * @return fully qualified class names
+         */
+        @WithDefault("java.lang.NullPointerException,java.lang.IllegalArgumentException")
+        List<String> nonRetryableExceptions();
+
+        /**
+         * SQLState prefixes that are always retried.
+         *
+         * @return the SQLState prefixes
+         */
+        @WithDefault("08,40001,40P01,53300,57P01,57P02,57P03")
+        List<String> retryableSqlStates();
+
+        /**
+         * Share of requests that may be retried across the pipeline; 0 turns the budget off.
+         *
+         * @return the retry ratio
+         */
+        @WithDefault("0.1")
+        Double budgetRatio();
+
+        /**
+         * Retries permitted per second regardless of the number of requests.
+         *
+         * @return the minimum retry rate
+         */
+        @WithDefault("10")
+        Integer budgetMinRetriesPerSecond();
+
+        /**
+         * Window over which requests and retries are counted, in milliseconds.
+         *
+         * @return the window length
+         */
+        @WithDefault("10000")
+        Long budgetWindowMs();
+    }
+
+    /**
+     * Where steps using the {@code SPILL} backpressure strategy keep the items that do not fit in
+     * memory.
+     *
+     * <p>Configured under <code>pipeline.spill.property=value</code>.
+     *
+     * @return the spill configuration
+     */
+    SpillConfig spill();
+
+    /**
+     * Segment files written by {@link org.pipelineframework.backpressure.SpillBuffer}, which reads
+     * these keys itself and falls back to the same defaults outside of Quarkus.
+     */
+    interface SpillConfig {
+        /**
+         * Directory in which segment files are created.
+         *
+         * @return the spill directory; a {@code pipeline-spill} directory in the system temporary
+         *     directory if not set
+         */
+        Optional<String> directory();
+
+        /**
+         * Size of each segment file. A segment is deleted once all its items have been consumed.
+         *
+         * @return the segment size in megabytes; 64 by default
+         */
+        @WithDefault("64")
+        Integer segmentSizeMb();
+    }
+
+    /**
+     * End-to-end run deadline and deadline-based load shedding.
+     *
+     * <p>Configured under <code>pipeline.deadline.property=value</code>.
+     *
+     * @return the deadline configuration
+     */
+    DeadlineConfig deadline();
+
+    /**
+     * Deadlines that bound a whole pipeline run, and the budget below which gRPC services reject a
+     * call instead of starting work that cannot finish in time.
+     */
+    interface DeadlineConfig {
+        /**
+         * Time a pipeline run may take from subscription to completion. Every step call made by
+         * the run gets at most the remaining time as its gRPC deadline, and calls are not made once
+         * it has elapsed.
+         *
+         * @return the run timeout in milliseconds; 0 (the default) lets runs take as long as needed
+         */
+        @WithDefault("0")
+        Long runTimeoutMs();
+
+        /**
+         * Smallest remaining budget, as propagated in the {@code grpc-timeout} header, with which a
+         * gRPC service still accepts a call. Calls arriving with less are rejected with {@code
+         * DEADLINE_EXCEEDED} before any work is done.
+         *
+         * @return the minimum remaining budget in milliseconds; 0 (the default) only rejects calls
+         *     whose deadline has already passed
+         */
+        @WithDefault("0")
+        Long minRemainingMs();
+    }
+
+    /**
+     * Where dead-lettered items are kept for inspection and replay.
+     *
+     * <p>Configured under <code>pipeline.dlq.property=value</code>.
+     *
+     * @return the dead-letter store configuration
+     */
+    DlqConfig dlq();
+
+    /**
+     * Dead-letter store used by {@link org.pipelineframework.dlq.DeadLetters}, which reads these keys
+     * itself and falls back to the same defaults outside of Quarkus.
+     */
+    interface DlqConfig {
+        /**
+         * The store backend: {@code log} for an append-only segmented log on local disk, {@code
+         * datasource} for a table in a JDBC datasource, or {@code none} to only log dead letters.
+         *
+         * @return the store backend; {@code log} by default
+         */
+        @WithDefault("log")
+        String store();
+
+        /**
+         * Directory in which the {@code log} store creates its segment files.
+         *
+         * @return the log directory; a {@code pipeline-dlq} directory in the working directory if
+         *     not set
+         */
+        Optional<String> directory();
+
+        /**
+         * Size at which the {@code log} store starts a new segment file.
+         *
+         * @return the segment size in megabytes; 64 by default
+         */
+        @WithDefault("64")
+        Integer segmentSizeMb();
+
+        /**
+         * Whether the {@code log} store forces each batch to disk before reporting it written.
+         *
+         * @return true to sync every batch; true by default
+         */
+        @WithDefault("true")
+        Boolean fsync();
+
+        /**
+         * Maximum number of dead letters written together.
+         *
+         * @return the batch size; 256 by default
+         */
+        @WithDefault("256")
+        Integer batchSize();
+
+        /**
+         * Time the writer waits for more dead letters to fill a batch once it has one.
+         *
+         * @return the linger time in milliseconds; 5 by default
+         */
+        @WithDefault("5")
+        Long lingerMs();
+
+        /**
+         * Name of the datasource used by the {@code datasource} store.
+         *
+         * @return the datasource name; the default datasource if not set
+         */
+        Optional<String> datasource();
+
+        /**
+         * Table in which the {@code datasource} store keeps dead letters.
+         *
+         * @return the table name; {@code pipeline_dead_letter} by default
+         */
+        @WithDefault("pipeline_dead_letter")
+        String table();
+
+        /**
+         * Maximum number of items recorded for one failed stream of a many-to-one step. Items
+         * beyond it are counted but not kept.
+         *
+         * @return the maximum number of items per stream; 1000 by default
+         */
+        @WithDefault("1000")
+        Integer maxStreamItems();
+    }
+
+    /**
+     * How runs still going are stopped when the application shuts down.
+     *
+     * <p>Configured under <code>pipeline.shutdown.property=value</code>.
+     *
+     * @return the shutdown configuration
+     */
+    ShutdownConfig shutdown();
+
+    /** Graceful shutdown of the runs started through the execution service. */
+    interface ShutdownConfig {
+        /**
+         * Time the runs still going at shutdown have to finish the items they have taken. They
+         * stop taking new items at once, and are cancelled if they have not finished in time.
+         *
+         * @return the drain timeout in milliseconds, 30 seconds by default
+         */
+        @WithDefault("30000")
+        Long drainTimeoutMs();
+    }
+
+    /**
+     * Limits on the runs started through the execution service.
+     *
+     * <p>Configured under <code>pipeline.runs.property=value</code>.
+     *
+     * @return the runs configuration
+     */
+    RunsConfig runs();
+
+    /** Limits on the runs started through the execution service. */
+    interface RunsConfig {
+        /**
+         * Number of runs that may be active at the same time. Starting a run beyond it fails
+         * until one of the active runs is over.
+         *
+         * @return the maximum number of active runs; 0 (the default) for no limit
+         */
+        @WithDefault("0")
+        Integer maxActive();
+
+        /**
+         * Time over which the throughput reported in the progress of a run averages the rate of
+         * each step; past rates fade to about a third of their weight over it.
+         *
+         * @return the averaging window in milliseconds
+         */
+        @WithDefault("30000")
+        Long rateWindowMs();
+    }
+
+    /**
+     * Capacity of the steps shared by concurrent runs.
+     *
+     * <p>Configured under <code>pipeline.scheduler.property=value</code>.
+     *
+     * @return the scheduler configuration
+     */
+    SchedulerConfig scheduler();
+
+    /**
+     * Capacity of the steps shared by concurrent runs. A step with a capacity has at most that many
+     * calls in flight across all runs, and grants the calls waiting for one to the runs in weighted
+     * fair order. Steps without a capacity (the default) are not scheduled.
+     */
+    interface SchedulerConfig {
+        /**
+         * Number of calls every step may have in flight across all runs.
+         *
+         * @return the capacity of each step; 0 (the default) for no limit
+         */
+        @WithDefault("0")
+        Integer stepCapacity();
+
+        /**
+         * Capacity of individual steps, keyed by fully qualified class name, overriding {@link
+         * #stepCapacity()}.
+         *
+         * @return the capacities by step
+         */
+        Map<String, Integer> capacity();
+    }
+
+    /**
+     * Failure budget that stops a run once too many of its items are dead-lettered.
+     *
+     * <p>Configured under <code>pipeline.failure-budget.property=value</code>.
+     *
+     * @return the failure budget configuration
+     */
+    FailureBudgetConfig failureBudget();
+
+    /**
+     * Limits on the items a run may dead-letter before it is stopped. Either limit may be used
+     * alone; with both at 0 (the default) runs are never stopped for their failures.
+     */
+    interface FailureBudgetConfig {
+        /**
+         * Number of items the steps of a run may dead-letter in total.
+         *
+         * @return the maximum number of failures; 0 (the default) for no limit
+         */
+        @WithDefault("0")
+        Long maxFailures();
+
+        /**
+         * Share of a step's items that may be dead-lettered within {@link #windowMs()}, e.g. 0.5
+         * for half of them.
+         *
+         * @return the maximum failure rate; 0 (the default) for no limit
+         */
+        @WithDefault("0")
+        Double maxFailureRate();
+
+        /**
+         * Period over which a step's failure rate is measured.
+         *
+         * @return the window in milliseconds, 60 seconds by default
+         */
+        @WithDefault("60000")
+        Long windowMs();
+
+        /**
+         * Number of items a step must have finished within the window before its failure rate is
+         * checked, so that the first few failures do not stop a run.
+         *
+         * @return the minimum number of items, 100 by default
+         */
+        @WithDefault("100")
+        Integer minItems();
+    }
+
     /**
      * Configuration for individual pipeline steps, allowing per-step override of global defaults.
      */
@@ -123,14 +618,147 @@ public interface PipelineStepConfig {
         @WithDefault("1024")
         Integer backpressureBufferCapacity();
 
+        /**
+         * Smallest capacity the ADAPTIVE backpressure strategy shrinks its buffer to; the buffer
+         * capacity above is the largest it grows to.
+         *
+         * @return the minimum buffer capacity in number of items; default is 16
+         */
+        @WithDefault("16")
+        Integer backpressureBufferMinCapacity();
+
         /**
          * Selects the backpressure strategy applied when buffering items.
          *
-         * <p>Accepted values: "BUFFER" to buffer incoming items, "DROP" to discard items when capacity is reached.</p>
+         * <p>Accepted values: "BUFFER" to buffer incoming items, "DROP" to discard items when capacity is reached,
+         * "SPILL" to keep up to the buffer capacity in memory and spill the rest to disk, "LATEST" to keep only
+         * the most recent item while the consumer is busy, "ADAPTIVE" to grow and shrink the buffer between the
+         * minimum and maximum capacity as producer and consumer rates diverge, and "REQUEST_BOUNDED" to never
+         * buffer and propagate downstream demand straight to the source.</p>
          *
          * @return the backpressure strategy; "BUFFER" by default
          */
         @WithDefault("BUFFER")
         String backpressureStrategy();
+
+        /**
+         * Selects how a generated one-to-one client step calls its service.
+         *
+         * <p>Accepted values: "UNARY" for one unary call per item, "STREAM" to multiplex items over a
+         * bidirectional stream correlated by id. STREAM requires the service to declare a
+         * <code>remoteProcessStream</code> rpc; steps without one fall back to UNARY.</p>
+         *
+         * @return the client transport; "UNARY" by default
+         */
+        @WithDefault("UNARY")
+        String transport();
+
+        /**
+         * Number of items sent over one multiplexed stream before the client step opens a new one,
+         * when the STREAM transport is selected.
+         *
+         * @return the number of items per stream; 0 (the default) keeps one stream for the whole run
+         */
+        @WithDefault("0")
+        Integer streamBatchSize();
+
+        /**
+         * Failure rate, in percent of the calls in the circuit breaker's window, at which the
+         * breaker of a generated client step opens.
+         *
+         * @return the failure rate threshold between 1 and 100; 0 (the default) disables the breaker
+         */
+        @WithDefault("0")
+        Integer circuitBreakerFailureRate();
+
+        /**
+         * Duration above which a call counts as failed for the circuit breaker, even if it succeeds.
+         *
+         * @return the slow-call threshold in milliseconds; 0 (the default) disables slow-call detection
+         */
+        @WithDefault("0")
+        Long circuitBreakerSlowCallMs();
+
+        /**
+         * Number of most recent calls the circuit breaker computes the failure rate over. The breaker
+         * does not open before the window has filled.
+         *
+         * @return the window size in calls; 20 by default
+         */
+        @WithDefault("20")
+        Integer circuitBreakerWindowSize();
+
+        /**
+         * How long an open circuit breaker rejects calls before letting probe calls through.
+         *
+         * @return the open-state duration in milliseconds; 30000 by default
+         */
+        @WithDefault("30000")
+        Long circuitBreakerOpenMs();
+
+        /**
+         * Number of probe calls a half-open circuit breaker lets through; the breaker closes when all
+         * of them succeed and opens again on the first failure.
+         *
+         * @return the number of half-open probe calls; 3 by default
+         */
+        @WithDefault("3")
+        Integer circuitBreakerHalfOpenCalls();
+
+        /**
+         * Whether items rejected by an open circuit breaker go to the dead letter queue even when
+         * {@code recoverOnFailure} is off.
+         *
+         * @return true to dead-letter short-circuited items, false (the default) to fail them
+         */
+        @WithDefault("false")
+        Boolean circuitBreakerDeadLetter();
+
+        /**
+         * Whether a one-to-one client step sends a second attempt for calls that are still pending
+         * after the hedge delay, taking whichever result arrives first. Only for idempotent steps.
+         *
+         * @return true to hedge slow calls, false (the default) otherwise
+         */
+        @WithDefault("false")
+        Boolean hedge();
+
+        /**
+         * Delay after which a pending call is hedged.
+         *
+         * @return the hedge delay in milliseconds; 0 (the default) hedges after the step's observed
+         *     p95 latency
+         */
+        @WithDefault("0")
+        Long hedgeDelayMs();
+
+        /**
+         * Largest share of a step's calls that may be hedged.
+         *
+         * @return the cap in percent; 10 by default
+         */
+        @WithDefault("10")
+        Integer hedgeMaxPercent();
+
+        /**
+         * Longest a step waits for a result: per attempt for steps that take a single item, and
+         * between consecutive items for steps that consume or produce a stream. Generated client
+         * steps also send it as the gRPC deadline of unary calls.
+         *
+         * @return the timeout in milliseconds; 0 (the default) disables it
+         */
+        @WithDefault("0")
+        Long timeoutMs();
+
+        /**
+         * Number of unacknowledged inputs a many-to-many or many-to-one step keeps in memory, so that a
+         * retry replays them and resumes the input instead of subscribing to it again. A many-to-many
+         * step acknowledges an input with each output it emits; a many-to-one step only when it
+         * completes. A retry is not possible once more inputs are unacknowledged than the log holds.
+         *
+         * @return the replay log capacity in number of items; 0 (the default) disables replay
+         */
+        @WithDefault("0")
+        Integer replayLogCapacity();
     }
 }
\ No newline at end of file
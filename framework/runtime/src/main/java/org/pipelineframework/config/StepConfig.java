@@ -20,6 +20,7 @@ import io.quarkus.arc.DefaultBean;
 import jakarta.enterprise.context.Dependent;
 import java.time.Duration;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -37,14 +38,23 @@ public class StepConfig {
     private static final int DEFAULT_RETRY_LIMIT = 3;
     private static final Duration DEFAULT_RETRY_WAIT = Duration.ofMillis(2000);
     private static final int DEFAULT_BACKPRESSURE_BUFFER_CAPACITY = 1024;
+    private static final int DEFAULT_BACKPRESSURE_BUFFER_MIN_CAPACITY = 16;
     private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
     private static final String DEFAULT_BACKPRESSURE_STRATEGY = "BUFFER";
+    private static final Set<String> BACKPRESSURE_STRATEGIES =
+            Set.of("BUFFER", "DROP", "SPILL", "LATEST", "ADAPTIVE", "REQUEST_BOUNDED");
+    private static final String DEFAULT_TRANSPORT = "UNARY";
+    private static final int DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE = 20;
+    private static final Duration DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION = Duration.ofSeconds(30);
+    private static final int DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS = 3;
+    private static final int DEFAULT_HEDGE_MAX_PERCENT = 10;
 
     // Mutable fields for runtime configuration (to maintain backward compatibility)
     private final AtomicInteger retryLimit = new AtomicInteger(DEFAULT_RETRY_LIMIT);
     private final AtomicReference<Duration> retryWait = new AtomicReference<>(DEFAULT_RETRY_WAIT);
     private volatile boolean parallel = false; // Default is sequential processing
     private final AtomicInteger backpressureBufferCapacity = new AtomicInteger(DEFAULT_BACKPRESSURE_BUFFER_CAPACITY);
+    private final AtomicInteger backpressureBufferMinCapacity = new AtomicInteger(DEFAULT_BACKPRESSURE_BUFFER_MIN_CAPACITY);
 
     private volatile boolean recoverOnFailure = false;
     private volatile String backpressureStrategy = DEFAULT_BACKPRESSURE_STRATEGY;
@@ -52,6 +62,24 @@ public class StepConfig {
     private final AtomicReference<Duration> maxBackoff = new AtomicReference<>(DEFAULT_MAX_BACKOFF);
     private volatile boolean jitter = false;
 
+    private volatile String transport = DEFAULT_TRANSPORT;
+    private final AtomicInteger streamBatchSize = new AtomicInteger(0);
+
+    private final AtomicInteger circuitBreakerFailureRate = new AtomicInteger(0);
+    private final AtomicReference<Duration> circuitBreakerSlowCall = new AtomicReference<>(Duration.ZERO);
+    private final AtomicInteger circuitBreakerWindowSize = new AtomicInteger(DEFAULT_CIRCUIT_BREAKER_WINDOW_SIZE);
+    private final AtomicReference<Duration> circuitBreakerOpenDuration =
+            new AtomicReference<>(DEFAULT_CIRCUIT_BREAKER_OPEN_DURATION);
+    private final AtomicInteger circuitBreakerHalfOpenCalls = new AtomicInteger(DEFAULT_CIRCUIT_BREAKER_HALF_OPEN_CALLS);
+    private volatile boolean circuitBreakerDeadLetter = false;
+
+    private volatile boolean hedge = false;
+    private final AtomicReference<Duration> hedgeDelay = new AtomicReference<>(Duration.ZERO);
+    private final AtomicInteger hedgeMaxPercent = new AtomicInteger(DEFAULT_HEDGE_MAX_PERCENT);
+
+    private final AtomicReference<Duration> timeout = new AtomicReference<>(Duration.ZERO);
+    private final AtomicInteger replayLogCapacity = new AtomicInteger();
+
     /**
      * Creates a new StepConfig with default values.
      */
@@ -73,7 +101,21 @@ public class StepConfig {
             this.maxBackoff.set(Duration.ofMillis(config.maxBackoff()));
             this.jitter = config.jitter();
             this.backpressureBufferCapacity.set(config.backpressureBufferCapacity());
+            backpressureBufferMinCapacity(config.backpressureBufferMinCapacity());
             this.backpressureStrategy = config.backpressureStrategy();
+            transport(config.transport());
+            streamBatchSize(config.streamBatchSize());
+            circuitBreakerFailureRate(config.circuitBreakerFailureRate());
+            circuitBreakerSlowCall(Duration.ofMillis(config.circuitBreakerSlowCallMs()));
+            circuitBreakerWindowSize(config.circuitBreakerWindowSize());
+            circuitBreakerOpenDuration(Duration.ofMillis(config.circuitBreakerOpenMs()));
+            circuitBreakerHalfOpenCalls(config.circuitBreakerHalfOpenCalls());
+            this.circuitBreakerDeadLetter = config.circuitBreakerDeadLetter();
+            this.hedge = config.hedge();
+            hedgeDelay(Duration.ofMillis(config.hedgeDelayMs()));
+            hedgeMaxPercent(config.hedgeMaxPercent());
+            timeout(Duration.ofMillis(config.timeoutMs()));
+            replayLogCapacity(config.replayLogCapacity());
         }
     }
 
@@ -99,7 +141,15 @@ public class StepConfig {
     public int backpressureBufferCapacity() { return backpressureBufferCapacity.get(); }
 
     /**
-     * Backpressure strategy to use when buffering items ("BUFFER", "DROP")
+     * Smallest capacity the ADAPTIVE backpressure strategy shrinks its buffer to.
+     *
+     * @return the minimum buffer capacity (number of elements)
+     */
+    public int backpressureBufferMinCapacity() { return backpressureBufferMinCapacity.get(); }
+
+    /**
+     * Backpressure strategy to use when buffering items ("BUFFER", "DROP", "SPILL", "LATEST", "ADAPTIVE",
+     * "REQUEST_BOUNDED")
      * @return the backpressure strategy (default: "BUFFER")
      */
     public String backpressureStrategy() { return backpressureStrategy; }
@@ -131,6 +181,84 @@ public class StepConfig {
      */
     public boolean jitter() { return jitter; }
 
+    /**
+     * Transport used by generated one-to-one client steps ("UNARY", "STREAM")
+     * @return the client transport (default: "UNARY")
+     */
+    public String transport() { return transport; }
+
+    /**
+     * Number of items sent over one multiplexed stream before a new one is opened
+     * @return the items per stream, or 0 to keep one stream for the whole run (default: 0)
+     */
+    public int streamBatchSize() { return streamBatchSize.get(); }
+
+    /**
+     * Failure rate, in percent, at which the circuit breaker of a client step opens
+     * @return the failure rate threshold, or 0 if the circuit breaker is disabled (default: 0)
+     */
+    public int circuitBreakerFailureRate() { return circuitBreakerFailureRate.get(); }
+
+    /**
+     * Duration above which a call counts as failed for the circuit breaker
+     * @return the slow-call threshold, or zero if slow calls are not counted (default: zero)
+     */
+    public Duration circuitBreakerSlowCall() { return circuitBreakerSlowCall.get(); }
+
+    /**
+     * Number of most recent calls the circuit breaker's failure rate is computed over
+     * @return the window size in calls (default: 20)
+     */
+    public int circuitBreakerWindowSize() { return circuitBreakerWindowSize.get(); }
+
+    /**
+     * How long an open circuit breaker rejects calls before probing
+     * @return the open-state duration (default: 30 seconds)
+     */
+    public Duration circuitBreakerOpenDuration() { return circuitBreakerOpenDuration.get(); }
+
+    /**
+     * Number of probe calls a half-open circuit breaker lets through
+     * @return the number of half-open calls (default: 3)
+     */
+    public int circuitBreakerHalfOpenCalls() { return circuitBreakerHalfOpenCalls.get(); }
+
+    /**
+     * Whether items rejected by an open circuit breaker go to the dead letter queue
+     * @return true if short-circuited items are dead-lettered, false otherwise (default: false)
+     */
+    public boolean circuitBreakerDeadLetter() { return circuitBreakerDeadLetter; }
+
+    /**
+     * Whether slow calls of a one-to-one client step are hedged with a second attempt
+     * @return true if hedging is enabled, false otherwise (default: false)
+     */
+    public boolean hedge() { return hedge; }
+
+    /**
+     * Delay after which a call still pending is hedged
+     * @return the hedge delay, or zero to hedge after the step's observed p95 latency (default: zero)
+     */
+    public Duration hedgeDelay() { return hedgeDelay.get(); }
+
+    /**
+     * Largest share of calls, in percent, that may be hedged
+     * @return the hedge cap in percent (default: 10)
+     */
+    public int hedgeMaxPercent() { return hedgeMaxPercent.get(); }
+
+    /**
+     * Longest the step waits for a result, per attempt or between streamed items
+     * @return the step timeout, or zero if the step waits indefinitely (default: zero)
+     */
+    public Duration timeout() { return timeout.get(); }
+
+    /**
+     * Number of unacknowledged inputs kept so that retries of stream-consuming steps resume instead of re-reading the input
+     * @return the replay log capacity, or zero if retries re-subscribe to the input (default: zero)
+     */
+    public int replayLogCapacity() { return replayLogCapacity.get(); }
+
     // --- setters ---
     /**
          * Configure how many times a failed operation will be retried before no further retries are attempted.
@@ -186,6 +314,22 @@ public class StepConfig {
         return this;
     }
 
+    /**
+     * Set the minimum capacity of the ADAPTIVE backpressure buffer; the buffer grows from here up to
+     * {@link #backpressureBufferCapacity()}.
+     *
+     * @param v the minimum capacity in number of items; must be greater than zero
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is less than or equal to zero
+     */
+    public StepConfig backpressureBufferMinCapacity(int v) {
+        if (v <= 0) {
+            throw new IllegalArgumentException("backpressureBufferMinCapacity must be > 0");
+        }
+        backpressureBufferMinCapacity.set(v);
+        return this;
+    }
+
     /**
      * Sets whether to attempt recovery when a failure occurs
      * @param v true to enable failure recovery, false to disable
@@ -196,19 +340,20 @@ public class StepConfig {
     /**
      * Configure the backpressure strategy used when handling excess items.
      *
-     * <p>Accepted values are "BUFFER" and "DROP"; comparison is case-insensitive and leading/trailing
+     * <p>Accepted values are "BUFFER", "DROP", "SPILL", "LATEST", "ADAPTIVE" and "REQUEST_BOUNDED"; comparison is case-insensitive and leading/trailing
      * whitespace is ignored. The value is normalised to upper case when stored.</p>
      *
      * @param v the strategy name (for example "BUFFER" or "DROP")
      * @return this StepConfig instance for method chaining
      * @throws NullPointerException if {@code v} is null
-     * @throws IllegalArgumentException if {@code v} is not "BUFFER" or "DROP"
+     * @throws IllegalArgumentException if {@code v} is not one of the accepted values
      */
     public StepConfig backpressureStrategy(String v) {
         Objects.requireNonNull(v, "backpressureStrategy must not be null");
         String norm = v.trim().toUpperCase();
-        if (!norm.equals("BUFFER") && !norm.equals("DROP")) {
-            throw new IllegalArgumentException("backpressureStrategy must be BUFFER or DROP");
+        if (!BACKPRESSURE_STRATEGIES.contains(norm)) {
+            throw new IllegalArgumentException(
+                    "backpressureStrategy must be BUFFER, DROP, SPILL, LATEST, ADAPTIVE or REQUEST_BOUNDED");
         }
         backpressureStrategy = norm;
         return this;
@@ -238,16 +383,211 @@ public class StepConfig {
      */
     public StepConfig jitter(boolean v) { jitter = v; return this; }
 
+    /**
+     * Configure the transport used by generated one-to-one client steps.
+     *
+     * <p>Accepted values are "UNARY" and "STREAM"; comparison is case-insensitive and leading/trailing
+     * whitespace is ignored. The value is normalised to upper case when stored.</p>
+     *
+     * @param v the transport name
+     * @return this StepConfig instance for method chaining
+     * @throws NullPointerException if {@code v} is null
+     * @throws IllegalArgumentException if {@code v} is not "UNARY" or "STREAM"
+     */
+    public StepConfig transport(String v) {
+        Objects.requireNonNull(v, "transport must not be null");
+        String norm = v.trim().toUpperCase();
+        if (!norm.equals("UNARY") && !norm.equals("STREAM")) {
+            throw new IllegalArgumentException("transport must be UNARY or STREAM");
+        }
+        transport = norm;
+        return this;
+    }
+
+    /**
+     * Set how many items are sent over one multiplexed stream before a new one is opened.
+     *
+     * @param v the number of items per stream; 0 keeps one stream for the whole run
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is negative
+     */
+    public StepConfig streamBatchSize(int v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("streamBatchSize must be >= 0");
+        }
+        streamBatchSize.set(v);
+        return this;
+    }
+
+    /**
+     * Set the failure rate at which the circuit breaker of a client step opens.
+     *
+     * @param v the threshold in percent of the calls in the window; 0 disables the circuit breaker
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is not between 0 and 100
+     */
+    public StepConfig circuitBreakerFailureRate(int v) {
+        if (v < 0 || v > 100) {
+            throw new IllegalArgumentException("circuitBreakerFailureRate must be between 0 and 100");
+        }
+        circuitBreakerFailureRate.set(v);
+        return this;
+    }
+
+    /**
+     * Set the duration above which a call counts as failed for the circuit breaker.
+     *
+     * @param v the slow-call threshold; zero disables slow-call detection
+     * @return this StepConfig instance for method chaining
+     * @throws NullPointerException if {@code v} is null
+     * @throws IllegalArgumentException if {@code v} is negative
+     */
+    public StepConfig circuitBreakerSlowCall(Duration v) {
+        Objects.requireNonNull(v, "circuitBreakerSlowCall must not be null");
+        if (v.isNegative()) {
+            throw new IllegalArgumentException("circuitBreakerSlowCall must be >= 0");
+        }
+        circuitBreakerSlowCall.set(v);
+        return this;
+    }
+
+    /**
+     * Set the number of most recent calls the circuit breaker's failure rate is computed over.
+     *
+     * @param v the window size in calls; must be greater than zero
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is less than or equal to zero
+     */
+    public StepConfig circuitBreakerWindowSize(int v) {
+        if (v <= 0) {
+            throw new IllegalArgumentException("circuitBreakerWindowSize must be > 0");
+        }
+        circuitBreakerWindowSize.set(v);
+        return this;
+    }
+
+    /**
+     * Set how long an open circuit breaker rejects calls before letting probe calls through.
+     *
+     * @param v the open-state duration; must be greater than zero
+     * @return this StepConfig instance for method chaining
+     * @throws NullPointerException if {@code v} is null
+     * @throws IllegalArgumentException if {@code v} is zero or negative
+     */
+    public StepConfig circuitBreakerOpenDuration(Duration v) {
+        Objects.requireNonNull(v, "circuitBreakerOpenDuration must not be null");
+        if (v.isNegative() || v.isZero()) {
+            throw new IllegalArgumentException("circuitBreakerOpenDuration must be > 0");
+        }
+        circuitBreakerOpenDuration.set(v);
+        return this;
+    }
+
+    /**
+     * Set the number of probe calls a half-open circuit breaker lets through.
+     *
+     * @param v the number of half-open calls; must be greater than zero
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is less than or equal to zero
+     */
+    public StepConfig circuitBreakerHalfOpenCalls(int v) {
+        if (v <= 0) {
+            throw new IllegalArgumentException("circuitBreakerHalfOpenCalls must be > 0");
+        }
+        circuitBreakerHalfOpenCalls.set(v);
+        return this;
+    }
+
+    /**
+     * Sets whether items rejected by an open circuit breaker go to the dead letter queue
+     * @param v true to dead-letter short-circuited items, false to fail them
+     * @return this StepConfig instance for method chaining
+     */
+    public StepConfig circuitBreakerDeadLetter(boolean v) { circuitBreakerDeadLetter = v; return this; }
+
+    /**
+     * Sets whether slow calls of a one-to-one client step are hedged. Only enable for idempotent steps,
+     * as a hedged item may be processed twice by the service.
+     * @param v true to hedge slow calls, false otherwise
+     * @return this StepConfig instance for method chaining
+     */
+    public StepConfig hedge(boolean v) { hedge = v; return this; }
+
+    /**
+     * Set the delay after which a call still pending is hedged.
+     *
+     * @param v the hedge delay; zero hedges after the step's observed p95 latency
+     * @return this StepConfig instance for method chaining
+     * @throws NullPointerException if {@code v} is null
+     * @throws IllegalArgumentException if {@code v} is negative
+     */
+    public StepConfig hedgeDelay(Duration v) {
+        Objects.requireNonNull(v, "hedgeDelay must not be null");
+        if (v.isNegative()) {
+            throw new IllegalArgumentException("hedgeDelay must be >= 0");
+        }
+        hedgeDelay.set(v);
+        return this;
+    }
+
+    /**
+     * Set the largest share of calls that may be hedged.
+     *
+     * @param v the cap in percent of the step's calls
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is not between 0 and 100
+     */
+    public StepConfig hedgeMaxPercent(int v) {
+        if (v < 0 || v > 100) {
+            throw new IllegalArgumentException("hedgeMaxPercent must be between 0 and 100");
+        }
+        hedgeMaxPercent.set(v);
+        return this;
+    }
+
+    /**
+     * Set the longest the step waits for a result, per attempt or between streamed items.
+     *
+     * @param v the timeout; zero disables it
+     * @return this StepConfig instance for method chaining
+     * @throws NullPointerException if {@code v} is null
+     * @throws IllegalArgumentException if {@code v} is negative
+     */
+    public StepConfig timeout(Duration v) {
+        Objects.requireNonNull(v, "timeout must not be null");
+        if (v.isNegative()) {
+            throw new IllegalArgumentException("timeout must be >= 0");
+        }
+        timeout.set(v);
+        return this;
+    }
+
+    /**
+     * Set the number of unacknowledged inputs kept for replay when a stream-consuming step is retried.
+     *
+     * @param v the replay log capacity in number of items; zero disables replay
+     * @return this StepConfig instance for method chaining
+     * @throws IllegalArgumentException if {@code v} is negative
+     */
+    public StepConfig replayLogCapacity(int v) {
+        if (v < 0) {
+            throw new IllegalArgumentException("replayLogCapacity must be >= 0");
+        }
+        replayLogCapacity.set(v);
+        return this;
+    }
+
     /**
      * Produces a single-line, human-readable summary of this step's configuration.
      *
      * @return a formatted String containing the current values of
      *         retryLimit, retryWait, parallel, recoverOnFailure, maxBackoff, jitter,
-     *         backpressureBufferCapacity and backpressureStrategy
+     *         backpressureBufferCapacity, backpressureBufferMinCapacity, backpressureStrategy, transport, streamBatchSize, the
+     *         circuit breaker settings, the hedging settings, the timeout and the replay log capacity
      */
     @Override
     public String toString() {
-        return String.format("StepConfig{retryLimit=%d, retryWait=%s, parallel=%b, recoverOnFailure=%b, maxBackoff=%s, jitter=%b, backpressureBufferCapacity=%d, backpressureStrategy=%s}",
+        return String.format("StepConfig{retryLimit=%d, retryWait=%s, parallel=%b, recoverOnFailure=%b, maxBackoff=%s, jitter=%b, backpressureBufferCapacity=%d, backpressureBufferMinCapacity=%d, backpressureStrategy=%s, transport=%s, streamBatchSize=%d, circuitBreakerFailureRate=%d, circuitBreakerSlowCall=%s, circuitBreakerWindowSize=%d, circuitBreakerOpenDuration=%s, circuitBreakerHalfOpenCalls=%d, circuitBreakerDeadLetter=%b, hedge=%b, hedgeDelay=%s, hedgeMaxPercent=%d, timeout=%s, replayLogCapacity=%d}",
                 retryLimit(),
                 retryWait(),
                 parallel,
@@ -255,6 +595,20 @@ public class StepConfig {
                 maxBackoff(),
                 jitter,
                 backpressureBufferCapacity(),
-                backpressureStrategy());
+                backpressureBufferMinCapacity(),
+                backpressureStrategy(),
+                transport,
+                streamBatchSize(),
+                circuitBreakerFailureRate(),
+                circuitBreakerSlowCall(),
+                circuitBreakerWindowSize(),
+                circuitBreakerOpenDuration(),
+                circuitBreakerHalfOpenCalls(),
+                circuitBreakerDeadLetter,
+                hedge,
+                hedgeDelay(),
+                hedgeMaxPercent(),
+                timeout(),
+                replayLogCapacity());
     }
 }
\ No newline at end of file
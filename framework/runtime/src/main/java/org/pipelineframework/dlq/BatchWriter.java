@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+
+/**
+ * Writes items submitted from any thread in batches, on a single writer thread.
+ *
+ * <p>The writer takes the first waiting item, then waits up to the linger time for more, up to the
+ * batch size, and hands the batch to the sink in one call. Under load batches fill up without
+ * waiting; a lone item waits at most the linger time. Written items and batches are counted in
+ * {@code pipeline.dlq.written} and {@code pipeline.dlq.batches}, tagged with the writer name.
+ *
+ * @param <T> the item type
+ */
+final class BatchWriter<T> implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(BatchWriter.class);
+
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    /** Receives the batches. */
+    @FunctionalInterface
+    interface Sink<T> {
+        /**
+         * Writes a batch.
+         *
+         * @param batch the items, in submission order
+         * @throws Exception if the batch could not be written; every item of it fails
+         */
+        void write(List<T> batch) throws Exception;
+    }
+
+    /** A submitted item, or a flush barrier if {@code item} is null. */
+    private record Pending<T>(T item, CompletableFuture<Void> written) {}
+
+    private final String name;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Sink<T> sink;
+    private final BlockingQueue<Pending<T>> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param name names the thread and tags the metrics
+     * @param batchSize maximum number of items per batch
+     * @param linger time to wait for more items once a batch has one
+     * @param sink receives the batches
+     */
+    BatchWriter(String name, int batchSize, Duration linger, Sink<T> sink) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.name = name;
+        this.batchSize = batchSize;
+        this.lingerNanos = Math.max(linger.toNanos(), 0);
+        this.sink = sink;
+        this.thread = new Thread(this::run, "pipeline-dlq-writer-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Submits an item for writing.
+     *
+     * @param item the item
+     * @return a future completed once the batch holding the item is written
+     */
+    CompletableFuture<Void> submit(T item) {
+        return enqueue(item);
+    }
+
+    /** Waits until every item submitted so far is written or has failed. */
+    void flush() {
+        enqueue(null).exceptionally(ignored -> null).join();
+    }
+
+    private CompletableFuture<Void> enqueue(T item) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        if (closed) {
+            written.completeExceptionally(new IllegalStateException("Dead-letter writer " + name + " is closed"));
+            return written;
+        }
+        queue.add(new Pending<>(item, written));
+        return written;
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize && first.item() != null) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending<T> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    if (next.item() == null) {
+                        // A flush barrier ends the batch, so the flush returns without lingering
+                        break;
+                    }
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        failLeftovers();
+    }
+
+    /** Fails items left after an interruption, or submitted while the writer was closing. */
+    private void failLeftovers() {
+        Pending<T> left;
+        while ((left = queue.poll()) != null) {
+            left.written().completeExceptionally(new IllegalStateException("Dead-letter writer " + name + " stopped"));
+        }
+    }
+
+    private void write(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        for (Pending<T> pending : batch) {
+            if (pending.item() != null) {
+                items.add(pending.item());
+            }
+        }
+        Throwable failure = null;
+        if (!items.isEmpty()) {
+            try {
+                sink.write(items);
+                Metrics.counter("pipeline.dlq.written", "store", name).increment(items.size());
+                Metrics.counter("pipeline.dlq.batches", "store", name).increment();
+            } catch (Exception e) {
+                LOG.errorf(e, "Failed to write %d dead letters to %s", items.size(), name);
+                failure = e;
+            }
+        }
+        for (Pending<T> pending : batch) {
+            if (failure != null && pending.item() != null) {
+                pending.written().completeExceptionally(failure);
+            } else {
+                pending.written().complete(null);
+            }
+        }
+    }
+
+    /** Writes the items submitted so far and stops the writer thread. */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            thread.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            LOG.warnf("Dead-letter writer %s did not finish within %d ms", name, CLOSE_TIMEOUT_MS);
+        } else {
+            failLeftovers();
+        }
+    }
+}
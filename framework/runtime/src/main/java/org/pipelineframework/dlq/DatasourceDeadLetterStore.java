@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+
+/**
+ * A {@link DeadLetterStore} backed by a table in a JDBC datasource, for deployments where the
+ * orchestrator's local disk does not outlive it.
+ *
+ * <p>Appends are written by a {@link BatchWriter} as one JDBC batch and one transaction per batch.
+ * The table is not created by the store; on PostgreSQL it can be created with:
+ *
+ * <pre>
+ * CREATE TABLE pipeline_dead_letter (
+ *     id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+ *     created_at    TIMESTAMP    NOT NULL,
+ *     step          VARCHAR(512) NOT NULL,
+ *     group_id      VARCHAR(64),
+ *     item_type     VARCHAR(512),
+ *     encoding      VARCHAR(16)  NOT NULL,
+ *     payload       BYTEA        NOT NULL,
+ *     cause_type    VARCHAR(512) NOT NULL,
+ *     cause_message VARCHAR(2000),
+ *     attempts      INTEGER      NOT NULL,
+ *     replayed_at   TIMESTAMP
+ * );
+ * </pre>
+ */
+public final class DatasourceDeadLetterStore implements DeadLetterStore {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private static final String COLUMNS =
+            "created_at, step, group_id, item_type, encoding, payload, cause_type, cause_message, attempts";
+
+    private final DataSource dataSource;
+    private final String table;
+    private final BatchWriter<DeadLetterEntry> writer;
+
+    /**
+     * Creates the store.
+     *
+     * @param dataSource the datasource holding the table
+     * @param table the table name, optionally qualified by a schema
+     * @param batchSize maximum number of entries inserted together
+     * @param linger time to wait for more entries once a batch has one
+     */
+    public DatasourceDeadLetterStore(DataSource dataSource, String table, int batchSize, Duration linger) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid dead-letter table name: " + table);
+        }
+        this.dataSource = dataSource;
+        this.table = table;
+        this.writer = new BatchWriter<>("datasource", batchSize, linger, this::insert);
+    }
+
+    @Override
+    public CompletableFuture<Void> append(DeadLetterEntry entry) {
+        return writer.submit(entry);
+    }
+
+    @Override
+    public List<DeadLetterEntry> read(DeadLetterQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT id, ").append(COLUMNS)
+                .append(", replayed_at FROM ").append(table).append(" WHERE 1 = 1");
+        if (query.step() != null) {
+            sql.append(" AND step = ?");
+        }
+        if (!query.includeReplayed()) {
+            sql.append(" AND replayed_at IS NULL");
+        }
+        if (!query.ids().isEmpty()) {
+            sql.append(" AND id IN (").append("?, ".repeat(query.ids().size() - 1)).append("?)");
+        }
+        sql.append(" ORDER BY id");
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int index = 1;
+            if (query.step() != null) {
+                statement.setString(index++, query.step());
+            }
+            for (long id : query.ids()) {
+                statement.setLong(index++, id);
+            }
+            List<DeadLetterEntry> entries = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    entries.add(new DeadLetterEntry(
+                            rows.getLong("id"),
+                            rows.getTimestamp("created_at").toInstant(),
+                            rows.getString("step"),
+                            rows.getString("group_id"),
+                            rows.getString("item_type"),
+                            DeadLetterEntry.Encoding.valueOf(rows.getString("encoding")),
+                            rows.getBytes("payload"),
+                            rows.getString("cause_type"),
+                            rows.getString("cause_message"),
+                            rows.getInt("attempts"),
+                            rows.getTimestamp("replayed_at") != null));
+                }
+            }
+            return entries;
+        } catch (SQLException e) {
+            throw new DeadLetterStoreException("Failed to read dead letters from " + table, e);
+        }
+    }
+
+    @Override
+    public void markReplayed(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE " + table + " SET replayed_at = ? WHERE id = ?")) {
+                for (long id : ids) {
+                    statement.setTimestamp(1, now);
+                    statement.setLong(2, id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DeadLetterStoreException("Failed to mark dead letters as replayed in " + table, e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+    }
+
+    private void insert(List<DeadLetterEntry> entries) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (DeadLetterEntry entry : entries) {
+                    statement.setTimestamp(1, Timestamp.from(entry.timestamp()));
+                    statement.setString(2, entry.step());
+                    setNullableString(statement, 3, entry.group());
+                    setNullableString(statement, 4, entry.itemType());
+                    statement.setString(5, entry.encoding().name());
+                    statement.setBytes(6, entry.payload());
+                    statement.setString(7, entry.causeType());
+                    setNullableString(statement, 8, entry.causeMessage());
+                    statement.setInt(9, entry.attempts());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void setNullableString(PreparedStatement statement, int index, String value) throws SQLException {
+        if (value != null) {
+            statement.setString(index, value);
+        } else {
+            statement.setNull(index, Types.VARCHAR);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An item that a step failed to process, as kept by a {@link DeadLetterStore}.
+ *
+ * @param id the id assigned by the store; 0 for an entry not yet stored
+ * @param timestamp when the item was dead-lettered
+ * @param step the fully qualified class name of the step that failed
+ * @param group identifies the items that failed together as one stream or batch and must be
+ *     replayed together, or null for an item that failed on its own
+ * @param itemType the fully qualified class name of the item, or null if there was no item
+ * @param encoding how {@code payload} encodes the item
+ * @param payload the encoded item; empty if there was no item
+ * @param causeType the fully qualified class name of the failure
+ * @param causeMessage the message of the failure, or null
+ * @param attempts the number of times the step tried to process the item
+ * @param replayed whether the entry has been replayed
+ */
+public record DeadLetterEntry(
+        long id,
+        Instant timestamp,
+        String step,
+        String group,
+        String itemType,
+        Encoding encoding,
+        byte[] payload,
+        String causeType,
+        String causeMessage,
+        int attempts,
+        boolean replayed) {
+
+    /** Longest cause message kept; longer messages are truncated. */
+    static final int MAX_CAUSE_MESSAGE_LENGTH = 2000;
+
+    /** How an entry's payload encodes its item. */
+    public enum Encoding {
+        /** There was no item, for instance when the step received a failure instead. */
+        NONE,
+        /** The protobuf wire format of a message; the item can be replayed. */
+        PROTOBUF,
+        /** The item's {@code toString()} in UTF-8; kept for inspection only. */
+        TEXT
+    }
+
+    /**
+     * Creates an entry.
+     */
+    public DeadLetterEntry {
+        Objects.requireNonNull(timestamp, "timestamp must not be null");
+        Objects.requireNonNull(step, "step must not be null");
+        Objects.requireNonNull(encoding, "encoding must not be null");
+        Objects.requireNonNull(causeType, "causeType must not be null");
+        payload = payload != null ? payload : new byte[0];
+        if (causeMessage != null && causeMessage.length() > MAX_CAUSE_MESSAGE_LENGTH) {
+            causeMessage = causeMessage.substring(0, MAX_CAUSE_MESSAGE_LENGTH);
+        }
+    }
+
+    /**
+     * Returns a copy of this entry with the given id.
+     *
+     * @param newId the id assigned by the store
+     * @return the copy
+     */
+    public DeadLetterEntry withId(long newId) {
+        return new DeadLetterEntry(newId, timestamp, step, group, itemType, encoding, payload,
+                causeType, causeMessage, attempts, replayed);
+    }
+
+    /**
+     * Returns a copy of this entry marked as replayed.
+     *
+     * @return the copy
+     */
+    public DeadLetterEntry asReplayed() {
+        return new DeadLetterEntry(id, timestamp, step, group, itemType, encoding, payload,
+                causeType, causeMessage, attempts, true);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DeadLetterEntry other
+                && id == other.id
+                && attempts == other.attempts
+                && replayed == other.replayed
+                && timestamp.equals(other.timestamp)
+                && step.equals(other.step)
+                && Objects.equals(group, other.group)
+                && Objects.equals(itemType, other.itemType)
+                && encoding == other.encoding
+                && Arrays.equals(payload, other.payload)
+                && causeType.equals(other.causeType)
+                && Objects.equals(causeMessage, other.causeMessage);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, timestamp, step, group, itemType, encoding, Arrays.hashCode(payload),
+                causeType, causeMessage, attempts, replayed);
+    }
+
+    @Override
+    public String toString() {
+        return "DeadLetterEntry{id=" + id
+                + ", timestamp=" + timestamp
+                + ", step=" + step
+                + ", group=" + group
+                + ", itemType=" + itemType
+                + ", encoding=" + encoding
+                + ", payload=" + payload.length + " bytes"
+                + ", cause=" + causeType + (causeMessage != null ? ": " + causeMessage : "")
+                + ", attempts=" + attempts
+                + ", replayed=" + replayed
+                + '}';
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.jboss.logging.Logger;
+
+/**
+ * The default {@link DeadLetterStore}: an append-only log of segment files on local disk.
+ *
+ * <p>Segments are named {@code dlq-<sequence>.log} and a new one is started once the current one
+ * reaches the segment size. Each record is framed by its length and a CRC32 of its content, so
+ * that a record torn by a crash is detected and cut off when the log is opened again. Replaying
+ * entries appends a marker record for each of them rather than rewriting the segments.
+ *
+ * <p>Appends are encoded on the calling thread and written by a {@link BatchWriter}, which writes
+ * each batch with a single gathering write and, with {@code fsync} enabled, a single sync.
+ */
+public final class DeadLetterLog implements DeadLetterStore {
+
+    private static final Logger LOG = Logger.getLogger(DeadLetterLog.class);
+
+    private static final String SEGMENT_PREFIX = "dlq-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final byte ENTRY = 1;
+    private static final byte REPLAYED = 2;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final Object lock = new Object();
+    private final AtomicLong nextId;
+    private final BatchWriter<ByteBuffer> writer;
+
+    private FileChannel segment;
+    private int segmentSequence;
+
+    /**
+     * Opens the log in a directory, creating it if needed, and recovers the entries already in it.
+     *
+     * @param directory the directory holding the segment files
+     * @param segmentBytes size at which a new segment is started
+     * @param batchSize maximum number of records written together
+     * @param linger time to wait for more records once a batch has one
+     * @param fsync whether each batch is forced to disk before it is reported written
+     * @throws IOException if the directory or its segments cannot be read
+     */
+    public DeadLetterLog(Path directory, long segmentBytes, int batchSize, Duration linger, boolean fsync)
+            throws IOException {
+        if (segmentBytes < 1) {
+            throw new IllegalArgumentException("segmentBytes must be positive");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        long lastId = 0;
+        List<Path> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            boolean last = i == segments.size() - 1;
+            lastId = Math.max(lastId, scan(segments.get(i), last, null));
+        }
+        this.nextId = new AtomicLong(lastId + 1);
+        if (segments.isEmpty()) {
+            openSegment(1);
+        } else {
+            Path current = segments.getLast();
+            segmentSequence = sequenceOf(current);
+            segment = FileChannel.open(current, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        this.writer = new BatchWriter<>("log", batchSize, linger, this::write);
+        LOG.debugf("Opened dead-letter log in %s, next id %d", directory, nextId.get());
+    }
+
+    @Override
+    public CompletableFuture<Void> append(DeadLetterEntry entry) {
+        return writer.submit(frame(encode(entry.withId(nextId.getAndIncrement()))));
+    }
+
+    @Override
+    public List<DeadLetterEntry> read(DeadLetterQuery query) {
+        Map<Long, DeadLetterEntry> entries = new LinkedHashMap<>();
+        Set<Long> replayed = new HashSet<>();
+        synchronized (lock) {
+            try {
+                for (Path path : segments()) {
+                    scan(path, false, (kind, in) -> {
+                        if (kind == ENTRY) {
+                            DeadLetterEntry entry = decodeEntry(in);
+                            entries.put(entry.id(), entry);
+                        } else if (kind == REPLAYED) {
+                            replayed.add(in.readLong());
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                throw new DeadLetterStoreException("Failed to read dead-letter log in " + directory, e);
+            }
+        }
+        List<DeadLetterEntry> selected = new ArrayList<>();
+        for (DeadLetterEntry entry : entries.values()) {
+            DeadLetterEntry withState = replayed.contains(entry.id()) ? entry.asReplayed() : entry;
+            if (query.matches(withState)) {
+                selected.add(withState);
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public void markReplayed(Collection<Long> ids) {
+        List<CompletableFuture<Void>> written = new ArrayList<>(ids.size());
+        for (long id : ids) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Long.BYTES + 1);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeByte(REPLAYED);
+                out.writeLong(id);
+            } catch (IOException e) {
+                throw new DeadLetterStoreException("Failed to encode replay marker", e);
+            }
+            written.add(writer.submit(frame(bytes.toByteArray())));
+        }
+        try {
+            CompletableFuture.allOf(written.toArray(CompletableFuture[]::new)).join();
+        } catch (RuntimeException e) {
+            throw new DeadLetterStoreException("Failed to mark dead letters as replayed", e.getCause());
+        }
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+        synchronized (lock) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                LOG.warnf(e, "Failed to close dead-letter segment in %s", directory);
+            }
+        }
+    }
+
+    /** Writes a batch of framed records, starting a new segment when the current one is full. */
+    private void write(List<ByteBuffer> records) throws IOException {
+        synchronized (lock) {
+            List<ByteBuffer> pending = new ArrayList<>(records.size());
+            long size = segment.size();
+            for (ByteBuffer record : records) {
+                if (size > 0 && size + record.remaining() > segmentBytes) {
+                    writeFully(pending);
+                    pending.clear();
+                    if (fsync) {
+                        segment.force(false);
+                    }
+                    segment.close();
+                    openSegment(segmentSequence + 1);
+                    size = 0;
+                }
+                pending.add(record);
+                size += record.remaining();
+            }
+            writeFully(pending);
+            if (fsync) {
+                segment.force(false);
+            }
+        }
+    }
+
+    private void writeFully(List<ByteBuffer> buffers) throws IOException {
+        ByteBuffer[] array = buffers.toArray(ByteBuffer[]::new);
+        long remaining = 0;
+        for (ByteBuffer buffer : array) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= segment.write(array);
+        }
+    }
+
+    private void openSegment(int sequence) throws IOException {
+        segmentSequence = sequence;
+        segment = FileChannel.open(
+                directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static int sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /** Receives the records of a segment. */
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(byte kind, DataInputStream in) throws IOException;
+    }
+
+    /**
+     * Reads the records of a segment up to the first incomplete or corrupt one.
+     *
+     * @param path the segment
+     * @param truncate whether to cut the segment off before an incomplete or corrupt record
+     * @param visitor receives each record, or null to only find the highest entry id
+     * @return the highest entry id in the segment, or 0 if it has none
+     */
+    private static long scan(Path path, boolean truncate, RecordVisitor visitor) throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        long lastId = 0;
+        int valid = 0;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int crc = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining() || crc != crc(content, buffer.position(), length)) {
+                break;
+            }
+            DataInputStream in = new DataInputStream(
+                    new ByteArrayInputStream(content, buffer.position(), length));
+            byte kind = in.readByte();
+            if (kind == ENTRY) {
+                in.mark(Long.BYTES);
+                lastId = Math.max(lastId, in.readLong());
+                in.reset();
+            }
+            if (visitor != null) {
+                visitor.visit(kind, in);
+            }
+            buffer.position(buffer.position() + length);
+            valid = buffer.position();
+        }
+        if (valid < content.length) {
+            if (truncate) {
+                LOG.warnf("Truncating %d bytes of incomplete dead-letter records from %s", content.length - valid, path);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                }
+            } else if (visitor != null) {
+                LOG.debugf("Ignoring %d bytes of incomplete dead-letter records in %s", content.length - valid, path);
+            }
+        }
+        return lastId;
+    }
+
+    private static int crc(byte[] content, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(content, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer frame(byte[] record) {
+        ByteBuffer framed = ByteBuffer.allocate(HEADER_BYTES + record.length);
+        framed.putInt(record.length);
+        framed.putInt(crc(record, 0, record.length));
+        framed.put(record);
+        return framed.flip();
+    }
+
+    private static byte[] encode(DeadLetterEntry entry) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + entry.payload().length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(ENTRY);
+            out.writeLong(entry.id());
+            out.writeLong(entry.timestamp().toEpochMilli());
+            out.writeInt(entry.attempts());
+            out.writeUTF(entry.step());
+            writeNullable(out, entry.group());
+            writeNullable(out, entry.itemType());
+            out.writeByte(entry.encoding().ordinal());
+            out.writeUTF(entry.causeType());
+            writeNullable(out, entry.causeMessage());
+            out.writeInt(entry.payload().length);
+            out.write(entry.payload());
+        } catch (IOException e) {
+            throw new DeadLetterStoreException("Failed to encode dead letter", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DeadLetterEntry decodeEntry(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        Instant timestamp = Instant.ofEpochMilli(in.readLong());
+        int attempts = in.readInt();
+        String step = in.readUTF();
+        String group = readNullable(in);
+        String itemType = readNullable(in);
+        DeadLetterEntry.Encoding encoding = DeadLetterEntry.Encoding.values()[in.readByte()];
+        String causeType = in.readUTF();
+        String causeMessage = readNullable(in);
+        int payloadLength = in.readInt();
+        if (payloadLength < 0 || payloadLength > in.available()) {
+            throw new EOFException("Dead-letter payload length " + payloadLength + " exceeds record");
+        }
+        byte[] payload = in.readNBytes(payloadLength);
+        return new DeadLetterEntry(id, timestamp, step, group, itemType, encoding, payload,
+                causeType, causeMessage, attempts, false);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
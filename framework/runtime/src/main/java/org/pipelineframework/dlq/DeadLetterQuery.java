@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import java.util.Set;
+
+/**
+ * Selects entries of a {@link DeadLetterStore}.
+ *
+ * @param step the fully qualified class name of the step whose entries to select, or null for all
+ *     steps
+ * @param ids the ids of the entries to select, or an empty set for all entries
+ * @param includeReplayed whether to select entries that have already been replayed
+ */
+public record DeadLetterQuery(String step, Set<Long> ids, boolean includeReplayed) {
+
+    /**
+     * Creates a query.
+     */
+    public DeadLetterQuery {
+        ids = ids != null ? Set.copyOf(ids) : Set.of();
+    }
+
+    /**
+     * Selects the entries that have not been replayed yet.
+     *
+     * @return the query
+     */
+    public static DeadLetterQuery pending() {
+        return new DeadLetterQuery(null, Set.of(), false);
+    }
+
+    /**
+     * Whether the given entry is selected by this query.
+     *
+     * @param entry the entry
+     * @return true if it is selected
+     */
+    public boolean matches(DeadLetterEntry entry) {
+        return (step == null || step.equals(entry.step()))
+                && (ids.isEmpty() || ids.contains(entry.id()))
+                && (includeReplayed || !entry.replayed());
+    }
+}
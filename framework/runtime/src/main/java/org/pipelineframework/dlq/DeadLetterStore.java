@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Durable storage for items that steps failed to process.
+ *
+ * <p>Entries are only appended; replaying an entry marks it as replayed rather than removing it.
+ * Appends are batched by the store, so that dead-lettering does not wait on a write per item.
+ */
+public interface DeadLetterStore extends AutoCloseable {
+
+    /**
+     * Appends an entry. The entry's id is assigned by the store.
+     *
+     * @param entry the entry to append
+     * @return a future completed once the entry is stored, or completed exceptionally if it could
+     *     not be
+     */
+    CompletableFuture<Void> append(DeadLetterEntry entry);
+
+    /**
+     * Reads the stored entries selected by a query, in the order they were appended. Entries
+     * whose append has not completed may be missing.
+     *
+     * @param query the entries to select
+     * @return the selected entries
+     * @throws DeadLetterStoreException if the store cannot be read
+     */
+    List<DeadLetterEntry> read(DeadLetterQuery query);
+
+    /**
+     * Marks entries as replayed, so that they are no longer selected by queries that exclude
+     * replayed entries.
+     *
+     * @param ids the ids of the entries
+     * @throws DeadLetterStoreException if the entries cannot be marked
+     */
+    void markReplayed(Collection<Long> ids);
+
+    /**
+     * Waits until every entry appended so far is stored.
+     */
+    void flush();
+
+    /**
+     * Stores the entries appended so far and releases the store's resources.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import com.google.protobuf.MessageLite;
+import io.smallrye.mutiny.Context;
+import io.smallrye.mutiny.Uni;
+import io.quarkus.agroal.DataSource.DataSourceLiteral;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InstanceHandle;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+import org.pipelineframework.id.IdGenerators;
+
+/**
+ * Static access point to the {@link DeadLetterStore} that steps record failed items to.
+ *
+ * <p>Steps are interfaces with default methods, so the store is built once from {@code
+ * pipeline.dlq.*} rather than injected, as {@link org.pipelineframework.resilience.RetryPolicies}
+ * does for the retry policy. It is built on the first dead letter and closed when the JVM shuts
+ * down. Protobuf items are stored in their wire format and can be replayed; other items are stored
+ * as text, for inspection only.
+ */
+public final class DeadLetters {
+
+    private static final Logger LOG = Logger.getLogger(DeadLetters.class);
+
+    private static final String PREFIX = "pipeline.dlq.";
+    private static final String DEFAULT_DIRECTORY = "pipeline-dlq";
+    private static final int DEFAULT_SEGMENT_SIZE_MB = 64;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long DEFAULT_LINGER_MS = 5;
+    private static final String DEFAULT_TABLE = "pipeline_dead_letter";
+    private static final int DEFAULT_MAX_STREAM_ITEMS = 1000;
+
+    /**
+     * Key of the Mutiny {@link Context} entry holding the {@link Listener} of the run that items
+     * belong to. Steps that dead-letter through {@link #recordInRun} notify it, so that concurrent
+     * runs sharing steps are each told of their own items only.
+     */
+    public static final String RUN_LISTENER = "pipeline.dlq.run-listener";
+
+    private static final ThreadLocal<Integer> ATTEMPTS = new ThreadLocal<>();
+    private static final ThreadLocal<Listener> RUN_SCOPE = new ThreadLocal<>();
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile DeadLetterStore store;
+    private static volatile boolean loaded;
+
+    /** Notified of every item a step dead-letters, whether or not a store is configured. */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called when a step dead-letters items, before they are stored.
+         *
+         * @param stepName the {@linkplain #stepName(Class) name} of the step
+         * @param items the number of items
+         * @param cause the failure
+         */
+        void deadLettered(String stepName, int items, Throwable cause);
+    }
+
+    private DeadLetters() {
+    }
+
+    /**
+     * Get the configured store.
+     *
+     * @return the store in use, or null if {@code pipeline.dlq.store=none}
+     */
+    public static DeadLetterStore store() {
+        if (!loaded) {
+            synchronized (DeadLetters.class) {
+                if (!loaded) {
+                    store = loadStore();
+                    loaded = true;
+                    Runtime.getRuntime().addShutdownHook(new Thread(DeadLetters::closeStore, "pipeline-dlq-shutdown"));
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Replace the configured store, e.g. for tests. The previous store is not closed.
+     *
+     * @param deadLetterStore the store to use from now on, or null to only log dead letters
+     */
+    public static void set(DeadLetterStore deadLetterStore) {
+        synchronized (DeadLetters.class) {
+            store = deadLetterStore;
+            loaded = true;
+        }
+    }
+
+    /**
+     * Records failed items when subscribed to, notifying the listener of the run found in the
+     * subscriber's context as well as the listeners added with {@link #addListener}.
+     *
+     * @param step the step that failed to process the items
+     * @param group identifies items that failed together and must be replayed together, or null
+     * @param items the items; a null item records the failure alone
+     * @param cause the failure
+     * @param attempts the number of times the step tried to process the items
+     * @return a Uni completing once every item is stored; it never fails, as write failures are
+     *     logged by the store
+     */
+    public static Uni<Void> recordInRun(
+            Object step, String group, List<?> items, Throwable cause, int attempts) {
+        return Uni.createFrom()
+                .context(context -> Uni.createFrom().completionStage(
+                        () -> inRun(context, () -> record(step, group, items, cause, attempts))));
+    }
+
+    /**
+     * Runs a dead-letter handler in the scope of the run found in a Mutiny context, so that {@link
+     * #record} called synchronously from the handler notifies the run's listener. Blocking steps
+     * use it around handlers that cannot return a Uni.
+     *
+     * @param context the context of the subscription the failed items belong to
+     * @param handler the handler
+     * @param <T> the handler's result type
+     * @return the handler's result
+     */
+    public static <T> T inRun(Context context, Supplier<T> handler) {
+        Listener listener = context.getOrElse(RUN_LISTENER, () -> null);
+        if (listener == null) {
+            return handler.get();
+        }
+        Listener previous = RUN_SCOPE.get();
+        RUN_SCOPE.set(listener);
+        try {
+            return handler.get();
+        } finally {
+            if (previous != null) {
+                RUN_SCOPE.set(previous);
+            } else {
+                RUN_SCOPE.remove();
+            }
+        }
+    }
+
+    /**
+     * Records failed items.
+     *
+     * @param step the step that failed to process the items
+     * @param group identifies items that failed together and must be replayed together, or null
+     * @param items the items; a null item records the failure alone
+     * @param cause the failure
+     * @param attempts the number of times the step tried to process the items
+     * @return a future completed once every item is stored; it never completes exceptionally, as
+     *     write failures are logged by the store
+     */
+    public static CompletableFuture<Void> record(
+            Object step, String group, List<?> items, Throwable cause, int attempts) {
+        String stepName = stepName(step.getClass());
+        for (Listener listener : LISTENERS) {
+            notify(listener, stepName, items.size(), cause);
+        }
+        Listener runListener = RUN_SCOPE.get();
+        if (runListener != null) {
+            notify(runListener, stepName, items.size(), cause);
+        }
+        DeadLetterStore current = store();
+        if (current == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Instant now = Instant.now();
+        List<CompletableFuture<Void>> written = new ArrayList<>(items.size());
+        for (Object item : items) {
+            written.add(current.append(entry(now, stepName, group, item, cause, attempts)));
+        }
+        return CompletableFuture.allOf(written.toArray(CompletableFuture[]::new))
+                .exceptionally(ignored -> null);
+    }
+
+    private static void notify(Listener listener, String stepName, int items, Throwable cause) {
+        try {
+            listener.deadLettered(stepName, items, cause);
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Dead-letter listener %s failed", listener);
+        }
+    }
+
+    /**
+     * Starts notifying a listener of dead-lettered items.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Stops notifying a listener.
+     *
+     * @param listener the listener
+     */
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Creates a group id for items that failed together.
+     *
+     * @return a new group id
+     */
+    public static String newGroup() {
+        return IdGenerators.nextId().toString();
+    }
+
+    /**
+     * Runs a dead-letter handler with the number of attempts made on the failed items, which {@link
+     * #attempts()} returns when called synchronously from the handler. Steps use it to pass the
+     * count to handlers whose signature predates it.
+     *
+     * @param attempts the number of attempts
+     * @param handler the handler
+     * @param <T> the handler's result type
+     * @return the handler's result
+     */
+    public static <T> T withAttempts(int attempts, Supplier<T> handler) {
+        Integer previous = ATTEMPTS.get();
+        ATTEMPTS.set(attempts);
+        try {
+            return handler.get();
+        } finally {
+            if (previous != null) {
+                ATTEMPTS.set(previous);
+            } else {
+                ATTEMPTS.remove();
+            }
+        }
+    }
+
+    /**
+     * The number of attempts of the current {@link #withAttempts} scope.
+     *
+     * @return the number of attempts, or 1 outside of a scope
+     */
+    public static int attempts() {
+        Integer attempts = ATTEMPTS.get();
+        return attempts != null ? attempts : 1;
+    }
+
+    /**
+     * The maximum number of items recorded for one failed stream, from {@code
+     * pipeline.dlq.max-stream-items}.
+     *
+     * @return the maximum number of items
+     */
+    public static int maxStreamItems() {
+        Config config = config();
+        return config == null
+                ? DEFAULT_MAX_STREAM_ITEMS
+                : config.getOptionalValue(PREFIX + "max-stream-items", Integer.class).orElse(DEFAULT_MAX_STREAM_ITEMS);
+    }
+
+    /**
+     * The name entries record for a step class: the class name of the step as configured, without
+     * the suffix of the subclasses the container generates for beans.
+     *
+     * @param stepClass the step class
+     * @return the step name
+     */
+    public static String stepName(Class<?> stepClass) {
+        Class<?> current = stepClass;
+        while (current.getSuperclass() != null
+                && (current.getName().endsWith("_ClientProxy") || current.getName().endsWith("_Subclass"))) {
+            current = current.getSuperclass();
+        }
+        return current.getName();
+    }
+
+    /**
+     * Decodes the item of an entry stored in protobuf wire format.
+     *
+     * @param entry the entry
+     * @return the item
+     * @throws DeadLetterStoreException if the entry has no protobuf item or it cannot be decoded
+     */
+    public static Object decode(DeadLetterEntry entry) {
+        if (entry.encoding() != DeadLetterEntry.Encoding.PROTOBUF) {
+            throw new DeadLetterStoreException(
+                    "Dead letter " + entry.id() + " holds no protobuf item and cannot be replayed", null);
+        }
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> type = Class.forName(entry.itemType(), true, loader != null ? loader : DeadLetters.class.getClassLoader());
+            return type.getMethod("parseFrom", byte[].class).invoke(null, (Object) entry.payload());
+        } catch (InvocationTargetException e) {
+            throw new DeadLetterStoreException("Failed to decode dead letter " + entry.id(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new DeadLetterStoreException("Failed to decode dead letter " + entry.id(), e);
+        }
+    }
+
+    private static DeadLetterEntry entry(
+            Instant timestamp, String step, String group, Object item, Throwable cause, int attempts) {
+        DeadLetterEntry.Encoding encoding;
+        byte[] payload;
+        if (item == null) {
+            encoding = DeadLetterEntry.Encoding.NONE;
+            payload = new byte[0];
+        } else if (item instanceof MessageLite message) {
+            encoding = DeadLetterEntry.Encoding.PROTOBUF;
+            payload = message.toByteArray();
+        } else {
+            encoding = DeadLetterEntry.Encoding.TEXT;
+            payload = item.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return new DeadLetterEntry(0, timestamp, step, group, item != null ? item.getClass().getName() : null,
+                encoding, payload, cause.getClass().getName(), cause.getMessage(), attempts, false);
+    }
+
+    private static DeadLetterStore loadStore() {
+        Config config = config();
+        String type = config == null
+                ? "log"
+                : config.getOptionalValue(PREFIX + "store", String.class).orElse("log").trim().toLowerCase();
+        int batchSize = config == null
+                ? DEFAULT_BATCH_SIZE
+                : config.getOptionalValue(PREFIX + "batch-size", Integer.class).orElse(DEFAULT_BATCH_SIZE);
+        Duration linger = Duration.ofMillis(config == null
+                ? DEFAULT_LINGER_MS
+                : config.getOptionalValue(PREFIX + "linger-ms", Long.class).orElse(DEFAULT_LINGER_MS));
+        try {
+            return switch (type) {
+                case "none" -> null;
+                case "datasource" -> new DatasourceDeadLetterStore(
+                        dataSource(config == null ? null : config.getOptionalValue(PREFIX + "datasource", String.class).orElse(null)),
+                        config == null ? DEFAULT_TABLE : config.getOptionalValue(PREFIX + "table", String.class).orElse(DEFAULT_TABLE),
+                        batchSize, linger);
+                case "log" -> {
+                    Path directory = Path.of(config == null
+                            ? DEFAULT_DIRECTORY
+                            : config.getOptionalValue(PREFIX + "directory", String.class).orElse(DEFAULT_DIRECTORY));
+                    int segmentSizeMb = config == null
+                            ? DEFAULT_SEGMENT_SIZE_MB
+                            : config.getOptionalValue(PREFIX + "segment-size-mb", Integer.class).orElse(DEFAULT_SEGMENT_SIZE_MB);
+                    boolean fsync = config == null
+                            || config.getOptionalValue(PREFIX + "fsync", Boolean.class).orElse(true);
+                    yield new DeadLetterLog(directory, Math.multiplyExact(segmentSizeMb, 1L << 20), batchSize, linger, fsync);
+                }
+                default -> {
+                    LOG.warnf("Unknown dead-letter store '%s', dead letters will only be logged", type);
+                    yield null;
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            LOG.errorf(e, "Failed to open the '%s' dead-letter store, dead letters will only be logged", type);
+            return null;
+        }
+    }
+
+    private static DataSource dataSource(String name) {
+        InstanceHandle<DataSource> handle = name == null
+                ? Arc.container().instance(DataSource.class)
+                : Arc.container().instance(DataSource.class, new DataSourceLiteral(name));
+        if (!handle.isAvailable()) {
+            throw new IllegalStateException("No datasource " + (name == null ? "(default)" : name) + " for the dead-letter store");
+        }
+        return handle.get();
+    }
+
+    private static void closeStore() {
+        DeadLetterStore current = store;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private static Config config() {
+        try {
+            return ConfigProvider.getConfig();
+        } catch (RuntimeException e) {
+            LOG.debug("No configuration available, using the default dead-letter settings", e);
+            return null;
+        }
+    }
+}
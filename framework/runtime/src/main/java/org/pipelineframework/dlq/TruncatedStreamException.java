@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.dlq;
+
+/**
+ * Cause of the marker entry recorded with a failed stream that had more items than {@code
+ * pipeline.dlq.max-stream-items}. The marker shares the group of the items that were kept, so that
+ * the group is known to be incomplete and is not replayed.
+ */
+public class TruncatedStreamException extends RuntimeException {
+
+    private final long dropped;
+
+    /**
+     * Constructs a new TruncatedStreamException.
+     *
+     * @param dropped the number of items of the stream that were not recorded
+     * @param count the number of items of the stream
+     * @param cause the failure of the stream
+     */
+    public TruncatedStreamException(long dropped, long count, Throwable cause) {
+        super(dropped + " of the " + count + " items of the failed stream were not recorded: "
+                + cause.getMessage(), cause);
+        this.dropped = dropped;
+    }
+
+    /**
+     * The number of items of the stream that were not recorded.
+     *
+     * @return the number of items
+     */
+    public long dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link Channel} that spreads calls over several underlying channels.
+ *
+ * <p>The pool holds {@code channelsPerEndpoint} channels for each endpoint, so a single client is
+ * not limited by the concurrent stream cap of one HTTP/2 connection and can reach a static list of
+ * replicas. Each call is routed to the channel with the fewest outstanding calls. A channel whose
+ * call fails with {@code UNAVAILABLE}, or that reports {@code TRANSIENT_FAILURE}, is taken out of
+ * rotation for the ejection time and then tried again. If every channel is out of rotation, calls
+ * still go to the least loaded one rather than failing locally.
+ */
+public final class ChannelPool extends Channel implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(ChannelPool.class);
+
+    private final String name;
+    private final List<Member> members;
+    private final long ejectionNanos;
+    private final AtomicInteger nextStart = new AtomicInteger();
+
+    /**
+     * Create a pool, opening its channels with the given factory.
+     *
+     * @param name the client name, used in log messages
+     * @param endpoints the endpoints to connect to, as {@code host:port} targets
+     * @param channelsPerEndpoint number of channels opened to each endpoint; must be at least 1
+     * @param ejectionTime how long a failed channel stays out of rotation
+     * @param channelFactory opens a channel to an endpoint
+     * @throws IllegalArgumentException if there are no endpoints or {@code channelsPerEndpoint} is
+     *     less than 1
+     */
+    public ChannelPool(
+            String name,
+            List<String> endpoints,
+            int channelsPerEndpoint,
+            Duration ejectionTime,
+            Function<String, ManagedChannel> channelFactory) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            throw new IllegalArgumentException("endpoints must not be empty");
+        }
+        if (channelsPerEndpoint < 1) {
+            throw new IllegalArgumentException("channelsPerEndpoint must be >= 1");
+        }
+        this.name = Objects.requireNonNull(name, "name must not be null");
+        this.ejectionNanos = Objects.requireNonNull(ejectionTime, "ejectionTime must not be null").toNanos();
+        List<Member> created = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            for (int i = 0; i < channelsPerEndpoint; i++) {
+                created.add(new Member(endpoint, channelFactory.apply(endpoint)));
+            }
+        }
+        this.members = List.copyOf(created);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+        Member member = pick();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(
+                member.channel.newCall(method, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                member.outstanding.incrementAndGet();
+                try {
+                    super.start(
+                            new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(
+                                    responseListener) {
+                                @Override
+                                public void onClose(Status status, Metadata trailers) {
+                                    release(member, status);
+                                    super.onClose(status, trailers);
+                                }
+                            },
+                            headers);
+                } catch (RuntimeException e) {
+                    member.outstanding.decrementAndGet();
+                    throw e;
+                }
+            }
+        };
+    }
+
+    @Override
+    public String authority() {
+        return members.getFirst().channel.authority();
+    }
+
+    /**
+     * Number of calls currently in flight across all channels.
+     *
+     * @return the outstanding call count
+     */
+    public int outstanding() {
+        return members.stream().mapToInt(member -> member.outstanding.get()).sum();
+    }
+
+    /**
+     * Number of channels currently in rotation.
+     *
+     * @return how many channels new calls may be routed to
+     */
+    public int channelsInRotation() {
+        long now = System.nanoTime();
+        return (int) members.stream().filter(member -> member.inRotation(now)).count();
+    }
+
+    /** Shut down all channels of the pool. Calls already in flight are allowed to finish. */
+    @Override
+    public void close() {
+        members.forEach(member -> member.channel.shutdown());
+    }
+
+    private Member pick() {
+        int size = members.size();
+        int start = Math.floorMod(nextStart.getAndIncrement(), size);
+        long now = System.nanoTime();
+        Member best = null;
+        Member leastLoaded = null;
+        for (int i = 0; i < size; i++) {
+            Member member = members.get((start + i) % size);
+            int outstanding = member.outstanding.get();
+            if (leastLoaded == null || outstanding < leastLoaded.outstanding.get()) {
+                leastLoaded = member;
+            }
+            if (member.inRotation(now)
+                    && (best == null || outstanding < best.outstanding.get())) {
+                best = member;
+            }
+        }
+        return best != null ? best : leastLoaded;
+    }
+
+    private void release(Member member, Status status) {
+        member.outstanding.decrementAndGet();
+        if (status.getCode() == Status.Code.UNAVAILABLE) {
+            member.ejectedUntil = System.nanoTime() + ejectionNanos;
+            LOG.warnf(
+                    "gRPC client '%s': taking a channel to %s out of rotation for %d ms: %s",
+                    name, member.endpoint, Duration.ofNanos(ejectionNanos).toMillis(), status);
+        }
+    }
+
+    private static final class Member {
+
+        final String endpoint;
+        final ManagedChannel channel;
+        final AtomicInteger outstanding = new AtomicInteger();
+        volatile long ejectedUntil = System.nanoTime();
+
+        Member(String endpoint, ManagedChannel channel) {
+            this.endpoint = endpoint;
+            this.channel = Objects.requireNonNull(channel, "channel must not be null");
+        }
+
+        boolean inRotation(long now) {
+            return now - ejectedUntil >= 0
+                    && channel.getState(false) != ConnectivityState.TRANSIENT_FAILURE;
+        }
+    }
+}
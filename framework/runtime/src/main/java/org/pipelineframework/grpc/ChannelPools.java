@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Channel;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.GrpcSslContexts;
+import io.grpc.netty.NettyChannelBuilder;
+import io.quarkus.arc.Unremovable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.SSLException;
+import javax.net.ssl.TrustManagerFactory;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+/**
+ * Holds the {@link ChannelPool} of each gRPC client that has pooling configured.
+ *
+ * <p>Pooling is configured next to the rest of the client's settings:
+ *
+ * <ul>
+ *   <li>{@code quarkus.grpc.clients.<name>.pool-size}: channels per endpoint (default 1)
+ *   <li>{@code quarkus.grpc.clients.<name>.endpoints}: comma-separated {@code host:port} replicas
+ *       (default: the client's {@code host} and {@code port})
+ *   <li>{@code quarkus.grpc.clients.<name>.pool-ejection-ms}: how long a failed channel stays out
+ *       of rotation (default 5000)
+ * </ul>
+ *
+ * <p>With {@code tls.enabled}, channels trust the store resolved by {@link GrpcClientTls}.
+ *
+ * <p>A client with neither a pool size above 1 nor an endpoint list has no pool, and generated client
+ * steps keep using the Quarkus-managed stub.
+ */
+@ApplicationScoped
+@Unremovable
+public class ChannelPools {
+
+    private static final Logger LOG = Logger.getLogger(ChannelPools.class);
+
+    private static final String PREFIX = "quarkus.grpc.clients.";
+    private static final long DEFAULT_EJECTION_MS = 5000;
+
+    private final Map<String, Optional<ChannelPool>> pools = new ConcurrentHashMap<>();
+
+    /** Default constructor for ChannelPools. */
+    public ChannelPools() {}
+
+    /**
+     * Get the pooled channel for a gRPC client, creating it on first use.
+     *
+     * @param clientName the gRPC client name, as used in {@code @GrpcClient}
+     * @return the client's pooled channel, or null if pooling is not configured for the client
+     */
+    public Channel channel(String clientName) {
+        return pools.computeIfAbsent(clientName, ChannelPools::createPool).orElse(null);
+    }
+
+    /** Shut down every pool created so far. */
+    @PreDestroy
+    void close() {
+        pools.values().forEach(pool -> pool.ifPresent(ChannelPool::close));
+        pools.clear();
+    }
+
+    private static Optional<ChannelPool> createPool(String clientName) {
+        Config config = ConfigProvider.getConfig();
+        String prefix = PREFIX + clientName + ".";
+        int poolSize = config.getOptionalValue(prefix + "pool-size", Integer.class).orElse(1);
+        Optional<String> endpointList = config.getOptionalValue(prefix + "endpoints", String.class);
+        if (poolSize <= 1 && endpointList.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<String> endpoints =
+                endpointList
+                        .map(
+                                value ->
+                                        Arrays.stream(value.split(","))
+                                                .map(String::trim)
+                                                .filter(endpoint -> !endpoint.isEmpty())
+                                                .toList())
+                        .orElseGet(
+                                () ->
+                                        List.of(
+                                                config.getOptionalValue(
+                                                                        prefix + "host",
+                                                                        String.class)
+                                                                .orElse("localhost")
+                                                        + ":"
+                                                        + config.getOptionalValue(
+                                                                        prefix + "port",
+                                                                        Integer.class)
+                                                                .orElse(9000)));
+        boolean tls = config.getOptionalValue(prefix + "tls.enabled", Boolean.class).orElse(false);
+        Duration ejection =
+                Duration.ofMillis(
+                        config.getOptionalValue(prefix + "pool-ejection-ms", Long.class)
+                                .orElse(DEFAULT_EJECTION_MS));
+
+        LOG.infof(
+                "gRPC client '%s': pooling %d channel(s) per endpoint over %s",
+                clientName, Math.max(poolSize, 1), endpoints);
+        return Optional.of(
+                new ChannelPool(
+                        clientName,
+                        endpoints,
+                        Math.max(poolSize, 1),
+                        ejection,
+                        endpoint -> openChannel(clientName, endpoint, tls)));
+    }
+
+    private static ManagedChannel openChannel(String clientName, String endpoint, boolean tls) {
+        NettyChannelBuilder builder = NettyChannelBuilder.forTarget(endpoint);
+        if (!tls) {
+            return builder.usePlaintext().build();
+        }
+        Optional<TrustManagerFactory> trust = GrpcClientTls.trustManagerFactory(clientName);
+        if (trust.isEmpty()) {
+            return builder.useTransportSecurity().build();
+        }
+        try {
+            return builder.sslContext(
+                            GrpcSslContexts.forClient().trustManager(trust.get()).build())
+                    .build();
+        } catch (SSLException e) {
+            throw new IllegalStateException(
+                    "Failed to create TLS context for gRPC client '" + clientName + "'", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.grpc.GlobalInterceptor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+import org.pipelineframework.config.PipelineStepConfig;
+
+/**
+ * Rejects gRPC calls that arrive with too little of their deadline left to be served in time.
+ *
+ * <p>Client steps send the time left for each call in the standard {@code grpc-timeout} header,
+ * which the server turns into the deadline of the call's {@link Context}. Calls whose deadline has
+ * already passed, or that have less than {@code pipeline.deadline.min-remaining-ms} left, are closed
+ * with {@code DEADLINE_EXCEEDED} before the service does any work, and counted in the {@code
+ * pipeline.deadline.shed} counter tagged with the method name. Services can read the time left
+ * with {@link org.pipelineframework.resilience.Deadlines#remaining()}.
+ */
+@ApplicationScoped
+@GlobalInterceptor
+public class DeadlineServerInterceptor implements ServerInterceptor {
+
+    private static final Logger LOG = Logger.getLogger(DeadlineServerInterceptor.class);
+
+    @Inject
+    PipelineStepConfig pipelineStepConfig;
+
+    /**
+     * Default constructor for DeadlineServerInterceptor.
+     */
+    public DeadlineServerInterceptor() {
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        Deadline deadline = Context.current().getDeadline();
+        if (deadline != null && deadline.timeRemaining(TimeUnit.MILLISECONDS) < minRemainingMs()) {
+            String method = call.getMethodDescriptor().getFullMethodName();
+            if (LOG.isDebugEnabled()) {
+                LOG.debugf("Shedding call to %s with %s left", method, deadline);
+            }
+            Metrics.counter("pipeline.deadline.shed", "method", method).increment();
+            call.close(
+                    Status.DEADLINE_EXCEEDED.withDescription(
+                            "Not enough time left to process the call: " + deadline),
+                    new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+        return next.startCall(call, headers);
+    }
+
+    private long minRemainingMs() {
+        // A call with no time left at all is always shed
+        long configured = pipelineStepConfig != null ? pipelineStepConfig.deadline().minRemainingMs() : 0;
+        return Math.max(configured, 1);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Optional;
+import javax.net.ssl.TrustManagerFactory;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Resolves the trust material of a gRPC client from its Quarkus configuration.
+ *
+ * <p>The client's own {@code quarkus.grpc.clients.<name>.tls.trust-store-file} (or {@code
+ * trust-store}) is used first, then the global {@code quarkus.tls.trust-store.jks.path} (or {@code
+ * quarkus.tls.trust-store.path}). The file is looked up on the classpath first and then on disk;
+ * its type is PKCS12 for {@code .p12}, {@code .pfx} and {@code .pkcs12} files and JKS otherwise.
+ */
+public final class GrpcClientTls {
+
+    private GrpcClientTls() {}
+
+    /**
+     * Build a trust manager factory from the trust store configured for a gRPC client.
+     *
+     * @param clientName the gRPC client name
+     * @return the initialised factory, or empty if no trust store is configured and the platform
+     *     defaults apply
+     * @throws IllegalStateException if a trust store is configured but cannot be loaded
+     */
+    public static Optional<TrustManagerFactory> trustManagerFactory(String clientName) {
+        Config config = ConfigProvider.getConfig();
+        String prefix = "quarkus.grpc.clients." + clientName + ".tls.";
+        String path = firstValue(config, prefix + "trust-store-file", prefix + "trust-store");
+        String password = firstValue(config, prefix + "trust-store-password", prefix + "trust-password");
+        if (path == null) {
+            path = firstValue(config, "quarkus.tls.trust-store.jks.path", "quarkus.tls.trust-store.path");
+            if (path != null && password == null) {
+                password =
+                        firstValue(
+                                config,
+                                "quarkus.tls.trust-store.jks.password",
+                                "quarkus.tls.trust-store.password");
+            }
+        }
+        if (path == null) {
+            return Optional.empty();
+        }
+
+        try (InputStream stream = open(path)) {
+            KeyStore trustStore = KeyStore.getInstance(keyStoreType(path));
+            trustStore.load(stream, (password != null ? password : "changeit").toCharArray());
+            TrustManagerFactory factory =
+                    TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            factory.init(trustStore);
+            return Optional.of(factory);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException(
+                    "Failed to load trust store " + path + " for gRPC client '" + clientName + "'",
+                    e);
+        }
+    }
+
+    /**
+     * Determine the key store type from a trust store file name.
+     *
+     * @param path the trust store path
+     * @return "PKCS12" for .p12, .pfx and .pkcs12 files, "JKS" otherwise
+     */
+    static String keyStoreType(String path) {
+        String lower = path.toLowerCase();
+        if (lower.endsWith(".p12") || lower.endsWith(".pfx") || lower.endsWith(".pkcs12")) {
+            return "PKCS12";
+        }
+        return "JKS";
+    }
+
+    private static InputStream open(String path) throws IOException {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        InputStream stream = classLoader != null ? classLoader.getResourceAsStream(path) : null;
+        if (stream != null) {
+            return stream;
+        }
+        File file = new File(path);
+        if (!file.exists()) {
+            throw new IOException("Trust store not found: " + path);
+        }
+        return new FileInputStream(file);
+    }
+
+    private static String firstValue(Config config, String name, String fallbackName) {
+        return config.getOptionalValue(name, String.class)
+                .or(() -> config.getOptionalValue(fallbackName, String.class))
+                .orElse(null);
+    }
+}
@@ -119,7 +119,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
       }
 
       return withPersistence
-              .onItem().transform(this::toGrpc)
+              .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
               .onFailure().transform(new throwStatusRuntimeExceptionFunction());
     });
   }
@@ -106,7 +106,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
 
       return getService().process(domainStream)
           .onItem()
-          .transform(this::toGrpc)
+          .transform(domainOut -> slim(toGrpc(domainOut)))
           .onFailure()
           .transform(new throwStatusRuntimeExceptionFunction());
     }
@@ -140,7 +140,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
                     .withBackOff(Duration.ofMillis(200), Duration.ofSeconds(2))
                     .atMost(3)
         )
-        .onItem().transform(this::toGrpc)
+        .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
         .onFailure().transform(new throwStatusRuntimeExceptionFunction());
   }
 
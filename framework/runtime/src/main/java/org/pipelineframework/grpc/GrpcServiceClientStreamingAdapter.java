@@ -106,7 +106,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
       // Pass the original streaming Multi directly to the service (no buffering)
       Uni<DomainOut> processedResult = getService().process(domainStream);
       return processedResult
-              .onItem().transform(this::toGrpc)
+              .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
               .onFailure().transform(new throwStatusRuntimeExceptionFunction());
     }
 
@@ -136,7 +136,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
                 .onFailure(this::isTransientDbError)
                 .retry().withBackOff(Duration.ofMillis(200), Duration.ofSeconds(2)).atMost(3)
             )
-            .onItem().transform(this::toGrpc)
+            .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
             .onFailure().transform(new throwStatusRuntimeExceptionFunction());
   }
 
@@ -85,21 +85,25 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
   /**
    * Adapts a gRPC request into the domain stream, processes it and returns a stream of gRPC responses.
    *
-   * <p>If auto-persistence is enabled the original domain input will be persisted after the stream
-   * completes successfully (the persistence occurs within a transaction). Processing failures are
-   * converted to gRPC status runtime exceptions.
+   * <p>If the client sent a resume position (see {@link StreamResume}), the stream starts after the
+   * outputs the client already received. If auto-persistence is enabled the original domain input
+   * will be persisted after the stream completes successfully (the persistence occurs within a
+   * transaction). Processing failures are converted to gRPC status runtime exceptions.
    *
    * @param grpcRequest the incoming gRPC request to convert into a domain input
    * @return a Multi stream of gRPC responses corresponding to processed domain outputs; failures are mapped to status exceptions
    */
   public Multi<GrpcOut> remoteProcess(GrpcIn grpcRequest) {
     DomainIn entity = fromGrpc(grpcRequest);
-    Multi<DomainOut> processedResult = getService().process(entity); // Multi<DomainOut>
+    long resumeFrom = StreamResume.resumeFrom();
+    Multi<DomainOut> processedResult = resumeFrom > 0
+        ? getService().process(entity, resumeFrom)
+        : getService().process(entity); // Multi<DomainOut>
 
     if (!isAutoPersistenceEnabled()) {
       LOG.debug("Auto-persistence is disabled");
       return processedResult
-              .onItem().transform(this::toGrpc)
+              .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
               .onFailure().transform(new throwStatusRuntimeExceptionFunction());
     }
 
@@ -117,7 +121,7 @@ protected abstract GrpcOut toGrpc(DomainOut domainOut);
                 )
             )
             // Continue with the normal outbound transformation
-            .onItem().transform(this::toGrpc)
+            .onItem().transform(domainOut -> slim(toGrpc(domainOut)))
             .onFailure().transform(new throwStatusRuntimeExceptionFunction());
   }
 }
\ No newline at end of file
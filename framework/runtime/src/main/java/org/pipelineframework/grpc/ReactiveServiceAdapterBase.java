@@ -18,12 +18,16 @@ package org.pipelineframework.grpc;
 
 import io.smallrye.mutiny.Uni;
 import io.vertx.mutiny.core.Vertx;
+import org.pipelineframework.lineage.SlimMessages;
+import org.pipelineframework.resilience.RetryPolicies;
 
 /**
  * Base class for reactive service adapters that provide common functionality for gRPC reactive services.
  */
 public abstract class ReactiveServiceAdapterBase {
 
+  private final boolean slimMessages = SlimMessages.enabled();
+
   /**
    * Default constructor for ReactiveServiceAdapterBase.
    */
@@ -39,6 +43,19 @@ public abstract class ReactiveServiceAdapterBase {
    */
   protected abstract boolean isAutoPersistenceEnabled();
 
+  /**
+   * Prepares an outgoing gRPC message for the wire. In slim-message mode
+   * ({@code pipeline.slim-messages=true}) nested parent messages that are also referenced by id are
+   * stripped, see {@link SlimMessages}; otherwise the message is returned unchanged.
+   *
+   * @param grpcOut the gRPC message produced by {@code toGrpc}
+   * @param <T> the gRPC message type
+   * @return the message to send
+   */
+  protected <T> T slim(T grpcOut) {
+    return slimMessages ? SlimMessages.slim(grpcOut) : grpcOut;
+  }
+
   /**
    * Switches execution to the current Vert.x event loop.
    *
@@ -56,142 +73,16 @@ public abstract class ReactiveServiceAdapterBase {
   }
 
   /**
-   * Determines whether a Throwable represents a transient database connectivity issue.
+   * Determines whether a Throwable represents a transient database connectivity issue, such as a
+   * refused or dropped connection, a timeout, or a connection-class SQLState.
    *
-   * @param failure the throwable to inspect; walks the cause chain checking each message and type for transient DB indicators
-   * @return `true` if any exception in the cause chain has a message containing "connection refused", "connection closed",
-   * "timeout", "connection reset", "communications link failure" (case-insensitive) or is of a known transient exception type,
-   * `false` otherwise
-   */
-  protected boolean isTransientDbError(Throwable failure) {
-    Throwable current = failure;
-    while (current != null) {
-      // Check if the current exception is of a known transient type
-      if (isKnownTransientExceptionType(current)) {
-        return true;
-      }
-
-      // Check for transient indicators in the message (case-insensitive)
-      String msg = current.getMessage();
-      if (msg != null) {
-        String lowerMsg = msg.toLowerCase();
-        if (lowerMsg.contains("connection refused")
-            || lowerMsg.contains("connection closed")
-            || lowerMsg.contains("timeout")
-            || lowerMsg.contains("connection reset")
-            || lowerMsg.contains("communications link failure")) {
-          return true;
-        }
-      }
-
-      // Move to the cause
-      current = current.getCause();
-
-      // Prevent infinite loops if there's a circular cause
-      if (current == failure) {
-        break;
-      }
-    }
-
-    return false;
-  }
-
-  /**
-   * Determines if the given exception is of a type that indicates a transient database error.
+   * <p>Delegates to the {@link RetryPolicies configured retry policy}, which caches what it needs
+   * to know per exception class instead of inspecting messages on every failure.
    *
-   * @param throwable the exception to check
-   * @return true if the exception type is known to indicate transient database errors
+   * @param failure the throwable to inspect, together with its causes
+   * @return `true` if the failure is classified as transient, `false` otherwise
    */
-  private boolean isKnownTransientExceptionType(Throwable throwable) {
-    // SQL transient exceptions
-    if (throwable instanceof java.sql.SQLTransientException) {
-      return true;
-    }
-
-    // Hibernate Reactive specific transient exceptions (if they exist)
-    // Check for common Hibernate and database driver transient exceptions
-    String throwableClassName = throwable.getClass().getName();
-    if (throwableClassName.contains("hibernate") &&
-        (throwableClassName.toLowerCase().contains("transient") ||
-         throwableClassName.toLowerCase().contains("connection") ||
-         throwableClassName.toLowerCase().contains("timeout"))) {
-      return true;
-    }
-
-    // PostgreSQL-specific connection-related exceptions
-    if (throwableClassName.equals("org.postgresql.util.PSQLException")) {
-      // Check for SQL state codes that indicate connection issues
-      // 08xxx = Connection Exception
-      try {
-        java.lang.reflect.Method getSQLStateMethod = throwable.getClass().getMethod("getSQLState");
-        Object result = getSQLStateMethod.invoke(throwable);
-        if (result != null) {
-          String sqlState = result.toString();
-          if (sqlState != null && sqlState.startsWith("08")) {
-            return true;
-          }
-        }
-      } catch (Exception e) {
-        // If we can't access the SQL state through reflection, fall back to message inspection
-        String message = throwable.getMessage();
-        if (message != null) {
-          String lowerMessage = message.toLowerCase();
-          // Check for connection-related keywords in PostgreSQL exception messages
-          if (lowerMessage.contains("connection refused") ||
-              lowerMessage.contains("connection closed") ||
-              lowerMessage.contains("connection lost") ||
-              lowerMessage.contains("terminating connection") ||
-              lowerMessage.contains("connection timeout")) {
-            return true;
-          }
-        }
-      }
-      return false; // Only return true for actual connection-related PSQLExceptions
-    }
-
-    // MySQL-specific connection exceptions (more specific than just checking package name)
-    if (throwableClassName.startsWith("com.mysql.cj.exceptions.")) {
-      // Check for specific MySQL connection-related exception types
-      if (throwableClassName.contains("CommunicationsException") ||
-          throwableClassName.contains("ConnectionException") ||
-          throwableClassName.contains("MySQLTimeoutException") ||
-          throwableClassName.contains("SSLException")) {
-        return true;
-      }
-      return false; // Only return true for specific connection-related MySQL exceptions
-    }
-
-    // Oracle-specific connection exceptions
-    if (throwableClassName.startsWith("oracle.jdbc")) {
-      // Check for Oracle connection-related exceptions
-      if (throwableClassName.contains("OracleConnection") ||
-          throwableClassName.contains("SQLRecoverableException")) {
-        return true;
-      }
-      return false; // Only return true for connection-related Oracle exceptions
-    }
-
-    // Microsoft SQL Server exceptions
-    if (throwableClassName.startsWith("com.microsoft.sqlserver.jdbc")) {
-      // Check for SQL Server connection-related exceptions
-      if (throwableClassName.contains("SQLServerException")) {
-        // Check if the message indicates a connection issue
-        String message = throwable.getMessage();
-        if (message != null) {
-          String lowerMessage = message.toLowerCase();
-          // Common connection-related messages in SQL Server exceptions
-          if (lowerMessage.contains("connection timed out") ||
-              lowerMessage.contains("connection reset") ||
-              lowerMessage.contains("the connection is closed") ||
-              lowerMessage.contains("tcp provider") ||
-              lowerMessage.contains("connection was terminated")) {
-            return true;
-          }
-        }
-      }
-      return false; // Only return true for connection-related SQL Server exceptions
-    }
-
-    return false;
+  protected boolean isTransientDbError(Throwable failure) {
+    return RetryPolicies.get().isTransient(failure);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Status;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.multi.processors.UnicastProcessor;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.jboss.logging.Logger;
+
+/**
+ * Client side of the {@code STREAM} transport for one-to-one steps.
+ *
+ * <p>Instead of one unary call per item, requests are wrapped in an envelope carrying a correlation
+ * id and sent over a shared bidirectional stream. Responses are matched back to their callers by
+ * id, so the service may complete them in any order. A new stream is opened lazily on the first
+ * call and after every {@code streamBatchSize} requests (0 keeps a single stream until {@link
+ * #close()}). When a stream fails, every call still waiting on it fails with the stream's error and
+ * the next call opens a fresh stream.
+ *
+ * @param <I> the gRPC input message type
+ * @param <O> the gRPC output message type
+ * @param <Q> the request envelope type
+ * @param <R> the response envelope type
+ */
+public final class StreamMultiplexingClient<I, O, Q, R> implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(StreamMultiplexingClient.class);
+
+    private final Function<Multi<Q>, Multi<R>> call;
+    private final BiFunction<Long, I, Q> wrap;
+    private final ToLongFunction<R> correlationIdOf;
+    private final Function<R, O> payloadOf;
+    private final Function<R, Status> statusOf;
+    private final int streamBatchSize;
+
+    private final AtomicLong nextCorrelationId = new AtomicLong();
+
+    // guarded by this
+    private Stream current;
+
+    /**
+     * Create a client that multiplexes calls over streams opened with the given call.
+     *
+     * @param call opens a bidirectional stream, typically the stub's {@code remoteProcessStream}
+     * @param wrap wraps an input in a request envelope with the given correlation id
+     * @param correlationIdOf extracts the correlation id from a response envelope
+     * @param payloadOf extracts the output from a successful response envelope
+     * @param statusOf extracts the status from a response envelope; anything but OK fails the call
+     * @param streamBatchSize number of requests per stream, or 0 to keep one stream until closed
+     */
+    public StreamMultiplexingClient(
+            Function<Multi<Q>, Multi<R>> call,
+            BiFunction<Long, I, Q> wrap,
+            ToLongFunction<R> correlationIdOf,
+            Function<R, O> payloadOf,
+            Function<R, Status> statusOf,
+            int streamBatchSize) {
+        if (streamBatchSize < 0) {
+            throw new IllegalArgumentException("streamBatchSize must be >= 0");
+        }
+        this.call = Objects.requireNonNull(call, "call must not be null");
+        this.wrap = Objects.requireNonNull(wrap, "wrap must not be null");
+        this.correlationIdOf = Objects.requireNonNull(correlationIdOf, "correlationIdOf must not be null");
+        this.payloadOf = Objects.requireNonNull(payloadOf, "payloadOf must not be null");
+        this.statusOf = Objects.requireNonNull(statusOf, "statusOf must not be null");
+        this.streamBatchSize = streamBatchSize;
+    }
+
+    /**
+     * Send one input over the current stream and wait for its correlated response.
+     *
+     * @param input the input message
+     * @return a Uni emitting the output for this input, or failing with the status the service
+     *     reported for it or with the stream's error
+     */
+    public Uni<O> call(I input) {
+        return Uni.createFrom()
+                .emitter(
+                        emitter -> {
+                            long correlationId = nextCorrelationId.incrementAndGet();
+                            Q request = wrap.apply(correlationId, input);
+                            send(correlationId, request, emitter);
+                        });
+    }
+
+    /**
+     * Half-close the current stream. Calls already sent still receive their responses; the next call
+     * opens a new stream.
+     */
+    @Override
+    public synchronized void close() {
+        if (current != null) {
+            current.outbound.onComplete();
+            current = null;
+        }
+    }
+
+    private synchronized void send(long correlationId, Q request, UniEmitter<? super O> emitter) {
+        if (current == null || current.terminated) {
+            current = new Stream();
+        }
+        Stream stream = current;
+        stream.pending.put(correlationId, emitter);
+        emitter.onTermination(() -> stream.pending.remove(correlationId));
+        stream.outbound.onNext(request);
+        if (stream.terminated) {
+            // The stream failed while it was being opened, before this call was registered
+            UniEmitter<? super O> orphan = stream.pending.remove(correlationId);
+            if (orphan != null) {
+                orphan.fail(stream.failure);
+            }
+            current = null;
+            return;
+        }
+        if (streamBatchSize > 0 && ++stream.sent >= streamBatchSize) {
+            stream.outbound.onComplete();
+            current = null;
+        }
+    }
+
+    private synchronized void retire(Stream stream) {
+        if (current == stream) {
+            current = null;
+        }
+    }
+
+    private final class Stream {
+
+        final UnicastProcessor<Q> outbound = UnicastProcessor.create();
+        final Map<Long, UniEmitter<? super O>> pending = new ConcurrentHashMap<>();
+        int sent;
+        volatile Throwable failure;
+        volatile boolean terminated;
+
+        Stream() {
+            call.apply(outbound)
+                    .subscribe()
+                    .with(this::onResponse, this::onFailure, this::onCompletion);
+        }
+
+        private void onResponse(R response) {
+            UniEmitter<? super O> emitter = pending.remove(correlationIdOf.applyAsLong(response));
+            if (emitter == null) {
+                LOG.debugf(
+                        "Dropping response for unknown or cancelled correlation id %d",
+                        correlationIdOf.applyAsLong(response));
+                return;
+            }
+            Status status = statusOf.apply(response);
+            if (status.isOk()) {
+                emitter.complete(payloadOf.apply(response));
+            } else {
+                emitter.fail(status.asRuntimeException());
+            }
+        }
+
+        private void onFailure(Throwable failure) {
+            terminate(failure);
+        }
+
+        private void onCompletion() {
+            terminate(
+                    Status.UNAVAILABLE
+                            .withDescription("Stream completed before a response was received")
+                            .asRuntimeException());
+        }
+
+        private void terminate(Throwable failure) {
+            this.failure = failure;
+            terminated = true;
+            retire(this);
+            List<UniEmitter<? super O>> waiting = new ArrayList<>(pending.values());
+            pending.clear();
+            if (!waiting.isEmpty()) {
+                LOG.warnf(
+                        "Stream terminated with %d calls in flight: %s",
+                        waiting.size(), failure.getMessage());
+            }
+            waiting.forEach(emitter -> emitter.fail(failure));
+        }
+    }
+}
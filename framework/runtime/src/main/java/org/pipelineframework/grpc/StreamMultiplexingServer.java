@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Status;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Server side of the {@code STREAM} transport for one-to-one steps.
+ *
+ * <p>Generated gRPC services use this to implement {@code remoteProcessStream}: each request
+ * envelope is unwrapped and handed to the service's unary {@code remoteProcess}, with up to {@link
+ * #concurrency()} requests in flight per stream. Responses are emitted as they complete, tagged with
+ * the request's correlation id. A failed request produces an error envelope rather than failing the
+ * stream, so the other requests on it are unaffected.
+ */
+public final class StreamMultiplexingServer {
+
+    /** Configuration property holding the number of requests processed concurrently per stream. */
+    public static final String CONCURRENCY_PROPERTY = "pipeline.stream-concurrency";
+
+    /** Default number of requests processed concurrently per stream. */
+    public static final int DEFAULT_CONCURRENCY = 64;
+
+    private StreamMultiplexingServer() {}
+
+    /**
+     * The configured per-stream concurrency.
+     *
+     * @return the value of {@code pipeline.stream-concurrency}, or {@link #DEFAULT_CONCURRENCY} when
+     *     unset or when no configuration is available
+     */
+    public static int concurrency() {
+        try {
+            return ConfigProvider.getConfig()
+                    .getOptionalValue(CONCURRENCY_PROPERTY, Integer.class)
+                    .filter(value -> value > 0)
+                    .orElse(DEFAULT_CONCURRENCY);
+        } catch (IllegalStateException e) {
+            return DEFAULT_CONCURRENCY;
+        }
+    }
+
+    /**
+     * Process a stream of request envelopes with bounded concurrency.
+     *
+     * @param requests the incoming request envelopes
+     * @param correlationIdOf extracts the correlation id from a request envelope
+     * @param payloadOf extracts the input from a request envelope
+     * @param process processes one input, typically the service's unary {@code remoteProcess}
+     * @param success wraps an output in a response envelope with the given correlation id
+     * @param failure builds an error response envelope with the given correlation id and status;
+     *     the status always has a non-null description
+     * @param concurrency maximum number of requests in flight
+     * @param <Q> the request envelope type
+     * @param <R> the response envelope type
+     * @param <I> the gRPC input message type
+     * @param <O> the gRPC output message type
+     * @return the response envelopes, in completion order
+     */
+    public static <Q, R, I, O> Multi<R> serve(
+            Multi<Q> requests,
+            ToLongFunction<Q> correlationIdOf,
+            Function<Q, I> payloadOf,
+            Function<I, Uni<O>> process,
+            BiFunction<Long, O, R> success,
+            BiFunction<Long, Status, R> failure,
+            int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be > 0");
+        }
+        return requests.onItem()
+                .transformToUni(
+                        request -> {
+                            long correlationId = correlationIdOf.applyAsLong(request);
+                            return Uni.createFrom()
+                                    .deferred(() -> process.apply(payloadOf.apply(request)))
+                                    .map(output -> success.apply(correlationId, output))
+                                    .onFailure()
+                                    .recoverWithItem(
+                                            t -> failure.apply(correlationId, statusOf(t)));
+                        })
+                .merge(concurrency);
+    }
+
+    private static Status statusOf(Throwable failure) {
+        Status status = Status.fromThrowable(failure);
+        if (status.getDescription() != null) {
+            return status;
+        }
+        return status.withDescription(failure.getMessage() != null ? failure.getMessage() : "");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Context;
+import io.grpc.Metadata;
+import io.grpc.stub.AbstractStub;
+import io.grpc.stub.MetadataUtils;
+
+/**
+ * Resume positions for server streaming calls.
+ *
+ * <p>The outputs of a server stream are numbered by their position in it. When a one-to-many
+ * client step retries a stream that failed part way through, it sends the number of outputs it
+ * already received in the {@value #HEADER} header. {@link StreamResumeServerInterceptor} exposes
+ * that position to the service through the call's {@link Context}, and the service adapter passes
+ * it to {@link org.pipelineframework.service.ReactiveStreamingService#process(Object, long)}.
+ */
+public final class StreamResume {
+
+    /** Name of the header carrying the resume position. */
+    public static final String HEADER = "x-pipeline-resume-from";
+
+    static final Metadata.Key<String> HEADER_KEY =
+            Metadata.Key.of(HEADER, Metadata.ASCII_STRING_MARSHALLER);
+
+    static final Context.Key<Long> CONTEXT_KEY = Context.key("pipeline-resume-from");
+
+    private StreamResume() {}
+
+    /**
+     * Returns a stub whose calls ask the server to resume the stream at the given position.
+     *
+     * @param stub the client stub
+     * @param position the number of outputs already received
+     * @param <S> the stub type
+     * @return a stub sending the resume position, or {@code stub} itself if the position is 0
+     */
+    public static <S extends AbstractStub<S>> S withResumeFrom(S stub, long position) {
+        if (position <= 0) {
+            return stub;
+        }
+        Metadata headers = new Metadata();
+        headers.put(HEADER_KEY, Long.toString(position));
+        return stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    /**
+     * Returns the resume position sent with the gRPC call being served.
+     *
+     * @return the number of outputs the client already received, or 0 for a new stream
+     */
+    public static long resumeFrom() {
+        Long position = CONTEXT_KEY.get();
+        return position != null ? position : 0;
+    }
+
+    /**
+     * Parses the resume position from call headers.
+     *
+     * @param headers the call headers
+     * @return the resume position, or 0 if the header is missing or not a positive number
+     */
+    static long parse(Metadata headers) {
+        String value = headers.get(HEADER_KEY);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Math.max(Long.parseLong(value.trim()), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.grpc.GlobalInterceptor;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+/**
+ * Makes the resume position sent by a client step available to the service serving the call.
+ *
+ * <p>Calls carrying the {@value StreamResume#HEADER} header run with the position in their {@link
+ * Context}, where {@link StreamResume#resumeFrom()} reads it, and are counted in the {@code
+ * pipeline.stream.resumed} counter tagged with the method name. Other calls pass through unchanged.
+ */
+@ApplicationScoped
+@GlobalInterceptor
+public class StreamResumeServerInterceptor implements ServerInterceptor {
+
+    private static final Logger LOG = Logger.getLogger(StreamResumeServerInterceptor.class);
+
+    /**
+     * Default constructor for StreamResumeServerInterceptor.
+     */
+    public StreamResumeServerInterceptor() {
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        long position = StreamResume.parse(headers);
+        if (position == 0) {
+            return next.startCall(call, headers);
+        }
+        String method = call.getMethodDescriptor().getFullMethodName();
+        if (LOG.isDebugEnabled()) {
+            LOG.debugf("Resuming stream of %s after %d outputs", method, position);
+        }
+        Metrics.counter("pipeline.stream.resumed", "method", method).increment();
+        Context context = Context.current().withValue(StreamResume.CONTEXT_KEY, position);
+        return Contexts.interceptCall(context, call, headers, next);
+    }
+}
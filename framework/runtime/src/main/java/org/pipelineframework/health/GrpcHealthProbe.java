@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import grpc.health.v1.HealthOuterClass.HealthCheckRequest;
+import grpc.health.v1.HealthOuterClass.HealthCheckResponse.ServingStatus;
+import grpc.health.v1.MutinyHealthGrpc;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+/**
+ * Probes a service with the standard {@code grpc.health.v1.Health/Check} call over the channel the
+ * step already uses, so no extra connection or HTTP port is needed.
+ *
+ * <p>The checked service name is {@code quarkus.grpc.clients.<name>.health-service}, empty by
+ * default, which asks for the overall health of the server. The service is healthy when it answers
+ * {@code SERVING}.
+ */
+public class GrpcHealthProbe implements HealthProbe {
+
+    private static final Logger LOG = Logger.getLogger(GrpcHealthProbe.class);
+
+    /** Default constructor for GrpcHealthProbe. */
+    public GrpcHealthProbe() {}
+
+    @Override
+    public Uni<Boolean> probe(HealthTarget target, Duration timeout) {
+        String clientName = target.clientName();
+        if (target.channel() == null) {
+            LOG.info("✗ gRPC client '" + clientName + "' has no channel to check health over");
+            return Uni.createFrom().item(false);
+        }
+        HealthCheckRequest request =
+                HealthCheckRequest.newBuilder().setService(serviceName(clientName)).build();
+        return Uni.createFrom()
+                .deferred(
+                        () -> MutinyHealthGrpc.newMutinyStub(target.channel())
+                                .withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                                .check(request))
+                .map(
+                        response -> {
+                            boolean healthy = response.getStatus() == ServingStatus.SERVING;
+                            if (healthy) {
+                                LOG.info("✓ gRPC client '" + clientName + "' service is serving");
+                            } else {
+                                LOG.info("✗ gRPC client '" + clientName
+                                        + "' service is not serving. Status: " + response.getStatus());
+                            }
+                            return healthy;
+                        })
+                .onFailure()
+                .recoverWithItem(
+                        failure -> {
+                            LOG.info("✗ gRPC client '" + clientName
+                                    + "' service is not accessible. Error: " + failure.getMessage());
+                            return false;
+                        });
+    }
+
+    private static String serviceName(String clientName) {
+        return ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.grpc.clients." + clientName + ".health-service", String.class)
+                .orElse("");
+    }
+}
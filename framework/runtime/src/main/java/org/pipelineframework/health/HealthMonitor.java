@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.arc.Unremovable;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+import org.pipelineframework.HealthCheckService;
+import org.pipelineframework.config.PipelineStepConfig;
+
+/**
+ * Keeps the health state of each dependent service current while pipelines run, and lets client
+ * steps act on it instead of sleeping through retry cycles against a service that is down.
+ *
+ * <p>The state of a service is updated by background probes every {@code
+ * pipeline.health.monitor-interval-ms}, and passively by the calls client steps make: a call that
+ * succeeds marks the service healthy, and {@code pipeline.health.failure-threshold} consecutive
+ * calls failing with {@code UNAVAILABLE} mark it unhealthy without waiting for the next probe.
+ *
+ * <p>While a service is unhealthy, {@link #guard} either parks calls until a probe sees the service
+ * recover ({@code PARK}, bounded by {@code pipeline.health.park-timeout-ms}) or fails them at once
+ * ({@code FAIL_FAST}), as selected by {@code pipeline.health.unhealthy-action}. In both cases the
+ * failure is a {@link ServiceUnhealthyException}, which steps do not retry.
+ *
+ * <p>Every state change fires a {@link HealthStateChanged} event and is published as metrics
+ * tagged with the client name: the {@code pipeline.health.state} gauge (1 healthy, 0 unhealthy),
+ * the {@code pipeline.health.transitions} counter, the {@code pipeline.health.parked} gauge and the
+ * {@code pipeline.health.fast.failures} counter.
+ */
+@ApplicationScoped
+@Unremovable
+public class HealthMonitor {
+
+    private static final Logger LOG = Logger.getLogger(HealthMonitor.class);
+
+    /** Health settings. */
+    @Inject PipelineStepConfig pipelineStepConfig;
+
+    /** Probes the monitored services. */
+    @Inject HealthCheckService healthCheckService;
+
+    /** Publishes state changes. */
+    @Inject Event<HealthStateChanged> events;
+
+    MeterRegistry registry = Metrics.globalRegistry;
+
+    private final Map<String, ClientHealth> clients = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private long monitorIntervalMs;
+    private int failureThreshold;
+    private boolean failFast;
+    private Duration parkTimeout;
+
+    /** Default constructor for HealthMonitor. */
+    public HealthMonitor() {}
+
+    /** Reads the health settings. */
+    @PostConstruct
+    void init() {
+        PipelineStepConfig.HealthConfig config = pipelineStepConfig.health();
+        monitorIntervalMs = config.monitorIntervalMs();
+        failureThreshold = Math.max(1, config.failureThreshold());
+        String action = config.unhealthyAction().trim().toUpperCase();
+        if (!action.equals("PARK") && !action.equals("FAIL_FAST")) {
+            throw new IllegalArgumentException(
+                    "pipeline.health.unhealthy-action must be PARK or FAIL_FAST, got: "
+                            + config.unhealthyAction());
+        }
+        failFast = action.equals("FAIL_FAST");
+        parkTimeout = Duration.ofMillis(config.parkTimeoutMs());
+    }
+
+    /**
+     * Starts monitoring services that have just passed a health check. Services that were
+     * unhealthy are marked healthy again.
+     *
+     * @param targets the services to monitor
+     */
+    public void watch(Collection<HealthTarget> targets) {
+        if (!enabled()) {
+            return;
+        }
+        for (HealthTarget target : targets) {
+            ClientHealth health = health(target.clientName());
+            if (health.target.channel() == null) {
+                health.target = target;
+            }
+            transition(health, HealthState.HEALTHY, "passed the health check");
+        }
+    }
+
+    /**
+     * Makes a call to a service subject to its health state, and feeds the outcome back as a
+     * passive health signal. The call is deferred, so each subscription, including a retry, is
+     * admitted again.
+     *
+     * @param clientName the gRPC client name of the service
+     * @param call the call to make
+     * @param <T> the response type
+     * @return the response, or a {@link ServiceUnhealthyException} failure if the service is
+     *     unhealthy and does not recover in time
+     */
+    public <T> Uni<T> guard(String clientName, Supplier<Uni<T>> call) {
+        if (!enabled()) {
+            return call.get();
+        }
+        ClientHealth health = health(clientName);
+        return Uni.createFrom()
+                .deferred(
+                        () ->
+                                health.state != HealthState.UNHEALTHY
+                                        ? call.get()
+                                        : admit(health).chain(() -> call.get()))
+                .onItem()
+                .invoke(ignored -> recordSuccess(health))
+                .onFailure()
+                .invoke(failure -> recordFailure(health, failure));
+    }
+
+    /**
+     * Makes a streaming call to a service subject to its health state, like {@link #guard}.
+     *
+     * @param clientName the gRPC client name of the service
+     * @param call the call to make
+     * @param <T> the response type
+     * @return the response stream, or a {@link ServiceUnhealthyException} failure if the service
+     *     is unhealthy and does not recover in time
+     */
+    public <T> Multi<T> guardMulti(String clientName, Supplier<Multi<T>> call) {
+        if (!enabled()) {
+            return call.get();
+        }
+        ClientHealth health = health(clientName);
+        return Multi.createFrom()
+                .deferred(
+                        () ->
+                                health.state != HealthState.UNHEALTHY
+                                        ? call.get()
+                                        : admit(health).onItem().transformToMulti(ignored -> call.get()))
+                .onItem()
+                .invoke(ignored -> recordSuccess(health))
+                .onFailure()
+                .invoke(failure -> recordFailure(health, failure));
+    }
+
+    /**
+     * Returns the current health state of a service.
+     *
+     * @param clientName the gRPC client name of the service
+     * @return the state, {@link HealthState#UNKNOWN} if the service is not monitored
+     */
+    public HealthState state(String clientName) {
+        ClientHealth health = clients.get(clientName);
+        return health != null ? health.state : HealthState.UNKNOWN;
+    }
+
+    /** Stops the background probes. */
+    @PreDestroy
+    synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private boolean enabled() {
+        return monitorIntervalMs > 0;
+    }
+
+    private Uni<Void> admit(ClientHealth health) {
+        if (failFast) {
+            health.fastFailures.increment();
+            return Uni.createFrom()
+                    .failure(new ServiceUnhealthyException(health.name, "failing fast"));
+        }
+        CompletableFuture<Void> recovery = health.recovery;
+        return Uni.createFrom()
+                .completionStage(recovery::copy)
+                .ifNoItem()
+                .after(parkTimeout)
+                .failWith(
+                        () ->
+                                new ServiceUnhealthyException(
+                                        health.name,
+                                        "did not recover within " + parkTimeout.toMillis() + " ms"))
+                .onSubscription()
+                .invoke(ignored -> health.parked.incrementAndGet())
+                .onTermination()
+                .invoke(health.parked::decrementAndGet);
+    }
+
+    private void recordSuccess(ClientHealth health) {
+        if (health.consecutiveFailures.get() != 0) {
+            health.consecutiveFailures.set(0);
+        }
+        if (health.state == HealthState.UNHEALTHY) {
+            transition(health, HealthState.HEALTHY, "a call succeeded");
+        }
+    }
+
+    private void recordFailure(ClientHealth health, Throwable failure) {
+        if (Status.fromThrowable(failure).getCode() != Status.Code.UNAVAILABLE) {
+            return;
+        }
+        int failures = health.consecutiveFailures.incrementAndGet();
+        if (failures >= failureThreshold && health.state != HealthState.UNHEALTHY) {
+            transition(
+                    health,
+                    HealthState.UNHEALTHY,
+                    failures + " consecutive calls failed: " + failure.getMessage());
+        }
+    }
+
+    void probeAll() {
+        for (ClientHealth health : clients.values()) {
+            if (!health.probing.compareAndSet(false, true)) {
+                continue;
+            }
+            healthCheckService
+                    .probe(health.target)
+                    .onTermination()
+                    .invoke(() -> health.probing.set(false))
+                    .subscribe()
+                    .with(
+                            healthy -> {
+                                if (healthy) {
+                                    health.consecutiveFailures.set(0);
+                                    transition(health, HealthState.HEALTHY, "probe succeeded");
+                                } else {
+                                    transition(health, HealthState.UNHEALTHY, "probe failed");
+                                }
+                            },
+                            failure -> LOG.debug("Health probe failed", failure));
+        }
+    }
+
+    private ClientHealth health(String clientName) {
+        ClientHealth health = clients.get(clientName);
+        if (health == null) {
+            health = clients.computeIfAbsent(clientName, name -> new ClientHealth(name, registry));
+            startProbing();
+        }
+        return health;
+    }
+
+    private synchronized void startProbing() {
+        if (scheduler == null) {
+            scheduler =
+                    Executors.newSingleThreadScheduledExecutor(
+                            runnable -> {
+                                Thread thread = new Thread(runnable, "pipeline-health-monitor");
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+            scheduler.scheduleWithFixedDelay(
+                    this::probeAll, monitorIntervalMs, monitorIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void transition(ClientHealth health, HealthState state, String reason) {
+        HealthState previous;
+        synchronized (health) {
+            previous = health.state;
+            if (previous == state) {
+                return;
+            }
+            health.state = state;
+            if (state == HealthState.UNHEALTHY) {
+                health.recovery = new CompletableFuture<>();
+            } else {
+                health.recovery.complete(null);
+            }
+        }
+
+        if (state == HealthState.UNHEALTHY) {
+            LOG.warnf("✗ gRPC client '%s' service became unhealthy: %s", health.name, reason);
+        } else if (previous == HealthState.UNHEALTHY) {
+            LOG.infof("✓ gRPC client '%s' service recovered: %s", health.name, reason);
+        }
+        registry.counter(
+                        "pipeline.health.transitions", "client", health.name, "state", state.name())
+                .increment();
+        if (events != null) {
+            try {
+                events.fire(new HealthStateChanged(health.name, previous, state, reason));
+            } catch (RuntimeException e) {
+                LOG.warn("Health state change observer failed", e);
+            }
+        }
+    }
+
+    /** Mutable health state of one service. */
+    private static final class ClientHealth {
+        final String name;
+        volatile HealthTarget target;
+        volatile HealthState state = HealthState.UNKNOWN;
+        volatile CompletableFuture<Void> recovery = CompletableFuture.completedFuture(null);
+        final AtomicInteger consecutiveFailures = new AtomicInteger();
+        final AtomicInteger parked = new AtomicInteger();
+        final AtomicBoolean probing = new AtomicBoolean();
+        final Counter fastFailures;
+
+        ClientHealth(String name, MeterRegistry registry) {
+            this.name = name;
+            this.target = new HealthTarget(name, null);
+            Gauge.builder(
+                            "pipeline.health.state",
+                            this,
+                            health -> health.state == HealthState.UNHEALTHY ? 0 : 1)
+                    .tag("client", name)
+                    .register(registry);
+            Gauge.builder("pipeline.health.parked", parked, AtomicInteger::get)
+                    .tag("client", name)
+                    .register(registry);
+            fastFailures =
+                    Counter.builder("pipeline.health.fast.failures")
+                            .tag("client", name)
+                            .register(registry);
+        }
+    }
+}
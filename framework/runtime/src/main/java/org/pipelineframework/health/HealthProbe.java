@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+
+/** Checks whether a dependent service is ready to serve requests. */
+@FunctionalInterface
+public interface HealthProbe {
+
+    /**
+     * Probe a service once.
+     *
+     * @param target the service to probe
+     * @param timeout the time allowed for the probe
+     * @return a Uni emitting true if the service is healthy and false otherwise; never fails
+     */
+    Uni<Boolean> probe(HealthTarget target, Duration timeout);
+}
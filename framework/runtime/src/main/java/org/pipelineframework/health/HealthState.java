@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+/** Health state of a dependent service, as tracked by {@link HealthMonitor}. */
+public enum HealthState {
+    /** The service has not been checked yet. */
+    UNKNOWN,
+    /** The service passed its last probe or served its last call. */
+    HEALTHY,
+    /** The service failed its last probe or several consecutive calls. */
+    UNHEALTHY
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+/**
+ * CDI event fired by {@link HealthMonitor} when a dependent service changes health state. Observe
+ * it with {@code void onChange(@Observes HealthStateChanged event)}.
+ *
+ * @param clientName the gRPC client name of the service
+ * @param previous the state before the change
+ * @param current the state after the change
+ * @param reason a human-readable description of what caused the change
+ */
+public record HealthStateChanged(
+        String clientName, HealthState previous, HealthState current, String reason) {}
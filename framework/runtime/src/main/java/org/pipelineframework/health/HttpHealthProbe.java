@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import io.smallrye.mutiny.Uni;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509TrustManager;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+import org.pipelineframework.grpc.GrpcClientTls;
+
+/**
+ * Probes the HTTP health endpoint that a gRPC client's service exposes next to its gRPC port.
+ *
+ * <p>The URL is built from {@code quarkus.grpc.clients.<name>.host}, {@code .port} and {@code
+ * .health-path} (default {@code /q/health}); the service is healthy when the endpoint answers 200.
+ * With {@code .tls.enabled} the probe uses HTTPS and trusts the store resolved by {@link
+ * GrpcClientTls}, or any certificate when {@code .allow-insecure-ssl} is set.
+ *
+ * <p>One {@link HttpClient}, and so one SSL context and connection pool, is kept per client name
+ * and reused across probes.
+ */
+public class HttpHealthProbe implements HealthProbe, AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(HttpHealthProbe.class);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /** Default constructor for HttpHealthProbe. */
+    public HttpHealthProbe() {}
+
+    @Override
+    public Uni<Boolean> probe(HealthTarget target, Duration timeout) {
+        String clientName = target.clientName();
+        Endpoint endpoint;
+        try {
+            endpoint = endpoints.computeIfAbsent(clientName, name -> endpoint(name, timeout));
+        } catch (RuntimeException e) {
+            LOG.info("✗ Error checking health of gRPC client '" + clientName + "' service. Error: "
+                    + e.getMessage());
+            return Uni.createFrom().item(false);
+        }
+        HttpRequest request = HttpRequest.newBuilder(endpoint.uri()).timeout(timeout).GET().build();
+        return Uni.createFrom()
+                .completionStage(
+                        () -> endpoint.client().sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .map(
+                        response -> {
+                            boolean healthy = response.statusCode() == 200;
+                            if (healthy) {
+                                LOG.info("✓ gRPC client '" + clientName + "' service at "
+                                        + endpoint.uri() + " is healthy");
+                            } else {
+                                LOG.info("✗ gRPC client '" + clientName + "' service at "
+                                        + endpoint.uri() + " is not healthy. Status: "
+                                        + response.statusCode());
+                            }
+                            return healthy;
+                        })
+                .onFailure()
+                .recoverWithItem(
+                        failure -> {
+                            LOG.info("✗ gRPC client '" + clientName + "' service at "
+                                    + endpoint.uri() + " is not accessible. Error: " + failure);
+                            return false;
+                        });
+    }
+
+    /** Close the HTTP clients kept for each probed service. */
+    @Override
+    public void close() {
+        endpoints.values().forEach(endpoint -> endpoint.client().close());
+        endpoints.clear();
+    }
+
+    private static Endpoint endpoint(String clientName, Duration connectTimeout) {
+        Config config = ConfigProvider.getConfig();
+        String prefix = "quarkus.grpc.clients." + clientName + ".";
+        String host = config.getOptionalValue(prefix + "host", String.class).orElse("localhost");
+        int port = config.getOptionalValue(prefix + "port", Integer.class).orElse(8080);
+        String healthPath =
+                config.getOptionalValue(prefix + "health-path", String.class).orElse("/q/health");
+        boolean useTls =
+                config.getOptionalValue(prefix + "tls.enabled", Boolean.class).orElse(false);
+
+        HttpClient.Builder builder = HttpClient.newBuilder().connectTimeout(connectTimeout);
+        if (useTls) {
+            boolean allowInsecureSsl =
+                    config.getOptionalValue(prefix + "allow-insecure-ssl", Boolean.class)
+                            .or(() -> config.getOptionalValue(
+                                    "quarkus.grpc.clients.allow-insecure-ssl", Boolean.class))
+                            .orElse(false);
+            builder.sslContext(sslContext(clientName, allowInsecureSsl));
+        }
+        URI uri = URI.create(
+                String.format("%s://%s:%d%s", useTls ? "https" : "http", host, port, healthPath));
+        return new Endpoint(uri, builder.build());
+    }
+
+    private static SSLContext sslContext(String clientName, boolean allowInsecureSsl) {
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            if (allowInsecureSsl) {
+                LOG.warn("Using insecure SSL context with disabled certificate validation for gRPC client '"
+                        + clientName + "'. This setting MUST NOT be enabled in production!");
+                sslContext.init(null, new TrustManager[] {new TrustAllManager()}, new SecureRandom());
+            } else {
+                TrustManager[] trustManagers = GrpcClientTls.trustManagerFactory(clientName)
+                        .map(TrustManagerFactory::getTrustManagers)
+                        .orElse(null);
+                sslContext.init(null, trustManagers, null);
+            }
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(
+                    "Failed to create SSL context for gRPC client '" + clientName + "'", e);
+        }
+    }
+
+    private record Endpoint(URI uri, HttpClient client) {}
+
+    /** Accepts any certificate chain; only used when insecure SSL is explicitly allowed. */
+    private static final class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] certs, String authType) {}
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] certs, String authType) {}
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import org.pipelineframework.resilience.CallNotPermittedException;
+
+/**
+ * Signals that a call was not made because its service is unhealthy. Client steps do not retry
+ * this failure: the item fails at once, or after waiting for recovery for the park timeout.
+ */
+public class ServiceUnhealthyException extends CallNotPermittedException {
+
+    /**
+     * Creates an exception for a service that is unhealthy.
+     *
+     * @param clientName the gRPC client name of the service
+     * @param detail why the call was not made
+     */
+    public ServiceUnhealthyException(String clientName, String detail) {
+        super("gRPC client '" + clientName + "' service is unhealthy: " + detail);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.id;
+
+import java.util.UUID;
+
+/**
+ * Service provider interface for generating entity identifiers.
+ *
+ * <p>Implementations must be thread-safe and should avoid shared locks, as they are called from
+ * entity constructors on every pipeline thread. Providers are discovered through
+ * {@link java.util.ServiceLoader}; see {@link IdGenerators}.</p>
+ */
+public interface IdGenerator {
+
+    /**
+     * Generate a new identifier.
+     *
+     * @return a new, unique identifier
+     */
+    UUID nextId();
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.id;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.UUID;
+import org.jboss.logging.Logger;
+
+/**
+ * Static access point to the configured {@link IdGenerator}.
+ *
+ * <p>Entities are instantiated outside of CDI (by mappers, Hibernate, or plain constructors), so
+ * the generator is resolved once through {@link ServiceLoader} rather than injected. The first
+ * provider listed in {@code META-INF/services/org.pipelineframework.id.IdGenerator} wins; when
+ * none is registered, {@link UuidV7IdGenerator} is used.</p>
+ */
+public final class IdGenerators {
+
+    private static final Logger LOG = Logger.getLogger(IdGenerators.class);
+
+    private static volatile IdGenerator generator = load();
+
+    private IdGenerators() {
+    }
+
+    /**
+     * Generate a new identifier with the configured generator.
+     *
+     * @return a new, unique identifier
+     */
+    public static UUID nextId() {
+        return generator.nextId();
+    }
+
+    /**
+     * Get the configured generator.
+     *
+     * @return the generator in use
+     */
+    public static IdGenerator get() {
+        return generator;
+    }
+
+    /**
+     * Replace the configured generator, e.g. for tests or benchmarks.
+     *
+     * @param idGenerator the generator to use from now on; must not be null
+     */
+    public static void set(IdGenerator idGenerator) {
+        if (idGenerator == null) {
+            throw new IllegalArgumentException("idGenerator must not be null");
+        }
+        generator = idGenerator;
+    }
+
+    private static IdGenerator load() {
+        try {
+            Iterator<IdGenerator> providers =
+                ServiceLoader.load(IdGenerator.class, IdGenerators.class.getClassLoader()).iterator();
+            if (providers.hasNext()) {
+                IdGenerator provider = providers.next();
+                LOG.debugf("Using id generator %s", provider.getClass().getName());
+                return provider;
+            }
+        } catch (java.util.ServiceConfigurationError e) {
+            LOG.warnf(e, "Failed to load IdGenerator provider, falling back to UUIDv7");
+        }
+        return new UuidV7IdGenerator();
+    }
+}
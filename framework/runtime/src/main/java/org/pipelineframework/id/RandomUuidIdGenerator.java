@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.id;
+
+import java.util.UUID;
+
+/**
+ * {@link IdGenerator} producing random (version 4) UUIDs via {@link UUID#randomUUID()}.
+ *
+ * <p>Backed by a shared {@link java.security.SecureRandom}; kept for compatibility and as a
+ * benchmark baseline.</p>
+ */
+public class RandomUuidIdGenerator implements IdGenerator {
+
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
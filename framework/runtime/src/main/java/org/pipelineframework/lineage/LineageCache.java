@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.lineage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jboss.logging.Logger;
+
+/**
+ * Per-run store of upstream messages keyed by their id.
+ *
+ * <p>In slim-message mode each hop only carries its own fields plus the ids of its parents. The
+ * orchestrator records every message a step emits here, so that fields needed further down the
+ * pipeline (for example the input file path of a payment record) can be resolved by id instead of
+ * being re-serialised on every hop. A new cache is created for each pipeline run and cleared when
+ * the run terminates.</p>
+ *
+ * <p>The resolver evicts the lineage of an item once its last consumer has resolved it. Items that
+ * never get that far, because a step dead-lettered or filtered them, leave their lineage behind,
+ * so the cache holds at most {@code maxEntries} messages and drops the oldest beyond that. Entries
+ * are dropped in the order they were first recorded.</p>
+ */
+public final class LineageCache {
+
+    private static final Logger LOG = Logger.getLogger(LineageCache.class);
+
+    /** Default for {@code pipeline.lineage-max-entries}. */
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private final int maxEntries;
+    private final Map<String, Object> entries;
+    private long dropped;
+
+    /** Creates a cache of at most {@link #DEFAULT_MAX_ENTRIES} messages. */
+    public LineageCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a cache of at most {@code maxEntries} messages.
+     *
+     * @param maxEntries the number of messages above which the oldest are dropped
+     * @throws IllegalArgumentException if maxEntries is not positive
+     */
+    public LineageCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be > 0");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                if (size() <= LineageCache.this.maxEntries) {
+                    return false;
+                }
+                if (dropped++ == 0) {
+                    LOG.warnf("Lineage cache reached %d entries; dropping the oldest, which are left behind "
+                            + "by dead-lettered or filtered items, or belong to items still in flight",
+                            LineageCache.this.maxEntries);
+                }
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Record a message under its id, replacing any previous entry.
+     *
+     * @param id the message id; blank ids are ignored
+     * @param message the message to record; null messages are ignored
+     */
+    public void record(String id, Object message) {
+        if (id == null || id.isEmpty() || message == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(id, message);
+        }
+    }
+
+    /**
+     * Look up a recorded message.
+     *
+     * @param id the message id
+     * @param type the expected message type
+     * @param <T> the expected message type
+     * @return the recorded message, or null if there is none or it is not of the expected type
+     */
+    public <T> T resolve(String id, Class<T> type) {
+        if (id == null || id.isEmpty()) {
+            return null;
+        }
+        Object message;
+        synchronized (entries) {
+            message = entries.get(id);
+        }
+        return type.isInstance(message) ? type.cast(message) : null;
+    }
+
+    /**
+     * Remove a recorded message once no later step needs it.
+     *
+     * @param id the message id
+     */
+    public void evict(String id) {
+        if (id != null) {
+            synchronized (entries) {
+                entries.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Number of recorded messages.
+     *
+     * @return the number of entries currently held
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Number of messages dropped to keep the cache within its bound.
+     *
+     * @return the number of messages dropped so far
+     */
+    public long dropped() {
+        synchronized (entries) {
+            return dropped;
+        }
+    }
+
+    /** Drop all recorded messages. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.lineage;
+
+/**
+ * Application hook that maintains the per-run {@link LineageCache} in slim-message mode.
+ *
+ * <p>The pipeline runner calls {@link #resolve(Object, LineageCache)} for every item a step emits,
+ * before it is handed to the next step. Implementations record the item under its id and fill in
+ * whatever the next step needs from the item's parents, which are no longer nested in it. Exactly
+ * one CDI bean of this type is expected when {@code pipeline.slim-messages} is enabled.</p>
+ */
+public interface LineageResolver {
+
+    /**
+     * Record an emitted item and resolve the fields the next step needs from its lineage.
+     *
+     * @param item the item emitted by a step
+     * @param lineage the lineage cache of the current run
+     * @return the item to pass to the next step; may be {@code item} itself
+     */
+    Object resolve(Object item, LineageCache lineage);
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.lineage;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+/**
+ * Slim-message mode support.
+ *
+ * <p>When {@code pipeline.slim-messages=true}, gRPC service adapters strip nested parent messages
+ * from their responses, keeping only the message's own fields and the ids of its parents. A nested
+ * field {@code foo} is treated as a parent reference when the same message also has a non-empty
+ * string field {@code fooId}, or, in compact schemas, a non-zero pair of 64-bit fields
+ * {@code fooIdMsb} and {@code fooIdLsb}. The orchestrator then resolves anything a later step needs from the
+ * per-run {@link LineageCache}.</p>
+ */
+public final class SlimMessages {
+
+    /** Configuration property that enables slim-message mode. */
+    public static final String CONFIG_PROPERTY = "pipeline.slim-messages";
+
+    private static final Map<Descriptor, List<ParentReference>> PARENT_REFERENCES =
+            new ConcurrentHashMap<>();
+
+    private SlimMessages() {}
+
+    /**
+     * Whether slim-message mode is enabled in the current configuration.
+     *
+     * @return true if {@code pipeline.slim-messages} is set to true, false otherwise or when no
+     *     configuration is available
+     */
+    public static boolean enabled() {
+        try {
+            return ConfigProvider.getConfig()
+                    .getOptionalValue(CONFIG_PROPERTY, Boolean.class)
+                    .orElse(false);
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Strip the nested parent messages that are also referenced by id.
+     *
+     * @param message the message to slim; non-protobuf values are returned unchanged
+     * @param <T> the message type
+     * @return a copy of the message without its nested parents, or the message itself if there was
+     *     nothing to strip
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T slim(T message) {
+        if (!(message instanceof Message protobufMessage)) {
+            return message;
+        }
+        List<ParentReference> references =
+                PARENT_REFERENCES.computeIfAbsent(
+                        protobufMessage.getDescriptorForType(), SlimMessages::parentReferences);
+        Message.Builder builder = null;
+        for (ParentReference reference : references) {
+            if (protobufMessage.hasField(reference.parent()) && reference.isSet(protobufMessage)) {
+                if (builder == null) {
+                    builder = protobufMessage.toBuilder();
+                }
+                builder.clearField(reference.parent());
+            }
+        }
+        return builder == null ? message : (T) builder.build();
+    }
+
+    private static List<ParentReference> parentReferences(Descriptor descriptor) {
+        List<ParentReference> references = new ArrayList<>();
+        for (FieldDescriptor field : descriptor.getFields()) {
+            if (field.isRepeated() || field.getJavaType() != FieldDescriptor.JavaType.MESSAGE) {
+                continue;
+            }
+            FieldDescriptor id = descriptor.findFieldByName(field.getName() + "Id");
+            FieldDescriptor msb = descriptor.findFieldByName(field.getName() + "IdMsb");
+            FieldDescriptor lsb = descriptor.findFieldByName(field.getName() + "IdLsb");
+            if (isSingle(id, FieldDescriptor.JavaType.STRING)) {
+                references.add(new ParentReference(field, List.of(id)));
+            } else if (isSingle(msb, FieldDescriptor.JavaType.LONG)
+                    && isSingle(lsb, FieldDescriptor.JavaType.LONG)) {
+                references.add(new ParentReference(field, List.of(msb, lsb)));
+            }
+        }
+        return List.copyOf(references);
+    }
+
+    private static boolean isSingle(FieldDescriptor field, FieldDescriptor.JavaType type) {
+        return field != null && !field.isRepeated() && field.getJavaType() == type;
+    }
+
+    /** A nested parent and the fields holding its id: one string, or the two halves of a UUID. */
+    private record ParentReference(FieldDescriptor parent, List<FieldDescriptor> ids) {
+
+        boolean isSet(Message message) {
+            for (FieldDescriptor id : ids) {
+                Object value = message.getField(id);
+                if (value instanceof String string ? !string.isEmpty() : (Long) value != 0L) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.pipelineframework.mapper;
 
+import org.mapstruct.Named;
+
 /**
  * Interface for mapping from/to gRPC DTOs and domain.
  *
@@ -44,6 +46,40 @@ public interface Mapper<Grpc, Dto, Domain> {
         return toGrpc(toDto(domain));
     }
 
+    /**
+     * Converts from gRPC type directly to domain type, without materialising the DTO.
+     *
+     * <p>Optional: the default delegates to {@link #fromGrpcFromDto(Object)}. Mappers that override
+     * it are called directly by the generated gRPC adapters, saving one object graph per message.</p>
+     *
+     * <p>Qualified with {@link Named} so MapStruct does not pick it as an alternative to
+     * {@link #fromGrpcFromDto(Object)} when mapping nested properties.</p>
+     *
+     * @param grpcIn the gRPC input object
+     * @return the domain object
+     */
+    @Named("fromGrpcToDomain")
+    default Domain fromGrpcToDomain(Grpc grpcIn) {
+        return fromGrpcFromDto(grpcIn);
+    }
+
+    /**
+     * Converts from domain type directly to gRPC type, without materialising the DTO.
+     *
+     * <p>Optional: the default delegates to {@link #toDtoToGrpc(Object)}. Mappers that override it
+     * are called directly by the generated gRPC adapters, saving one object graph per message.</p>
+     *
+     * <p>Qualified with {@link Named} so MapStruct does not pick it as an alternative to
+     * {@link #toDtoToGrpc(Object)} when mapping nested properties.</p>
+     *
+     * @param domain the domain object
+     * @return the gRPC object
+     */
+    @Named("toGrpcFromDomain")
+    default Grpc toGrpcFromDomain(Domain domain) {
+        return toDtoToGrpc(domain);
+    }
+
     /**
      * Converts from gRPC type to DTO type.
      *
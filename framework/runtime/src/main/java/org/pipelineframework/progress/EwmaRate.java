@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.progress;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Exponentially weighted moving average of the rate at which a count grows.
+ *
+ * <p>The average is updated when it is read rather than when the count grows, so that whatever
+ * maintains the count (typically a {@link java.util.concurrent.atomic.LongAdder} on the hot path)
+ * does no extra work. Each read weighs the rate since the previous read by {@code 1 -
+ * exp(-elapsed / window)}, which keeps the average independent of how often it is read. Reads are
+ * lock-free; reads less than 100 ms apart return the last average.
+ */
+public final class EwmaRate {
+
+    private static final long MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final double windowNanos;
+    private final AtomicReference<Sample> last;
+
+    /**
+     * Creates an average of a count that was 0 at the given time.
+     *
+     * @param window the time over which past rates fade to about a third of their weight
+     * @param startNanos the {@link System#nanoTime()} at which the count was 0
+     */
+    public EwmaRate(Duration window, long startNanos) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate window must be positive: " + window);
+        }
+        this.windowNanos = window.toNanos();
+        this.last = new AtomicReference<>(new Sample(0, startNanos, 0, false));
+    }
+
+    /**
+     * Returns the average rate, given the current count.
+     *
+     * @param count the current value of the count
+     * @return the average increase of the count per second
+     */
+    public double rate(long count) {
+        return rate(count, System.nanoTime());
+    }
+
+    /**
+     * Returns the average rate, given the count at a point in time.
+     *
+     * @param count the value of the count at {@code nowNanos}
+     * @param nowNanos the {@link System#nanoTime()} at which the count was read
+     * @return the average increase of the count per second
+     */
+    public double rate(long count, long nowNanos) {
+        while (true) {
+            Sample previous = last.get();
+            long elapsed = nowNanos - previous.nanos();
+            if (elapsed < MIN_INTERVAL_NANOS) {
+                return previous.rate();
+            }
+            double instant = Math.max(count - previous.count(), 0) * 1e9 / elapsed;
+            double rate =
+                    previous.primed()
+                            ? previous.rate()
+                                    + (1 - Math.exp(-elapsed / windowNanos))
+                                            * (instant - previous.rate())
+                            : instant;
+            if (last.compareAndSet(previous, new Sample(count, nowNanos, rate, true))) {
+                return rate;
+            }
+        }
+    }
+
+    private record Sample(long count, long nanos, double rate, boolean primed) {}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.progress;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Progress of an item a one-to-many step is expanding, such as a file being read into records.
+ *
+ * @param step the {@linkplain org.pipelineframework.dlq.DeadLetters#stepName(Class) name} of the
+ *     step
+ * @param input the item being expanded
+ * @param items the number of items the step has emitted for it so far
+ * @param itemsPerSecond the moving average of the rate at which the step emits items for it
+ * @param elapsed the time since the step took it
+ */
+public record InputProgress(
+        String step, Object input, long items, double itemsPerSecond, Duration elapsed) {
+
+    /**
+     * Estimates the time left to expand the input, at its current rate.
+     *
+     * @param expectedItems the number of items the input is expected to expand into, for instance
+     *     estimated from the size of a file
+     * @return the time left, zero if the expected items have been emitted, or empty while the rate
+     *     is not known
+     */
+    public Optional<Duration> eta(long expectedItems) {
+        long remaining = expectedItems - items;
+        if (remaining <= 0) {
+            return Optional.of(Duration.ZERO);
+        }
+        if (!(itemsPerSecond > 0)) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(Math.round(remaining / itemsPerSecond * 1000)));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.progress;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Live progress of a run, read without stopping or slowing it down.
+ *
+ * @param runId the id of the run
+ * @param done whether the run is over
+ * @param elapsed the time since the run started, or that it took once it is over
+ * @param sourceItems the number of items taken from the source
+ * @param records the number of outputs of the run
+ * @param steps the progress of each step, in pipeline order
+ * @param inputs the items one-to-many steps are expanding
+ */
+public record RunProgress(
+        String runId,
+        boolean done,
+        Duration elapsed,
+        long sourceItems,
+        long records,
+        List<StepProgress> steps,
+        List<InputProgress> inputs) {
+
+    /** Copies the lists. */
+    public RunProgress {
+        steps = List.copyOf(steps);
+        inputs = List.copyOf(inputs);
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.progress;
+
+/**
+ * Progress of one step of a run.
+ *
+ * @param step the {@linkplain org.pipelineframework.dlq.DeadLetters#stepName(Class) name} of the
+ *     step
+ * @param items the number of items the step has emitted
+ * @param itemsPerSecond the moving average of the rate at which the step emits items
+ * @param backlog the number of items the step has taken and not finished with, including those
+ *     waiting for a slot of the step; -1 for steps that have not taken items one at a time, such
+ *     as steps consuming the whole stream, whose backlog is not tracked
+ */
+public record StepProgress(String step, long items, double itemsPerSecond, long backlog) {}
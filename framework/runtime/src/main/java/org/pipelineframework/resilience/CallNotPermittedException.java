@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+/**
+ * Signals that a client step did not call its service at all, because a resilience mechanism
+ * rejected the call. Steps do not retry these failures, since retrying would only wait to be
+ * rejected again.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    /**
+     * Creates an exception with the given message.
+     *
+     * @param message why the call was not made
+     */
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
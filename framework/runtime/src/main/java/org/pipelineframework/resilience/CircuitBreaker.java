@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.jboss.logging.Logger;
+import org.pipelineframework.config.StepConfig;
+
+/**
+ * Count-based circuit breaker guarding the calls of one client step.
+ *
+ * <p>While {@link State#CLOSED} the outcome of every call is recorded in a ring of the last {@code
+ * circuitBreakerWindowSize} calls. Once the ring is full and the share of failed calls reaches
+ * {@code circuitBreakerFailureRate} percent, the breaker opens and rejects calls with a {@link
+ * CircuitBreakerOpenException} for {@code circuitBreakerOpenDuration}. It then lets {@code
+ * circuitBreakerHalfOpenCalls} probe calls through: it closes if all of them succeed and opens
+ * again on the first failure.
+ *
+ * <p>A call fails if it fails with anything but a status that blames the request (such as {@code
+ * INVALID_ARGUMENT} or {@code NOT_FOUND}), or if it takes longer than {@code
+ * circuitBreakerSlowCall}. A call cancelled before it completes, e.g. by the step timeout or
+ * because a hedged attempt won, counts as failed. Calls rejected before reaching the service are
+ * not recorded. Streaming calls are timed until their first item.
+ *
+ * <p>Recording an outcome while closed takes no lock: the ring slot is swapped atomically and the
+ * failure count adjusted by the difference. The state is published as the {@code
+ * pipeline.circuit.state} gauge (0 closed, 1 open, 2 half-open), with the {@code
+ * pipeline.circuit.transitions} and {@code pipeline.circuit.rejected} counters, tagged with the
+ * breaker name.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOG = Logger.getLogger(CircuitBreaker.class);
+
+    private static final Set<Status.Code> CALLER_ERRORS =
+            Set.of(
+                    Status.Code.INVALID_ARGUMENT,
+                    Status.Code.NOT_FOUND,
+                    Status.Code.ALREADY_EXISTS,
+                    Status.Code.PERMISSION_DENIED,
+                    Status.Code.UNAUTHENTICATED,
+                    Status.Code.FAILED_PRECONDITION,
+                    Status.Code.OUT_OF_RANGE);
+
+    /** Gauge values shared by successive breakers of the same step, e.g. across pipeline runs. */
+    private static final Map<String, AtomicInteger> STATE_GAUGES = new ConcurrentHashMap<>();
+
+    private static final CircuitBreaker DISABLED = new CircuitBreaker();
+
+    /** State of a circuit breaker. */
+    public enum State {
+        /** Calls go through and their outcomes are recorded. */
+        CLOSED,
+        /** Calls are rejected. */
+        OPEN,
+        /** A limited number of probe calls go through. */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int failureRate;
+    private final long slowCallNanos;
+    private final int windowSize;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicIntegerArray window;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile long openUntil;
+    private volatile Probes probes;
+
+    private final MeterRegistry registry;
+    private final AtomicInteger stateGauge;
+    private final Counter rejected;
+
+    private CircuitBreaker() {
+        this.name = "disabled";
+        this.enabled = false;
+        this.failureRate = 0;
+        this.slowCallNanos = 0;
+        this.windowSize = 0;
+        this.openNanos = 0;
+        this.halfOpenCalls = 0;
+        this.window = new AtomicIntegerArray(0);
+        this.probes = new Probes(0);
+        this.registry = null;
+        this.stateGauge = null;
+        this.rejected = null;
+    }
+
+    /**
+     * Creates an enabled circuit breaker.
+     *
+     * @param name the name the breaker's metrics are tagged with, typically the step name
+     * @param failureRate the failure rate in percent at which the breaker opens, between 1 and 100
+     * @param slowCall the duration above which a call counts as failed; zero to ignore durations
+     * @param windowSize the number of most recent calls the failure rate is computed over
+     * @param openDuration how long the breaker stays open
+     * @param halfOpenCalls the number of probe calls let through when half-open
+     * @param registry the registry to publish metrics to
+     */
+    public CircuitBreaker(
+            String name,
+            int failureRate,
+            Duration slowCall,
+            int windowSize,
+            Duration openDuration,
+            int halfOpenCalls,
+            MeterRegistry registry) {
+        if (failureRate < 1 || failureRate > 100) {
+            throw new IllegalArgumentException("failureRate must be between 1 and 100");
+        }
+        this.name = name;
+        this.enabled = true;
+        this.failureRate = failureRate;
+        this.slowCallNanos = slowCall.toNanos();
+        this.windowSize = windowSize;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.window = new AtomicIntegerArray(windowSize);
+        this.probes = new Probes(halfOpenCalls);
+        this.registry = registry;
+        this.stateGauge =
+                STATE_GAUGES.computeIfAbsent(
+                        name,
+                        key -> {
+                            AtomicInteger gauge = new AtomicInteger();
+                            Gauge.builder("pipeline.circuit.state", gauge, AtomicInteger::get)
+                                    .tag("step", key)
+                                    .strongReference(true)
+                                    .register(registry);
+                            return gauge;
+                        });
+        this.stateGauge.set(State.CLOSED.ordinal());
+        this.rejected =
+                Counter.builder("pipeline.circuit.rejected").tag("step", name).register(registry);
+    }
+
+    /**
+     * Creates the circuit breaker configured for a step.
+     *
+     * @param name the name the breaker's metrics are tagged with
+     * @param config the step configuration
+     * @return the configured breaker, or a breaker that lets every call through if {@code
+     *     circuitBreakerFailureRate} is 0
+     */
+    public static CircuitBreaker of(String name, StepConfig config) {
+        if (config.circuitBreakerFailureRate() == 0) {
+            return DISABLED;
+        }
+        return new CircuitBreaker(
+                name,
+                config.circuitBreakerFailureRate(),
+                config.circuitBreakerSlowCall(),
+                config.circuitBreakerWindowSize(),
+                config.circuitBreakerOpenDuration(),
+                config.circuitBreakerHalfOpenCalls(),
+                Metrics.globalRegistry);
+    }
+
+    /**
+     * Makes a call through the breaker. The call is deferred, so each subscription, including a
+     * retry, asks the breaker for permission again.
+     *
+     * @param call the call to make
+     * @param <T> the response type
+     * @return the response, or a {@link CircuitBreakerOpenException} failure if the breaker is open
+     */
+    public <T> Uni<T> call(Supplier<Uni<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Uni.createFrom()
+                .deferred(
+                        () -> {
+                            if (!tryAcquire()) {
+                                return Uni.createFrom().failure(new CircuitBreakerOpenException(name));
+                            }
+                            long start = System.nanoTime();
+                            return call.get()
+                                    .onItemOrFailure()
+                                    .invoke((item, failure) -> onResult(start, failure))
+                                    .onCancellation()
+                                    .invoke(this::onCancelled);
+                        });
+    }
+
+    /**
+     * Makes a streaming call through the breaker, like {@link #call}. The call's duration is
+     * measured until its first item, or its termination if it emits none.
+     *
+     * @param call the call to make
+     * @param <T> the response type
+     * @return the response stream, or a {@link CircuitBreakerOpenException} failure if the breaker
+     *     is open
+     */
+    public <T> Multi<T> callMulti(Supplier<Multi<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Multi.createFrom()
+                .deferred(
+                        () -> {
+                            if (!tryAcquire()) {
+                                return Multi.createFrom()
+                                        .failure(new CircuitBreakerOpenException(name));
+                            }
+                            long start = System.nanoTime();
+                            AtomicInteger recorded = new AtomicInteger();
+                            return call.get()
+                                    .onItem()
+                                    .invoke(
+                                            item -> {
+                                                if (recorded.compareAndSet(0, 1)) {
+                                                    onResult(start, null);
+                                                }
+                                            })
+                                    .onTermination()
+                                    .invoke(
+                                            (failure, cancelled) -> {
+                                                if (!recorded.compareAndSet(0, 1)) {
+                                                    return;
+                                                }
+                                                if (cancelled) {
+                                                    onCancelled();
+                                                } else {
+                                                    onResult(start, failure);
+                                                }
+                                            });
+                        });
+    }
+
+    /**
+     * Returns the breaker's current state.
+     *
+     * @return the state; always {@link State#CLOSED} for a disabled breaker
+     */
+    public State state() {
+        return state.get();
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return true if the call may go through
+     */
+    boolean tryAcquire() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            if (System.nanoTime() - openUntil < 0) {
+                reject();
+                return false;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                transitioned(State.OPEN, State.HALF_OPEN);
+            }
+        }
+        // Read the probes before the state: probes read after a reopen belong to the next period
+        Probes period = probes;
+        if (state.get() == State.HALF_OPEN && period.permits.getAndDecrement() > 0) {
+            return true;
+        }
+        reject();
+        return false;
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param startNanos when the call started, from {@link System#nanoTime()}
+     * @param failure the call's failure, or null if it succeeded
+     */
+    void onResult(long startNanos, Throwable failure) {
+        record(
+                (failure != null && countsAsFailure(failure))
+                        || (slowCallNanos > 0 && System.nanoTime() - startNanos > slowCallNanos));
+    }
+
+    /** Records a permitted call that was cancelled before it completed, as a failure. */
+    void onCancelled() {
+        record(true);
+    }
+
+    private void record(boolean failed) {
+        Probes period = probes;
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (failed) {
+                open(State.HALF_OPEN);
+            } else if (period.successes.incrementAndGet() >= halfOpenCalls
+                    && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                resetWindow();
+                transitioned(State.HALF_OPEN, State.CLOSED);
+            }
+            return;
+        }
+        if (current != State.CLOSED) {
+            // A call that started before the breaker opened
+            return;
+        }
+
+        long index = calls.getAndIncrement();
+        int outcome = failed ? 1 : 0;
+        int previous = window.getAndSet((int) (index % windowSize), outcome);
+        int failedCalls =
+                outcome != previous ? failures.addAndGet(outcome - previous) : failures.get();
+        if (index + 1 >= windowSize && failedCalls * 100L >= (long) failureRate * windowSize) {
+            open(State.CLOSED);
+        }
+    }
+
+    private static boolean countsAsFailure(Throwable failure) {
+        if (failure instanceof CallNotPermittedException) {
+            return false;
+        }
+        return !CALLER_ERRORS.contains(Status.fromThrowable(failure).getCode());
+    }
+
+    private void open(State from) {
+        openUntil = System.nanoTime() + openNanos;
+        if (state.compareAndSet(from, State.OPEN)) {
+            // Only the thread that opened the breaker prepares the next half-open period
+            probes = new Probes(halfOpenCalls);
+            resetWindow();
+            transitioned(from, State.OPEN);
+        }
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < windowSize; i++) {
+            window.set(i, 0);
+        }
+        failures.set(0);
+        calls.set(0);
+    }
+
+    /** Probe calls of one half-open period. */
+    private static final class Probes {
+        final AtomicInteger permits;
+        final AtomicInteger successes = new AtomicInteger();
+
+        Probes(int calls) {
+            this.permits = new AtomicInteger(calls);
+        }
+    }
+
+    private void reject() {
+        rejected.increment();
+    }
+
+    private void transitioned(State from, State to) {
+        stateGauge.set(to.ordinal());
+        registry.counter("pipeline.circuit.transitions", "step", name, "state", to.name())
+                .increment();
+        if (to == State.OPEN) {
+            LOG.warnf(
+                    "Circuit breaker '%s' opened after %s; rejecting calls for %d ms",
+                    name,
+                    from == State.HALF_OPEN ? "a failed probe call" : "reaching its failure rate",
+                    Duration.ofNanos(openNanos).toMillis());
+        } else {
+            LOG.infof("Circuit breaker '%s' is now %s", name, to);
+        }
+    }
+}
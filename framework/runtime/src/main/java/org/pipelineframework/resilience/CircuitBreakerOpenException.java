@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+/**
+ * Signals that a call was rejected because the step's {@link CircuitBreaker} is open. The item
+ * goes to the dead letter queue when {@code recoverOnFailure} or {@code circuitBreakerDeadLetter}
+ * is set.
+ */
+public class CircuitBreakerOpenException extends CallNotPermittedException {
+
+    /**
+     * Creates an exception for a call rejected by an open circuit breaker.
+     *
+     * @param name the name of the circuit breaker
+     */
+    public CircuitBreakerOpenException(String name) {
+        super("Circuit breaker '" + name + "' is open");
+    }
+}
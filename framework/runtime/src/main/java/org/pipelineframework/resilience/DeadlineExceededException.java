@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+/**
+ * Signals that the deadline of a pipeline run has passed: a step did not make a call, or the run
+ * stopped emitting items. Like the other rejected calls, it is not retried.
+ */
+public class DeadlineExceededException extends CallNotPermittedException {
+
+    /**
+     * Creates an exception with the given message.
+     *
+     * @param message what could not be done before the run deadline
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import io.grpc.Context;
+import io.grpc.Deadline;
+import io.grpc.stub.AbstractStub;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Applies step timeouts and the run deadline to step calls, and exposes the remaining budget of
+ * the gRPC call being served.
+ *
+ * <p>A step's effective budget is the shorter of its own {@code timeout} and the time left until
+ * the run deadline, computed when each attempt starts, so that later hops get less time as the
+ * run progresses. Attempts that would start after the run deadline fail with a {@link
+ * DeadlineExceededException} without being made. An attempt that runs out of time fails with a
+ * {@link io.smallrye.mutiny.TimeoutException}, which the default retry policy retries.
+ */
+public final class Deadlines {
+
+    private Deadlines() {}
+
+    /**
+     * Computes the budget of an attempt starting now.
+     *
+     * @param timeout the step timeout; null or zero for none
+     * @param runDeadline the run deadline; null for none
+     * @return the budget, zero or negative if the run deadline has passed, or null if the attempt
+     *     is not limited
+     */
+    public static Duration budget(Duration timeout, Deadline runDeadline) {
+        Duration stepBudget = timeout != null && !timeout.isZero() ? timeout : null;
+        if (runDeadline == null) {
+            return stepBudget;
+        }
+        Duration remaining = Duration.ofNanos(runDeadline.timeRemaining(TimeUnit.NANOSECONDS));
+        return stepBudget == null || remaining.compareTo(stepBudget) < 0 ? remaining : stepBudget;
+    }
+
+    /**
+     * Limits a call producing a single result to the budget of the attempt.
+     *
+     * @param call the call, subscribed once per attempt
+     * @param timeout the step timeout; null or zero for none
+     * @param runDeadline the run deadline; null for none
+     * @param step the step name, used in the failure message
+     * @param <T> the result type
+     * @return the limited call
+     */
+    public static <T> Uni<T> limit(Uni<T> call, Duration timeout, Deadline runDeadline, String step) {
+        if (budget(timeout, runDeadline) == null) {
+            return call;
+        }
+        return Uni.createFrom().deferred(() -> {
+            Duration budget = budget(timeout, runDeadline);
+            if (isExhausted(budget)) {
+                return Uni.createFrom().failure(exceeded(step));
+            }
+            return call.ifNoItem().after(budget).fail();
+        });
+    }
+
+    /**
+     * Limits a stream to the budget of the attempt: no more than the budget may pass before the
+     * next item or the completion of the stream.
+     *
+     * @param stream the stream, subscribed once per attempt
+     * @param timeout the step timeout; null or zero for none
+     * @param runDeadline the run deadline; null for none
+     * @param step the step name, used in the failure message
+     * @param <T> the item type
+     * @return the limited stream
+     */
+    public static <T> Multi<T> limit(
+            Multi<T> stream, Duration timeout, Deadline runDeadline, String step) {
+        if (budget(timeout, runDeadline) == null) {
+            return stream;
+        }
+        return Multi.createFrom().deferred(() -> {
+            Duration budget = budget(timeout, runDeadline);
+            if (isExhausted(budget)) {
+                return Multi.createFrom().failure(exceeded(step));
+            }
+            return stream.ifNoItem().after(budget).fail();
+        });
+    }
+
+    /**
+     * Runs blocking work on an executor, limited to the budget of the attempt. The thread running
+     * the work is interrupted when the attempt runs out of time or is cancelled, so that a timed-out
+     * attempt is not left running next to its retry. Work that ignores interrupts runs to the end,
+     * and its result or failure is dropped.
+     *
+     * @param work the blocking work, run once per attempt
+     * @param executor the executor to run the work on
+     * @param timeout the step timeout; null or zero for none
+     * @param runDeadline the run deadline; null for none
+     * @param step the step name, used in the failure message
+     * @param <T> the result type
+     * @return the limited call
+     */
+    public static <T> Uni<T> limitBlocking(
+            Supplier<T> work,
+            Executor executor,
+            Duration timeout,
+            Deadline runDeadline,
+            String step) {
+        Uni<T> call = Uni.createFrom().emitter(emitter -> {
+            // Exactly one of completing, failing and cancelling the attempt wins
+            AtomicBoolean settled = new AtomicBoolean();
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                T result;
+                try {
+                    result = work.get();
+                } catch (Throwable failure) {
+                    if (settled.compareAndSet(false, true)) {
+                        emitter.fail(failure);
+                    }
+                    return;
+                }
+                if (settled.compareAndSet(false, true)) {
+                    emitter.complete(result);
+                }
+            }, null);
+            emitter.onTermination(() -> {
+                if (settled.compareAndSet(false, true)) {
+                    task.cancel(true);
+                }
+            });
+            executor.execute(task);
+        });
+        return limit(call, timeout, runDeadline, step);
+    }
+
+    /**
+     * Sets the gRPC deadline of a stub to the budget of a call starting now. The deadline is sent
+     * to the service in the {@code grpc-timeout} header.
+     *
+     * @param stub the client stub
+     * @param timeout the step timeout; null or zero for none
+     * @param runDeadline the run deadline; null for none
+     * @param <S> the stub type
+     * @return a stub with the deadline set, or {@code stub} itself if the call is not limited
+     */
+    public static <S extends AbstractStub<S>> S withDeadline(
+            S stub, Duration timeout, Deadline runDeadline) {
+        Duration budget = budget(timeout, runDeadline);
+        if (budget == null) {
+            return stub;
+        }
+        return stub.withDeadlineAfter(Math.max(budget.toNanos(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Time left to serve the current gRPC call, as propagated by the caller. Must be called on the
+     * thread the call was dispatched on, before switching to another executor.
+     *
+     * @return the remaining budget, or null if the caller set no deadline
+     */
+    public static Duration remaining() {
+        Deadline deadline = Context.current().getDeadline();
+        return deadline != null
+                ? Duration.ofNanos(deadline.timeRemaining(TimeUnit.NANOSECONDS))
+                : null;
+    }
+
+    private static DeadlineExceededException exceeded(String step) {
+        return new DeadlineExceededException(
+                "Run deadline exceeded before step '" + step + "' could make its call");
+    }
+
+    private static boolean isExhausted(Duration budget) {
+        return budget.isZero() || budget.isNegative();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import io.grpc.Status;
+import io.grpc.StatusException;
+import io.grpc.StatusRuntimeException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.jboss.logging.Logger;
+
+/**
+ * Rule-based {@link RetryPolicy} classifying failures by gRPC status, exception type and SQLState.
+ *
+ * <p>The failure and its causes are inspected in turn, and the first rule that matches decides:
+ *
+ * <ul>
+ *   <li>an exception type listed as retryable or non-retryable, matched against the class and its
+ *       superclasses, the most specific class winning;
+ *   <li>the status code of a {@link StatusRuntimeException} or {@link StatusException};
+ *   <li>the SQLState of a {@link SQLException}, or of a driver exception exposing {@code
+ *       getSqlState()}, matched by prefix so that {@code 08} covers every connection exception;
+ *   <li>a transient marker such as {@code connection closed} in the message, matched ignoring case,
+ *       for driver and pool failures that carry neither a known type nor a SQLState.
+ * </ul>
+ *
+ * <p>What each rule needs to know about an exception class (its type rule, whether it carries a
+ * status, its SQLState accessor) is resolved once per class and cached, so classifying a failure
+ * takes no reflective lookup, and messages are only read when no other rule matched. {@link
+ * CallNotPermittedException} is always permanent, as the call it reports was never made.
+ */
+public final class DefaultRetryPolicy implements RetryPolicy {
+
+    private static final Logger LOG = Logger.getLogger(DefaultRetryPolicy.class);
+
+    /** Causes inspected at most, guarding against cyclic or pathological cause chains. */
+    private static final int MAX_DEPTH = 16;
+
+    /** Status codes retried by default. */
+    public static final List<String> RETRYABLE_STATUSES =
+            List.of("UNAVAILABLE", "DEADLINE_EXCEEDED", "RESOURCE_EXHAUSTED", "ABORTED");
+
+    /** Status codes never retried by default. */
+    public static final List<String> NON_RETRYABLE_STATUSES =
+            List.of(
+                    "CANCELLED",
+                    "INVALID_ARGUMENT",
+                    "NOT_FOUND",
+                    "ALREADY_EXISTS",
+                    "PERMISSION_DENIED",
+                    "UNAUTHENTICATED",
+                    "FAILED_PRECONDITION",
+                    "OUT_OF_RANGE",
+                    "UNIMPLEMENTED");
+
+    /** Exception types retried by default. */
+    public static final List<String> RETRYABLE_EXCEPTIONS =
+            List.of(
+                    "java.net.SocketException",
+                    "java.net.SocketTimeoutException",
+                    "java.nio.channels.ClosedChannelException",
+                    "java.util.concurrent.TimeoutException",
+                    "java.sql.SQLTransientException",
+                    "java.sql.SQLRecoverableException",
+                    "io.vertx.sqlclient.ClosedConnectionException");
+
+    /** Exception types never retried by default. */
+    public static final List<String> NON_RETRYABLE_EXCEPTIONS =
+            List.of("java.lang.NullPointerException", "java.lang.IllegalArgumentException");
+
+    /**
+     * SQLState prefixes retried by default: connection exceptions, serialization failures,
+     * deadlocks, too many connections and server shutdowns.
+     */
+    public static final List<String> RETRYABLE_SQL_STATES =
+            List.of("08", "40001", "40P01", "53300", "57P01", "57P02", "57P03");
+
+    /**
+     * Message markers of transient failures by default, for Hibernate Reactive and Vert.x pool
+     * errors that carry no SQLState.
+     */
+    public static final List<String> TRANSIENT_MESSAGES =
+            List.of(
+                    "connection refused",
+                    "connection closed",
+                    "connection reset",
+                    "timeout",
+                    "communications link failure");
+
+    private final Set<Status.Code> retryableStatuses;
+    private final Set<Status.Code> nonRetryableStatuses;
+    private final Set<String> retryableExceptions;
+    private final Set<String> nonRetryableExceptions;
+    private final List<String> retryableSqlStates;
+    private final List<String> transientMessages;
+
+    private final ClassValue<ClassRule> rules =
+            new ClassValue<>() {
+                @Override
+                protected ClassRule computeValue(Class<?> type) {
+                    return ruleFor(type);
+                }
+            };
+
+    /** Creates a policy with the default rules. */
+    public DefaultRetryPolicy() {
+        this(
+                RETRYABLE_STATUSES,
+                NON_RETRYABLE_STATUSES,
+                RETRYABLE_EXCEPTIONS,
+                NON_RETRYABLE_EXCEPTIONS,
+                RETRYABLE_SQL_STATES,
+                TRANSIENT_MESSAGES);
+    }
+
+    /**
+     * Creates a policy with the given rules and the default transient message markers.
+     *
+     * @param retryableStatuses gRPC status code names to retry
+     * @param nonRetryableStatuses gRPC status code names never to retry
+     * @param retryableExceptions fully qualified exception class names to retry
+     * @param nonRetryableExceptions fully qualified exception class names never to retry
+     * @param retryableSqlStates SQLState prefixes to retry
+     * @throws IllegalArgumentException if a status code name is unknown
+     */
+    public DefaultRetryPolicy(
+            Collection<String> retryableStatuses,
+            Collection<String> nonRetryableStatuses,
+            Collection<String> retryableExceptions,
+            Collection<String> nonRetryableExceptions,
+            Collection<String> retryableSqlStates) {
+        this(
+                retryableStatuses,
+                nonRetryableStatuses,
+                retryableExceptions,
+                nonRetryableExceptions,
+                retryableSqlStates,
+                TRANSIENT_MESSAGES);
+    }
+
+    /**
+     * Creates a policy with the given rules.
+     *
+     * @param retryableStatuses gRPC status code names to retry
+     * @param nonRetryableStatuses gRPC status code names never to retry
+     * @param retryableExceptions fully qualified exception class names to retry
+     * @param nonRetryableExceptions fully qualified exception class names never to retry
+     * @param retryableSqlStates SQLState prefixes to retry
+     * @param transientMessages message markers of transient failures, matched ignoring case
+     * @throws IllegalArgumentException if a status code name is unknown
+     */
+    public DefaultRetryPolicy(
+            Collection<String> retryableStatuses,
+            Collection<String> nonRetryableStatuses,
+            Collection<String> retryableExceptions,
+            Collection<String> nonRetryableExceptions,
+            Collection<String> retryableSqlStates,
+            Collection<String> transientMessages) {
+        this.retryableStatuses = statusCodes(retryableStatuses);
+        this.nonRetryableStatuses = statusCodes(nonRetryableStatuses);
+        this.retryableExceptions = Set.copyOf(trimmed(retryableExceptions));
+        this.nonRetryableExceptions = Set.copyOf(trimmed(nonRetryableExceptions));
+        this.retryableSqlStates = List.copyOf(trimmed(retryableSqlStates));
+        this.transientMessages = List.copyOf(trimmed(transientMessages));
+    }
+
+    @Override
+    public Classification classify(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_DEPTH; depth++) {
+            ClassRule rule = rules.get(current.getClass());
+            if (rule.byType() != Classification.UNKNOWN) {
+                return rule.byType();
+            }
+            if (rule.hasStatus()) {
+                Status.Code code = Status.fromThrowable(current).getCode();
+                if (retryableStatuses.contains(code)) {
+                    return Classification.TRANSIENT;
+                }
+                if (nonRetryableStatuses.contains(code)) {
+                    return Classification.PERMANENT;
+                }
+            }
+            if (rule.sqlState() != null && isRetryableSqlState(sqlState(rule.sqlState(), current))) {
+                return Classification.TRANSIENT;
+            }
+            if (hasTransientMessage(current)) {
+                return Classification.TRANSIENT;
+            }
+            Throwable cause = current.getCause();
+            current = cause == current ? null : cause;
+        }
+        return Classification.UNKNOWN;
+    }
+
+    private ClassRule ruleFor(Class<?> type) {
+        Classification byType = Classification.UNKNOWN;
+        if (CallNotPermittedException.class.isAssignableFrom(type)) {
+            byType = Classification.PERMANENT;
+        } else {
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                if (nonRetryableExceptions.contains(c.getName())) {
+                    byType = Classification.PERMANENT;
+                    break;
+                }
+                if (retryableExceptions.contains(c.getName())) {
+                    byType = Classification.TRANSIENT;
+                    break;
+                }
+            }
+        }
+        boolean hasStatus =
+                StatusRuntimeException.class.isAssignableFrom(type)
+                        || StatusException.class.isAssignableFrom(type);
+        return new ClassRule(byType, hasStatus, sqlStateAccessor(type));
+    }
+
+    private static Method sqlStateAccessor(Class<?> type) {
+        try {
+            if (SQLException.class.isAssignableFrom(type)) {
+                return SQLException.class.getMethod("getSQLState");
+            }
+            // Reactive drivers (e.g. the Vert.x PostgreSQL client) do not extend SQLException
+            Method accessor = type.getMethod("getSqlState");
+            return accessor.getReturnType() == String.class ? accessor : null;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private static String sqlState(Method accessor, Throwable failure) {
+        try {
+            return (String) accessor.invoke(failure);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debugf("Cannot read the SQLState of %s", failure.getClass().getName());
+            return null;
+        }
+    }
+
+    private boolean isRetryableSqlState(String sqlState) {
+        if (sqlState == null) {
+            return false;
+        }
+        for (String prefix : retryableSqlStates) {
+            if (sqlState.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasTransientMessage(Throwable failure) {
+        String message = failure.getMessage();
+        if (message == null) {
+            return false;
+        }
+        for (String marker : transientMessages) {
+            for (int i = 0; i <= message.length() - marker.length(); i++) {
+                if (message.regionMatches(true, i, marker, 0, marker.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Set<Status.Code> statusCodes(Collection<String> names) {
+        Set<Status.Code> codes = EnumSet.noneOf(Status.Code.class);
+        for (String name : trimmed(names)) {
+            codes.add(Status.Code.valueOf(name.toUpperCase(Locale.ROOT)));
+        }
+        return codes;
+    }
+
+    private static List<String> trimmed(Collection<String> values) {
+        List<String> result = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    result.add(value.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    private record ClassRule(Classification byType, boolean hasStatus, Method sqlState) {}
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.jboss.logging.Logger;
+import org.pipelineframework.config.PipelineStepConfig;
+import org.pipelineframework.dlq.DeadLetters;
+
+/**
+ * Stops a run whose steps dead-letter too many of its items, instead of letting it spend hours and
+ * provider quota on records that all fail.
+ *
+ * <p>A budget belongs to one run. It counts, for each step of the run, the items the step emitted
+ * and the items it dead-lettered, as reported to it as a {@link DeadLetters.Listener}. It is
+ * exhausted once the run has dead-lettered more than {@code maxFailures} items, or once a step has
+ * dead-lettered more than {@code maxFailureRate} of the items it finished within the sliding
+ * window, split into ten buckets as {@link RetryBudget} does. The rate is only checked once the
+ * step finished {@code minItems} items within the window.
+ *
+ * <p>Once the budget is exhausted the run stops admitting work, as described by {@link
+ * org.pipelineframework.RunControl}: no new items enter it, while items already in flight finish.
+ * The run then fails with a {@link FailureBudgetExceededException} carrying the {@link #summary()}.
+ *
+ * <p>Failures are attributed to a run by step name, so runs of the same steps that overlap in
+ * time also count each other's failures.
+ */
+public final class FailureBudget implements DeadLetters.Listener {
+
+    private static final Logger LOG = Logger.getLogger(FailureBudget.class);
+
+    private static final int BUCKETS = 10;
+
+    private final long maxFailures;
+    private final double maxFailureRate;
+    private final int minItems;
+    private final long bucketNanos;
+    private final Map<String, StepOutcomes> steps;
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicReference<String> breach = new AtomicReference<>();
+
+    /**
+     * Creates a budget for a run of the given steps.
+     *
+     * @param stepNames the {@linkplain DeadLetters#stepName(Class) names} of the run's steps, in
+     *     order
+     * @param maxFailures number of items the run may dead-letter, or 0 for no limit
+     * @param maxFailureRate share of a step's items it may dead-letter within the window, or 0 for
+     *     no limit
+     * @param window the period over which failure rates are measured
+     * @param minItems items a step must finish within the window before its rate is checked
+     * @throws IllegalArgumentException if a limit is negative, the rate is above 1, or the window is
+     *     shorter than 10 ms
+     */
+    public FailureBudget(
+            List<String> stepNames,
+            long maxFailures,
+            double maxFailureRate,
+            Duration window,
+            int minItems) {
+        if (maxFailures < 0) {
+            throw new IllegalArgumentException("maxFailures must be >= 0");
+        }
+        if (maxFailureRate < 0 || maxFailureRate > 1) {
+            throw new IllegalArgumentException("maxFailureRate must be between 0 and 1");
+        }
+        if (window == null || window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("window must be at least " + BUCKETS + " ms");
+        }
+        this.maxFailures = maxFailures;
+        this.maxFailureRate = maxFailureRate;
+        this.minItems = Math.max(minItems, 1);
+        this.bucketNanos = window.toNanos() / BUCKETS;
+        Map<String, StepOutcomes> outcomes = new LinkedHashMap<>();
+        for (String stepName : stepNames) {
+            outcomes.putIfAbsent(stepName, new StepOutcomes());
+        }
+        this.steps = Collections.unmodifiableMap(outcomes);
+    }
+
+    /**
+     * Creates the budget configured under {@code pipeline.failure-budget} for a run of the given
+     * steps.
+     *
+     * @param config the failure budget configuration, or null
+     * @param stepNames the names of the run's steps, in order
+     * @return the budget, or null if no limit is configured
+     */
+    public static FailureBudget of(
+            PipelineStepConfig.FailureBudgetConfig config, List<String> stepNames) {
+        if (config == null || (config.maxFailures() <= 0 && config.maxFailureRate() <= 0)) {
+            return null;
+        }
+        return new FailureBudget(
+                stepNames,
+                Math.max(config.maxFailures(), 0),
+                Math.max(config.maxFailureRate(), 0),
+                Duration.ofMillis(config.windowMs()),
+                config.minItems());
+    }
+
+    /**
+     * Records an item emitted by a step.
+     *
+     * @param stepName the step name
+     */
+    public void succeeded(String stepName) {
+        StepOutcomes outcomes = steps.get(stepName);
+        if (outcomes != null) {
+            outcomes.succeeded.increment();
+            outcomes.window(System.nanoTime(), false, 1);
+        }
+    }
+
+    /**
+     * Records items dead-lettered by a step; items of steps outside the run are ignored.
+     *
+     * @param stepName the step name
+     * @param items the number of items
+     * @param cause the failure
+     */
+    @Override
+    public void deadLettered(String stepName, int items, Throwable cause) {
+        StepOutcomes outcomes = steps.get(stepName);
+        if (outcomes == null || items <= 0) {
+            return;
+        }
+        outcomes.failed.add(items);
+        long[] window = outcomes.window(System.nanoTime(), true, items);
+        long total = failures.addAndGet(items);
+
+        if (maxFailures > 0 && total > maxFailures) {
+            exhaust(String.format("%d items failed, more than the %d allowed", total, maxFailures));
+        } else if (maxFailureRate > 0 && window[0] + window[1] >= minItems) {
+            double rate = (double) window[1] / (window[0] + window[1]);
+            if (rate > maxFailureRate) {
+                exhaust(String.format(
+                        "%s failed %.1f%% of %d items, more than the %.1f%% allowed",
+                        simpleName(stepName), rate * 100, window[0] + window[1], maxFailureRate * 100));
+            }
+        }
+    }
+
+    /**
+     * Whether the run has used up its budget.
+     *
+     * @return true once a limit was breached
+     */
+    public boolean isExhausted() {
+        return breach.get() != null;
+    }
+
+    /**
+     * Describes the breached limit, if any, and the outcomes of every step.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        String reason = breach.get();
+        summary.append(reason != null ? "Failure budget exceeded: " + reason : "Failure budget not exceeded");
+        summary.append(". Steps:");
+        steps.forEach((stepName, outcomes) -> summary.append(String.format(
+                " %s %d succeeded, %d failed;",
+                simpleName(stepName), outcomes.succeeded.sum(), outcomes.failed.sum())));
+        summary.setLength(summary.length() - 1);
+        return summary.toString();
+    }
+
+    private void exhaust(String reason) {
+        if (breach.compareAndSet(null, reason)) {
+            LOG.warnf("Failure budget exceeded, stopping the run: %s", reason);
+            Metrics.counter("pipeline.failure.budget.exceeded").increment();
+        }
+    }
+
+    private static String simpleName(String stepName) {
+        return stepName.substring(stepName.lastIndexOf('.') + 1);
+    }
+
+    /** Outcomes of one step: totals for the summary and a sliding window for the failure rate. */
+    private final class StepOutcomes {
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+        final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+        final AtomicLongArray failures = new AtomicLongArray(BUCKETS);
+
+        StepOutcomes() {
+            for (int i = 0; i < BUCKETS; i++) {
+                epochs.set(i, Long.MIN_VALUE);
+            }
+        }
+
+        /**
+         * Counts items in the current bucket. For failures, also returns the successes and failures
+         * in the window; successes only count, to keep the hot path cheap.
+         */
+        long[] window(long now, boolean failed, int items) {
+            long epoch = Math.floorDiv(now, bucketNanos);
+            int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+            long seen = epochs.get(index);
+            if (seen != epoch && epochs.compareAndSet(index, seen, epoch)) {
+                // This thread moved the bucket to a new period: drop what it counted a window ago
+                successes.set(index, 0);
+                failures.set(index, 0);
+            }
+            (failed ? failures : successes).addAndGet(index, items);
+            if (!failed) {
+                return null;
+            }
+
+            long oldest = epoch - BUCKETS;
+            long[] window = new long[2];
+            for (int i = 0; i < BUCKETS; i++) {
+                if (epochs.get(i) > oldest) {
+                    window[0] += successes.get(i);
+                    window[1] += failures.get(i);
+                }
+            }
+            return window;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+/**
+ * Signals that a run was stopped because its steps dead-lettered more items than its failure
+ * budget allows. The message summarises the outcomes of every step.
+ */
+public class FailureBudgetExceededException extends RuntimeException {
+
+    /**
+     * Creates an exception with the given message.
+     *
+     * @param message the breached limit and the outcomes of the run's steps
+     */
+    public FailureBudgetExceededException(String message) {
+        super(message);
+    }
+}
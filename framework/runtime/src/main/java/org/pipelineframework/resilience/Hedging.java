@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.smallrye.mutiny.subscription.Cancellable;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.pipelineframework.config.StepConfig;
+
+/**
+ * Hedges the slow calls of one idempotent client step.
+ *
+ * <p>When a call has not completed after the hedge delay, the same call is made a second time and
+ * whichever attempt succeeds first wins; the other is cancelled. A call fails only once every
+ * attempt made has failed. Calls through a channel pool go to the least busy channel, so the second
+ * attempt normally reaches another connection or replica than the first.
+ *
+ * <p>The delay is either configured ({@code hedgeDelay}) or the p95 latency of the step's recent
+ * successful calls, recomputed every {@value #RECOMPUTE_EVERY} calls over the last {@value
+ * #SAMPLES}. No call is hedged on observed latency until the first p95 is known. At most {@code
+ * hedgeMaxPercent} percent of the calls in a sliding window of 10 seconds are hedged, so that a
+ * slow service is not sent twice its load.
+ *
+ * <p>Hedging is published as the {@code pipeline.hedge.calls}, {@code pipeline.hedge.sent}, {@code
+ * pipeline.hedge.wins} and {@code pipeline.hedge.rejected} counters, tagged with the step name. The
+ * hedge rate is sent over calls, and wins counts the hedges that beat the first attempt.
+ */
+public final class Hedging {
+
+    static final int SAMPLES = 512;
+    static final int RECOMPUTE_EVERY = 64;
+
+    private static final Duration CAP_WINDOW = Duration.ofSeconds(10);
+
+    private static final Hedging DISABLED = new Hedging();
+
+    private final boolean enabled;
+    private final long fixedDelayNanos;
+    private final RetryBudget cap;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong recorded = new AtomicLong();
+    private volatile long p95Nanos = -1;
+
+    private final Counter calls;
+    private final Counter sent;
+    private final Counter wins;
+    private final Counter rejected;
+
+    private Hedging() {
+        this.enabled = false;
+        this.fixedDelayNanos = 0;
+        this.cap = null;
+        this.scheduler = null;
+        this.calls = null;
+        this.sent = null;
+        this.wins = null;
+        this.rejected = null;
+    }
+
+    /**
+     * Creates an enabled hedging policy.
+     *
+     * @param name the name the metrics are tagged with, typically the step name
+     * @param delay the delay after which a pending call is hedged; zero to use the observed p95
+     * @param maxPercent the largest share of calls that may be hedged, in percent
+     * @param scheduler the scheduler timing the hedges
+     * @param registry the registry to publish metrics to
+     */
+    public Hedging(
+            String name,
+            Duration delay,
+            int maxPercent,
+            ScheduledExecutorService scheduler,
+            MeterRegistry registry) {
+        if (maxPercent < 0 || maxPercent > 100) {
+            throw new IllegalArgumentException("maxPercent must be between 0 and 100");
+        }
+        this.enabled = true;
+        this.fixedDelayNanos = delay.toNanos();
+        this.cap = new RetryBudget(maxPercent / 100.0, 0, CAP_WINDOW, null);
+        this.scheduler = scheduler;
+        this.calls = Counter.builder("pipeline.hedge.calls").tag("step", name).register(registry);
+        this.sent = Counter.builder("pipeline.hedge.sent").tag("step", name).register(registry);
+        this.wins = Counter.builder("pipeline.hedge.wins").tag("step", name).register(registry);
+        this.rejected =
+                Counter.builder("pipeline.hedge.rejected").tag("step", name).register(registry);
+    }
+
+    /**
+     * Creates the hedging policy configured for a step.
+     *
+     * @param name the name the metrics are tagged with
+     * @param config the step configuration
+     * @return the configured policy, or one that makes every call once if {@code hedge} is off
+     */
+    public static Hedging of(String name, StepConfig config) {
+        if (!config.hedge()) {
+            return DISABLED;
+        }
+        return new Hedging(
+                name,
+                config.hedgeDelay(),
+                config.hedgeMaxPercent(),
+                Infrastructure.getDefaultWorkerPool(),
+                Metrics.globalRegistry);
+    }
+
+    /**
+     * Makes a call, hedging it if it is still pending after the hedge delay. The call is
+     * deferred, so each subscription, including a retry, is hedged independently.
+     *
+     * @param call the call to make; invoked once per attempt
+     * @param <T> the response type
+     * @return the response of the first attempt to succeed, or the failure of the primary attempt if
+     *     every attempt fails
+     */
+    public <T> Uni<T> call(Supplier<Uni<T>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        return Uni.createFrom().emitter(emitter -> new HedgedCall<>(call, emitter).start());
+    }
+
+    /**
+     * The current hedge delay.
+     *
+     * @return the configured delay, the observed p95 latency, or null if no call is hedged yet
+     *     because too few calls completed to know the p95
+     */
+    public Duration delay() {
+        long nanos = delayNanos();
+        return nanos < 0 ? null : Duration.ofNanos(nanos);
+    }
+
+    private long delayNanos() {
+        return fixedDelayNanos > 0 ? fixedDelayNanos : p95Nanos;
+    }
+
+    void recordLatency(long nanos) {
+        long count = recorded.incrementAndGet();
+        latencies.set((int) ((count - 1) % SAMPLES), nanos);
+        if (count % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(count, SAMPLES);
+            long[] snapshot = new long[size];
+            for (int i = 0; i < size; i++) {
+                snapshot[i] = latencies.get(i);
+            }
+            Arrays.sort(snapshot);
+            p95Nanos = snapshot[(int) Math.ceil(size * 0.95) - 1];
+        }
+    }
+
+    /** One call and its possible hedge. Guarded by its own monitor, which is never contended. */
+    private final class HedgedCall<T> {
+
+        private final Supplier<Uni<T>> call;
+        private final UniEmitter<? super T> emitter;
+        private final long start = System.nanoTime();
+
+        private int pending = 1;
+        private boolean done;
+        private Throwable failure;
+        private Cancellable first;
+        private Cancellable hedge;
+        private ScheduledFuture<?> timer;
+
+        HedgedCall(Supplier<Uni<T>> call, UniEmitter<? super T> emitter) {
+            this.call = call;
+            this.emitter = emitter;
+        }
+
+        void start() {
+            calls.increment();
+            cap.recordRequest();
+            emitter.onTermination(this::cancel);
+            // Subscribe the primary attempt before the hedge can be sent, so that whichever attempt
+            // loses is always known and cancelled
+            Cancellable attempt = attempt(false);
+            synchronized (this) {
+                first = attempt;
+                if (done) {
+                    attempt.cancel();
+                    return;
+                }
+            }
+            long delay = delayNanos();
+            if (delay >= 0) {
+                ScheduledFuture<?> scheduled =
+                        scheduler.schedule(this::sendHedge, delay, TimeUnit.NANOSECONDS);
+                synchronized (this) {
+                    timer = scheduled;
+                    if (done) {
+                        scheduled.cancel(false);
+                    }
+                }
+            }
+        }
+
+        private void sendHedge() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (!cap.tryAcquireRetry()) {
+                    rejected.increment();
+                    return;
+                }
+                pending++;
+            }
+            sent.increment();
+            Cancellable attempt = attempt(true);
+            synchronized (this) {
+                hedge = attempt;
+                if (done) {
+                    attempt.cancel();
+                }
+            }
+        }
+
+        private Cancellable attempt(boolean hedged) {
+            Uni<T> uni;
+            try {
+                uni = call.get();
+            } catch (RuntimeException e) {
+                uni = Uni.createFrom().failure(e);
+            }
+            return uni.subscribe().with(item -> succeeded(item, hedged), failure -> failed(failure, hedged));
+        }
+
+        private void succeeded(T item, boolean hedged) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+            }
+            // Cancel the losing attempt before the caller sees the result
+            cancelAttempts();
+            recordLatency(System.nanoTime() - start);
+            if (hedged) {
+                wins.increment();
+            }
+            emitter.complete(item);
+        }
+
+        private void failed(Throwable attemptFailure, boolean hedged) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                // Report the primary attempt's failure whichever attempt fails last
+                if (failure == null || !hedged) {
+                    failure = attemptFailure;
+                }
+                if (--pending > 0) {
+                    // The other attempt may still succeed
+                    return;
+                }
+                done = true;
+            }
+            emitter.fail(failure);
+        }
+
+        private void cancel() {
+            synchronized (this) {
+                done = true;
+            }
+            cancelAttempts();
+        }
+
+        private void cancelAttempts() {
+            Cancellable firstAttempt;
+            Cancellable hedgeAttempt;
+            ScheduledFuture<?> scheduled;
+            synchronized (this) {
+                firstAttempt = first;
+                hedgeAttempt = hedge;
+                scheduled = timer;
+            }
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            // Cancelling the attempt that completed is a no-op
+            if (firstAttempt != null) {
+                firstAttempt.cancel();
+            }
+            if (hedgeAttempt != null) {
+                hedgeAttempt.cancel();
+            }
+        }
+    }
+}
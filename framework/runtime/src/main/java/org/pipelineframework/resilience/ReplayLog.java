@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.resilience;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.Subscriptions;
+import io.smallrye.mutiny.subscription.MultiSubscriber;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscribes to a stream once and replays its unacknowledged items to every new subscriber, so that
+ * a retried step resumes its input from the last acknowledged position instead of subscribing to
+ * the source again.
+ *
+ * <p>The log keeps at most {@code capacity} items that were received but not {@linkplain
+ * #acknowledge(long) acknowledged}. Each subscription to {@link #stream()} is an attempt: it
+ * receives the unacknowledged items first and then the rest of the source, and it replaces the
+ * previous attempt. Upstream is asked for no more than the current attempt requested, and never for
+ * more than the log can hold beyond the items the attempt has not received yet. If an item arrives
+ * while the log is full of unacknowledged items, the oldest one is evicted and the log can no longer
+ * be {@linkplain #canReplay() replayed}.
+ *
+ * <p>A new attempt does not cancel the source. {@link #close()} does, and must be called once the
+ * step is done with the stream.
+ *
+ * @param <T> the item type
+ */
+public final class ReplayLog<T> {
+
+    private final Multi<T> upstream;
+    private final int capacity;
+    private final Object[] items;
+
+    // Guarded by this
+    private long head;
+    private long received;
+    private long outstanding;
+    private boolean truncated;
+    private boolean subscribed;
+    private boolean closed;
+    private boolean done;
+    private Throwable failure;
+    private Flow.Subscription subscription;
+    private Attempt current;
+
+    /**
+     * Creates a log over a stream. The stream is subscribed to by the first attempt.
+     *
+     * @param upstream the stream to log
+     * @param capacity the maximum number of unacknowledged items kept
+     */
+    public ReplayLog(Multi<T> upstream, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.upstream = upstream;
+        this.capacity = capacity;
+        this.items = new Object[capacity];
+    }
+
+    /**
+     * The stream of attempts: each subscription replays the unacknowledged items, then continues
+     * with the source.
+     *
+     * @return the replaying stream
+     */
+    public Multi<T> stream() {
+        Flow.Publisher<T> publisher = this::subscribe;
+        return Multi.createFrom().publisher(publisher);
+    }
+
+    /**
+     * Acknowledges the oldest items received by the current attempt, which will not be replayed.
+     *
+     * @param count the number of items to acknowledge; capped at the items delivered so far
+     */
+    public synchronized void acknowledge(long count) {
+        long limit = current != null ? current.position : received;
+        long newHead = Math.min(head + Math.max(0, count), limit);
+        for (long i = head; i < newHead; i++) {
+            items[(int) (i % capacity)] = null;
+        }
+        head = newHead;
+    }
+
+    /**
+     * Whether a new attempt would see every unacknowledged item: true unless items were evicted or
+     * the source itself failed.
+     *
+     * @return true if the log can be replayed
+     */
+    public synchronized boolean canReplay() {
+        return !truncated && failure == null && !closed;
+    }
+
+    /**
+     * Number of items received from the source.
+     *
+     * @return the items received so far
+     */
+    public synchronized long received() {
+        return received;
+    }
+
+    /**
+     * Number of items acknowledged so far, i.e. the position a new attempt resumes from.
+     *
+     * @return the acknowledged position
+     */
+    public synchronized long acknowledged() {
+        return head;
+    }
+
+    /** Cancels the source, if it has not terminated, and drops the logged items. */
+    public void close() {
+        Flow.Subscription toCancel;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            current = null;
+            toCancel = done ? null : subscription;
+            Arrays.fill(items, null);
+        }
+        if (toCancel != null) {
+            toCancel.cancel();
+        }
+    }
+
+    private void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Attempt attempt = new Attempt(subscriber);
+        boolean first;
+        synchronized (this) {
+            attempt.position = head;
+            current = attempt;
+            first = !subscribed;
+            subscribed = true;
+        }
+        subscriber.onSubscribe(attempt);
+        if (first) {
+            upstream.subscribe().withSubscriber(new Source());
+        } else {
+            attempt.drain();
+        }
+    }
+
+    private void drainCurrent() {
+        Attempt attempt;
+        synchronized (this) {
+            attempt = current;
+        }
+        if (attempt != null) {
+            attempt.drain();
+        }
+    }
+
+    /** Receives the source into the log. */
+    private final class Source implements MultiSubscriber<T> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            boolean cancel;
+            synchronized (ReplayLog.this) {
+                subscription = s;
+                cancel = closed;
+            }
+            if (cancel) {
+                s.cancel();
+                return;
+            }
+            drainCurrent();
+        }
+
+        @Override
+        public void onItem(T item) {
+            synchronized (ReplayLog.this) {
+                if (closed) {
+                    return;
+                }
+                outstanding = Math.max(0, outstanding - 1);
+                if (received - head == capacity) {
+                    // Full of unacknowledged items: evict the oldest, which can then not be replayed
+                    head++;
+                    truncated = true;
+                }
+                items[(int) (received % capacity)] = item;
+                received++;
+            }
+            drainCurrent();
+        }
+
+        @Override
+        public void onFailure(Throwable throwable) {
+            synchronized (ReplayLog.this) {
+                failure = throwable;
+                done = true;
+            }
+            drainCurrent();
+        }
+
+        @Override
+        public void onCompletion() {
+            synchronized (ReplayLog.this) {
+                done = true;
+            }
+            drainCurrent();
+        }
+    }
+
+    /** One subscription to the log, delivering from its position onwards. */
+    private final class Attempt implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+
+        // Guarded by ReplayLog.this
+        private long position;
+        private boolean terminated;
+
+        Attempt(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(Subscriptions.getInvalidRequestException());
+                return;
+            }
+            Subscriptions.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            // Only this attempt ends: the source stays subscribed for the next one
+            cancelled = true;
+            synchronized (ReplayLog.this) {
+                if (current == this) {
+                    current = null;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                for (;;) {
+                    T item = null;
+                    boolean complete = false;
+                    Throwable error = null;
+                    long toRequest = 0;
+                    Flow.Subscription source = null;
+                    synchronized (ReplayLog.this) {
+                        if (cancelled || terminated || current != this) {
+                            return;
+                        }
+                        position = Math.max(position, head);
+                        long wanted = requested.get();
+                        if (wanted > 0 && position < received) {
+                            item = (T) items[(int) (position % capacity)];
+                            position++;
+                        } else if (position == received && done) {
+                            terminated = true;
+                            complete = failure == null;
+                            error = failure;
+                        } else if (wanted > 0 && subscription != null) {
+                            toRequest = Math.min(wanted, capacity) - (received - position) - outstanding;
+                            if (toRequest > 0) {
+                                outstanding += toRequest;
+                                source = subscription;
+                            }
+                        }
+                    }
+                    if (item != null) {
+                        if (requested.get() != Long.MAX_VALUE) {
+                            requested.decrementAndGet();
+                        }
+                        downstream.onNext(item);
+                        continue;
+                    }
+                    if (complete) {
+                        downstream.onComplete();
+                        return;
+                    }
+                    if (error != null) {
+                        downstream.onError(error);
+                        return;
+                    }
+                    if (source != null) {
+                        source.request(toRequest);
+                    }
+                    break;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caps retries across the whole pipeline to a share of the requests, so that an outage does not
+ * turn into a retry storm.
+ *
+ * <p>Requests and retries are counted over a sliding window of {@code window}, split into ten
+ * buckets. A retry is permitted while the retries in the window stay below {@code ratio} times
+ * the requests in the window, plus {@code minRetriesPerSecond} for every second of the window so
+ * that a quiet pipeline can still retry. With the defaults (10%, 10 per second, 10 seconds) a
+ * pipeline making 1,000 requests per second may retry about 110 of them per second.
+ *
+ * <p>Counting is lock-free. Concurrent retries may overshoot the budget by the number of threads
+ * racing for the last permit, which is fine for its purpose. Permitted and rejected retries are
+ * counted in {@code pipeline.retry.permitted} and {@code pipeline.retry.budget.exhausted}.
+ */
+public final class RetryBudget {
+
+    private static final int BUCKETS = 10;
+
+    private static final RetryBudget UNLIMITED = new RetryBudget();
+
+    private final boolean enabled;
+    private final double ratio;
+    private final double minRetries;
+    private final long bucketNanos;
+    private final AtomicLongArray epochs = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray requests = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray retries = new AtomicLongArray(BUCKETS);
+
+    private final Counter permitted;
+    private final Counter exhausted;
+
+    private RetryBudget() {
+        this.enabled = false;
+        this.ratio = 0;
+        this.minRetries = 0;
+        this.bucketNanos = 1;
+        this.permitted = null;
+        this.exhausted = null;
+    }
+
+    /**
+     * Creates a retry budget.
+     *
+     * @param ratio the share of requests that may be retried, e.g. 0.1 for 10%
+     * @param minRetriesPerSecond retries permitted per second regardless of the request count
+     * @param window the period over which requests and retries are counted
+     * @param registry the registry to publish the retry counters to, or null for none
+     * @throws IllegalArgumentException if ratio or minRetriesPerSecond is negative, or window is
+     *     shorter than 10 ms
+     */
+    public RetryBudget(
+            double ratio, int minRetriesPerSecond, Duration window, MeterRegistry registry) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must be >= 0");
+        }
+        if (minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("minRetriesPerSecond must be >= 0");
+        }
+        if (window == null || window.toMillis() < BUCKETS) {
+            throw new IllegalArgumentException("window must be at least " + BUCKETS + " ms");
+        }
+        this.enabled = true;
+        this.ratio = ratio;
+        this.minRetries = minRetriesPerSecond * (window.toNanos() / 1e9);
+        this.bucketNanos = window.toNanos() / BUCKETS;
+        for (int i = 0; i < BUCKETS; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+        }
+        if (registry != null) {
+            this.permitted = registry.counter("pipeline.retry.permitted");
+            this.exhausted = registry.counter("pipeline.retry.budget.exhausted");
+        } else {
+            this.permitted = null;
+            this.exhausted = null;
+        }
+    }
+
+    /**
+     * A budget that permits every retry.
+     *
+     * @return the unlimited budget
+     */
+    public static RetryBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /** Records a request, i.e. a first attempt, earning credit for later retries. */
+    public void recordRequest() {
+        if (enabled) {
+            requests.incrementAndGet(bucket(System.nanoTime()));
+        }
+    }
+
+    /**
+     * Takes a retry from the budget if one is left.
+     *
+     * @return true if the retry may proceed
+     */
+    public boolean tryAcquireRetry() {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.nanoTime();
+        int current = bucket(now);
+        long oldest = Math.floorDiv(now, bucketNanos) - BUCKETS;
+        long windowRequests = 0;
+        long windowRetries = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (epochs.get(i) > oldest) {
+                windowRequests += requests.get(i);
+                windowRetries += retries.get(i);
+            }
+        }
+        if (windowRetries >= minRetries + ratio * windowRequests) {
+            if (exhausted != null) {
+                exhausted.increment();
+            }
+            return false;
+        }
+        retries.incrementAndGet(current);
+        if (permitted != null) {
+            permitted.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Whether this budget limits retries at all.
+     *
+     * @return false for the {@linkplain #unlimited() unlimited} budget
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private int bucket(long now) {
+        long epoch = Math.floorDiv(now, bucketNanos);
+        int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+        long seen = epochs.get(index);
+        if (seen != epoch && epochs.compareAndSet(index, seen, epoch)) {
+            // This thread moved the bucket to a new period: drop what it counted a window ago
+            requests.set(index, 0);
+            retries.set(index, 0);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import io.micrometer.core.instrument.Metrics;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.logging.Logger;
+
+/**
+ * Static access point to the {@link RetryPolicy} and the pipeline-wide {@link RetryBudget}.
+ *
+ * <p>Steps are interfaces with default methods and adapters are generated classes, so the policy
+ * is resolved once through {@link ServiceLoader} rather than injected, as {@link
+ * org.pipelineframework.id.IdGenerators} does for ids. When no provider is registered, a {@link
+ * DefaultRetryPolicy} is built from the {@code pipeline.retry.*} rules. The budget is built from
+ * {@code pipeline.retry.budget-*}; a {@code budget-ratio} of 0 turns it off.
+ */
+public final class RetryPolicies {
+
+    private static final Logger LOG = Logger.getLogger(RetryPolicies.class);
+
+    private static final String PREFIX = "pipeline.retry.";
+
+    private static volatile RetryPolicy policy;
+    private static volatile RetryBudget budget;
+
+    private RetryPolicies() {
+    }
+
+    /**
+     * Whether a step should retry after the given failure: the policy must deem it retryable and
+     * the budget must have a retry left. A retry is only taken from the budget when the policy
+     * allows it.
+     *
+     * @param failure the failure of the last attempt
+     * @return true if the step should retry
+     */
+    public static boolean shouldRetry(Throwable failure) {
+        return get().isRetryable(failure) && budget().tryAcquireRetry();
+    }
+
+    /**
+     * The retry predicate of one retry loop of at most {@code retryLimit} retries.
+     *
+     * <p>Mutiny tests the predicate once more on the failure that exhausts the retries, although
+     * that failure is not retried. The predicate counts the failures it sees and answers false from
+     * then on without consulting the budget, so that only retries that are actually made take a
+     * retry from it. Create one per retry loop, e.g. per call or per batch.
+     *
+     * @param retryLimit the retry limit the loop is configured with
+     * @return a predicate for {@code onFailure(...)} ahead of {@code retry()}
+     */
+    public static Predicate<Throwable> retryPredicate(int retryLimit) {
+        AtomicInteger failures = new AtomicInteger();
+        return failure -> failures.incrementAndGet() <= retryLimit && shouldRetry(failure);
+    }
+
+    /** Records a first attempt of a step, earning credit in the retry budget. */
+    public static void recordRequest() {
+        budget().recordRequest();
+    }
+
+    /**
+     * Get the configured policy.
+     *
+     * @return the policy in use
+     */
+    public static RetryPolicy get() {
+        RetryPolicy current = policy;
+        if (current == null) {
+            synchronized (RetryPolicies.class) {
+                current = policy;
+                if (current == null) {
+                    current = loadPolicy();
+                    policy = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replace the configured policy, e.g. for tests.
+     *
+     * @param retryPolicy the policy to use from now on; must not be null
+     */
+    public static void set(RetryPolicy retryPolicy) {
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("retryPolicy must not be null");
+        }
+        policy = retryPolicy;
+    }
+
+    /**
+     * Get the pipeline-wide retry budget.
+     *
+     * @return the budget in use
+     */
+    public static RetryBudget budget() {
+        RetryBudget current = budget;
+        if (current == null) {
+            synchronized (RetryPolicies.class) {
+                current = budget;
+                if (current == null) {
+                    current = loadBudget();
+                    budget = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replace the pipeline-wide retry budget, e.g. for tests.
+     *
+     * @param retryBudget the budget to use from now on; must not be null
+     */
+    public static void setBudget(RetryBudget retryBudget) {
+        if (retryBudget == null) {
+            throw new IllegalArgumentException("retryBudget must not be null");
+        }
+        budget = retryBudget;
+    }
+
+    private static RetryPolicy loadPolicy() {
+        try {
+            Iterator<RetryPolicy> providers =
+                ServiceLoader.load(RetryPolicy.class, RetryPolicies.class.getClassLoader()).iterator();
+            if (providers.hasNext()) {
+                RetryPolicy provider = providers.next();
+                LOG.debugf("Using retry policy %s", provider.getClass().getName());
+                return provider;
+            }
+        } catch (java.util.ServiceConfigurationError e) {
+            LOG.warnf(e, "Failed to load RetryPolicy provider, falling back to the default rules");
+        }
+        Config config = config();
+        if (config == null) {
+            return new DefaultRetryPolicy();
+        }
+        return new DefaultRetryPolicy(
+            values(config, "retryable-statuses", DefaultRetryPolicy.RETRYABLE_STATUSES),
+            values(config, "non-retryable-statuses", DefaultRetryPolicy.NON_RETRYABLE_STATUSES),
+            values(config, "retryable-exceptions", DefaultRetryPolicy.RETRYABLE_EXCEPTIONS),
+            values(config, "non-retryable-exceptions", DefaultRetryPolicy.NON_RETRYABLE_EXCEPTIONS),
+            values(config, "retryable-sql-states", DefaultRetryPolicy.RETRYABLE_SQL_STATES),
+            values(config, "transient-messages", DefaultRetryPolicy.TRANSIENT_MESSAGES));
+    }
+
+    private static RetryBudget loadBudget() {
+        Config config = config();
+        double ratio = config == null ? 0.1
+            : config.getOptionalValue(PREFIX + "budget-ratio", Double.class).orElse(0.1);
+        if (ratio == 0) {
+            LOG.debug("Retry budget disabled");
+            return RetryBudget.unlimited();
+        }
+        int minPerSecond = config == null ? 10
+            : config.getOptionalValue(PREFIX + "budget-min-retries-per-second", Integer.class).orElse(10);
+        long windowMs = config == null ? 10000
+            : config.getOptionalValue(PREFIX + "budget-window-ms", Long.class).orElse(10000L);
+        return new RetryBudget(ratio, minPerSecond, Duration.ofMillis(windowMs), Metrics.globalRegistry);
+    }
+
+    private static List<String> values(Config config, String key, List<String> defaults) {
+        return config.getOptionalValues(PREFIX + key, String.class).orElse(defaults);
+    }
+
+    private static Config config() {
+        try {
+            return ConfigProvider.getConfig();
+        } catch (RuntimeException e) {
+            LOG.debug("No configuration available, using the default retry rules", e);
+            return null;
+        }
+    }
+}
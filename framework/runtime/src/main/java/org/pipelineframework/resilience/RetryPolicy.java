@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+/**
+ * Decides whether a failure is worth retrying.
+ *
+ * <p>Steps retry every failure that is not classified {@link Classification#PERMANENT}, while
+ * service adapters only retry persistence failures classified {@link Classification#TRANSIENT}.
+ * The policy in use is resolved by {@link RetryPolicies}: the first provider listed in {@code
+ * META-INF/services/org.pipelineframework.resilience.RetryPolicy} wins, otherwise {@link
+ * DefaultRetryPolicy} applies the {@code pipeline.retry.*} rules.
+ *
+ * <p>Implementations are called on every failure and must be thread-safe.
+ */
+public interface RetryPolicy {
+
+    /** How a failure is expected to behave when the call is repeated. */
+    enum Classification {
+        /** The failure is expected to go away, e.g. a dropped connection or an overloaded service. */
+        TRANSIENT,
+        /** Repeating the call fails the same way, e.g. an invalid request. */
+        PERMANENT,
+        /** No rule matched the failure. */
+        UNKNOWN
+    }
+
+    /**
+     * Classifies a failure.
+     *
+     * @param failure the failure of the last attempt
+     * @return the classification; never null
+     */
+    Classification classify(Throwable failure);
+
+    /**
+     * Whether a step should retry after the given failure.
+     *
+     * @param failure the failure of the last attempt
+     * @return true unless the failure is classified {@link Classification#PERMANENT}
+     */
+    default boolean isRetryable(Throwable failure) {
+        return classify(failure) != Classification.PERMANENT;
+    }
+
+    /**
+     * Whether the given failure is known to be transient.
+     *
+     * @param failure the failure of the last attempt
+     * @return true only if the failure is classified {@link Classification#TRANSIENT}
+     */
+    default boolean isTransient(Throwable failure) {
+        return classify(failure) == Classification.TRANSIENT;
+    }
+}
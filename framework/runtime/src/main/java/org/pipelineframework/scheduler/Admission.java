@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.scheduler;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.util.function.Supplier;
+
+/**
+ * Admits the calls a run makes to a step.
+ *
+ * <p>A call is made once it is admitted, and holds its place until it terminates, including any
+ * retries the step makes. Cancelling a call that is waiting withdraws it.
+ */
+public interface Admission {
+
+    /** Admits every call at once. */
+    Admission DIRECT =
+            new Admission() {
+                @Override
+                public <T> Uni<T> call(Supplier<Uni<T>> call) {
+                    return call.get();
+                }
+
+                @Override
+                public <T> Multi<T> stream(Supplier<Multi<T>> stream) {
+                    return stream.get();
+                }
+            };
+
+    /**
+     * Makes a call once it is admitted.
+     *
+     * @param call creates the call
+     * @param <T> the result type
+     * @return the result of the call
+     */
+    <T> Uni<T> call(Supplier<Uni<T>> call);
+
+    /**
+     * Makes a streaming call once it is admitted. The stream holds its place until it terminates.
+     *
+     * @param stream creates the stream
+     * @param <T> the item type
+     * @return the items of the stream
+     */
+    <T> Multi<T> stream(Supplier<Multi<T>> stream);
+}
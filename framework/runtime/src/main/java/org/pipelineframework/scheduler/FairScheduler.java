@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.arc.Unremovable;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import org.pipelineframework.config.PipelineStepConfig;
+
+/**
+ * Shares the capacity of steps between the runs going on at the same time, so that a large run
+ * cannot starve the small runs started after it.
+ *
+ * <p>A step with a capacity, set by {@code pipeline.scheduler.step-capacity} or for one step by
+ * {@code pipeline.scheduler.capacity."<step class>"}, has at most that many calls in flight across
+ * all runs. Calls waiting for a slot are granted to the run of the highest {@linkplain
+ * RunShare#priority() priority} first, and among runs of the same priority in proportion to their
+ * {@linkplain RunShare#weight() weights}, by weighted fair queuing. Steps without a capacity are
+ * not scheduled.
+ *
+ * <p>The calls of each run to each scheduled step are published as metrics tagged with the step
+ * and run: the {@code pipeline.scheduler.granted} counter, the {@code pipeline.scheduler.in.flight}
+ * and {@code pipeline.scheduler.queued} gauges, and the {@code pipeline.scheduler.share} gauge, the
+ * fraction of the step's calls in flight that belong to the run. They are removed when the run
+ * leaves.
+ */
+@ApplicationScoped
+@Unremovable
+public class FairScheduler {
+
+    /** Step capacities. */
+    @Inject PipelineStepConfig pipelineStepConfig;
+
+    MeterRegistry registry = Metrics.globalRegistry;
+
+    private final Map<String, StepQueue> queues = new ConcurrentHashMap<>();
+    private ToIntFunction<String> capacities = step -> 0;
+
+    /** Default constructor for FairScheduler. */
+    public FairScheduler() {}
+
+    /**
+     * Creates a scheduler with the given step capacities.
+     *
+     * @param capacities the capacity of each step by name; 0 for no limit
+     * @param registry the registry of the scheduler metrics
+     */
+    FairScheduler(ToIntFunction<String> capacities, MeterRegistry registry) {
+        this.capacities = capacities;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    void init() {
+        PipelineStepConfig.SchedulerConfig config = pipelineStepConfig.scheduler();
+        int defaultCapacity = config.stepCapacity();
+        Map<String, Integer> overrides = config.capacity();
+        capacities = step -> overrides.getOrDefault(step, defaultCapacity);
+    }
+
+    /**
+     * Whether any step is scheduled.
+     *
+     * @return false if no step has a capacity, so that runs need not join
+     */
+    public boolean enabled() {
+        if (pipelineStepConfig == null) {
+            return true;
+        }
+        PipelineStepConfig.SchedulerConfig config = pipelineStepConfig.scheduler();
+        return config.stepCapacity() > 0
+                || config.capacity().values().stream().anyMatch(capacity -> capacity > 0);
+    }
+
+    /**
+     * Adds a run to the scheduler.
+     *
+     * @param runId the id of the run
+     * @param share the share of the run
+     * @return the run in the scheduler, to leave once the run terminates
+     */
+    public ScheduledRun join(String runId, RunShare share) {
+        return new ScheduledRun(this, runId, share);
+    }
+
+    /**
+     * The share of a step's calls in flight that each run has.
+     *
+     * @param stepName the name of the step
+     * @return the fraction of the step's calls in flight by run id; empty if the step is not
+     *     scheduled
+     */
+    public Map<String, Double> shares(String stepName) {
+        return Optional.ofNullable(queues.get(stepName)).map(StepQueue::shares).orElse(Map.of());
+    }
+
+    /**
+     * Returns the queue of a step.
+     *
+     * @param stepName the name of the step
+     * @return the queue, or null if the step has no capacity limit
+     */
+    StepQueue queue(String stepName) {
+        int capacity = capacities.applyAsInt(stepName);
+        if (capacity <= 0) {
+            return null;
+        }
+        return queues.computeIfAbsent(stepName, name -> new StepQueue(name, capacity, registry));
+    }
+}
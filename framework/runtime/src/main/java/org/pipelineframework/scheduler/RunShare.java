@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.scheduler;
+
+/**
+ * How a run shares step capacity with the other runs.
+ *
+ * <p>Calls of a run with a higher priority are granted before calls of runs with a lower one.
+ * Among runs of the same priority, a step grants its calls in proportion to the weights of the
+ * runs waiting for it: a run of weight 3 gets three calls for every call of a run of weight 1.
+ *
+ * @param priority the priority of the run; higher goes first
+ * @param weight the weight of the run among runs of the same priority; must be positive
+ */
+public record RunShare(int priority, double weight) {
+
+    /** The share of runs that do not ask for one: priority 0 and weight 1. */
+    public static final RunShare DEFAULT = new RunShare(0, 1.0);
+
+    /** Validates the weight. */
+    public RunShare {
+        if (!(weight > 0) || Double.isInfinite(weight)) {
+            throw new IllegalArgumentException("Run weight must be positive: " + weight);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A run taking part in the {@link FairScheduler}: the admission of its calls to each step.
+ *
+ * <p>The run must {@linkplain #leave() leave} the scheduler once it terminates.
+ */
+public final class ScheduledRun {
+
+    private final FairScheduler scheduler;
+    private final String runId;
+    private final RunShare share;
+    private final List<StepQueue.Flow> flows = new ArrayList<>();
+    private boolean left;
+
+    ScheduledRun(FairScheduler scheduler, String runId, RunShare share) {
+        this.scheduler = scheduler;
+        this.runId = runId;
+        this.share = share;
+    }
+
+    /**
+     * The id of the run.
+     *
+     * @return the run id
+     */
+    public String runId() {
+        return runId;
+    }
+
+    /**
+     * The share of the run.
+     *
+     * @return the priority and weight of the run
+     */
+    public RunShare share() {
+        return share;
+    }
+
+    /**
+     * Returns the admission of the run's calls to a step.
+     *
+     * @param stepName the {@linkplain org.pipelineframework.dlq.DeadLetters#stepName(Class) name}
+     *     of the step
+     * @return the admission, or {@link Admission#DIRECT} if the step has no capacity limit
+     */
+    public synchronized Admission admission(String stepName) {
+        if (left) {
+            throw new IllegalStateException("Run " + runId + " has left the scheduler");
+        }
+        StepQueue queue = scheduler.queue(stepName);
+        if (queue == null) {
+            return Admission.DIRECT;
+        }
+        StepQueue.Flow flow = queue.join(runId, share);
+        flows.add(flow);
+        return flow;
+    }
+
+    /** Leaves the scheduler, withdrawing the calls still waiting and removing the run's metrics. */
+    public void leave() {
+        List<StepQueue.Flow> joined;
+        synchronized (this) {
+            if (left) {
+                return;
+            }
+            left = true;
+            joined = List.copyOf(flows);
+            flows.clear();
+        }
+        joined.forEach(StepQueue.Flow::leave);
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+
+/**
+ * The calls in flight to one step, and the calls waiting for one of its slots, across all runs.
+ *
+ * <p>Waiting calls are granted by weighted fair queuing. Each call is tagged with a virtual finish
+ * time when it asks for a slot: it starts at the later of the step's virtual time and the finish
+ * time of the previous call of its run, and lasts {@code 1 / weight}. Free slots go to the waiting
+ * call of the highest priority with the earliest finish time, and the step's virtual time advances
+ * to the start of each call it grants. A run asking for many calls at once therefore gets them
+ * spread out in virtual time, and a run arriving later is served from the current virtual time
+ * rather than behind them.
+ */
+final class StepQueue {
+
+    private static final Comparator<Waiter> ORDER =
+            Comparator.<Waiter>comparingInt(waiter -> -waiter.flow.share.priority())
+                    .thenComparingDouble(waiter -> waiter.finish)
+                    .thenComparingLong(waiter -> waiter.sequence);
+
+    private final String step;
+    private final int capacity;
+    private final MeterRegistry registry;
+    private final PriorityQueue<Waiter> waiting = new PriorityQueue<>(ORDER);
+    private final Map<String, Flow> flows = new LinkedHashMap<>();
+    private int inFlight;
+    private double virtualTime;
+    private long sequence;
+
+    StepQueue(String step, int capacity, MeterRegistry registry) {
+        this.step = step;
+        this.capacity = capacity;
+        this.registry = registry;
+    }
+
+    /**
+     * Adds a run to the step.
+     *
+     * @param runId the id of the run
+     * @param share the share of the run
+     * @return the admission of the run's calls to the step
+     */
+    synchronized Flow join(String runId, RunShare share) {
+        Flow flow = new Flow(runId, share);
+        Flow previous = flows.put(runId, flow);
+        if (previous != null) {
+            previous.removeMeters();
+        }
+        return flow;
+    }
+
+    /**
+     * Removes a run from the step, withdrawing any calls it still has waiting.
+     *
+     * @param flow the admission returned when the run joined
+     */
+    void leave(Flow flow) {
+        List<Waiter> granted;
+        synchronized (this) {
+            waiting.removeIf(waiter -> waiter.flow == flow);
+            flow.queued = 0;
+            flows.remove(flow.runId, flow);
+            granted = grantWaiting();
+        }
+        flow.removeMeters();
+        granted.forEach(Waiter::admit);
+    }
+
+    /**
+     * The share of the step's calls in flight that each run has.
+     *
+     * @return the fraction of the calls in flight by run id
+     */
+    synchronized Map<String, Double> shares() {
+        Map<String, Double> shares = new LinkedHashMap<>();
+        flows.values().forEach(flow -> shares.put(flow.runId, share(flow)));
+        return shares;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+
+    private synchronized double share(Flow flow) {
+        return inFlight == 0 ? 0 : (double) flow.inFlight / inFlight;
+    }
+
+    private boolean request(Waiter waiter) {
+        synchronized (this) {
+            Flow flow = waiter.flow;
+            double start = Math.max(virtualTime, flow.lastFinish);
+            waiter.start = start;
+            waiter.finish = start + 1 / flow.share.weight();
+            waiter.sequence = sequence++;
+            flow.lastFinish = waiter.finish;
+            if (inFlight < capacity && waiting.isEmpty()) {
+                grant(waiter);
+                return true;
+            }
+            waiter.state = State.QUEUED;
+            waiting.add(waiter);
+            flow.queued++;
+            return false;
+        }
+    }
+
+    private void release(Waiter waiter) {
+        List<Waiter> granted;
+        synchronized (this) {
+            State state = waiter.state;
+            waiter.state = State.RELEASED;
+            switch (state) {
+                case QUEUED -> {
+                    if (waiting.remove(waiter)) {
+                        waiter.flow.queued--;
+                    }
+                    return;
+                }
+                case GRANTED -> {
+                    inFlight--;
+                    waiter.flow.inFlight--;
+                }
+                default -> {
+                    return;
+                }
+            }
+            granted = grantWaiting();
+        }
+        granted.forEach(Waiter::admit);
+    }
+
+    private List<Waiter> grantWaiting() {
+        List<Waiter> granted = new ArrayList<>();
+        while (inFlight < capacity && !waiting.isEmpty()) {
+            Waiter waiter = waiting.poll();
+            waiter.flow.queued--;
+            grant(waiter);
+            granted.add(waiter);
+        }
+        return granted;
+    }
+
+    private void grant(Waiter waiter) {
+        waiter.state = State.GRANTED;
+        inFlight++;
+        waiter.flow.inFlight++;
+        waiter.flow.granted.increment();
+        virtualTime = Math.max(virtualTime, waiter.start);
+    }
+
+    private enum State {
+        NEW,
+        QUEUED,
+        GRANTED,
+        RELEASED
+    }
+
+    /** A call asking for a slot of the step. Its state is guarded by the step. */
+    private static final class Waiter {
+
+        final Flow flow;
+        State state = State.NEW;
+        double start;
+        double finish;
+        long sequence;
+        UniEmitter<? super Void> emitter;
+
+        Waiter(Flow flow) {
+            this.flow = flow;
+        }
+
+        void admit() {
+            emitter.complete(null);
+        }
+    }
+
+    /** The calls of one run to the step. Its counts are guarded by the step. */
+    final class Flow implements Admission {
+
+        final String runId;
+        final RunShare share;
+        final Counter granted;
+        private final List<Meter> meters = new ArrayList<>();
+        double lastFinish;
+        volatile int inFlight;
+        volatile int queued;
+
+        Flow(String runId, RunShare share) {
+            this.runId = runId;
+            this.share = share;
+            this.granted =
+                    Counter.builder("pipeline.scheduler.granted")
+                            .tag("step", step)
+                            .tag("run", runId)
+                            .register(registry);
+            meters.add(granted);
+            meters.add(
+                    Gauge.builder("pipeline.scheduler.in.flight", this, flow -> flow.inFlight)
+                            .tag("step", step)
+                            .tag("run", runId)
+                            .register(registry));
+            meters.add(
+                    Gauge.builder("pipeline.scheduler.queued", this, flow -> flow.queued)
+                            .tag("step", step)
+                            .tag("run", runId)
+                            .register(registry));
+            meters.add(
+                    Gauge.builder("pipeline.scheduler.share", this, StepQueue.this::share)
+                            .tag("step", step)
+                            .tag("run", runId)
+                            .register(registry));
+        }
+
+        @Override
+        public <T> Uni<T> call(Supplier<Uni<T>> call) {
+            return Uni.createFrom()
+                    .deferred(
+                            () -> {
+                                Waiter waiter = new Waiter(this);
+                                return acquire(waiter)
+                                        .chain(call::get)
+                                        .onTermination()
+                                        .invoke(() -> release(waiter));
+                            });
+        }
+
+        @Override
+        public <T> Multi<T> stream(Supplier<Multi<T>> stream) {
+            return Multi.createFrom()
+                    .deferred(
+                            () -> {
+                                Waiter waiter = new Waiter(this);
+                                return acquire(waiter)
+                                        .onItem()
+                                        .transformToMulti(ignored -> stream.get())
+                                        .onTermination()
+                                        .invoke(() -> release(waiter));
+                            });
+        }
+
+        private Uni<Void> acquire(Waiter waiter) {
+            return Uni.createFrom()
+                    .emitter(
+                            emitter -> {
+                                waiter.emitter = emitter;
+                                if (request(waiter)) {
+                                    emitter.complete(null);
+                                }
+                            });
+        }
+
+        /** Removes the run from the step. */
+        void leave() {
+            StepQueue.this.leave(this);
+        }
+
+        private void removeMeters() {
+            meters.forEach(registry::remove);
+        }
+    }
+}
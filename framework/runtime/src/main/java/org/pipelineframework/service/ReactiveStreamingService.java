@@ -21,6 +21,10 @@ import io.smallrye.mutiny.Multi;
 /**
  * Interface for reactive streaming services that process a single input and return a stream of outputs.
  *
+ * <p>The stream for a given input is expected to be deterministic, so that the position of an
+ * output in it identifies that output. A client that loses the stream part way through resumes it
+ * with {@link #process(Object, long)}, passing the number of outputs it already received.
+ *
  * @param <T> the input type
  * @param <S> the output type
  */
@@ -32,4 +36,20 @@ public interface ReactiveStreamingService<T, S> {
    * @return a Multi stream of output objects
    */
   Multi<S> process(T processableObj);
+
+  /**
+   * Process a single input object and return the stream of output objects from the given position
+   * on, skipping the first {@code resumeFrom} outputs.
+   *
+   * <p>The default implementation produces the whole stream and drops the skipped outputs.
+   * Services that can seek in their source, such as a reader that can skip rows without mapping
+   * them, should override it.
+   *
+   * @param processableObj the input object to process
+   * @param resumeFrom the number of outputs to skip; 0 for the whole stream
+   * @return a Multi stream of the output objects after the first {@code resumeFrom}
+   */
+  default Multi<S> process(T processableObj, long resumeFrom) {
+    return resumeFrom > 0 ? process(processableObj).skip().first(resumeFrom) : process(processableObj);
+  }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.sink;
+
+import io.smallrye.mutiny.Uni;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Consumes the outputs of a run started with {@link
+ * org.pipelineframework.PipelineExecutionService#start(io.smallrye.mutiny.Multi, RunSink)}.
+ *
+ * <p>Outputs are handed to the sink one at a time as they arrive, and the next output is only
+ * requested once the sink has accepted the previous one, so a run never holds more outputs than its
+ * steps have in flight. The run itself counts the outputs and their size for its {@linkplain
+ * org.pipelineframework.RunSummary summary}, so a sink only needs to keep what it is for.
+ */
+@FunctionalInterface
+public interface RunSink {
+
+    /**
+     * Consumes one output of the run.
+     *
+     * @param item the output
+     * @return a Uni completing once the output is consumed; a failure fails the run
+     */
+    Uni<Void> accept(Object item);
+
+    /** Called once the run has completed successfully, after its last output. */
+    default void complete() {
+    }
+
+    /**
+     * A sink that discards every output; the run summary still counts them.
+     *
+     * @return the sink
+     */
+    static RunSink counting() {
+        return item -> Uni.createFrom().voidItem();
+    }
+
+    /**
+     * A sink that keeps a uniform random sample of the outputs.
+     *
+     * @param size the number of outputs to keep
+     * @return the sink, whose {@link SamplingSink#sample()} holds the sample
+     */
+    static SamplingSink sampling(int size) {
+        return new SamplingSink(size);
+    }
+
+    /**
+     * A sink that passes every output to a consumer, e.g. to write it to a file or a topic.
+     *
+     * @param consumer the consumer; it runs on the thread that emitted the output
+     * @return the sink
+     */
+    static RunSink of(Consumer<Object> consumer) {
+        Objects.requireNonNull(consumer, "consumer must not be null");
+        return item -> {
+            consumer.accept(item);
+            return Uni.createFrom().voidItem();
+        };
+    }
+
+    /**
+     * A sink that passes every output to an asynchronous terminal step. The next output is only
+     * requested once the step's Uni completes.
+     *
+     * @param step the terminal step
+     * @return the sink
+     */
+    static RunSink ofStep(Function<Object, Uni<?>> step) {
+        Objects.requireNonNull(step, "step must not be null");
+        return item -> step.apply(item).replaceWithVoid();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.sink;
+
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps a uniform random sample of a run's outputs, using reservoir sampling: every output has the
+ * same chance of being in the sample, whatever the number of outputs, and memory stays bounded by
+ * the sample size.
+ */
+public final class SamplingSink implements RunSink {
+
+    private final Object[] reservoir;
+    private long seen;
+
+    /**
+     * Creates a sink keeping up to {@code size} outputs.
+     *
+     * @param size the sample size
+     * @throws IllegalArgumentException if size is not positive
+     */
+    SamplingSink(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.reservoir = new Object[size];
+    }
+
+    @Override
+    public synchronized Uni<Void> accept(Object item) {
+        if (seen < reservoir.length) {
+            reservoir[(int) seen] = item;
+        } else {
+            long slot = ThreadLocalRandom.current().nextLong(seen + 1);
+            if (slot < reservoir.length) {
+                reservoir[(int) slot] = item;
+            }
+        }
+        seen++;
+        return Uni.createFrom().voidItem();
+    }
+
+    /**
+     * The outputs sampled so far.
+     *
+     * @return a copy of the sample, in no particular order
+     */
+    public synchronized List<Object> sample() {
+        List<Object> sample = new ArrayList<>(reservoir.length);
+        for (int i = 0; i < Math.min(seen, reservoir.length); i++) {
+            sample.add(reservoir[i]);
+        }
+        return sample;
+    }
+
+    /**
+     * The number of outputs the sample was drawn from.
+     *
+     * @return the number of outputs seen
+     */
+    public synchronized long seen() {
+        return seen;
+    }
+}
@@ -71,7 +71,21 @@ public class ConfigFactory {
             result = result.maxBackoff(java.time.Duration.ofMillis(classConfig.maxBackoff()));
             result = result.jitter(classConfig.jitter());
             result = result.backpressureBufferCapacity(classConfig.backpressureBufferCapacity());
+            result = result.backpressureBufferMinCapacity(classConfig.backpressureBufferMinCapacity());
             result = result.backpressureStrategy(classConfig.backpressureStrategy());
+            result = result.transport(classConfig.transport());
+            result = result.streamBatchSize(classConfig.streamBatchSize());
+            result = result.circuitBreakerFailureRate(classConfig.circuitBreakerFailureRate());
+            result = result.circuitBreakerSlowCall(java.time.Duration.ofMillis(classConfig.circuitBreakerSlowCallMs()));
+            result = result.circuitBreakerWindowSize(classConfig.circuitBreakerWindowSize());
+            result = result.circuitBreakerOpenDuration(java.time.Duration.ofMillis(classConfig.circuitBreakerOpenMs()));
+            result = result.circuitBreakerHalfOpenCalls(classConfig.circuitBreakerHalfOpenCalls());
+            result = result.circuitBreakerDeadLetter(classConfig.circuitBreakerDeadLetter());
+            result = result.hedge(classConfig.hedge());
+            result = result.hedgeDelay(java.time.Duration.ofMillis(classConfig.hedgeDelayMs()));
+            result = result.hedgeMaxPercent(classConfig.hedgeMaxPercent());
+            result = result.timeout(java.time.Duration.ofMillis(classConfig.timeoutMs()));
+            result = result.replayLogCapacity(classConfig.replayLogCapacity());
             return result;
         } else {
             // Use the PipelineConfig's newStepConfig which contains properly initialized defaults
@@ -16,6 +16,7 @@
 
 package org.pipelineframework.step;
 
+import io.grpc.Deadline;
 import java.time.Duration;
 import org.pipelineframework.config.StepConfig;
 
@@ -67,6 +68,12 @@ default boolean jitter() { return effectiveConfig().jitter(); }
  */
 default int backpressureBufferCapacity() { return effectiveConfig().backpressureBufferCapacity(); }
     /**
+ * Provides the smallest capacity the ADAPTIVE backpressure buffer shrinks to.
+ *
+ * @return the minimum number of items the adaptive backpressure buffer holds
+ */
+default int backpressureBufferMinCapacity() { return effectiveConfig().backpressureBufferMinCapacity(); }
+    /**
  * Get the configured backpressure strategy for the step.
  *
  * @return the backpressure strategy name from the effective configuration
@@ -78,6 +85,42 @@ default String backpressureStrategy() { return effectiveConfig().backpressureStr
  * @return `true` if the step should run in parallel, `false` otherwise.
  */
 default boolean parallel() { return effectiveConfig().parallel(); }
+    /**
+ * Get the transport generated client steps use to call their service.
+ *
+ * @return the transport name ("UNARY" or "STREAM") from the effective configuration
+ */
+default String transport() { return effectiveConfig().transport(); }
+    /**
+ * Number of items sent over one multiplexed stream before a new one is opened.
+ *
+ * @return the items per stream, or 0 to keep one stream for the whole run
+ */
+default int streamBatchSize() { return effectiveConfig().streamBatchSize(); }
+    /**
+ * Indicates whether items rejected by an open circuit breaker go to the dead letter queue.
+ *
+ * @return `true` if short-circuited items are dead-lettered, `false` otherwise.
+ */
+default boolean circuitBreakerDeadLetter() { return effectiveConfig().circuitBreakerDeadLetter(); }
+    /**
+ * Longest the step waits for a result, per attempt or between streamed items.
+ *
+ * @return the step timeout, or zero if the step waits indefinitely
+ */
+default Duration timeout() { return effectiveConfig().timeout(); }
+    /**
+ * Number of unacknowledged inputs kept so that a retry resumes the input instead of re-reading it.
+ *
+ * @return the replay log capacity, or zero if replay is disabled
+ */
+default int replayLogCapacity() { return effectiveConfig().replayLogCapacity(); }
+    /**
+ * Deadline of the pipeline run the step is part of; no call is made once it has passed.
+ *
+ * @return the run deadline, or null if the run has none
+ */
+default Deadline runDeadline() { return null; }
 
     /**
  * Initialises the implementing object using the provided step configuration.
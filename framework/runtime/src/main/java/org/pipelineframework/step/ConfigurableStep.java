@@ -16,7 +16,13 @@
 
 package org.pipelineframework.step;
 
+import io.grpc.Deadline;
+import io.grpc.stub.AbstractStub;
 import org.pipelineframework.config.StepConfig;
+import org.pipelineframework.grpc.StreamResume;
+import org.pipelineframework.resilience.CircuitBreaker;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.Hedging;
 
 /**
  * Base class for configurable pipeline steps that use StepConfig
@@ -26,6 +32,12 @@ public abstract class ConfigurableStep implements Configurable {
 
     StepConfig config = null;
 
+    private volatile CircuitBreaker circuitBreaker;
+
+    private volatile Hedging hedging;
+
+    private volatile Deadline runDeadline;
+
     /**
      * Default constructor for ConfigurableStep.
      */
@@ -71,6 +83,103 @@ public abstract class ConfigurableStep implements Configurable {
         // Default implementation - subclasses should override if they need specific initialization
         if (config != null) {
             this.config = config; // Update the internal config reference
+            this.circuitBreaker = null;
+            this.hedging = null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Obtain the circuit breaker guarding this step's calls, created on first use from the effective configuration.
+     *
+     * @return the step's circuit breaker; one that lets every call through if none is configured
+     */
+    public CircuitBreaker circuitBreaker() {
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker == null) {
+            synchronized (this) {
+                breaker = circuitBreaker;
+                if (breaker == null) {
+                    breaker = CircuitBreaker.of(getClass().getSimpleName(), effectiveConfig());
+                    circuitBreaker = breaker;
+                }
+            }
+        }
+        return breaker;
+    }
+
+    /**
+     * Obtain the hedging policy for this step's calls, created on first use from the effective configuration.
+     *
+     * @return the step's hedging policy; one that makes every call once if hedging is not enabled
+     */
+    public Hedging hedging() {
+        Hedging policy = hedging;
+        if (policy == null) {
+            synchronized (this) {
+                policy = hedging;
+                if (policy == null) {
+                    policy = Hedging.of(getClass().getSimpleName(), effectiveConfig());
+                    hedging = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Obtain the deadline of the pipeline run this step is part of.
+     *
+     * @return the run deadline, or null if the run has none
+     */
+    @Override
+    public Deadline runDeadline() {
+        return runDeadline;
+    }
+
+    /**
+     * Set the deadline of the pipeline run this step is part of; called by the pipeline runner
+     * before the step is applied.
+     *
+     * @param runDeadline the run deadline, or null if the run has none
+     */
+    public void runDeadline(Deadline runDeadline) {
+        this.runDeadline = runDeadline;
+    }
+
+    /**
+     * Set the deadline of a unary call about to be made through the given stub: the step timeout
+     * or the time left until the run deadline, whichever is shorter.
+     *
+     * @param stub the client stub
+     * @param <S> the stub type
+     * @return a stub with the deadline set, or {@code stub} itself if the call is not limited
+     */
+    protected <S extends AbstractStub<S>> S withCallDeadline(S stub) {
+        return Deadlines.withDeadline(stub, timeout(), runDeadline);
+    }
+
+    /**
+     * Set the deadline of a streaming call about to be made through the given stub to the run
+     * deadline. The step timeout bounds the wait between items instead, and is applied by the step.
+     *
+     * @param stub the client stub
+     * @param <S> the stub type
+     * @return a stub with the deadline set, or {@code stub} itself if the run has no deadline
+     */
+    protected <S extends AbstractStub<S>> S withRunDeadline(S stub) {
+        return Deadlines.withDeadline(stub, null, runDeadline);
+    }
+
+    /**
+     * Ask the server to resume a streaming call made through the given stub after the outputs
+     * already received, as set by {@link StepOneToMany#applyOneToMany(Object, long)}.
+     *
+     * @param stub the client stub
+     * @param position the number of outputs already received
+     * @param <S> the stub type
+     * @return a stub sending the resume position, or {@code stub} itself if the position is 0
+     */
+    protected <S extends AbstractStub<S>> S withResumeFrom(S stub, long position) {
+        return StreamResume.withResumeFrom(stub, position);
+    }
+}
@@ -17,7 +17,9 @@
 package org.pipelineframework.step;
 
 import io.smallrye.mutiny.Uni;
+import java.util.Collections;
 import org.jboss.logging.Logger;
+import org.pipelineframework.dlq.DeadLetters;
 
 /**
  * Interface for pipeline steps that support dead letter queue functionality.
@@ -34,7 +36,8 @@ public interface DeadLetterQueue<I, O> {
      * Record a failed item to the dead-letter queue and produce a null output.
      *
      * Logs an error-level message containing the failed item (via its `toString`) and the failure cause,
-     * then returns a Uni that completes with a `null` item of type `O`.
+     * records the item to the {@link DeadLetters#store() dead-letter store}, then returns a Uni that completes
+     * with a `null` item of type `O` once the item is stored. A failed `failedItem` records the cause alone.
      *
      * @param failedItem the failed input wrapped in a Uni; its `toString` is included in the log
      * @param cause the throwable that caused the failure
@@ -42,6 +45,12 @@ public interface DeadLetterQueue<I, O> {
      */
     default Uni<O> deadLetter(Uni<I> failedItem, Throwable cause) {
         LOG.errorf("DLQ drop: item=%s cause=%s", failedItem.toString(), cause);
-        return io.smallrye.mutiny.Uni.createFrom().nullItem();
+        // Read the attempts now, while still within the step's scope
+        int attempts = DeadLetters.attempts();
+        return failedItem
+            .onFailure().recoverWithNull()
+            .onItem().transformToUni(item ->
+                DeadLetters.recordInRun(this, null, Collections.singletonList(item), cause, attempts))
+            .onItem().transform(ignored -> null);
     }
 }
\ No newline at end of file
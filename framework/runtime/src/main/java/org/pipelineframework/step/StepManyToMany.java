@@ -17,7 +17,12 @@
 package org.pipelineframework.step;
 
 import io.smallrye.mutiny.Multi;
+import java.util.function.Predicate;
 import org.jboss.logging.Logger;
+import org.pipelineframework.backpressure.Backpressure;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.ReplayLog;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.functional.ManyToMany;
 
 /**
@@ -35,31 +40,60 @@ public interface StepManyToMany<I, O> extends Configurable, ManyToMany<I, O>, De
      */
     Multi<O> applyTransform(Multi<I> input);
 
+    /**
+     * The number of inputs an output acknowledges when a replay log is configured: acknowledged inputs
+     * are not replayed when the step is retried.
+     *
+     * <p>The default suits steps that emit one output per input, in input order. Steps that emit
+     * several outputs per input return 0 for all but the last output of each input.
+     *
+     * @param output an output the step emitted downstream
+     * @return the number of inputs, counted from the oldest unacknowledged one, this output completes
+     */
+    default int acknowledgedInputs(O output) {
+        return 1;
+    }
+
 	/**
      * Apply the step's transformation to the given input stream and attach backpressure handling, per-item debug logging and retry/backoff behaviour.
      *
-     * <p>The resulting stream applies the configured overflow strategy, logs each emitted item at debug level, retries failures other than {@code NullPointerException}
+     * <p>The resulting stream applies the configured overflow strategy, logs each emitted item at debug level, retries failures that {@link RetryPolicies} deems retryable while the retry budget lasts
      * using the configured backoff, jitter and retry limit, and logs an informational message if all retries are exhausted.</p>
      *
+     * <p>Without a replay log, a retry subscribes to the input again. With {@link #replayLogCapacity()} set, the input
+     * is subscribed to once and kept in a {@link ReplayLog}: each output emitted downstream acknowledges
+     * {@link #acknowledgedInputs(Object)} inputs, and a retry replays only the unacknowledged inputs before resuming
+     * the input where it left off. Once the log has had to evict unacknowledged inputs, failures are not retried.</p>
+     *
      * @param input the upstream Multi of input items to be transformed
-     * @return a Multi emitting transformed output items with backpressure handling, per-item debug logging, and retry/backoff applied for failures (excluding {@code NullPointerException})
+     * @return a Multi emitting transformed output items with backpressure handling, per-item debug logging, and retry/backoff applied for retryable failures
      */
     @Override
     default Multi<O> apply(Multi<I> input) {
+        RetryPolicies.recordRequest();
+
+        int replayLogCapacity = replayLogCapacity();
+        if (replayLogCapacity <= 0) {
+            return transformWithRetries(input, null);
+        }
+        // Subscribe to the input once, and replay its unacknowledged items to each retry
+        return Multi.createFrom().deferred(() -> {
+            ReplayLog<I> log = new ReplayLog<>(input, replayLogCapacity);
+            return transformWithRetries(log.stream(), log)
+                .onTermination().invoke(log::close);
+        });
+    }
+
+    private Multi<O> transformWithRetries(Multi<I> input, ReplayLog<I> log) {
         final Logger LOG = Logger.getLogger(this.getClass());
+        Predicate<Throwable> retryable = RetryPolicies.retryPredicate(retryLimit());
 
-        // Apply the transformation
-        Multi<O> output = applyTransform(input);
+        // Apply the transformation, within the step timeout and run deadline
+        Multi<O> output = Deadlines.limit(applyTransform(input),
+            timeout(), runDeadline(), this.getClass().getSimpleName());
 
         // Apply overflow strategy
-        if ("buffer".equalsIgnoreCase(backpressureStrategy())) {
-            output = output.onOverflow().buffer(backpressureBufferCapacity());
-        } else if ("drop".equalsIgnoreCase(backpressureStrategy())) {
-            output = output.onOverflow().drop();
-        } else {
-            // default behavior - buffer with default capacity
-            output = output.onOverflow().buffer(128); // default buffer size
-        }
+        output = Backpressure.apply(output, this);
 
         return output.onItem().transform(item -> {
             if (LOG.isDebugEnabled()) {
@@ -68,9 +102,12 @@ public interface StepManyToMany<I, O> extends Configurable, ManyToMany<I, O>, De
                     this.getClass().getSimpleName(), item
                 );
             }
+            if (log != null) {
+                log.acknowledge(acknowledgedInputs(item));
+            }
             return item;
         })
-        .onFailure(t -> !(t instanceof NullPointerException)).retry()
+        .onFailure(failure -> (log == null || log.canReplay()) && retryable.test(failure)).retry()
         .withBackOff(retryWait(), maxBackoff())
         .withJitter(jitter() ? 0.5 : 0.0)
         .atMost(retryLimit())
@@ -83,4 +120,4 @@ public interface StepManyToMany<I, O> extends Configurable, ManyToMany<I, O>, De
             );
         });
     }
-}
\ No newline at end of file
+}
@@ -18,7 +18,18 @@ package org.pipelineframework.step;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import org.jboss.logging.Logger;
+import org.pipelineframework.backpressure.Backpressure;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.dlq.TruncatedStreamException;
+import org.pipelineframework.resilience.CircuitBreakerOpenException;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.ReplayLog;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.functional.ManyToOne;
 
 /**
@@ -32,12 +43,21 @@ public interface StepManyToOne<I, O> extends Configurable, ManyToOne<I, O>, Dead
     /** Logger for StepManyToOne operations. */
     Logger LOG = Logger.getLogger(StepManyToOne.class);
 
+    /** Number of items a dead-lettered stream is described by in the log. */
+    int DEAD_LETTER_SAMPLE_SIZE = 5;
+
     /**
      * Apply the step to a stream of inputs and produce a single aggregated output.
      *
      * <p>The method applies the configured backpressure strategy to the provided input stream,
-     * applies retry semantics on failures (excluding NullPointerException), and — if configured —
-     * recovers failed processing by delegating the collected stream to the dead-letter handler.
+     * retries failures that {@link RetryPolicies} deems retryable while the retry budget lasts, and — if configured —
+     * recovers failed processing by reporting the failed stream to {@link #deadLetterStream(List, long, Throwable)}.
+     * The items are counted, and the first few kept, as they pass, so the stream is not consumed again for the report.
+     *
+     * <p>Without a replay log, a retry subscribes to the input again. With {@link #replayLogCapacity()} set, the input
+     * is subscribed to once and kept in a {@link ReplayLog}, and a retry replays it instead. The reduction only
+     * acknowledges its inputs when it completes, so failures are retried only while the whole input received so far
+     * fits in the log.
      *
      * @param input the stream of inputs to be processed
      * @return a Uni that emits the step's single output; if retries are exhausted the Uni will
@@ -46,48 +66,57 @@ public interface StepManyToOne<I, O> extends Configurable, ManyToOne<I, O>, Dead
      */
     @Override
     default Uni<O> apply(Multi<I> input) {
-        
-        // Apply overflow strategy to the input if needed
-        Multi<I> backpressuredInput = input;
-        final String strategy = backpressureStrategy();
-        if ("buffer".equalsIgnoreCase(strategy)) {
-            backpressuredInput = backpressuredInput.onOverflow().buffer(backpressureBufferCapacity());
-        } else if ("drop".equalsIgnoreCase(strategy)) {
-            backpressuredInput = backpressuredInput.onOverflow().drop();
-        } else if (strategy == null || strategy.isBlank() || "default".equalsIgnoreCase(strategy)) {
-            // default behavior - buffer with default capacity
-            backpressuredInput = backpressuredInput.onOverflow().buffer(128); // default buffer size
-        } else {
-            LOG.warnf("Unknown backpressure strategy '%s', defaulting to buffer(128)", strategy);
-            backpressuredInput = backpressuredInput.onOverflow().buffer(128); // default buffer size
-        }
+        RetryPolicies.recordRequest();
 
-        final Multi<I> finalInput = backpressuredInput;
+        int replayLogCapacity = replayLogCapacity();
+        return Uni.createFrom().deferred(() -> {
+            ReplayLog<I> log = replayLogCapacity > 0 ? new ReplayLog<>(input, replayLogCapacity) : null;
+            StreamSample<I> sample = new StreamSample<>(deadLetterCapacity());
+            AtomicInteger attempts = new AtomicInteger();
+            Predicate<Throwable> retryable = RetryPolicies.retryPredicate(retryLimit());
 
-        return applyReduce(finalInput)
-            .onItem().invoke(resultValue -> {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debugf("Reactive Step %s processed stream into output: %s",
-                        this.getClass().getSimpleName(), resultValue);
-                }
-            })
-            .onFailure(t -> !(t instanceof NullPointerException))
-            .retry()
-            .withBackOff(retryWait(), maxBackoff())
-            .withJitter(jitter() ? 0.5 : 0.0)
-            .atMost(retryLimit())
-            .onFailure().recoverWithUni(error -> {
-                if (recoverOnFailure()) {
+            // Account for the items of each attempt as they pass, then apply overflow strategy to the input
+            Multi<I> attemptInput = (log != null ? log.stream() : input)
+                .onSubscription().invoke(() -> {
+                    attempts.incrementAndGet();
+                    sample.reset();
+                })
+                .onItem().invoke(sample::record);
+            final Multi<I> finalInput = Backpressure.apply(attemptInput, this);
+
+            // The step timeout bounds the wait for each input item, and the run deadline the reduction
+            return applyReduce(Deadlines.limit(finalInput, timeout(), runDeadline(), this.getClass().getSimpleName()))
+                .onItem().invoke(resultValue -> {
                     if (LOG.isDebugEnabled()) {
-                        LOG.debugf("Reactive Step %s: failed to process stream: %s",
-                            this.getClass().getSimpleName(), error.getMessage());
+                        LOG.debugf("Reactive Step %s processed stream into output: %s",
+                            this.getClass().getSimpleName(), resultValue);
                     }
+                })
+                .onFailure(failure -> (log == null || log.canReplay()) && retryable.test(failure))
+                .retry()
+                .withBackOff(retryWait(), maxBackoff())
+                .withJitter(jitter() ? 0.5 : 0.0)
+                .atMost(retryLimit())
+                .onFailure().recoverWithUni(error -> {
+                    if (recoverOnFailure()
+                        || (error instanceof CircuitBreakerOpenException && circuitBreakerDeadLetter())) {
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debugf("Reactive Step %s: failed to process stream: %s",
+                                this.getClass().getSimpleName(), error.getMessage());
+                        }
 
-                    return deadLetterStream(finalInput, error);
-                } else {
-                    return Uni.createFrom().failure(error);
-                }
-            });
+                        return DeadLetters.withAttempts(Math.max(attempts.get(), 1),
+                            () -> deadLetterStream(sample.items(), sample.count(), error));
+                    } else {
+                        return Uni.createFrom().failure(error);
+                    }
+                })
+                .onTermination().invoke(() -> {
+                    if (log != null) {
+                        log.close();
+                    }
+                });
+        });
     }
 
     /**
@@ -102,49 +131,70 @@ public interface StepManyToOne<I, O> extends Configurable, ManyToOne<I, O>, Dead
     /**
      * Handle a failed stream by sending it to a dead letter queue or similar mechanism reactively.
      *
+     * <p>This consumes the stream to count its items; {@link #apply(Multi)} reports the items it has already seen
+     * through {@link #deadLetterStream(List, long, Throwable)} instead.
+     *
      * @param input The input stream that failed to process
      * @param error The error that occurred
      * @return The result of dead letter handling as a Uni (can be null)
      */
     default Uni<O> deadLetterStream(Multi<I> input, Throwable error) {
         // Perform a single pass to collect a sample and count the total items
-        final int maxSampleSize = 5; // Only keep a few sample items to avoid memory issues
-
-        // Cache the items and count to handle both successful and failed streams
-        // If the input stream fails, we'll still return a successful result with zero count
         return input
             .collect().in(
-                // Supplier: Initialize the collection state with empty list and zero count
-                () -> new java.util.AbstractMap.SimpleEntry<>(new java.util.ArrayList<I>(), 0L),
-                // Accumulator: Add item to sample list if under maxSampleSize, increment count
-                (state, item) -> {
-                    java.util.List<I> sampleList = state.getKey();
-                    Long count = state.getValue();
-
-                    if (sampleList.size() < maxSampleSize) {
-                        sampleList.add(item);
-                    }
-                    state.setValue(count + 1);
-                }
+                () -> new StreamSample<I>(deadLetterCapacity()),
+                StreamSample::record
             )
             // If collecting the stream fails, recover with an empty state (no items, count 0)
             .onFailure().recoverWithItem(throwable -> {
                 LOG.debug("Stream failed during dead letter collection, returning empty state", throwable);
-                return new java.util.AbstractMap.SimpleEntry<>(new java.util.ArrayList<>(), 0L);
+                return new StreamSample<>(deadLetterCapacity());
             })
-            .onItem().transformToUni(state -> {
-                java.util.List<I> sampleList = state.getKey();
-                Long count = state.getValue();
+            .onItem().transformToUni(sample -> deadLetterStream(sample.items(), sample.count(), error));
+    }
+
+    /**
+     * Handle a failed stream from the items the step received before it failed.
+     *
+     * <p>The default implementation logs the failure and records the items to the
+     * {@link DeadLetters#store() dead-letter store} as one group, so that they are replayed together. At most
+     * {@code pipeline.dlq.max-stream-items} items are kept. A longer stream is recorded in part, with a
+     * {@link TruncatedStreamException} marker entry giving the number of items left out, and its group is not
+     * replayed.
+     *
+     * @param sample the first items of the stream, up to {@code pipeline.dlq.max-stream-items}
+     * @param count the number of items received
+     * @param error The error that occurred
+     * @return The result of dead letter handling as a Uni (can be null)
+     */
+    default Uni<O> deadLetterStream(List<I> sample, long count, Throwable error) {
+        String sampleInfo;
+        if (!sample.isEmpty()) {
+            sampleInfo = String.format("first %d of %d items",
+                Math.min(sample.size(), DEAD_LETTER_SAMPLE_SIZE), count);
+        } else {
+            sampleInfo = String.format("%d items", count);
+        }
+        LOG.errorf("DLQ drop for stream with %s: %s", sampleInfo, error.getMessage());
+        if (sample.isEmpty()) {
+            return Uni.createFrom().nullItem();
+        }
+        String group = DeadLetters.newGroup();
+        int attempts = DeadLetters.attempts();
+        Uni<Void> recorded = DeadLetters.recordInRun(this, group, sample, error, attempts);
+        if (sample.size() < count) {
+            long dropped = count - sample.size();
+            LOG.errorf("Only %d of the %d items of the failed stream were recorded to dead-letter group %s; "
+                + "%d items are lost and the group will not be replayed. Raise pipeline.dlq.max-stream-items "
+                + "to keep them all", sample.size(), count, group, dropped);
+            TruncatedStreamException truncated = new TruncatedStreamException(dropped, count, error);
+            recorded = recorded.chain(() ->
+                DeadLetters.recordInRun(this, group, Collections.singletonList(null), truncated, attempts));
+        }
+        return recorded.onItem().transform(ignored -> null);
+    }
 
-                String sampleInfo;
-                if (!sampleList.isEmpty()) {
-                    sampleInfo = String.format("first %d of %d items",
-                        Math.min(sampleList.size(), maxSampleSize), count);
-                } else {
-                    sampleInfo = String.format("%d items", count);
-                }
-                LOG.errorf("DLQ drop for stream with %s: %s", sampleInfo, error.getMessage());
-                return Uni.createFrom().nullItem();
-            });
+    private static int deadLetterCapacity() {
+        return Math.max(DEAD_LETTER_SAMPLE_SIZE, DeadLetters.maxStreamItems());
     }
 }
\ No newline at end of file
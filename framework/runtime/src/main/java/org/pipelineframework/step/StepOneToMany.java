@@ -18,7 +18,12 @@ package org.pipelineframework.step;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.jboss.logging.Logger;
+import org.pipelineframework.backpressure.Backpressure;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.functional.OneToMany;
 
 /**
@@ -36,54 +41,90 @@ public interface StepOneToMany<I, O> extends OneToMany<I, O>, Configurable, Dead
      */
     Multi<O> applyOneToMany(I in);
 
+    /**
+     * Apply the step to a single input and produce its outputs from the given position on. A retry
+     * of {@link #apply(Uni)} calls it with the number of outputs already emitted, so that they are
+     * not emitted again.
+     *
+     * <p>The default implementation produces the whole stream and drops the first {@code
+     * resumeFrom} outputs, which assumes that the stream for a given input is deterministic. Steps
+     * that can seek in their source, such as remote client steps that ask the server to resume the
+     * stream, should override it.
+     *
+     * @param in the input element to process
+     * @param resumeFrom the number of outputs already emitted for this input; 0 on the first attempt
+     * @return a Multi that emits the output elements after the first {@code resumeFrom}
+     */
+    default Multi<O> applyOneToMany(I in, long resumeFrom) {
+        return resumeFrom > 0 ? applyOneToMany(in).skip().first(resumeFrom) : applyOneToMany(in);
+    }
+
 	/**
      * Converts a single asynchronous input into a stream of output items using this step's transformation and resilience policies.
      *
-     * <p>The input item is passed to {@link #applyOneToMany(Object)} to produce an output Multi; the returned stream applies this step's configured
-     * backpressure strategy and buffer capacity, emits each item while logging at debug level, retries failures (except {@link NullPointerException})
+     * <p>The input item is passed to {@link #applyOneToMany(Object, long)} to produce an output Multi; the returned stream applies this step's configured
+     * backpressure strategy and buffer capacity, emits each item while logging at debug level, retries failures that {@link RetryPolicies} deems retryable
      * using the step's backoff, jitter and retry limit, and logs a final informational message if all retries are exhausted.</p>
      *
+     * <p>A retry resumes the stream after the outputs already received instead of starting it over, so
+     * downstream steps do not see them twice.</p>
+     *
      * @param input the asynchronous input that produces the single item to process
      * @return a Multi that emits the transformed output items for the provided input, subject to backpressure and retry policies
      */
     @Override
     default Multi<O> apply(Uni<I> input) {
         final Logger LOG = Logger.getLogger(this.getClass());
+        RetryPolicies.recordRequest();
 
-        return input.onItem().transformToMulti(item -> {
-            Multi<O> multi = applyOneToMany(item);
-
-            // Apply overflow strategy
-            if ("buffer".equalsIgnoreCase(backpressureStrategy())) {
-                multi = multi.onOverflow().buffer(backpressureBufferCapacity());
-            } else if ("drop".equalsIgnoreCase(backpressureStrategy())) {
-                multi = multi.onOverflow().drop();
-            } else {
-                // default behavior - buffer with default capacity
-                multi = multi.onOverflow().buffer(128); // default buffer size
-            }
-
-            return multi.onItem().transform(o -> {
-                if (LOG.isDebugEnabled()) {
+        return Multi.createFrom().deferred(() -> {
+            // Outputs received so far, across attempts; a retry resumes after them
+            AtomicLong received = new AtomicLong();
+            return input.onItem().transformToMulti(item -> {
+                long resumeFrom = received.get();
+                if (resumeFrom > 0 && LOG.isDebugEnabled()) {
                     LOG.debugf(
-                        "Step %s emitted item: %s",
-                        this.getClass().getSimpleName(), o
+                        "Step %s resuming after %s outputs",
+                        this.getClass().getSimpleName(), resumeFrom
                     );
                 }
-                return o;
+                // A failure is held back until the outputs buffered before it are delivered, so
+                // that every output counted as received has reached downstream or been dropped
+                AtomicReference<Throwable> failure = new AtomicReference<>();
+                Multi<O> multi = Deadlines.limit(
+                    applyOneToMany(item, resumeFrom).onItem().invoke(received::incrementAndGet),
+                    timeout(), runDeadline(), this.getClass().getSimpleName())
+                    .onFailure().invoke(failure::set)
+                    .onFailure().recoverWithCompletion();
+
+                // Apply overflow strategy
+                multi = Backpressure.apply(multi, this)
+                    .onCompletion().call(() -> failure.get() != null
+                        ? Uni.createFrom().failure(failure.get())
+                        : Uni.createFrom().voidItem());
+
+                return multi.onItem().transform(o -> {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debugf(
+                            "Step %s emitted item: %s",
+                            this.getClass().getSimpleName(), o
+                        );
+                    }
+                    return o;
+                });
+            })
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
+            .withBackOff(retryWait(), maxBackoff())
+            .withJitter(jitter() ? 0.5 : 0.0)
+            .atMost(retryLimit())
+            .onFailure().invoke(t -> {
+                LOG.infof(
+                    "Step %s completed all retries (%s attempts) with failure: %s",
+                    this.getClass().getSimpleName(),
+                    retryLimit(),
+                    t.getMessage()
+                );
             });
-        })
-        .onFailure(t -> !(t instanceof NullPointerException)).retry()
-        .withBackOff(retryWait(), maxBackoff())
-        .withJitter(jitter() ? 0.5 : 0.0)
-        .atMost(retryLimit())
-        .onFailure().invoke(t -> {
-            LOG.infof(
-                "Step %s completed all retries (%s attempts) with failure: %s",
-                this.getClass().getSimpleName(),
-                retryLimit(),
-                t.getMessage()
-            );
         });
     }
 }
\ No newline at end of file
@@ -17,7 +17,12 @@
 package org.pipelineframework.step;
 
 import io.smallrye.mutiny.Uni;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jboss.logging.Logger;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.resilience.CircuitBreakerOpenException;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.functional.OneToOne;
 
 /**
@@ -59,18 +64,25 @@ public interface StepOneToOne<I, O> extends OneToOne<I, O>, Configurable, DeadLe
           : Uni.createFrom().failure(t);
     }
 
+    RetryPolicies.recordRequest();
+    AtomicInteger attempts = new AtomicInteger();
     return input
         // Step 1: Null item becomes explicit failure
         .onItem()
         .ifNull()
         .failWith(() -> new NullPointerException("Input item is null"))
 
-        // Step 2: Transform the item using gRPC call
+        // Step 2: Transform the item using gRPC call, within the step timeout and run deadline
         .onItem()
-        .transformToUni(this::applyOneToOne)
+        .transformToUni(
+            item -> {
+              attempts.incrementAndGet();
+              return Deadlines.limit(
+                  applyOneToOne(item), timeout(), runDeadline(), getClass().getSimpleName());
+            })
 
-        // Step 3: Apply retry policy for transient failures
-        .onFailure()
+        // Step 3: Retry failures the retry policy and budget allow
+        .onFailure(RetryPolicies.retryPredicate(retryLimit()))
         .retry()
         .withBackOff(retryWait(), maxBackoff())
         .withJitter(jitter() ? 0.5 : 0.0)
@@ -95,8 +107,10 @@ public interface StepOneToOne<I, O> extends OneToOne<I, O>, Configurable, DeadLe
                   retryLimit(),
                   failure.toString());
 
-              if (recoverOnFailure()) {
-                return deadLetter(input, failure);
+              if (recoverOnFailure()
+                  || (failure instanceof CircuitBreakerOpenException && circuitBreakerDeadLetter())) {
+                return DeadLetters.withAttempts(
+                    Math.max(attempts.get(), 1), () -> deadLetter(input, failure));
               } else {
                 return Uni.createFrom().failure(failure);
               }
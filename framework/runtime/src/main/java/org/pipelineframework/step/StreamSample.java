@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.pipelineframework.step;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the items of a stream as they pass and keeps the first few, so that a failed stream can be
+ * reported without consuming it again.
+ *
+ * @param <T> the item type
+ */
+final class StreamSample<T> {
+
+    private final int maxSampleSize;
+    private final List<T> items = new ArrayList<>();
+    private long count;
+
+    StreamSample(int maxSampleSize) {
+        this.maxSampleSize = maxSampleSize;
+    }
+
+    /** Starts counting again, for a new subscription to the stream. */
+    synchronized void reset() {
+        items.clear();
+        count = 0;
+    }
+
+    synchronized void record(T item) {
+        if (items.size() < maxSampleSize) {
+            items.add(item);
+        }
+        count++;
+    }
+
+    synchronized List<T> items() {
+        return List.copyOf(items);
+    }
+
+    synchronized long count() {
+        return count;
+    }
+}
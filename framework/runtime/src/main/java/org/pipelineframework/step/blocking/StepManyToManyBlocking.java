@@ -16,10 +16,23 @@
 
 package org.pipelineframework.step.blocking;
 
+import io.smallrye.mutiny.Context;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import org.jboss.logging.Logger;
+import org.pipelineframework.backpressure.Backpressure;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.Configurable;
 import org.pipelineframework.step.DeadLetterQueue;
 import org.pipelineframework.step.functional.ManyToMany;
@@ -53,7 +66,8 @@ List<O> applyStreamingList(List<I> upstream);
      * Produce a replacement output list when processing of an input batch fails.
      *
      * Called when a batch of input items cannot be processed; the default implementation
-     * logs the error and indicates that the items are dropped to the dead-letter queue.
+     * logs the error and records the items to the {@link DeadLetters#store() dead-letter store}
+     * as one group, waiting until they are stored.
      *
      * @param upstream the original input items that failed processing
      * @param err the error that caused the failure
@@ -62,18 +76,68 @@ List<O> applyStreamingList(List<I> upstream);
      */
     default List<O> deadLetterList(List<I> upstream, Throwable err) {
         LOG.error("DLQ drop", err);
+        if (!upstream.isEmpty()) {
+            DeadLetters.record(this, DeadLetters.newGroup(), upstream, err, DeadLetters.attempts()).join();
+        }
         return Collections.emptyList();
     }
 
-    
+    /**
+     * The number of input items passed to each {@link #applyStreamingList(List)} call.
+     *
+     * <p>When zero, the whole input stream is collected and processed in a single call once it
+     * completes. When positive, the input is processed in chunks of up to this many items, and the
+     * output of each chunk is emitted as soon as the chunk is processed.
+     *
+     * @return the chunk size (default: 0, no chunking)
+     */
+    default int chunkSize() {
+        return 0;
+    }
+
+    /**
+     * The time to wait for a chunk to fill up before it is processed anyway.
+     *
+     * @return the time window (default: 1000ms)
+     */
+    default Duration chunkTimeout() {
+        return Duration.ofMillis(1000);
+    }
+
+    /**
+     * The maximum number of chunks processed at the same time when {@code parallel} is enabled.
+     *
+     * @return the number of concurrent chunks (default: the number of available processors)
+     */
+    default int chunkConcurrency() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The executor chunks are processed on, within the step's {@link #timeout()}. Steps doing blocking
+     * I/O can return a virtual-thread executor instead, for example
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}.
+     *
+     * @return the executor (default: the Mutiny worker pool)
+     */
+    default Executor chunkExecutor() {
+        return Infrastructure.getDefaultWorkerPool();
+    }
+
     /**
      * Adapts a reactive input stream to the blocking many-to-many step and emits the resulting output items.
      *
-     * <p>The implementation collects incoming items into a list, delegates processing of that list to
-     * {@link #applyStreamingList(List)}, and emits the resulting items as a Multi. It applies the configured
-     * backpressure strategy ("buffer" with capacity or "drop") to the input. If processing throws an exception,
+     * <p>By default the implementation collects incoming items into a list, delegates processing of that list to
+     * {@link #applyStreamingList(List)}, and emits the resulting items as a Multi. When {@link #chunkSize()} is
+     * positive, the input is instead split into chunks by {@link #chunkSize()} or {@link #chunkTimeout()}, and
+     * each chunk is processed on {@link #chunkExecutor()} within the step's {@link #timeout()}, and retried and
+     * dead-lettered on its own. A chunk that runs out of time is interrupted before it is retried, and
+     * dead-lettered once its retries are exhausted when {@link #recoverOnFailure()} is true. With {@code parallel} enabled, up to {@link #chunkConcurrency()} chunks are
+     * processed at the same time, and their outputs are still emitted in input order.
+     *
+     * <p>The configured backpressure strategy (see {@link Backpressure}) is applied to the input. If processing throws an exception,
      * and {@link #recoverOnFailure()} is true, a dead-letter list produced by {@link #deadLetterList(List, Throwable)}
-     * is emitted instead; otherwise the failure is propagated. Processing failures are retried using the configured
+     * is emitted instead; otherwise the failure is propagated. Processing failures that {@link RetryPolicies} deems retryable are retried using the configured
      * retry parameters ({@link #retryWait()}, {@link #maxBackoff()}, {@link #jitter()}, {@link #retryLimit()}).
      * On final failure after all retries an informational log is recorded, and each emitted item is logged at debug level.
      *
@@ -82,48 +146,154 @@ List<O> applyStreamingList(List<I> upstream);
      */
     @Override
     default Multi<O> apply(Multi<I> input) {
-
         // Apply overflow strategy to the input
-        // default behavior - buffer with default capacity (no explicit overflow strategy needed)
-        Multi<I> backpressuredInput = input;
-        if ("buffer".equalsIgnoreCase(backpressureStrategy())) {
-            backpressuredInput = backpressuredInput.onOverflow().buffer(backpressureBufferCapacity());
-        } else if ("drop".equalsIgnoreCase(backpressureStrategy())) {
-            backpressuredInput = backpressuredInput.onOverflow().drop();
-        }
+        Multi<I> backpressuredInput = Backpressure.apply(input, this);
+
+        // The context identifies the run, so that dead-lettered batches are charged to it
+        Multi<O> output = Multi.createFrom().context(context -> chunkSize() > 0
+            ? applyChunked(backpressuredInput, context)
+            : applyCollected(backpressuredInput, context));
+
+        return output.onItem().invoke(o -> {
+            if (LOG.isDebugEnabled()) {
+                LOG.debugf("Blocking Step %s streamed item: %s",
+                        this.getClass().getSimpleName(), o);
+            }
+        });
+    }
+
+    /**
+     * Process the whole input in a single call, retrying the entire stream on failure.
+     *
+     * @param input the backpressured input stream
+     * @param context the context of the subscription
+     * @return the output items
+     */
+    private Multi<O> applyCollected(Multi<I> input, Context context) {
+        RetryPolicies.recordRequest();
 
-        return backpressuredInput
+        return Deadlines.limit(input, timeout(), runDeadline(), this.getClass().getSimpleName())
             .collect().asList()
-            .onItem().transformToMulti(list -> {
-                try {
-                    List<O> result = applyStreamingList(list);
-                    return Multi.createFrom().iterable(result);
-                } catch (Exception e) {
-                    if (recoverOnFailure()) {
-                        List<O> dlqResult = deadLetterList(list, e);
-                        return Multi.createFrom().iterable(dlqResult);
-                    } else {
-                        return Multi.createFrom().failure(e);
+            .onItem().transformToMulti(list -> Multi.createFrom().iterable(processList(list, context)))
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
+            .withBackOff(retryWait(), maxBackoff())
+            .withJitter(jitter() ? 0.5 : 0.0)
+            .atMost(retryLimit())
+            .onFailure().invoke(this::logRetriesExhausted);
+    }
+
+    /**
+     * Process the input in chunks, emitting each chunk's output in input order.
+     *
+     * @param input the backpressured input stream
+     * @param context the context of the subscription
+     * @return the output items
+     */
+    private Multi<O> applyChunked(Multi<I> input, Context context) {
+        Multi<List<I>> chunks = input.group().intoLists().of(chunkSize(), chunkTimeout());
+        Executor executor = chunkExecutor();
+
+        if (!effectiveConfig().parallel()) {
+            return chunks
+                .onItem().transformToUniAndConcatenate(chunk -> processChunk(chunk, context, executor))
+                .onItem().transformToIterable(outputs -> outputs);
+        }
+
+        int concurrency = Math.max(1, chunkConcurrency());
+        return Multi.createFrom().deferred(() -> {
+            // Chunks complete out of order; hold each output until the ones before it have been emitted
+            Map<Long, List<O>> completed = new HashMap<>();
+            long[] sequence = {0, 0};
+            return chunks
+                .onItem().transformToUni(chunk -> {
+                    long index = sequence[0]++;
+                    return processChunk(chunk, context, executor)
+                        .map(outputs -> Map.entry(index, outputs));
+                })
+                .merge(concurrency)
+                .onItem().transformToIterable(done -> {
+                    completed.put(done.getKey(), done.getValue());
+                    List<O> ready = new ArrayList<>();
+                    List<O> outputs;
+                    while ((outputs = completed.remove(sequence[1])) != null) {
+                        ready.addAll(outputs);
+                        sequence[1]++;
                     }
-                }
-            })
-            .onFailure(t -> !(t instanceof NullPointerException)).retry()
+                    return ready;
+                });
+        });
+    }
+
+    /**
+     * Process a single chunk, retrying it on its own on failure.
+     *
+     * @param chunk the chunk of input items
+     * @param context the context of the subscription
+     * @param executor the executor the chunk is processed on
+     * @return a Uni emitting the chunk's output items, or its dead-letter items when configured
+     */
+    private Uni<List<O>> processChunk(List<I> chunk, Context context, Executor executor) {
+        RetryPolicies.recordRequest();
+
+        // The chunk is processed inside the limited call, so that the timeout bounds applyStreamingList itself. A
+        // timed-out attempt is interrupted, and its outcome dropped, before the chunk is retried; dead-lettering
+        // is deferred to the outcome so that only the attempt that counts can dead-letter the chunk
+        Uni<List<O>> chunkCall = Deadlines.limitBlocking(
+                () -> attemptChunk(chunk, context), executor,
+                timeout(), runDeadline(), this.getClass().getSimpleName())
+            .map(Supplier::get);
+
+        Uni<List<O>> outputs = chunkCall
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
             .withBackOff(retryWait(), maxBackoff())
             .withJitter(jitter() ? 0.5 : 0.0)
             .atMost(retryLimit())
-            .onFailure().invoke(t -> {
-                LOG.infof(
-                    "Blocking Step %s completed all retries (%d attempts) with failure: %s",
-                    this.getClass().getSimpleName(),
-                    retryLimit(),
-                    t.getMessage()
-                );
-            })
-            .onItem().invoke(o -> {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debugf("Blocking Step %s streamed item: %s",
-                            this.getClass().getSimpleName(), o);
-                }
-            });
+            .onFailure().invoke(this::logRetriesExhausted);
+        if (recoverOnFailure()) {
+            // Only failures of the limit itself get here, e.g. a chunk that timed out on every attempt
+            outputs = outputs.onFailure()
+                .recoverWithItem(failure -> DeadLetters.inRun(context, () -> deadLetterList(chunk, failure)));
+        }
+        return outputs;
+    }
+
+    /**
+     * Apply {@link #applyStreamingList(List)} to a chunk, yielding its outputs, or its dead-letter items when
+     * recovery is enabled.
+     */
+    private Supplier<List<O>> attemptChunk(List<I> chunk, Context context) {
+        try {
+            List<O> outputs = applyStreamingList(chunk);
+            return () -> outputs;
+        } catch (Exception e) {
+            if (recoverOnFailure()) {
+                return () -> DeadLetters.inRun(context, () -> deadLetterList(chunk, e));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Apply {@link #applyStreamingList(List)}, falling back to {@link #deadLetterList(List, Throwable)}
+     * when recovery is enabled, in the scope of the run the list belongs to.
+     */
+    private List<O> processList(List<I> list, Context context) {
+        try {
+            return applyStreamingList(list);
+        } catch (Exception e) {
+            if (recoverOnFailure()) {
+                return DeadLetters.inRun(context, () -> deadLetterList(list, e));
+            }
+            throw e;
+        }
+    }
+
+    private void logRetriesExhausted(Throwable t) {
+        LOG.infof(
+            "Blocking Step %s completed all retries (%d attempts) with failure: %s",
+            this.getClass().getSimpleName(),
+            retryLimit(),
+            t.getMessage()
+        );
     }
-}
\ No newline at end of file
+}
@@ -18,9 +18,15 @@ package org.pipelineframework.step.blocking;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import org.jboss.logging.Logger;
+import org.pipelineframework.backpressure.Backpressure;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.Configurable;
 import org.pipelineframework.step.DeadLetterQueue;
 import org.pipelineframework.step.functional.ManyToOne;
@@ -28,6 +34,11 @@ import org.pipelineframework.step.functional.ManyToOne;
 /**
  * N -> 1 (imperative)
  *
+ * <p>The input is processed in batches, and the batch results are reduced into the step's output as
+ * they are produced: each result is merged into the partial result that started from {@link
+ * #identity()}. Steps that aggregate override both {@link #identity()} and {@link #merge(Object,
+ * Object)}; by default the output is the result of the last batch.
+ *
  * @param <I> the input type
  * @param <O> the output type
  */
@@ -60,10 +71,36 @@ public interface StepManyToOneBlocking<I, O> extends Configurable, ManyToOne<I,
         return Duration.ofMillis(1000);
     }
 
+    /**
+     * The partial result the batch results are merged into, and the output for an empty input.
+     *
+     * @return the identity of {@link #merge(Object, Object)}; {@code null} by default
+     */
+    default O identity() {
+        return null;
+    }
+
+    /**
+     * Merge a batch result into the partial result accumulated so far.
+     *
+     * <p>With {@code parallel} enabled, batch results are merged in the order the batches complete,
+     * so the merge must be associative and commutative for the output not to depend on timing.
+     * Batches recovered by {@link #deadLetterBatchList(List, Throwable)} with a {@code null} result
+     * are not merged.
+     *
+     * @param partial the result accumulated so far, initially {@link #identity()}
+     * @param batchResult the result of the batch that just completed
+     * @return the new partial result; the default returns {@code batchResult}, so that the last batch wins
+     */
+    default O merge(O partial, O batchResult) {
+        return batchResult;
+    }
+
     /**
      * Deliver a failed input batch to a dead-letter mechanism and record the failure.
      *
-     * Default implementation logs the error for the batch and yields a null result.
+     * Default implementation logs the error for the batch, records the batch to the
+     * {@link DeadLetters#store() dead-letter store} as one group and yields a null result once it is stored.
      *
      * @param inputs the batch of inputs that failed to process
      * @param error the error that occurred while processing the batch
@@ -72,23 +109,32 @@ public interface StepManyToOneBlocking<I, O> extends Configurable, ManyToOne<I,
     default Uni<O> deadLetterBatchList(List<I> inputs, Throwable error) {
         Logger LOG = Logger.getLogger(this.getClass());
         LOG.errorf("DLQ drop for batch of %d items: %s", inputs.size(), error.getMessage());
-        return Uni.createFrom().item((O) null);
+        if (inputs.isEmpty()) {
+            return Uni.createFrom().item((O) null);
+        }
+        return DeadLetters.recordInRun(this, DeadLetters.newGroup(), inputs, error, DeadLetters.attempts())
+            .onItem().transform(ignored -> (O) null);
     }
 
     /**
-     * Process a stream of input items in configurable batches and emit the final batch's output.
+     * Process a stream of input items in configurable batches and reduce the batch results into a single output.
      *
-     * <p>The method applies the configured backpressure strategy ("buffer" or "drop"), groups items
+     * <p>The method applies the configured backpressure strategy (see {@link Backpressure}), groups items
      * into batches by {@link #batchSize()} or {@link #batchTimeout()}, and processes each batch by
-     * calling {@link #applyBatchList(List)}. Batches are handled concurrently when
-     * {@link #effectiveConfig()}.parallel() is true, otherwise they are processed sequentially.
+     * calling {@link #applyBatchList(List)}. With a {@link #timeout()} or a run deadline, each batch runs on a
+     * worker thread that is interrupted when its time is up.
+     * Batches are handled concurrently when {@link #effectiveConfig()}.parallel() is true, otherwise
+     * they are processed sequentially.
      * On failure, if {@link #recoverOnFailure()} is true the batch is delegated to
-     * {@link #deadLetterBatchList(List, Throwable)}, otherwise the failure is propagated.
-     * Retries are applied for failures except {@link NullPointerException} using the configured
-     * backoff, jitter and retry limit settings.
+     * {@link #deadLetterBatchList(List, Throwable)}, otherwise the failure is propagated. A batch that runs
+     * out of time is retried, and dead-lettered once its retries are exhausted.
+     * Failures that {@link RetryPolicies} deems retryable are retried per batch using the configured
+     * backoff, jitter and retry limit settings. Each batch result is merged into the partial result with
+     * {@link #merge(Object, Object)} as soon as it is produced, so neither the input nor the batch results
+     * are held in memory beyond the batches in flight.
      *
      * @param input the source stream of input items to be batched
-     * @return the output produced for the last processed batch, or `null` if no batches were emitted
+     * @return the batch results merged into {@link #identity()}, which is the output if no batches were emitted
      */
     @Override
     default Uni<O> apply(Multi<I> input) {
@@ -97,28 +143,27 @@ public interface StepManyToOneBlocking<I, O> extends Configurable, ManyToOne<I,
         Duration batchTimeout = this.batchTimeout();
 
         // Apply overflow strategy to the input
-        // default behavior - buffer with default capacity (no explicit overflow strategy needed)
-        Multi<I> backpressuredInput = input;
-        if ("buffer".equalsIgnoreCase(backpressureStrategy())) {
-            backpressuredInput = backpressuredInput.onOverflow().buffer(backpressureBufferCapacity());
-        } else if ("drop".equalsIgnoreCase(backpressureStrategy())) {
-            backpressuredInput = backpressuredInput.onOverflow().drop();
-        }
+        Multi<I> backpressuredInput = Backpressure.apply(input, this);
 
         Multi<List<I>> batches = backpressuredInput
             .group().intoLists().of(batchSize, batchTimeout);
 
+        Multi<O> results;
         if (effectiveConfig().parallel()) {
             // Process batches concurrently with per-batch retry logic
-            return batches
-                .onItem().transformToUniAndMerge(list -> processBatch(list, logger))
-                .collect().last();
+            results = batches
+                .onItem().transformToUniAndMerge(list -> processBatch(list, logger));
         } else {
             // Process batches sequentially (backward compatibility) with per-batch retry logic
-            return batches
-                .onItem().transformToUniAndConcatenate(list -> processBatch(list, logger))
-                .collect().last();
+            results = batches
+                .onItem().transformToUniAndConcatenate(list -> processBatch(list, logger));
         }
+
+        // Fold each batch result into the partial result as it arrives
+        return results
+            .collect().in(() -> new AtomicReference<>(identity()),
+                (partial, batchResult) -> partial.set(merge(partial.get(), batchResult)))
+            .map(AtomicReference::get);
     }
 
     /**
@@ -129,36 +174,61 @@ public interface StepManyToOneBlocking<I, O> extends Configurable, ManyToOne<I,
      * @return A Uni that emits the processed output or handles errors appropriately
      */
     private Uni<O> processBatch(List<I> list, Logger logger) {
-        return Uni.createFrom().item(list)
-            .onItem().transformToUni(batch -> {
-                try {
-                    O result = applyBatchList(batch);
-
-                    if (logger.isDebugEnabled()) {
-                        logger.debugf(
-                            "Blocking Step %s processed batch of %d items into single output: %s",
-                            this.getClass().getSimpleName(), batch.size(), result
-                        );
-                    }
-
-                    return Uni.createFrom().item(result);
-                } catch (Exception e) {
-                    if (recoverOnFailure()) {
-                        if (logger.isDebugEnabled()) {
-                            logger.debugf(
-                                "Blocking Step %s: failed batch: %s",
-                                this.getClass().getSimpleName(), e.getMessage()
-                            );
-                        }
-                        return deadLetterBatchList(list, e);
-                    } else {
-                        return Uni.createFrom().failure(e);
-                    }
-                }
-            })
-            .onFailure(t -> !(t instanceof NullPointerException)).retry()
+        RetryPolicies.recordRequest();
+        Uni<Uni<O>> batchCall;
+        if (Deadlines.budget(timeout(), runDeadline()) == null) {
+            // Without a time limit the batch is computed on the subscribing thread
+            batchCall = Uni.createFrom().item(() -> attemptBatch(list, logger));
+        } else {
+            // The batch is computed on a worker thread that is interrupted when its time is up, so
+            // that a timed-out batch does not keep running next to its retry; recovering a failed
+            // batch is not limited
+            batchCall = Deadlines.limitBlocking(
+                () -> attemptBatch(list, logger), Infrastructure.getDefaultWorkerPool(),
+                timeout(), runDeadline(), this.getClass().getSimpleName());
+        }
+
+        Uni<O> batch = batchCall
+            .onItem().transformToUni(outcome -> outcome)
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
             .withBackOff(retryWait(), maxBackoff())
             .withJitter(jitter() ? 0.5 : 0.0)
             .atMost(retryLimit());
+        if (recoverOnFailure()) {
+            // Only failures of the limit itself get here, e.g. a batch that timed out on every attempt
+            batch = batch.onFailure().recoverWithUni(failure -> deadLetterBatchList(list, failure));
+        }
+        return batch;
+    }
+
+    /**
+     * Apply {@link #applyBatchList(List)} to a batch, falling back to
+     * {@link #deadLetterBatchList(List, Throwable)} when recovery is enabled.
+     */
+    private Uni<O> attemptBatch(List<I> list, Logger logger) {
+        try {
+            O result = applyBatchList(list);
+
+            if (logger.isDebugEnabled()) {
+                logger.debugf(
+                    "Blocking Step %s processed batch of %d items into single output: %s",
+                    this.getClass().getSimpleName(), list.size(), result
+                );
+            }
+
+            return Uni.createFrom().item(result);
+        } catch (Exception e) {
+            if (recoverOnFailure()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debugf(
+                        "Blocking Step %s: failed batch: %s",
+                        this.getClass().getSimpleName(), e.getMessage()
+                    );
+                }
+                return deadLetterBatchList(list, e);
+            } else {
+                return Uni.createFrom().failure(e);
+            }
+        }
     }
 }
\ No newline at end of file
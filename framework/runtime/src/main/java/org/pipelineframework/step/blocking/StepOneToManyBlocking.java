@@ -20,6 +20,8 @@ import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import java.util.List;
 import org.jboss.logging.Logger;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.Configurable;
 import org.pipelineframework.step.DeadLetterQueue;
 import org.pipelineframework.step.functional.OneToMany;
@@ -54,7 +56,7 @@ List<O> applyList(I in);
      * Convert a single-item reactive input into a stream of outputs produced by {@link #applyList(Object)}.
      *
      * For each item emitted by the provided Uni, this method emits each element of the List returned by
-     * applyList for that item. On failures (except NullPointerException) it retries according to the
+     * applyList for that item. On failures that {@link RetryPolicies} deems retryable it retries according to the
      * step's backoff, jitter and retry limit configuration; when all retries are exhausted it logs the final failure.
      *
      * @param inputUni a Uni that supplies the input item to be expanded into multiple outputs
@@ -62,6 +64,7 @@ List<O> applyList(I in);
      */
     @Override
     default Multi<O> apply(Uni<I> inputUni) {
+        RetryPolicies.recordRequest();
 
         return inputUni
             .onItem().transformToMulti(item -> {
@@ -73,13 +76,13 @@ List<O> applyList(I in);
                     }
                 });
 
-                return multi.onItem().invoke(o -> {
+                return Deadlines.limit(multi, timeout(), runDeadline(), this.getClass().getSimpleName()).onItem().invoke(o -> {
                     if (LOG.isDebugEnabled()) {
                         LOG.debugf("Blocking Step %s emitted item: %s", this.getClass().getSimpleName(), o);
                     }
                 });
             })
-            .onFailure(t -> !(t instanceof NullPointerException)).retry()
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
             .withBackOff(retryWait(), maxBackoff())
             .withJitter(jitter() ? 0.5 : 0.0)
             .atMost(retryLimit())
@@ -18,7 +18,11 @@ package org.pipelineframework.step.future;
 
 import io.smallrye.mutiny.Uni;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jboss.logging.Logger;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.resilience.Deadlines;
+import org.pipelineframework.resilience.RetryPolicies;
 import org.pipelineframework.step.Configurable;
 import org.pipelineframework.step.DeadLetterQueue;
 import org.pipelineframework.step.functional.OneToOne;
@@ -51,7 +55,7 @@ CompletableFuture<O> applyAsync(I in);
      * <p>Behaviour summary:
      * - For each item emitted by {@code inputUni} the method delegates processing to {@link #applyAsync(Object)}.
      * - Failures are retried with exponential backoff and optional jitter up to {@link #retryLimit()} attempts;
-     *   {@link NullPointerException} is excluded from retries.
+     *   only failures that {@link RetryPolicies} deems retryable are retried, within the retry budget.
      * - After exhausting retries an informational log entry is emitted identifying the step and retry limit.
      * - On success a debug log records the processed item; if recovery is enabled via {@link #recoverOnFailure()}
      *   a failed item is routed to the dead-letter queue via {@link #deadLetter(Uni, Throwable)} and a debug
@@ -63,17 +67,21 @@ CompletableFuture<O> applyAsync(I in);
     @Override
     default Uni<O> apply(Uni<I> inputUni) {
         final Logger LOG = Logger.getLogger(this.getClass());
+        RetryPolicies.recordRequest();
+        AtomicInteger attempts = new AtomicInteger();
 
         return inputUni
             .onItem().transformToUni(input -> {
+                attempts.incrementAndGet();
                 // call applyAsync on the plain input
                 CompletableFuture<O> future = applyAsync(input);
 
-                // wrap it into a Uni
-                return Uni.createFrom().completionStage(future);
+                // wrap it into a Uni, within the step timeout and run deadline
+                return Deadlines.limit(Uni.createFrom().completionStage(future),
+                        timeout(), runDeadline(), this.getClass().getSimpleName());
             })
             // retry / backoff / jitter
-            .onFailure(t -> !(t instanceof NullPointerException)).retry()
+            .onFailure(RetryPolicies.retryPredicate(retryLimit())).retry()
             .withBackOff(retryWait(), maxBackoff())
             .withJitter(jitter() ? 0.5 : 0.0)
             .atMost(retryLimit())
@@ -100,7 +108,7 @@ CompletableFuture<O> applyAsync(I in);
                                 this.getClass().getSimpleName(), inputUni, retryLimit(), err
                         );
                     }
-                    return deadLetter(inputUni, err);
+                    return DeadLetters.withAttempts(Math.max(attempts.get(), 1), () -> deadLetter(inputUni, err));
                 } else {
                     return Uni.createFrom().failure(err);
                 }
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.grpc.Channel;
+import io.grpc.stub.AbstractStub;
+import io.quarkus.grpc.GrpcClient;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.config.PipelineStepConfig;
+import org.pipelineframework.health.HealthProbe;
+import org.pipelineframework.health.HealthTarget;
+
+class HealthCheckServiceTest {
+
+    private final Map<String, AtomicInteger> probeCounts = new ConcurrentHashMap<>();
+    private final Map<String, Integer> failuresBeforeHealthy = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private PipelineStepConfig.HealthConfig healthConfig;
+    private HealthCheckService service;
+
+    @BeforeEach
+    void setUp() {
+        healthConfig = mock(PipelineStepConfig.HealthConfig.class);
+        when(healthConfig.probeTimeoutMs()).thenReturn(1000L);
+        when(healthConfig.cacheTtlMs()).thenReturn(60_000L);
+        when(healthConfig.initialBackoffMs()).thenReturn(10L);
+        when(healthConfig.maxBackoffMs()).thenReturn(20L);
+        when(healthConfig.maxWaitMs()).thenReturn(5_000L);
+        PipelineStepConfig config = mock(PipelineStepConfig.class);
+        when(config.health()).thenReturn(healthConfig);
+
+        HealthProbe probe =
+                (target, timeout) -> {
+                    int attempt =
+                            probeCounts
+                                    .computeIfAbsent(target.clientName(), k -> new AtomicInteger())
+                                    .incrementAndGet();
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    boolean healthy =
+                            attempt > failuresBeforeHealthy.getOrDefault(target.clientName(), 0);
+                    return Uni.createFrom()
+                            .item(healthy)
+                            .onItem()
+                            .delayIt()
+                            .by(Duration.ofMillis(50))
+                            .eventually(inFlight::decrementAndGet);
+                };
+        service =
+                new HealthCheckService() {
+                    @Override
+                    protected HealthProbe probeFor(HealthTarget target) {
+                        return probe;
+                    }
+                };
+        service.pipelineStepConfig = config;
+    }
+
+    @Test
+    void returnsTrueWithoutGrpcClients() {
+        assertTrue(service.checkHealthOfDependentServices(List.of(new Object())));
+        assertTrue(probeCounts.isEmpty());
+    }
+
+    @Test
+    void probesAllServicesConcurrently() {
+        assertTrue(service.checkHealthOfDependentServices(List.of(new StepA(), new StepB())));
+
+        assertEquals(1, probeCounts.get("a").get());
+        assertEquals(1, probeCounts.get("b").get());
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void retriesOnlyUnhealthyServices() {
+        failuresBeforeHealthy.put("b", 2);
+
+        assertTrue(service.checkHealthOfDependentServices(List.of(new StepA(), new StepB())));
+
+        assertEquals(1, probeCounts.get("a").get());
+        assertEquals(3, probeCounts.get("b").get());
+    }
+
+    @Test
+    void reusesHealthyResultsWithinTtl() {
+        List<Object> steps = List.of(new StepA());
+        assertTrue(service.checkHealthOfDependentServices(steps));
+        assertTrue(service.checkHealthOfDependentServices(steps));
+        assertEquals(1, probeCounts.get("a").get());
+
+        service.invalidate("a");
+        assertTrue(service.checkHealthOfDependentServices(steps));
+        assertEquals(2, probeCounts.get("a").get());
+    }
+
+    @Test
+    void probesAgainWhenCachingIsDisabled() {
+        when(healthConfig.cacheTtlMs()).thenReturn(0L);
+        List<Object> steps = List.of(new StepA());
+
+        assertTrue(service.checkHealthOfDependentServices(steps));
+        assertTrue(service.checkHealthOfDependentServices(steps));
+        assertEquals(2, probeCounts.get("a").get());
+    }
+
+    @Test
+    void givesUpAfterMaxWait() {
+        when(healthConfig.maxWaitMs()).thenReturn(300L);
+        failuresBeforeHealthy.put("a", Integer.MAX_VALUE);
+
+        assertFalse(service.checkHealthOfDependentServices(List.of(new StepA())));
+        assertTrue(probeCounts.get("a").get() > 1);
+    }
+
+    @Test
+    void extractsTargetsWithTheStubChannel() {
+        Channel channel = mock(Channel.class);
+        StepA step = new StepA();
+        step.client = new TestStub(channel);
+
+        Map<String, HealthTarget> targets =
+                service.extractHealthTargets(List.of(step, new StepB(), new StepB()));
+
+        assertEquals(List.of("a", "b"), List.copyOf(targets.keySet()));
+        assertSame(channel, targets.get("a").channel());
+        assertNull(targets.get("b").channel());
+        assertEquals(java.util.Set.of("b"), service.extractGrpcClientNames(new StepB()));
+    }
+
+    static class StepA {
+        @GrpcClient("a")
+        TestStub client;
+    }
+
+    static class StepB {
+        @GrpcClient Object b;
+    }
+
+    static class TestStub extends AbstractStub<TestStub> {
+        TestStub(Channel channel) {
+            super(channel);
+        }
+
+        @Override
+        protected TestStub build(Channel channel, io.grpc.CallOptions callOptions) {
+            return new TestStub(channel);
+        }
+    }
+}
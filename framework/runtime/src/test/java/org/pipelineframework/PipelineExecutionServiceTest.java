@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.subscription.Cancellable;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.resilience.FailureBudget;
+
+class PipelineExecutionServiceTest {
+
+    private final String stepName = PipelineExecutionServiceTest.class.getName();
+
+    @BeforeEach
+    void setUp() {
+        DeadLetters.set(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DeadLetters.set(null);
+    }
+
+    @Test
+    void runsHearOfTheirOwnDeadLettersOnly() {
+        PipelineRun run = new PipelineRun();
+        FailureBudget budget =
+                new FailureBudget(List.of(stepName), 1, 0, Duration.ofSeconds(10), 1);
+        run.failureBudget(budget);
+        PipelineRun other = new PipelineRun();
+        FailureBudget otherBudget =
+                new FailureBudget(List.of(stepName), 1, 0, Duration.ofSeconds(10), 1);
+        other.failureBudget(otherBudget);
+
+        // The other run is still going while the first one dead-letters its items
+        Cancellable going =
+                PipelineExecutionService.listenForDeadLetters(Multi.createFrom().nothing(), other)
+                        .subscribe()
+                        .with(ignored -> {});
+        try {
+            PipelineExecutionService.listenForDeadLetters(deadLettering(2), run)
+                    .collect()
+                    .asList()
+                    .await()
+                    .atMost(Duration.ofSeconds(5));
+        } finally {
+            going.cancel();
+        }
+
+        assertTrue(budget.isExhausted());
+        assertFalse(otherBudget.isExhausted());
+    }
+
+    /** A run that dead-letters the given number of items, one at a time. */
+    private Multi<Object> deadLettering(int items) {
+        return Multi.createFrom()
+                .range(0, items)
+                .onItem()
+                .transformToUniAndConcatenate(
+                        item ->
+                                DeadLetters.recordInRun(
+                                                this,
+                                                null,
+                                                List.of(item),
+                                                new IllegalStateException("provider down"),
+                                                1)
+                                        .replaceWith((Object) item));
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.protobuf.StringValue;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.progress.InputProgress;
+import org.pipelineframework.progress.RunProgress;
+import org.pipelineframework.progress.StepProgress;
+import org.pipelineframework.resilience.FailureBudget;
+import org.pipelineframework.sink.RunSink;
+
+class PipelineRunTest {
+
+    @Test
+    void completesWithItsOutputs() {
+        PipelineRun run = new PipelineRun();
+
+        run.start(Multi.createFrom().items(1, 2, 3), RunSink.counting());
+
+        assertTrue(run.isDone());
+        assertNull(run.completion().await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void drainStopsTakingItemsAndLetsTheItemsInFlightFinish() {
+        PipelineRun run = new PipelineRun();
+        AtomicInteger finished = new AtomicInteger();
+
+        run.start(
+                gated(run, Multi.createFrom().range(0, 1000))
+                        .onItem()
+                        .call(
+                                tick ->
+                                        Uni.createFrom()
+                                                .nullItem()
+                                                .onItem()
+                                                .delayIt()
+                                                .by(Duration.ofMillis(20)))
+                        .onItem()
+                        .invoke(finished::incrementAndGet),
+                RunSink.counting());
+        await(() -> run.sourceItems() >= 3);
+
+        assertTrue(run.drain(Duration.ofSeconds(5)));
+        assertTrue(run.isDone());
+        assertEquals(run.sourceItems(), finished.get());
+        assertFalse(run.admitsWork());
+    }
+
+    @Test
+    void drainCancelsRunsThatDoNotFinishInTime() {
+        PipelineRun run = new PipelineRun();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        run.start(
+                Multi.createFrom()
+                        .<Integer>nothing()
+                        .onCancellation()
+                        .invoke(() -> cancelled.set(true)),
+                RunSink.counting());
+
+        assertFalse(run.drain(Duration.ofMillis(50)));
+        assertTrue(cancelled.get());
+        assertThrows(
+                CancellationException.class,
+                () -> run.completion().await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void drainReportsARunThatFailed() {
+        PipelineRun run = new PipelineRun();
+
+        run.start(
+                Multi.createFrom().failure(new IllegalStateException("provider down")),
+                RunSink.counting());
+
+        assertFalse(run.drain(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void drainStopsTheSourceButNotTheExpansions() {
+        PipelineRun run = new PipelineRun();
+
+        run.stopIntake();
+
+        assertFalse(run.admitsWork());
+        assertTrue(run.admitsExpansion());
+    }
+
+    @Test
+    void cancelStopsTheRunAtOnce() {
+        PipelineRun run = new PipelineRun();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        run.start(
+                Multi.createFrom()
+                        .ticks()
+                        .every(Duration.ofMillis(5))
+                        .onCancellation()
+                        .invoke(() -> cancelled.set(true)),
+                RunSink.counting());
+        run.cancel();
+
+        assertTrue(cancelled.get());
+        assertTrue(run.isDone());
+        assertThrows(
+                CancellationException.class,
+                () -> run.completion().await().atMost(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void countsItemsPerStep() {
+        PipelineRun run = new PipelineRun();
+
+        run.onSourceItem();
+        run.onStepItem("a.Parse");
+        run.onStepItem("a.Parse");
+        run.onStepItem("a.Send");
+
+        assertEquals(1, run.sourceItems());
+        assertEquals(2L, run.stepItems().get("a.Parse"));
+        assertEquals(1L, run.stepItems().get("a.Send"));
+    }
+
+    @Test
+    void passesOutputsToTheSinkAndSummarisesTheRun() {
+        PipelineRun run = new PipelineRun();
+        run.stepNames(List.of("a.Parse", "a.Send"));
+        List<Object> consumed = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        RunSink sink =
+                new RunSink() {
+                    @Override
+                    public Uni<Void> accept(Object item) {
+                        consumed.add(item);
+                        return Uni.createFrom().voidItem();
+                    }
+
+                    @Override
+                    public void complete() {
+                        completed.set(true);
+                    }
+                };
+
+        run.start(
+                gated(run, Multi.createFrom().items("x", "y"))
+                        .onItem()
+                        .invoke(() -> run.onStepItem("a.Send"))
+                        .map(StringValue::of),
+                sink);
+
+        assertEquals(List.of(StringValue.of("x"), StringValue.of("y")), consumed);
+        assertTrue(completed.get());
+        RunSummary summary = run.summary();
+        assertEquals(2, summary.sourceItems());
+        assertEquals(2, summary.records());
+        assertEquals(StringValue.of("x").getSerializedSize() * 2L, summary.bytes());
+        assertEquals(List.of("a.Parse", "a.Send"), List.copyOf(summary.stepItems().keySet()));
+        assertEquals(0L, summary.stepItems().get("a.Parse"));
+        assertEquals(2L, summary.stepItems().get("a.Send"));
+        assertTrue(summary.toString().startsWith("2 records, "));
+    }
+
+    @Test
+    void progressReportsTheBacklogOfEachStepAndTheItemsBeingExpanded() {
+        PipelineRun run = new PipelineRun();
+        run.stepNames(List.of("a.Read", "a.Send", "a.Write"));
+
+        RunControl.StepCall file = run.onExpansion("a.Read", "payments.csv");
+        for (int i = 0; i < 3; i++) {
+            file.onItem();
+            run.onStepItem("a.Read");
+        }
+        RunControl.StepCall first = run.onStepCall("a.Send");
+        run.onStepCall("a.Send");
+        run.onStepItem("a.Send");
+        first.onEnd();
+
+        RunProgress progress = run.progress();
+        assertEquals(run.id(), progress.runId());
+        assertFalse(progress.done());
+        assertEquals(
+                List.of("a.Read", "a.Send", "a.Write"),
+                progress.steps().stream().map(StepProgress::step).toList());
+        assertEquals(new StepProgress("a.Read", 3, 0, 1), withoutRate(progress.steps().get(0)));
+        assertEquals(new StepProgress("a.Send", 1, 0, 1), withoutRate(progress.steps().get(1)));
+        assertEquals(new StepProgress("a.Write", 0, 0, -1), progress.steps().get(2));
+        InputProgress input = progress.inputs().get(0);
+        assertEquals("a.Read", input.step());
+        assertEquals("payments.csv", input.input());
+        assertEquals(3, input.items());
+
+        file.onEnd();
+        progress = run.progress();
+        assertTrue(progress.inputs().isEmpty());
+        assertEquals(0, progress.steps().get(0).backlog());
+    }
+
+    @Test
+    void inputEtaFollowsTheCurrentRate() {
+        InputProgress input = new InputProgress("a.Read", "payments.csv", 400, 100, Duration.ZERO);
+
+        assertEquals(Optional.of(Duration.ofSeconds(6)), input.eta(1000));
+        assertEquals(Optional.of(Duration.ZERO), input.eta(400));
+        assertEquals(
+                Optional.empty(),
+                new InputProgress("a.Read", "payments.csv", 0, 0, Duration.ZERO).eta(1000));
+    }
+
+    private static StepProgress withoutRate(StepProgress step) {
+        return new StepProgress(step.step(), step.items(), 0, step.backlog());
+    }
+
+    @Test
+    void sinkFailuresFailTheRun() {
+        PipelineRun run = new PipelineRun();
+
+        run.start(
+                Multi.createFrom().items(1, 2),
+                item -> Uni.createFrom().failure(new IllegalStateException("disk full")));
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> run.completion().await().atMost(Duration.ofSeconds(1)));
+        assertEquals(1, run.summary().records());
+    }
+
+    @Test
+    void runsHaveDistinctIdsAndChargeTheirDeadLettersToTheirBudget() {
+        PipelineRun run = new PipelineRun();
+        PipelineRun other = new PipelineRun();
+        FailureBudget budget =
+                new FailureBudget(List.of("a.Send"), 1, 0, Duration.ofSeconds(10), 1);
+        run.failureBudget(budget);
+
+        run.deadLettered("a.Send", 1, new IllegalStateException("provider down"));
+        other.deadLettered("a.Send", 5, new IllegalStateException("provider down"));
+
+        assertNotEquals(run.id(), other.id());
+        assertFalse(budget.isExhausted());
+        run.deadLettered("a.Send", 1, new IllegalStateException("provider down"));
+        assertTrue(budget.isExhausted());
+        assertFalse(run.admitsWork());
+        assertFalse(run.admitsExpansion());
+    }
+
+    /** Gates and counts the source as PipelineRunner does. */
+    private static <T> Multi<T> gated(PipelineRun run, Multi<T> source) {
+        return source.select().first(item -> run.admitsWork()).onItem().invoke(run::onSourceItem);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+}
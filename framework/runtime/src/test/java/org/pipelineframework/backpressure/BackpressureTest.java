@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.BackPressureStrategy;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.config.StepConfig;
+import org.pipelineframework.step.ConfigurableStep;
+
+class BackpressureTest {
+
+    @Test
+    void bufferOccupancyFollowsTheItemsHeldForTheConsumer() {
+        TestStep step = new TestStep("BUFFER");
+        AssertSubscriber<Integer> subscriber =
+                Backpressure.apply(Multi.createFrom().range(0, 10), step)
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(0));
+
+        assertEquals(10, Backpressure.occupancy("TestStep", "BUFFER"));
+        subscriber.request(4);
+        assertEquals(6, Backpressure.occupancy("TestStep", "BUFFER"));
+        subscriber.request(Long.MAX_VALUE).assertCompleted();
+        assertEquals(0, Backpressure.occupancy("TestStep", "BUFFER"));
+    }
+
+    @Test
+    void latestKeepsOnlyTheMostRecentItem() {
+        AtomicReference<MultiEmitter<? super Integer>> emitter = new AtomicReference<>();
+        Multi<Integer> source =
+                Multi.createFrom().<Integer>emitter(emitter::set, BackPressureStrategy.IGNORE);
+        AssertSubscriber<Integer> subscriber =
+                Backpressure.apply(source, new TestStep("LATEST"))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(0));
+
+        IntStream.range(0, 10).forEach(emitter.get()::emit);
+        assertEquals(1, Backpressure.occupancy("TestStep", "LATEST"));
+
+        subscriber.request(1);
+        emitter.get().complete();
+        subscriber.assertCompleted().assertItems(9);
+        assertEquals(0, Backpressure.occupancy("TestStep", "LATEST"));
+    }
+
+    @Test
+    void requestBoundedPassesDemandToTheSource() {
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Multi<Integer> source = Multi.createFrom().range(0, 100).onRequest().invoke(requests::add);
+        AssertSubscriber<Integer> subscriber =
+                Backpressure.apply(source, new TestStep("REQUEST_BOUNDED"))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(3));
+
+        subscriber.request(2);
+
+        subscriber.assertItems(0, 1, 2, 3, 4);
+        assertEquals(List.of(3L, 2L), requests);
+        assertEquals(0, Backpressure.occupancy("TestStep", "REQUEST_BOUNDED"));
+    }
+
+    @Test
+    void adaptiveBufferGrowsWhileTheConsumerWaitsForTheProducer() {
+        ManualSource source = new ManualSource();
+        AssertSubscriber<Integer> subscriber =
+                new AdaptiveBuffer<>(Multi.createFrom().publisher(source), 4, 64)
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+        assertEquals(4, source.pending());
+
+        source.deliver(500);
+
+        assertEquals(64, source.pending());
+        assertEquals(IntStream.range(0, 500).boxed().toList(), subscriber.getItems());
+    }
+
+    @Test
+    void adaptiveBufferShrinksWhileTheProducerWaitsForTheConsumer() {
+        ManualSource source = new ManualSource();
+        AssertSubscriber<Integer> subscriber =
+                new AdaptiveBuffer<>(Multi.createFrom().publisher(source), 4, 64)
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(252));
+
+        // Starved by a slow producer, the buffer grows from 4 to 64 over 252 items
+        source.deliver(252);
+        assertEquals(64, source.pending());
+
+        // The buffer fills up while the consumer has no demand
+        source.deliver(64);
+        assertEquals(0, source.pending());
+        subscriber.request(64);
+
+        assertEquals(32, source.pending());
+        assertEquals(IntStream.range(0, 316).boxed().toList(), subscriber.getItems());
+    }
+
+    @Test
+    void adaptiveBufferDeliversFailuresAfterBufferedItems() {
+        AssertSubscriber<Integer> subscriber =
+                Backpressure.apply(
+                                Multi.createFrom()
+                                        .range(0, 5)
+                                        .onCompletion()
+                                        .failWith(new IllegalStateException("boom")),
+                                new TestStep("ADAPTIVE"))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(2));
+
+        subscriber.assertItems(0, 1).assertNotTerminated();
+        subscriber.request(10);
+        subscriber.assertItems(0, 1, 2, 3, 4).assertFailedWith(IllegalStateException.class, "boom");
+        assertEquals(0, Backpressure.occupancy("TestStep", "ADAPTIVE"));
+    }
+
+    private static final class TestStep extends ConfigurableStep {
+
+        TestStep(String strategy) {
+            initialiseWithConfig(
+                    new StepConfig()
+                            .backpressureStrategy(strategy)
+                            .backpressureBufferCapacity(16)
+                            .backpressureBufferMinCapacity(2));
+        }
+    }
+
+    /** Emits items only when the test delivers them, and never more than requested. */
+    private static final class ManualSource implements Flow.Publisher<Integer> {
+
+        private Flow.Subscriber<? super Integer> subscriber;
+        private long requested;
+        private int next;
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Integer> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(
+                    new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                            requested += n;
+                        }
+
+                        @Override
+                        public void cancel() {}
+                    });
+        }
+
+        long pending() {
+            return requested;
+        }
+
+        void deliver(int count) {
+            for (int i = 0; i < count && requested > 0; i++) {
+                requested--;
+                subscriber.onNext(next++);
+            }
+        }
+    }
+}
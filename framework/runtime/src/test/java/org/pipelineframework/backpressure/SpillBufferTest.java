@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.backpressure;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.protobuf.Int32Value;
+import com.google.protobuf.StringValue;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SpillBufferTest {
+
+    @TempDir Path directory;
+
+    @Test
+    void queueKeepsOrderAcrossMemoryAndSegments() throws IOException {
+        try (SpillQueue queue = new SpillQueue(2, directory, 64)) {
+            for (int i = 0; i < 20; i++) {
+                queue.offer(i % 2 == 0 ? StringValue.of("item-" + i) : Int32Value.of(i));
+            }
+            assertEquals(20, queue.size());
+            assertEquals(18, queue.spilledItems());
+            assertTrue(queue.segmentCount() > 1);
+
+            for (int i = 0; i < 20; i++) {
+                Object expected = i % 2 == 0 ? StringValue.of("item-" + i) : Int32Value.of(i);
+                assertEquals(expected, queue.poll());
+            }
+            assertNull(queue.poll());
+            assertTrue(queue.isEmpty());
+            assertEquals(0, files());
+        }
+    }
+
+    @Test
+    void itemsOfferedWhileSpilledGoToDiskToKeepOrder() throws IOException {
+        try (SpillQueue queue = new SpillQueue(1, directory, 1024)) {
+            queue.offer(StringValue.of("a"));
+            queue.offer(StringValue.of("b"));
+            assertEquals(StringValue.of("a"), queue.poll());
+            queue.offer(StringValue.of("c"));
+
+            assertEquals(StringValue.of("b"), queue.poll());
+            assertEquals(StringValue.of("c"), queue.poll());
+            assertEquals(0, files());
+
+            // Once drained, items are kept in memory again
+            queue.offer("not a message");
+            assertEquals("not a message", queue.poll());
+        }
+    }
+
+    @Test
+    void onlyProtobufMessagesCanBeSpilled() {
+        try (SpillQueue queue = new SpillQueue(1, directory, 1024)) {
+            queue.offer("in memory");
+            assertThrows(IllegalArgumentException.class, () -> queue.offer("spilled"));
+        }
+    }
+
+    @Test
+    void slowConsumerReceivesEveryItemInOrder() throws IOException {
+        List<StringValue> items =
+                IntStream.range(0, 5_000).mapToObj(i -> StringValue.of("item-" + i)).toList();
+
+        AssertSubscriber<StringValue> subscriber =
+                new SpillBuffer<>(Multi.createFrom().iterable(items), 16, directory, 4096, "step")
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(10));
+
+        subscriber.awaitItems(10);
+        assertTrue(files() > 0, "items beyond the memory capacity should be on disk");
+
+        subscriber.request(Long.MAX_VALUE);
+        subscriber.awaitCompletion(Duration.ofSeconds(10));
+        assertEquals(items, subscriber.getItems());
+        assertEquals(0, files());
+    }
+
+    @Test
+    void failureIsDeliveredAfterTheBufferedItems() throws IOException {
+        Multi<StringValue> upstream =
+                Multi.createFrom()
+                        .items(StringValue.of("a"), StringValue.of("b"), StringValue.of("c"))
+                        .onCompletion()
+                        .failWith(new IllegalStateException("boom"));
+
+        AssertSubscriber<StringValue> subscriber =
+                new SpillBuffer<>(upstream, 1, directory, 1024, "step")
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(1));
+
+        subscriber.awaitItems(1);
+        subscriber.request(10);
+        subscriber.awaitFailure();
+        assertEquals(3, subscriber.getItems().size());
+        assertInstanceOf(IllegalStateException.class, subscriber.getFailure());
+        assertEquals(0, files());
+    }
+
+    @Test
+    void cancellationDeletesTheSegments() throws IOException {
+        AssertSubscriber<StringValue> subscriber =
+                new SpillBuffer<>(
+                                Multi.createFrom()
+                                        .range(0, 1_000)
+                                        .map(i -> StringValue.of("item-" + i)),
+                                4,
+                                directory,
+                                1024,
+                                "step")
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(1));
+
+        subscriber.awaitItems(1);
+        assertTrue(files() > 0);
+        subscriber.cancel();
+        assertEquals(0, files());
+    }
+
+    private long files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
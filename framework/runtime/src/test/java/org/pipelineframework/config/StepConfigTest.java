@@ -86,6 +86,76 @@ class StepConfigTest {
                     public Integer order() {
                         return 100;
                     }
+
+                    @Override
+                    public String transport() {
+                        return "stream";
+                    }
+
+                    @Override
+                    public Integer streamBatchSize() {
+                        return 500;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerFailureRate() {
+                        return 50;
+                    }
+
+                    @Override
+                    public Long circuitBreakerSlowCallMs() {
+                        return 1500L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerWindowSize() {
+                        return 10;
+                    }
+
+                    @Override
+                    public Long circuitBreakerOpenMs() {
+                        return 5000L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerHalfOpenCalls() {
+                        return 2;
+                    }
+
+                    @Override
+                    public Boolean circuitBreakerDeadLetter() {
+                        return true;
+                    }
+
+                    @Override
+                    public Boolean hedge() {
+                        return true;
+                    }
+
+                    @Override
+                    public Long hedgeDelayMs() {
+                        return 250L;
+                    }
+
+                    @Override
+                    public Integer hedgeMaxPercent() {
+                        return 25;
+                    }
+
+                    @Override
+                    public Long timeoutMs() {
+                        return 750L;
+                    }
+
+                    @Override
+                    public Integer replayLogCapacity() {
+                        return 64;
+                    }
+
+                    @Override
+                    public Integer backpressureBufferMinCapacity() {
+                        return 32;
+                    }
                 };
 
         // When
@@ -99,7 +169,21 @@ class StepConfigTest {
         assertEquals(Duration.ofSeconds(60), config.maxBackoff());
         assertTrue(config.jitter());
         assertEquals(2048, config.backpressureBufferCapacity());
+        assertEquals(32, config.backpressureBufferMinCapacity());
+        assertEquals(64, config.replayLogCapacity());
         assertEquals("DROP", config.backpressureStrategy());
+        assertEquals("STREAM", config.transport());
+        assertEquals(500, config.streamBatchSize());
+        assertEquals(50, config.circuitBreakerFailureRate());
+        assertEquals(Duration.ofMillis(1500), config.circuitBreakerSlowCall());
+        assertEquals(10, config.circuitBreakerWindowSize());
+        assertEquals(Duration.ofMillis(5000), config.circuitBreakerOpenDuration());
+        assertEquals(2, config.circuitBreakerHalfOpenCalls());
+        assertTrue(config.circuitBreakerDeadLetter());
+        assertTrue(config.hedge());
+        assertEquals(Duration.ofMillis(250), config.hedgeDelay());
+        assertEquals(25, config.hedgeMaxPercent());
+        assertEquals(Duration.ofMillis(750), config.timeout());
     }
 
     @Test
@@ -324,6 +408,31 @@ class StepConfigTest {
         assertEquals("DROP", config.backpressureStrategy());
     }
 
+    @Test
+    void testBackpressureStrategySetterNormalizesCaseSpill() {
+        // Given
+        StepConfig config = new StepConfig();
+
+        // When
+        config.backpressureStrategy("spill");
+
+        // Then
+        assertEquals("SPILL", config.backpressureStrategy());
+    }
+
+    @Test
+    void testBackpressureStrategySetterAcceptsLatestAdaptiveAndRequestBounded() {
+        // Given
+        StepConfig config = new StepConfig();
+
+        // When / Then
+        assertEquals("LATEST", config.backpressureStrategy("latest").backpressureStrategy());
+        assertEquals("ADAPTIVE", config.backpressureStrategy("Adaptive").backpressureStrategy());
+        assertEquals(
+                "REQUEST_BOUNDED",
+                config.backpressureStrategy("request_bounded").backpressureStrategy());
+    }
+
     @Test
     void testBackpressureStrategySetterTrimsWhitespace() {
         // Given
@@ -555,6 +664,76 @@ class StepConfigTest {
                     public Integer order() {
                         return 1;
                     }
+
+                    @Override
+                    public String transport() {
+                        return "UNARY";
+                    }
+
+                    @Override
+                    public Integer streamBatchSize() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerFailureRate() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Long circuitBreakerSlowCallMs() {
+                        return 0L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerWindowSize() {
+                        return 20;
+                    }
+
+                    @Override
+                    public Long circuitBreakerOpenMs() {
+                        return 30000L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerHalfOpenCalls() {
+                        return 3;
+                    }
+
+                    @Override
+                    public Boolean circuitBreakerDeadLetter() {
+                        return false;
+                    }
+
+                    @Override
+                    public Boolean hedge() {
+                        return false;
+                    }
+
+                    @Override
+                    public Long hedgeDelayMs() {
+                        return 0L;
+                    }
+
+                    @Override
+                    public Integer hedgeMaxPercent() {
+                        return 10;
+                    }
+
+                    @Override
+                    public Long timeoutMs() {
+                        return 0L;
+                    }
+
+                    @Override
+                    public Integer replayLogCapacity() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Integer backpressureBufferMinCapacity() {
+                        return 16;
+                    }
                 };
 
         // When
@@ -620,6 +799,76 @@ class StepConfigTest {
                     public Integer order() {
                         return Integer.MAX_VALUE;
                     }
+
+                    @Override
+                    public String transport() {
+                        return "UNARY";
+                    }
+
+                    @Override
+                    public Integer streamBatchSize() {
+                        return Integer.MAX_VALUE;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerFailureRate() {
+                        return 100;
+                    }
+
+                    @Override
+                    public Long circuitBreakerSlowCallMs() {
+                        return 60000L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerWindowSize() {
+                        return 1000;
+                    }
+
+                    @Override
+                    public Long circuitBreakerOpenMs() {
+                        return 60000L;
+                    }
+
+                    @Override
+                    public Integer circuitBreakerHalfOpenCalls() {
+                        return 10;
+                    }
+
+                    @Override
+                    public Boolean circuitBreakerDeadLetter() {
+                        return true;
+                    }
+
+                    @Override
+                    public Boolean hedge() {
+                        return true;
+                    }
+
+                    @Override
+                    public Long hedgeDelayMs() {
+                        return 250L;
+                    }
+
+                    @Override
+                    public Integer hedgeMaxPercent() {
+                        return 25;
+                    }
+
+                    @Override
+                    public Long timeoutMs() {
+                        return 0L;
+                    }
+
+                    @Override
+                    public Integer replayLogCapacity() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Integer backpressureBufferMinCapacity() {
+                        return 16;
+                    }
                 };
 
         // When
@@ -635,4 +884,93 @@ class StepConfigTest {
         assertEquals(Integer.MAX_VALUE, config.backpressureBufferCapacity());
         assertEquals("DROP", config.backpressureStrategy());
     }
+
+    @Test
+    void testTransportSetter() {
+        StepConfig config = new StepConfig();
+
+        assertEquals("UNARY", config.transport());
+        assertEquals("STREAM", config.transport(" stream ").transport());
+        assertThrows(IllegalArgumentException.class, () -> config.transport("BATCH"));
+        assertThrows(NullPointerException.class, () -> config.transport(null));
+    }
+
+    @Test
+    void testStreamBatchSizeSetter() {
+        StepConfig config = new StepConfig();
+
+        assertEquals(0, config.streamBatchSize());
+        assertEquals(100, config.streamBatchSize(100).streamBatchSize());
+        assertThrows(IllegalArgumentException.class, () -> config.streamBatchSize(-1));
+    }
+
+    @Test
+    void testCircuitBreakerSetters() {
+        StepConfig config = new StepConfig();
+
+        assertEquals(0, config.circuitBreakerFailureRate());
+        assertEquals(Duration.ZERO, config.circuitBreakerSlowCall());
+        assertEquals(20, config.circuitBreakerWindowSize());
+        assertEquals(Duration.ofSeconds(30), config.circuitBreakerOpenDuration());
+        assertEquals(3, config.circuitBreakerHalfOpenCalls());
+        assertFalse(config.circuitBreakerDeadLetter());
+
+        assertEquals(50, config.circuitBreakerFailureRate(50).circuitBreakerFailureRate());
+        assertThrows(IllegalArgumentException.class, () -> config.circuitBreakerFailureRate(101));
+        assertThrows(IllegalArgumentException.class, () -> config.circuitBreakerFailureRate(-1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> config.circuitBreakerSlowCall(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> config.circuitBreakerWindowSize(0));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> config.circuitBreakerOpenDuration(Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> config.circuitBreakerHalfOpenCalls(0));
+        assertTrue(config.circuitBreakerDeadLetter(true).circuitBreakerDeadLetter());
+    }
+
+    @Test
+    void testHedgeSetters() {
+        StepConfig config = new StepConfig();
+
+        assertFalse(config.hedge());
+        assertEquals(Duration.ZERO, config.hedgeDelay());
+        assertEquals(10, config.hedgeMaxPercent());
+
+        assertTrue(config.hedge(true).hedge());
+        assertEquals(
+                Duration.ofMillis(100), config.hedgeDelay(Duration.ofMillis(100)).hedgeDelay());
+        assertEquals(0, config.hedgeMaxPercent(0).hedgeMaxPercent());
+        assertThrows(
+                IllegalArgumentException.class, () -> config.hedgeDelay(Duration.ofMillis(-1)));
+        assertThrows(IllegalArgumentException.class, () -> config.hedgeMaxPercent(101));
+    }
+
+    @Test
+    void testTimeoutSetter() {
+        StepConfig config = new StepConfig();
+
+        assertEquals(Duration.ZERO, config.timeout());
+        assertEquals(Duration.ofSeconds(2), config.timeout(Duration.ofSeconds(2)).timeout());
+        assertThrows(IllegalArgumentException.class, () -> config.timeout(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> config.timeout(null));
+    }
+
+    @Test
+    void testBackpressureBufferMinCapacitySetter() {
+        StepConfig config = new StepConfig();
+
+        assertEquals(16, config.backpressureBufferMinCapacity());
+        assertEquals(64, config.backpressureBufferMinCapacity(64).backpressureBufferMinCapacity());
+        assertThrows(IllegalArgumentException.class, () -> config.backpressureBufferMinCapacity(0));
+    }
+
+    @Test
+    void testReplayLogCapacitySetter() {
+        StepConfig config = new StepConfig();
+
+        assertEquals(0, config.replayLogCapacity());
+        assertEquals(256, config.replayLogCapacity(256).replayLogCapacity());
+        assertThrows(IllegalArgumentException.class, () -> config.replayLogCapacity(-1));
+    }
 }
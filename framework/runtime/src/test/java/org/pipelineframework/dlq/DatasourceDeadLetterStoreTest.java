@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class DatasourceDeadLetterStoreTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void appendsAreInsertedInOneBatchPerTransaction() throws SQLException {
+        DatasourceDeadLetterStore store =
+                new DatasourceDeadLetterStore(dataSource, "dlq", 16, Duration.ofMillis(50));
+        try {
+            CompletableFuture.allOf(
+                            store.append(entry()), store.append(entry()), store.append(entry()))
+                    .join();
+        } finally {
+            store.close();
+        }
+
+        verify(connection).prepareStatement(startsWith("INSERT INTO dlq ("));
+        verify(statement, times(3)).addBatch();
+        verify(statement).executeBatch();
+        verify(connection).commit();
+    }
+
+    @Test
+    void failedInsertsAreRolledBackAndReported() throws SQLException {
+        when(statement.executeBatch()).thenThrow(new SQLException("down"));
+        DatasourceDeadLetterStore store =
+                new DatasourceDeadLetterStore(dataSource, "dlq", 16, Duration.ZERO);
+        try {
+            assertThrows(Exception.class, () -> store.append(entry()).join());
+        } finally {
+            store.close();
+        }
+        verify(connection).rollback();
+    }
+
+    @Test
+    void readsFilterByStepIdsAndReplayState() throws SQLException {
+        ResultSet rows = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true, false);
+        when(rows.getLong("id")).thenReturn(7L);
+        when(rows.getTimestamp("created_at")).thenReturn(Timestamp.from(Instant.EPOCH));
+        when(rows.getString("step")).thenReturn("step.A");
+        when(rows.getString("encoding")).thenReturn("PROTOBUF");
+        when(rows.getBytes("payload")).thenReturn(new byte[] {1, 2});
+        when(rows.getString("cause_type")).thenReturn(RuntimeException.class.getName());
+        when(rows.getInt("attempts")).thenReturn(2);
+
+        DatasourceDeadLetterStore store =
+                new DatasourceDeadLetterStore(dataSource, "app.dlq", 16, Duration.ZERO);
+        List<DeadLetterEntry> entries;
+        try {
+            entries = store.read(new DeadLetterQuery("step.A", Set.of(7L), false));
+        } finally {
+            store.close();
+        }
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection).prepareStatement(sql.capture());
+        assertTrue(sql.getValue().contains("FROM app.dlq"));
+        assertTrue(sql.getValue().contains("step = ?"));
+        assertTrue(sql.getValue().contains("replayed_at IS NULL"));
+        assertTrue(sql.getValue().contains("id IN (?)"));
+        verify(statement).setString(1, "step.A");
+        verify(statement).setLong(2, 7L);
+
+        DeadLetterEntry entry = entries.getFirst();
+        assertEquals(7L, entry.id());
+        assertEquals(2, entry.attempts());
+        assertEquals(DeadLetterEntry.Encoding.PROTOBUF, entry.encoding());
+        assertFalse(entry.replayed());
+    }
+
+    @Test
+    void replayedEntriesAreMarkedInOneTransaction() throws SQLException {
+        DatasourceDeadLetterStore store =
+                new DatasourceDeadLetterStore(dataSource, "dlq", 16, Duration.ZERO);
+        try {
+            store.markReplayed(List.of(1L, 2L));
+        } finally {
+            store.close();
+        }
+
+        verify(connection).prepareStatement("UPDATE dlq SET replayed_at = ? WHERE id = ?");
+        verify(statement, times(2)).addBatch();
+        verify(connection).commit();
+    }
+
+    @Test
+    void tableNamesAreValidated() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new DatasourceDeadLetterStore(
+                                dataSource, "dlq; DROP TABLE x", 16, Duration.ZERO));
+    }
+
+    private static DeadLetterEntry entry() {
+        return new DeadLetterEntry(
+                0,
+                Instant.now(),
+                "step.A",
+                null,
+                "type",
+                DeadLetterEntry.Encoding.TEXT,
+                new byte[] {1},
+                RuntimeException.class.getName(),
+                "boom",
+                1,
+                false);
+    }
+}
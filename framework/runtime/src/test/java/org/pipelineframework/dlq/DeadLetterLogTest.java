@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.protobuf.StringValue;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DeadLetterLogTest {
+
+    private static final Duration LINGER = Duration.ofMillis(5);
+
+    @TempDir Path directory;
+
+    @Test
+    void appendedEntriesAreReadBackWithIdsInOrder() throws IOException {
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            List<CompletableFuture<Void>> written = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                written.add(log.append(entry("step.A", "item-" + i)));
+            }
+            CompletableFuture.allOf(written.toArray(CompletableFuture[]::new)).join();
+
+            List<DeadLetterEntry> entries = log.read(DeadLetterQuery.pending());
+            assertEquals(10, entries.size());
+            for (int i = 0; i < 10; i++) {
+                DeadLetterEntry entry = entries.get(i);
+                assertEquals(i + 1, entry.id());
+                assertEquals(StringValue.of("item-" + i), DeadLetters.decode(entry));
+                assertEquals("step.A", entry.step());
+                assertEquals(3, entry.attempts());
+                assertEquals("boom", entry.causeMessage());
+                assertFalse(entry.replayed());
+            }
+        }
+    }
+
+    @Test
+    void queriesSelectByStepAndId() throws IOException {
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            log.append(entry("step.A", "a1"));
+            log.append(entry("step.B", "b1"));
+            log.append(entry("step.A", "a2"));
+            log.flush();
+
+            assertEquals(
+                    List.of(1L, 3L), ids(log.read(new DeadLetterQuery("step.A", null, false))));
+            assertEquals(List.of(2L), ids(log.read(new DeadLetterQuery(null, Set.of(2L), false))));
+            assertEquals(
+                    List.of(), ids(log.read(new DeadLetterQuery("step.B", Set.of(1L), false))));
+        }
+    }
+
+    @Test
+    void replayedEntriesAreOnlyReadWhenAskedFor() throws IOException {
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            log.append(entry("step.A", "a1"));
+            log.append(entry("step.A", "a2"));
+            log.flush();
+
+            log.markReplayed(List.of(1L));
+
+            assertEquals(List.of(2L), ids(log.read(DeadLetterQuery.pending())));
+            List<DeadLetterEntry> all = log.read(new DeadLetterQuery(null, null, true));
+            assertEquals(List.of(1L, 2L), ids(all));
+            assertTrue(all.get(0).replayed());
+            assertFalse(all.get(1).replayed());
+        }
+    }
+
+    @Test
+    void reopeningRecoversEntriesAndContinuesIds() throws IOException {
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            log.append(entry("step.A", "a1"));
+            log.append(entry("step.A", "a2"));
+            log.flush();
+            log.markReplayed(List.of(2L));
+        }
+
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            log.append(entry("step.A", "a3")).join();
+
+            List<DeadLetterEntry> entries = log.read(new DeadLetterQuery(null, null, true));
+            assertEquals(List.of(1L, 2L, 3L), ids(entries));
+            assertTrue(entries.get(1).replayed());
+            assertEquals(StringValue.of("a3"), DeadLetters.decode(entries.get(2)));
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            log.append(entry("step.A", "a1"));
+            log.append(entry("step.A", "a2"));
+            log.flush();
+        }
+        Path segment = segments().getLast();
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (DeadLetterLog log = open(1024 * 1024)) {
+            assertEquals(List.of(1L), ids(log.read(DeadLetterQuery.pending())));
+
+            // The torn record's id is reused, as it was never reported written
+            log.append(entry("step.A", "a2")).join();
+            assertEquals(List.of(1L, 2L), ids(log.read(DeadLetterQuery.pending())));
+        }
+    }
+
+    @Test
+    void segmentsRollOverBySize() throws IOException {
+        try (DeadLetterLog log = open(256)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(entry("step.A", "item-" + i));
+            }
+            log.flush();
+
+            assertTrue(segments().size() > 1);
+            assertEquals(20, log.read(DeadLetterQuery.pending()).size());
+        }
+        try (DeadLetterLog log = open(256)) {
+            assertEquals(20, log.read(DeadLetterQuery.pending()).size());
+        }
+    }
+
+    @Test
+    void appendsAreWrittenInBatches() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            DeadLetterLog log =
+                    new DeadLetterLog(directory, 1024 * 1024, 64, Duration.ofMillis(50), false);
+            List<CompletableFuture<Void>> written = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                written.add(log.append(entry("step.A", "item-" + i)));
+            }
+            CompletableFuture.allOf(written.toArray(CompletableFuture[]::new)).join();
+            log.close();
+
+            assertEquals(
+                    64, registry.get("pipeline.dlq.written").tag("store", "log").counter().count());
+            assertTrue(
+                    registry.get("pipeline.dlq.batches").tag("store", "log").counter().count()
+                            < 64);
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    private DeadLetterLog open(long segmentBytes) throws IOException {
+        return new DeadLetterLog(directory, segmentBytes, 16, LINGER, true);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static DeadLetterEntry entry(String step, String item) {
+        return new DeadLetterEntry(
+                0,
+                Instant.now(),
+                step,
+                null,
+                StringValue.class.getName(),
+                DeadLetterEntry.Encoding.PROTOBUF,
+                StringValue.of(item).toByteArray(),
+                IllegalStateException.class.getName(),
+                "boom",
+                3,
+                false);
+    }
+
+    private static List<Long> ids(List<DeadLetterEntry> entries) {
+        return entries.stream().map(DeadLetterEntry::id).toList();
+    }
+}
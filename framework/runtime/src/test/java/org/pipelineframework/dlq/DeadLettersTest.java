@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.dlq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.protobuf.StringValue;
+import io.smallrye.mutiny.Context;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pipelineframework.config.StepConfig;
+import org.pipelineframework.step.StepManyToOne;
+import org.pipelineframework.step.StepOneToOne;
+
+class DeadLettersTest {
+
+    @TempDir Path directory;
+
+    private DeadLetterLog log;
+    private final List<DeadLetters.Listener> listeners = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        log = new DeadLetterLog(directory, 1024 * 1024, 16, Duration.ofMillis(1), false);
+        DeadLetters.set(log);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listeners.forEach(DeadLetters::removeListener);
+        DeadLetters.set(null);
+        log.close();
+    }
+
+    @Test
+    void protobufItemsAreRecordedForReplay() {
+        IllegalStateException cause = new IllegalStateException("boom");
+
+        DeadLetters.record(
+                        this,
+                        "group-1",
+                        List.of(StringValue.of("a"), StringValue.of("b")),
+                        cause,
+                        4)
+                .join();
+
+        List<DeadLetterEntry> entries = log.read(DeadLetterQuery.pending());
+        assertEquals(2, entries.size());
+        for (DeadLetterEntry entry : entries) {
+            assertEquals(DeadLettersTest.class.getName(), entry.step());
+            assertEquals("group-1", entry.group());
+            assertEquals(DeadLetterEntry.Encoding.PROTOBUF, entry.encoding());
+            assertEquals(IllegalStateException.class.getName(), entry.causeType());
+            assertEquals("boom", entry.causeMessage());
+            assertEquals(4, entry.attempts());
+        }
+        assertEquals(StringValue.of("a"), DeadLetters.decode(entries.get(0)));
+        assertEquals(StringValue.of("b"), DeadLetters.decode(entries.get(1)));
+    }
+
+    @Test
+    void otherItemsAreKeptAsTextOnly() {
+        DeadLetters.record(this, null, Arrays.asList("plain", null), new RuntimeException(), 1)
+                .join();
+
+        List<DeadLetterEntry> entries = log.read(DeadLetterQuery.pending());
+        assertEquals(DeadLetterEntry.Encoding.TEXT, entries.get(0).encoding());
+        assertEquals("plain", new String(entries.get(0).payload(), StandardCharsets.UTF_8));
+        assertEquals(DeadLetterEntry.Encoding.NONE, entries.get(1).encoding());
+        assertNull(entries.get(1).itemType());
+        assertThrows(DeadLetterStoreException.class, () -> DeadLetters.decode(entries.get(0)));
+    }
+
+    @Test
+    void nothingIsRecordedWithoutAStore() {
+        DeadLetters.set(null);
+
+        assertTrue(
+                DeadLetters.record(
+                                this, null, List.of(StringValue.of("a")), new RuntimeException(), 1)
+                        .isDone());
+    }
+
+    @Test
+    void attemptsAreScopedToTheHandler() {
+        assertEquals(1, DeadLetters.attempts());
+        assertEquals(3, DeadLetters.withAttempts(3, DeadLetters::attempts));
+        assertEquals(1, DeadLetters.attempts());
+    }
+
+    @Test
+    void stepNamesIgnoreGeneratedSubclasses() {
+        assertEquals(FailingStep.class.getName(), DeadLetters.stepName(FailingStep.class));
+        assertEquals(FailingStep.class.getName(), DeadLetters.stepName(FailingStep_Subclass.class));
+    }
+
+    @Test
+    void stepsRecordRecoveredFailuresWithTheirAttempts() {
+        FailingStep step = new FailingStep();
+
+        assertNull(
+                step.apply(Uni.createFrom().item(StringValue.of("input")))
+                        .await()
+                        .atMost(Duration.ofSeconds(5)));
+        log.flush();
+
+        List<DeadLetterEntry> entries = log.read(DeadLetterQuery.pending());
+        assertEquals(1, entries.size());
+        assertEquals(FailingStep.class.getName(), entries.getFirst().step());
+        assertEquals(3, entries.getFirst().attempts());
+        assertEquals(StringValue.of("input"), DeadLetters.decode(entries.getFirst()));
+    }
+
+    @Test
+    void stepsNotifyTheListenerOfTheRunTheyWorkFor() {
+        FailingStep step = new FailingStep();
+        AtomicInteger ownItems = new AtomicInteger();
+        AtomicInteger otherItems = new AtomicInteger();
+        DeadLetters.Listener run = (stepName, items, cause) -> ownItems.addAndGet(items);
+
+        step.apply(Uni.createFrom().item(StringValue.of("own")))
+                .subscribe()
+                .withSubscriber(
+                        UniAssertSubscriber.create(Context.of(DeadLetters.RUN_LISTENER, run)))
+                .awaitItem(Duration.ofSeconds(5));
+        DeadLetters.Listener global = (stepName, items, cause) -> otherItems.addAndGet(items);
+        listeners.add(global);
+        DeadLetters.addListener(global);
+        step.apply(Uni.createFrom().item(StringValue.of("other")))
+                .await()
+                .atMost(Duration.ofSeconds(5));
+
+        assertEquals(1, ownItems.get());
+        assertEquals(1, otherItems.get());
+    }
+
+    @Test
+    void blockingHandlersAreScopedToTheirRun() {
+        AtomicInteger runItems = new AtomicInteger();
+        DeadLetters.Listener run = (stepName, items, cause) -> runItems.addAndGet(items);
+        Context context = Context.of(DeadLetters.RUN_LISTENER, run);
+
+        DeadLetters.inRun(
+                context,
+                () -> DeadLetters.record(this, null, List.of("a", "b"), new RuntimeException(), 1));
+        DeadLetters.record(this, null, List.of("c"), new RuntimeException(), 1);
+        DeadLetters.inRun(
+                Context.empty(),
+                () -> DeadLetters.record(this, null, List.of("d"), new RuntimeException(), 1));
+
+        assertEquals(2, runItems.get());
+    }
+
+    @Test
+    void streamsLongerThanTheLimitAreRecordedWithATruncationMarker() {
+        ReducingStep step = new ReducingStep();
+
+        step.deadLetterStream(
+                        List.of(StringValue.of("a"), StringValue.of("b")),
+                        5,
+                        new IllegalStateException("boom"))
+                .await()
+                .atMost(Duration.ofSeconds(5));
+
+        List<DeadLetterEntry> entries = log.read(DeadLetterQuery.pending());
+        assertEquals(3, entries.size());
+        assertEquals(1, entries.stream().map(DeadLetterEntry::group).distinct().count());
+        DeadLetterEntry marker = entries.get(2);
+        assertEquals(DeadLetterEntry.Encoding.NONE, marker.encoding());
+        assertEquals(TruncatedStreamException.class.getName(), marker.causeType());
+        assertEquals(
+                "3 of the 5 items of the failed stream were not recorded: boom",
+                marker.causeMessage());
+    }
+
+    static class ReducingStep implements StepManyToOne<StringValue, StringValue> {
+
+        @Override
+        public Uni<StringValue> applyReduce(Multi<StringValue> input) {
+            return Uni.createFrom().failure(new IllegalStateException("always fails"));
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return new StepConfig();
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
+
+    static class FailingStep implements StepOneToOne<StringValue, StringValue> {
+
+        private final StepConfig config =
+                new StepConfig()
+                        .recoverOnFailure(true)
+                        .retryLimit(2)
+                        .retryWait(Duration.ofMillis(1));
+
+        @Override
+        public Uni<StringValue> applyOneToOne(StringValue input) {
+            return Uni.createFrom().failure(new RuntimeException("always fails"));
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
+
+    static class FailingStep_Subclass extends FailingStep {}
+}
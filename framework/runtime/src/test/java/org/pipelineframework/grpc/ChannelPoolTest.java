@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ChannelPoolTest {
+
+    private static final MethodDescriptor<String, String> METHOD =
+            MethodDescriptor.<String, String>newBuilder()
+                    .setType(MethodDescriptor.MethodType.UNARY)
+                    .setFullMethodName("test.Service/remoteProcess")
+                    .setRequestMarshaller(new StringMarshaller())
+                    .setResponseMarshaller(new StringMarshaller())
+                    .build();
+
+    private final Map<String, List<ManagedChannel>> channelsByEndpoint = new HashMap<>();
+    private final Map<ManagedChannel, List<ClientCall.Listener<String>>> listeners =
+            new HashMap<>();
+
+    @Test
+    void opensChannelsPerEndpoint() {
+        ChannelPool pool = pool(List.of("a:1", "b:2"), 3);
+
+        assertEquals(3, channelsByEndpoint.get("a:1").size());
+        assertEquals(3, channelsByEndpoint.get("b:2").size());
+        assertEquals(6, pool.channelsInRotation());
+    }
+
+    @Test
+    void routesToTheChannelWithFewestOutstandingCalls() {
+        ChannelPool pool = pool(List.of("a:1"), 3);
+
+        for (int i = 0; i < 6; i++) {
+            start(pool);
+        }
+
+        assertEquals(6, pool.outstanding());
+        channelsByEndpoint
+                .get("a:1")
+                .forEach(channel -> assertEquals(2, listeners.get(channel).size()));
+
+        // Completing calls on one channel makes it the preferred target
+        ManagedChannel first = channelsByEndpoint.get("a:1").getFirst();
+        listeners.get(first).forEach(listener -> listener.onClose(Status.OK, new Metadata()));
+        start(pool);
+        assertEquals(3, listeners.get(first).size());
+        assertEquals(5, pool.outstanding());
+    }
+
+    @Test
+    void takesUnavailableChannelsOutOfRotation() {
+        ChannelPool pool = pool(List.of("a:1", "b:2"), 1);
+        ManagedChannel a = channelsByEndpoint.get("a:1").getFirst();
+        ManagedChannel b = channelsByEndpoint.get("b:2").getFirst();
+
+        start(pool);
+        start(pool);
+        listeners.get(a).getFirst().onClose(Status.UNAVAILABLE, new Metadata());
+        listeners.get(b).getFirst().onClose(Status.OK, new Metadata());
+        assertEquals(1, pool.channelsInRotation());
+
+        for (int i = 0; i < 4; i++) {
+            start(pool);
+        }
+        assertEquals(1, listeners.get(a).size());
+        assertEquals(5, listeners.get(b).size());
+    }
+
+    @Test
+    void skipsChannelsInTransientFailure() {
+        ChannelPool pool = pool(List.of("a:1", "b:2"), 1);
+        ManagedChannel a = channelsByEndpoint.get("a:1").getFirst();
+        when(a.getState(false)).thenReturn(ConnectivityState.TRANSIENT_FAILURE);
+
+        for (int i = 0; i < 3; i++) {
+            start(pool);
+        }
+
+        assertNull(listeners.get(a));
+        assertEquals(1, pool.channelsInRotation());
+    }
+
+    @Test
+    void fallsBackToLeastLoadedChannelWhenAllAreOutOfRotation() {
+        ChannelPool pool = pool(List.of("a:1", "b:2"), 1);
+        channelsByEndpoint.values().stream()
+                .flatMap(List::stream)
+                .forEach(
+                        channel ->
+                                when(channel.getState(false))
+                                        .thenReturn(ConnectivityState.TRANSIENT_FAILURE));
+
+        start(pool);
+        start(pool);
+
+        assertEquals(0, pool.channelsInRotation());
+        assertEquals(2, pool.outstanding());
+        channelsByEndpoint.values().stream()
+                .flatMap(List::stream)
+                .forEach(channel -> assertEquals(1, listeners.get(channel).size()));
+    }
+
+    @Test
+    void closeShutsDownAllChannels() {
+        ChannelPool pool = pool(List.of("a:1", "b:2"), 2);
+
+        pool.close();
+
+        channelsByEndpoint.values().stream()
+                .flatMap(List::stream)
+                .forEach(channel -> verify(channel).shutdown());
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> pool(List.of(), 1));
+        assertThrows(IllegalArgumentException.class, () -> pool(List.of("a:1"), 0));
+    }
+
+    @Test
+    void unconfiguredClientsHaveNoPool() {
+        assertNull(new ChannelPools().channel("not-pooled"));
+    }
+
+    private ChannelPool pool(List<String> endpoints, int channelsPerEndpoint) {
+        return new ChannelPool(
+                "test", endpoints, channelsPerEndpoint, Duration.ofMinutes(1), this::mockChannel);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ManagedChannel mockChannel(String endpoint) {
+        ManagedChannel channel = mock(ManagedChannel.class);
+        when(channel.getState(false)).thenReturn(ConnectivityState.READY);
+        when(channel.newCall(any(MethodDescriptor.class), any(CallOptions.class)))
+                .thenAnswer(
+                        invocation -> {
+                            ClientCall<String, String> call = mock(ClientCall.class);
+                            doAnswer(
+                                            start -> {
+                                                listeners
+                                                        .computeIfAbsent(
+                                                                channel, c -> new ArrayList<>())
+                                                        .add(start.getArgument(0));
+                                                return null;
+                                            })
+                                    .when(call)
+                                    .start(any(), any());
+                            return call;
+                        });
+        channelsByEndpoint.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(channel);
+        return channel;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void start(ChannelPool pool) {
+        ClientCall<String, String> call = pool.newCall(METHOD, CallOptions.DEFAULT);
+        call.start(mock(ClientCall.Listener.class), new Metadata());
+    }
+
+    private static final class StringMarshaller implements MethodDescriptor.Marshaller<String> {
+        @Override
+        public InputStream stream(String value) {
+            return new ByteArrayInputStream(value.getBytes());
+        }
+
+        @Override
+        public String parse(InputStream stream) {
+            return "";
+        }
+    }
+}
@@ -18,8 +18,10 @@ package org.pipelineframework.grpc;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import io.grpc.Context;
 import io.grpc.StatusRuntimeException;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
@@ -122,6 +124,26 @@ class GrpcServiceStreamingAdapterTest {
         verify(mockReactiveService).process(any(DomainIn.class));
     }
 
+    @Test
+    void testRemoteProcessResumesAtThePositionSentByTheClient() throws Exception {
+        GrpcIn grpcRequest = new GrpcIn();
+        when(mockReactiveService.process(any(DomainIn.class), eq(2L)))
+                .thenReturn(Multi.createFrom().items(new DomainOut()));
+
+        Multi<GrpcOut> result =
+                Context.current()
+                        .withValue(StreamResume.CONTEXT_KEY, 2L)
+                        .call(() -> adapter.remoteProcess(grpcRequest));
+
+        AssertSubscriber<GrpcOut> subscriber = AssertSubscriber.create(2);
+        result.subscribe().withSubscriber(subscriber);
+        subscriber.awaitCompletion();
+
+        assertEquals(1, subscriber.getItems().size());
+        verify(mockReactiveService).process(any(DomainIn.class), eq(2L));
+        verifyNoMoreInteractions(mockReactiveService);
+    }
+
     @Test
     void testFromGrpcTransformation() {
         // Given
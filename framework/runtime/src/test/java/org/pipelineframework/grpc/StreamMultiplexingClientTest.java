@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class StreamMultiplexingClientTest {
+
+    private record Request(long correlationId, String payload) {}
+
+    private record Response(long correlationId, String payload, Status status) {}
+
+    private final AtomicInteger streamsOpened = new AtomicInteger();
+
+    @Test
+    void correlatesResponsesCompletedOutOfOrder() {
+        StreamMultiplexingClient<String, String, Request, Response> client =
+                client(
+                        input ->
+                                Uni.createFrom()
+                                        .item(input.toUpperCase())
+                                        .onItem()
+                                        .delayIt()
+                                        .by(Duration.ofMillis(input.equals("slow") ? 200 : 1)),
+                        0);
+
+        Uni<String> slow = client.call("slow");
+        Uni<String> fast = client.call("fast");
+        List<String> results =
+                Uni.join().all(slow, fast).andFailFast().await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(List.of("SLOW", "FAST"), results);
+        assertEquals(1, streamsOpened.get());
+    }
+
+    @Test
+    void failsOnlyTheCallTheServiceRejected() {
+        StreamMultiplexingClient<String, String, Request, Response> client =
+                client(
+                        input ->
+                                input.equals("bad")
+                                        ? Uni.createFrom()
+                                                .failure(
+                                                        Status.INVALID_ARGUMENT
+                                                                .withDescription("bad input")
+                                                                .asRuntimeException())
+                                        : Uni.createFrom().item(input),
+                        0);
+
+        UniAssertSubscriber<String> bad =
+                client.call("bad").subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<String> good =
+                client.call("good").subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        bad.awaitFailure(Duration.ofSeconds(5));
+        StatusRuntimeException failure = (StatusRuntimeException) bad.getFailure();
+        assertEquals(Status.Code.INVALID_ARGUMENT, failure.getStatus().getCode());
+        assertEquals("bad input", failure.getStatus().getDescription());
+        good.awaitItem(Duration.ofSeconds(5)).assertItem("good");
+    }
+
+    @Test
+    void opensANewStreamEveryBatch() {
+        StreamMultiplexingClient<String, String, Request, Response> client =
+                client(input -> Uni.createFrom().item(input), 2);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(
+                    "item-" + i, client.call("item-" + i).await().atMost(Duration.ofSeconds(5)));
+        }
+
+        assertEquals(3, streamsOpened.get());
+    }
+
+    @Test
+    void failsPendingCallsWhenTheStreamFailsAndReopensOnNextCall() {
+        AtomicInteger attempt = new AtomicInteger();
+        StreamMultiplexingClient<String, String, Request, Response> client =
+                new StreamMultiplexingClient<String, String, Request, Response>(
+                        requests -> {
+                            streamsOpened.incrementAndGet();
+                            if (attempt.getAndIncrement() == 0) {
+                                return Multi.createFrom()
+                                        .failure(
+                                                Status.UNAVAILABLE
+                                                        .withDescription("connection reset")
+                                                        .asRuntimeException());
+                            }
+                            return requests.map(
+                                    request ->
+                                            new Response(
+                                                    request.correlationId(),
+                                                    request.payload(),
+                                                    Status.OK));
+                        },
+                        Request::new,
+                        Response::correlationId,
+                        Response::payload,
+                        Response::status,
+                        0);
+
+        UniAssertSubscriber<String> first =
+                client.call("first").subscribe().withSubscriber(UniAssertSubscriber.create());
+        first.awaitFailure(Duration.ofSeconds(5));
+        assertEquals(
+                Status.Code.UNAVAILABLE,
+                ((StatusRuntimeException) first.getFailure()).getStatus().getCode());
+
+        assertEquals("second", client.call("second").await().atMost(Duration.ofSeconds(5)));
+        assertEquals(2, streamsOpened.get());
+    }
+
+    @Test
+    void closeLetsInFlightCallsComplete() {
+        StreamMultiplexingClient<String, String, Request, Response> client =
+                client(
+                        input ->
+                                Uni.createFrom()
+                                        .item(input)
+                                        .onItem()
+                                        .delayIt()
+                                        .by(Duration.ofMillis(100)),
+                        0);
+
+        UniAssertSubscriber<String> inFlight =
+                client.call("in-flight").subscribe().withSubscriber(UniAssertSubscriber.create());
+        client.close();
+
+        inFlight.awaitItem(Duration.ofSeconds(5)).assertItem("in-flight");
+        assertEquals("after", client.call("after").await().atMost(Duration.ofSeconds(5)));
+        assertEquals(2, streamsOpened.get());
+    }
+
+    @Test
+    void rejectsNegativeBatchSize() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> client(input -> Uni.createFrom().item(input), -1));
+    }
+
+    private StreamMultiplexingClient<String, String, Request, Response> client(
+            Function<String, Uni<String>> process, int streamBatchSize) {
+        return new StreamMultiplexingClient<>(
+                requests -> loopback(requests, process),
+                Request::new,
+                Response::correlationId,
+                Response::payload,
+                Response::status,
+                streamBatchSize);
+    }
+
+    private Multi<Response> loopback(
+            Multi<Request> requests, Function<String, Uni<String>> process) {
+        streamsOpened.incrementAndGet();
+        return StreamMultiplexingServer.serve(
+                requests,
+                Request::correlationId,
+                Request::payload,
+                process,
+                (correlationId, output) -> new Response(correlationId, output, Status.OK),
+                (correlationId, status) -> new Response(correlationId, null, status),
+                4);
+    }
+}
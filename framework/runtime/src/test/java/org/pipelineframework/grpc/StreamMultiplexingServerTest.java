@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class StreamMultiplexingServerTest {
+
+    private record Request(long correlationId, int payload) {}
+
+    private record Response(long correlationId, Integer payload, Status status) {}
+
+    @Test
+    void boundsTheNumberOfRequestsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Multi<Request> requests = Multi.createFrom().range(0, 50).map(i -> new Request(i, i));
+
+        List<Response> responses =
+                serve(
+                                requests,
+                                input ->
+                                        Uni.createFrom()
+                                                .item(input * 2)
+                                                .onSubscription()
+                                                .invoke(
+                                                        () ->
+                                                                maxInFlight.accumulateAndGet(
+                                                                        inFlight.incrementAndGet(),
+                                                                        Math::max))
+                                                .onItem()
+                                                .delayIt()
+                                                .by(Duration.ofMillis(5))
+                                                .onTermination()
+                                                .invoke(inFlight::decrementAndGet),
+                                3)
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(10));
+
+        assertEquals(50, responses.size());
+        assertTrue(maxInFlight.get() <= 3, "max in flight was " + maxInFlight.get());
+        responses.forEach(
+                response -> assertEquals(response.correlationId() * 2, (long) response.payload()));
+    }
+
+    @Test
+    void mapsFailuresToErrorEnvelopes() {
+        Multi<Request> requests = Multi.createFrom().items(new Request(1, 1), new Request(2, 0));
+
+        List<Response> responses =
+                serve(
+                                requests,
+                                input -> {
+                                    if (input == 0) {
+                                        throw new IllegalArgumentException("zero");
+                                    }
+                                    return Uni.createFrom().item(input);
+                                },
+                                2)
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(2, responses.size());
+        Response failed =
+                responses.stream().filter(r -> r.correlationId() == 2).findFirst().orElseThrow();
+        assertEquals(Status.Code.UNKNOWN, failed.status().getCode());
+        assertEquals("zero", failed.status().getDescription());
+        Response succeeded =
+                responses.stream().filter(r -> r.correlationId() == 1).findFirst().orElseThrow();
+        assertTrue(succeeded.status().isOk());
+    }
+
+    @Test
+    void concurrencyDefaultsWhenUnconfigured() {
+        assertEquals(
+                StreamMultiplexingServer.DEFAULT_CONCURRENCY,
+                StreamMultiplexingServer.concurrency());
+    }
+
+    private static Multi<Response> serve(
+            Multi<Request> requests,
+            java.util.function.Function<Integer, Uni<Integer>> process,
+            int concurrency) {
+        return StreamMultiplexingServer.serve(
+                requests,
+                Request::correlationId,
+                Request::payload,
+                process,
+                (correlationId, output) -> new Response(correlationId, output, Status.OK),
+                (correlationId, status) -> new Response(correlationId, null, status),
+                concurrency);
+    }
+}
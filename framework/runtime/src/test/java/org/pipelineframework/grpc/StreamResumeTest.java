@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class StreamResumeTest {
+
+    @Test
+    void testParseAcceptsOnlyPositivePositions() {
+        assertEquals(0, StreamResume.parse(new Metadata()));
+        assertEquals(42, StreamResume.parse(headers("42")));
+        assertEquals(0, StreamResume.parse(headers("-3")));
+        assertEquals(0, StreamResume.parse(headers("not-a-number")));
+    }
+
+    @Test
+    void testResumeFromIsZeroOutsideAResumedCall() {
+        assertEquals(0, StreamResume.resumeFrom());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testInterceptorExposesThePositionToTheService() {
+        ServerCall<Object, Object> call = mock(ServerCall.class);
+        MethodDescriptor<Object, Object> method = mock(MethodDescriptor.class);
+        when(method.getFullMethodName()).thenReturn("test.Service/remoteProcess");
+        when(call.getMethodDescriptor()).thenReturn(method);
+
+        AtomicLong seen = new AtomicLong(-1);
+        ServerCallHandler<Object, Object> next =
+                (c, h) ->
+                        new ServerCall.Listener<>() {
+                            @Override
+                            public void onHalfClose() {
+                                seen.set(StreamResume.resumeFrom());
+                            }
+                        };
+
+        ServerCall.Listener<Object> listener =
+                new StreamResumeServerInterceptor().interceptCall(call, headers("7"), next);
+        listener.onHalfClose();
+
+        assertEquals(7, seen.get());
+    }
+
+    private static Metadata headers(String position) {
+        Metadata headers = new Metadata();
+        headers.put(StreamResume.HEADER_KEY, position);
+        return headers;
+    }
+}
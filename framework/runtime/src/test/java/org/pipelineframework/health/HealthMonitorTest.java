@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.health;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import jakarta.enterprise.event.Event;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.HealthCheckService;
+import org.pipelineframework.config.PipelineStepConfig;
+
+class HealthMonitorTest {
+
+    private static final String CLIENT = "payments";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private PipelineStepConfig.HealthConfig healthConfig;
+    private HealthCheckService healthCheckService;
+    private Event<HealthStateChanged> events;
+    private SimpleMeterRegistry registry;
+    private HealthMonitor monitor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        healthConfig = mock(PipelineStepConfig.HealthConfig.class);
+        when(healthConfig.monitorIntervalMs()).thenReturn(60_000L);
+        when(healthConfig.failureThreshold()).thenReturn(2);
+        when(healthConfig.unhealthyAction()).thenReturn("PARK");
+        when(healthConfig.parkTimeoutMs()).thenReturn(5_000L);
+        PipelineStepConfig config = mock(PipelineStepConfig.class);
+        when(config.health()).thenReturn(healthConfig);
+
+        healthCheckService = mock(HealthCheckService.class);
+        when(healthCheckService.probe(any())).thenReturn(Uni.createFrom().item(true));
+        events = mock(Event.class);
+        registry = new SimpleMeterRegistry();
+
+        monitor = new HealthMonitor();
+        monitor.pipelineStepConfig = config;
+        monitor.healthCheckService = healthCheckService;
+        monitor.events = events;
+        monitor.registry = registry;
+        monitor.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    @Test
+    void consecutiveUnavailableCallsMarkTheServiceUnhealthy() {
+        monitor.watch(List.of(new HealthTarget(CLIENT, null)));
+        assertEquals(HealthState.HEALTHY, monitor.state(CLIENT));
+
+        failWith(Status.UNAVAILABLE);
+        assertEquals(HealthState.HEALTHY, monitor.state(CLIENT));
+        failWith(Status.UNAVAILABLE);
+
+        assertEquals(HealthState.UNHEALTHY, monitor.state(CLIENT));
+        verify(events)
+                .fire(
+                        argThat(
+                                (HealthStateChanged event) ->
+                                        event.current() == HealthState.UNHEALTHY
+                                                && event.previous() == HealthState.HEALTHY));
+        assertEquals(
+                0, registry.get("pipeline.health.state").tag("client", CLIENT).gauge().value());
+        assertEquals(
+                1,
+                registry.get("pipeline.health.transitions")
+                        .tags("client", CLIENT, "state", "UNHEALTHY")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void otherFailuresAndSuccessesResetTheCount() {
+        failWith(Status.UNAVAILABLE);
+        failWith(Status.INVALID_ARGUMENT);
+        succeed();
+        failWith(Status.UNAVAILABLE);
+
+        assertNotEquals(HealthState.UNHEALTHY, monitor.state(CLIENT));
+    }
+
+    @Test
+    void failFastSkipsTheCall() {
+        when(healthConfig.unhealthyAction()).thenReturn("fail_fast");
+        monitor.init();
+        markUnhealthy();
+        int callsBefore = calls.get();
+
+        Throwable failure =
+                monitor.guard(CLIENT, this::call)
+                        .subscribe()
+                        .withSubscriber(UniAssertSubscriber.create())
+                        .awaitFailure()
+                        .getFailure();
+
+        assertInstanceOf(ServiceUnhealthyException.class, failure);
+        assertEquals(callsBefore, calls.get());
+        assertEquals(
+                1,
+                registry.get("pipeline.health.fast.failures")
+                        .tag("client", CLIENT)
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void parkedCallsResumeWhenAProbeSeesRecovery() {
+        markUnhealthy();
+        int callsBefore = calls.get();
+
+        UniAssertSubscriber<String> subscriber =
+                monitor.guard(CLIENT, this::call)
+                        .subscribe()
+                        .withSubscriber(UniAssertSubscriber.create());
+        assertEquals(callsBefore, calls.get());
+        assertEquals(
+                1, registry.get("pipeline.health.parked").tag("client", CLIENT).gauge().value());
+
+        monitor.probeAll();
+
+        subscriber.awaitItem().assertItem("ok");
+        assertEquals(HealthState.HEALTHY, monitor.state(CLIENT));
+        assertEquals(
+                0, registry.get("pipeline.health.parked").tag("client", CLIENT).gauge().value());
+    }
+
+    @Test
+    void parkedCallsFailAfterTheParkTimeout() {
+        when(healthConfig.parkTimeoutMs()).thenReturn(50L);
+        monitor.init();
+        markUnhealthy();
+
+        Throwable failure =
+                monitor.guard(CLIENT, this::call)
+                        .subscribe()
+                        .withSubscriber(UniAssertSubscriber.create())
+                        .awaitFailure(Duration.ofSeconds(5))
+                        .getFailure();
+
+        assertInstanceOf(ServiceUnhealthyException.class, failure);
+    }
+
+    @Test
+    void failedProbeMarksTheServiceUnhealthy() {
+        monitor.watch(List.of(new HealthTarget(CLIENT, null)));
+        when(healthCheckService.probe(any())).thenReturn(Uni.createFrom().item(false));
+
+        monitor.probeAll();
+
+        assertEquals(HealthState.UNHEALTHY, monitor.state(CLIENT));
+    }
+
+    @Test
+    void guardsStreamingCalls() {
+        markUnhealthy();
+        when(healthConfig.unhealthyAction()).thenReturn("FAIL_FAST");
+        monitor.init();
+
+        assertThrows(
+                ServiceUnhealthyException.class,
+                () ->
+                        monitor.guardMulti(CLIENT, () -> Multi.createFrom().items(1, 2))
+                                .collect()
+                                .asList()
+                                .await()
+                                .indefinitely());
+    }
+
+    @Test
+    void disabledMonitorPassesCallsThrough() {
+        when(healthConfig.monitorIntervalMs()).thenReturn(0L);
+        monitor.init();
+
+        failWith(Status.UNAVAILABLE);
+        failWith(Status.UNAVAILABLE);
+
+        assertEquals(HealthState.UNKNOWN, monitor.state(CLIENT));
+    }
+
+    @Test
+    void rejectsUnknownUnhealthyAction() {
+        when(healthConfig.unhealthyAction()).thenReturn("SLEEP");
+
+        assertThrows(IllegalArgumentException.class, monitor::init);
+    }
+
+    private void markUnhealthy() {
+        failWith(Status.UNAVAILABLE);
+        failWith(Status.UNAVAILABLE);
+        assertEquals(HealthState.UNHEALTHY, monitor.state(CLIENT));
+    }
+
+    private void failWith(Status status) {
+        monitor.guard(CLIENT, () -> Uni.createFrom().<String>failure(status.asRuntimeException()))
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .awaitFailure();
+    }
+
+    private void succeed() {
+        monitor.guard(CLIENT, this::call)
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .awaitItem();
+    }
+
+    private Uni<String> call() {
+        calls.incrementAndGet();
+        return Uni.createFrom().item("ok");
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares {@link IdGenerator} implementations on generation throughput under contention and on
+ * insert throughput into a B-tree style primary key index.
+ *
+ * <p>The index is modelled as fixed-capacity leaf pages that split in half when full, ordered the
+ * way PostgreSQL orders {@code uuid} columns (unsigned byte order). Random ids hit arbitrary pages
+ * and leave them half full after splits; time-ordered ids append to the rightmost page. The
+ * reported fill factor is the fraction of allocated slots actually used.
+ *
+ * <p>Disabled by default. Run with: {@code mvn test -Dtest=IdGeneratorBenchmarkTest
+ * -Dpipeline.benchmark=true}
+ */
+@EnabledIfSystemProperty(named = "pipeline.benchmark", matches = "true")
+class IdGeneratorBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(IdGeneratorBenchmarkTest.class);
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int IDS_PER_THREAD = 500_000;
+    private static final int INSERTS = 2_000_000;
+    private static final int PAGE_CAPACITY = 128;
+
+    private static final Comparator<UUID> UNSIGNED_ORDER =
+            (a, b) -> {
+                int cmp =
+                        Long.compareUnsigned(
+                                a.getMostSignificantBits(), b.getMostSignificantBits());
+                return cmp != 0
+                        ? cmp
+                        : Long.compareUnsigned(
+                                a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            };
+
+    @Test
+    void benchmarkGenerators() throws Exception {
+        for (IdGenerator generator :
+                List.of(new RandomUuidIdGenerator(), new UuidV7IdGenerator())) {
+            String name = generator.getClass().getSimpleName();
+
+            // Warm up
+            generate(generator, 1, IDS_PER_THREAD);
+            insert(generator, INSERTS / 10);
+
+            double idsPerSecond = generate(generator, THREADS, IDS_PER_THREAD);
+            PagedIndex index = new PagedIndex();
+            long start = System.nanoTime();
+            for (int i = 0; i < INSERTS; i++) {
+                index.insert(generator.nextId());
+            }
+            double insertsPerSecond = INSERTS / ((System.nanoTime() - start) / 1e9);
+
+            assertEquals(INSERTS, index.size());
+            LOG.infof(
+                    "%s: %,.0f ids/s on %d threads, %,.0f inserts/s, %d pages, fill factor %.2f",
+                    name,
+                    idsPerSecond,
+                    THREADS,
+                    insertsPerSecond,
+                    index.pageCount(),
+                    index.fillFactor());
+        }
+    }
+
+    private static double generate(IdGenerator generator, int threads, int perThread)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    long sink = 0;
+                                    for (int i = 0; i < perThread; i++) {
+                                        sink ^= generator.nextId().getLeastSignificantBits();
+                                    }
+                                    return sink;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+            return (double) threads * perThread / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void insert(IdGenerator generator, int count) {
+        PagedIndex index = new PagedIndex();
+        for (int i = 0; i < count; i++) {
+            index.insert(generator.nextId());
+        }
+    }
+
+    /** Minimal model of B-tree leaf pages: sorted, fixed capacity, split in half on overflow. */
+    private static final class PagedIndex {
+
+        private final List<UUID[]> pages = new ArrayList<>();
+        private final List<Integer> sizes = new ArrayList<>();
+        private int size;
+
+        PagedIndex() {
+            pages.add(new UUID[PAGE_CAPACITY]);
+            sizes.add(0);
+        }
+
+        void insert(UUID id) {
+            int pageIndex = findPage(id);
+            UUID[] page = pages.get(pageIndex);
+            int pageSize = sizes.get(pageIndex);
+            if (pageSize == PAGE_CAPACITY) {
+                // Rightmost-page splits keep the old page full, as B-tree implementations do
+                // for monotonically increasing keys
+                boolean rightmost =
+                        pageIndex == pages.size() - 1
+                                && UNSIGNED_ORDER.compare(id, page[pageSize - 1]) > 0;
+                int keep = rightmost ? PAGE_CAPACITY : PAGE_CAPACITY / 2;
+                UUID[] sibling = new UUID[PAGE_CAPACITY];
+                System.arraycopy(page, keep, sibling, 0, PAGE_CAPACITY - keep);
+                Arrays.fill(page, keep, PAGE_CAPACITY, null);
+                sizes.set(pageIndex, keep);
+                pages.add(pageIndex + 1, sibling);
+                sizes.add(pageIndex + 1, PAGE_CAPACITY - keep);
+                if (rightmost) {
+                    sibling[0] = id;
+                    sizes.set(pageIndex + 1, 1);
+                    size++;
+                } else {
+                    insert(id);
+                }
+                return;
+            }
+            int pos = Arrays.binarySearch(page, 0, pageSize, id, UNSIGNED_ORDER);
+            pos = pos < 0 ? -pos - 1 : pos;
+            System.arraycopy(page, pos, page, pos + 1, pageSize - pos);
+            page[pos] = id;
+            sizes.set(pageIndex, pageSize + 1);
+            size++;
+        }
+
+        private int findPage(UUID id) {
+            int low = 0;
+            int high = pages.size() - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                UUID first = pages.get(mid)[0];
+                if (first != null && UNSIGNED_ORDER.compare(first, id) <= 0) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int pageCount() {
+            return pages.size();
+        }
+
+        double fillFactor() {
+            return (double) size / ((long) pages.size() * PAGE_CAPACITY);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.id;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class UuidV7IdGeneratorTest {
+
+    private final UuidV7IdGenerator generator = new UuidV7IdGenerator();
+
+    @AfterEach
+    void restoreDefault() {
+        IdGenerators.set(new UuidV7IdGenerator());
+    }
+
+    @Test
+    void testVersionAndVariant() {
+        UUID id = generator.nextId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    void testTimestampIsCurrentEpochMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before, "timestamp should not precede generation");
+        // The counter may borrow a millisecond on overflow
+        assertTrue(timestamp <= after + 1, "timestamp should not run ahead of the clock");
+    }
+
+    @Test
+    void testIdsAreStrictlyIncreasingWithinThread() {
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = generator.nextId();
+            assertTrue(
+                    Long.compareUnsigned(
+                                    next.getMostSignificantBits(),
+                                    previous.getMostSignificantBits())
+                            > 0,
+                    "ids generated on one thread should sort in generation order");
+            previous = next;
+        }
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < perThread; i++) {
+                                        seen.add(generator.nextId());
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void testIdGeneratorsDefaultsToUuidV7() {
+        assertInstanceOf(UuidV7IdGenerator.class, IdGenerators.get());
+        assertEquals(7, IdGenerators.nextId().version());
+    }
+
+    @Test
+    void testIdGeneratorsCanBeReplaced() {
+        IdGenerators.set(new RandomUuidIdGenerator());
+
+        assertEquals(4, IdGenerators.nextId().version());
+        assertThrows(IllegalArgumentException.class, () -> IdGenerators.set(null));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.lineage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class LineageCacheTest {
+
+    @Test
+    void resolvesRecordedMessagesByIdAndType() {
+        LineageCache lineage = new LineageCache();
+        lineage.record("id-1", "message");
+
+        assertEquals("message", lineage.resolve("id-1", String.class));
+        assertNull(lineage.resolve("id-1", Integer.class));
+        assertNull(lineage.resolve("id-2", String.class));
+    }
+
+    @Test
+    void ignoresBlankIdsAndNullMessages() {
+        LineageCache lineage = new LineageCache();
+        lineage.record("", "message");
+        lineage.record(null, "message");
+        lineage.record("id-1", null);
+
+        assertEquals(0, lineage.size());
+        assertNull(lineage.resolve("", String.class));
+        assertNull(lineage.resolve(null, String.class));
+    }
+
+    @Test
+    void evictAndClearDropEntries() {
+        LineageCache lineage = new LineageCache();
+        Object first = new Object();
+        lineage.record("id-1", first);
+        lineage.record("id-2", new Object());
+
+        assertSame(first, lineage.resolve("id-1", Object.class));
+        lineage.evict("id-1");
+        assertNull(lineage.resolve("id-1", Object.class));
+        assertEquals(1, lineage.size());
+
+        lineage.clear();
+        assertEquals(0, lineage.size());
+    }
+
+    @Test
+    void dropsTheOldestEntriesBeyondItsBound() {
+        LineageCache lineage = new LineageCache(2);
+        lineage.record("id-1", "first");
+        lineage.record("id-2", "second");
+        lineage.record("id-1", "first again");
+        lineage.record("id-3", "third");
+
+        assertEquals(2, lineage.size());
+        assertEquals(1, lineage.dropped());
+        assertNull(lineage.resolve("id-1", String.class));
+        assertEquals("second", lineage.resolve("id-2", String.class));
+        assertEquals("third", lineage.resolve("id-3", String.class));
+    }
+
+    @Test
+    void rejectsANonPositiveBound() {
+        assertThrows(IllegalArgumentException.class, () -> new LineageCache(0));
+    }
+}
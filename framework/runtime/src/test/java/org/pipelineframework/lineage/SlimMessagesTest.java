@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.lineage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.protobuf.DescriptorProtos.DescriptorProto;
+import com.google.protobuf.DescriptorProtos.FieldDescriptorProto;
+import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.DescriptorValidationException;
+import com.google.protobuf.Descriptors.FileDescriptor;
+import com.google.protobuf.DynamicMessage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SlimMessagesTest {
+
+    private static Descriptor parentType;
+    private static Descriptor childType;
+    private static Descriptor compactChildType;
+
+    @BeforeAll
+    static void buildDescriptors() throws DescriptorValidationException {
+        DescriptorProto parent =
+                DescriptorProto.newBuilder()
+                        .setName("Parent")
+                        .addField(field("id", 1, FieldDescriptorProto.Type.TYPE_STRING, null))
+                        .build();
+        // "parent" is referenced by "parentId"; "detail" has no id field and is an own field
+        DescriptorProto child =
+                DescriptorProto.newBuilder()
+                        .setName("Child")
+                        .addField(field("id", 1, FieldDescriptorProto.Type.TYPE_STRING, null))
+                        .addField(field("parentId", 2, FieldDescriptorProto.Type.TYPE_STRING, null))
+                        .addField(
+                                field(
+                                        "parent",
+                                        3,
+                                        FieldDescriptorProto.Type.TYPE_MESSAGE,
+                                        ".slim.Parent"))
+                        .addField(
+                                field(
+                                        "detail",
+                                        4,
+                                        FieldDescriptorProto.Type.TYPE_MESSAGE,
+                                        ".slim.Parent"))
+                        .build();
+        // Compact schemas reference the parent by the two halves of its UUID
+        DescriptorProto compactChild =
+                DescriptorProto.newBuilder()
+                        .setName("CompactChild")
+                        .addField(
+                                field(
+                                        "parentIdMsb",
+                                        1,
+                                        FieldDescriptorProto.Type.TYPE_FIXED64,
+                                        null))
+                        .addField(
+                                field(
+                                        "parentIdLsb",
+                                        2,
+                                        FieldDescriptorProto.Type.TYPE_FIXED64,
+                                        null))
+                        .addField(
+                                field(
+                                        "parent",
+                                        3,
+                                        FieldDescriptorProto.Type.TYPE_MESSAGE,
+                                        ".slim.Parent"))
+                        .build();
+        FileDescriptor file =
+                FileDescriptor.buildFrom(
+                        FileDescriptorProto.newBuilder()
+                                .setName("slim_messages_test.proto")
+                                .setPackage("slim")
+                                .setSyntax("proto3")
+                                .addMessageType(parent)
+                                .addMessageType(child)
+                                .addMessageType(compactChild)
+                                .build(),
+                        new FileDescriptor[0]);
+        parentType = file.findMessageTypeByName("Parent");
+        childType = file.findMessageTypeByName("Child");
+        compactChildType = file.findMessageTypeByName("CompactChild");
+    }
+
+    @Test
+    void stripsParentsReferencedById() {
+        DynamicMessage child = child("parent-1");
+
+        DynamicMessage slim = SlimMessages.slim(child);
+
+        assertFalse(slim.hasField(childType.findFieldByName("parent")));
+        assertTrue(slim.hasField(childType.findFieldByName("detail")));
+        assertEquals("parent-1", slim.getField(childType.findFieldByName("parentId")));
+        assertEquals("child-1", slim.getField(childType.findFieldByName("id")));
+        assertTrue(slim.getSerializedSize() < child.getSerializedSize());
+    }
+
+    @Test
+    void stripsParentsReferencedByCompactId() {
+        DynamicMessage child = compactChild(0L, 42L);
+
+        DynamicMessage slim = SlimMessages.slim(child);
+
+        assertFalse(slim.hasField(compactChildType.findFieldByName("parent")));
+        assertEquals(42L, slim.getField(compactChildType.findFieldByName("parentIdLsb")));
+        DynamicMessage unreferenced = compactChild(0L, 0L);
+        assertSame(unreferenced, SlimMessages.slim(unreferenced));
+    }
+
+    @Test
+    void keepsParentsWithoutId() {
+        DynamicMessage child = child("");
+
+        assertSame(child, SlimMessages.slim(child));
+    }
+
+    @Test
+    void leavesNonProtobufValuesUnchanged() {
+        Object value = new Object();
+
+        assertSame(value, SlimMessages.slim(value));
+        assertNull(SlimMessages.slim(null));
+    }
+
+    @Test
+    void disabledByDefault() {
+        assertFalse(SlimMessages.enabled());
+    }
+
+    private static DynamicMessage child(String parentId) {
+        DynamicMessage parent =
+                DynamicMessage.newBuilder(parentType)
+                        .setField(parentType.findFieldByName("id"), "parent-1")
+                        .build();
+        return DynamicMessage.newBuilder(childType)
+                .setField(childType.findFieldByName("id"), "child-1")
+                .setField(childType.findFieldByName("parentId"), parentId)
+                .setField(childType.findFieldByName("parent"), parent)
+                .setField(childType.findFieldByName("detail"), parent)
+                .build();
+    }
+
+    private static DynamicMessage compactChild(long parentIdMsb, long parentIdLsb) {
+        DynamicMessage parent =
+                DynamicMessage.newBuilder(parentType)
+                        .setField(parentType.findFieldByName("id"), "parent-1")
+                        .build();
+        return DynamicMessage.newBuilder(compactChildType)
+                .setField(compactChildType.findFieldByName("parentIdMsb"), parentIdMsb)
+                .setField(compactChildType.findFieldByName("parentIdLsb"), parentIdLsb)
+                .setField(compactChildType.findFieldByName("parent"), parent)
+                .build();
+    }
+
+    private static FieldDescriptorProto field(
+            String name, int number, FieldDescriptorProto.Type type, String typeName) {
+        FieldDescriptorProto.Builder builder =
+                FieldDescriptorProto.newBuilder()
+                        .setName(name)
+                        .setNumber(number)
+                        .setType(type)
+                        .setLabel(FieldDescriptorProto.Label.LABEL_OPTIONAL);
+        if (typeName != null) {
+            builder.setTypeName(typeName);
+        }
+        return builder.build();
+    }
+}
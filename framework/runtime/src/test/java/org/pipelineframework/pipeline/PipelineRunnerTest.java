@@ -19,17 +19,30 @@ package org.pipelineframework.pipeline;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Context;
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import jakarta.inject.Inject;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.PipelineRunner;
+import org.pipelineframework.RunControl;
 import org.pipelineframework.config.PipelineConfig;
 import org.pipelineframework.config.StepConfig;
+import org.pipelineframework.dlq.DeadLetters;
+import org.pipelineframework.lineage.LineageCache;
+import org.pipelineframework.lineage.LineageResolver;
+import org.pipelineframework.resilience.FailureBudget;
+import org.pipelineframework.step.StepOneToOne;
 
 @QuarkusTest
 class PipelineRunnerTest {
@@ -274,4 +287,277 @@ class PipelineRunnerTest {
         assertEquals(5, step.retryLimit());
         assertEquals(Duration.ofMillis(100), step.retryWait());
     }
+
+    @Test
+    void testRunWithLineageResolver() {
+        Multi<String> input = Multi.createFrom().items("item1", "item2");
+        List<Object> steps =
+                List.of(
+                        new TestSteps.TestStepOneToOneBlocking(),
+                        new TestSteps.TestStepOneToOneBlocking());
+
+        // Each emitted item is recorded; the second step's outputs find their parent by id
+        AtomicReference<LineageCache> runLineage = new AtomicReference<>();
+        List<String> resolvedParents = new CopyOnWriteArrayList<>();
+        LineageResolver resolver =
+                (item, lineage) -> {
+                    runLineage.set(lineage);
+                    String value = (String) item;
+                    String parent =
+                            lineage.resolve(value.substring("Processed: ".length()), String.class);
+                    if (parent != null) {
+                        resolvedParents.add(parent);
+                    }
+                    lineage.record(value, value);
+                    return value;
+                };
+
+        Multi<Object> result = (Multi<Object>) runner.run(input, steps, resolver);
+
+        AssertSubscriber<Object> subscriber =
+                result.subscribe().withSubscriber(AssertSubscriber.create(2));
+        subscriber.awaitItems(2, Duration.ofSeconds(5)).awaitCompletion();
+
+        assertEquals(
+                Set.of("Processed: item1", "Processed: item2"), new HashSet<>(resolvedParents));
+        // The per-run cache is released once the run terminates
+        assertEquals(0, runLineage.get().size());
+    }
+
+    @Test
+    void testRunClosesAutoCloseableStepsOnTermination() {
+        Multi<String> input = Multi.createFrom().items("item1", "item2");
+        AtomicInteger closed = new AtomicInteger();
+        List<Object> steps = List.of(new ClosingStep(closed));
+
+        Multi<Object> result = (Multi<Object>) runner.run(input, steps);
+        assertEquals(0, closed.get());
+
+        AssertSubscriber<Object> subscriber =
+                result.subscribe().withSubscriber(AssertSubscriber.create(2));
+        subscriber.awaitItems(2, Duration.ofSeconds(5)).awaitCompletion();
+
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void testRunStopsTakingItemsOnceItNoLongerAdmitsWork() {
+        AtomicInteger attempted = new AtomicInteger();
+        DeadLetteringStep step = new DeadLetteringStep(attempted);
+        FailureBudget budget =
+                new FailureBudget(
+                        List.of(DeadLetteringStep.class.getName()),
+                        5,
+                        0,
+                        Duration.ofSeconds(10),
+                        1);
+
+        AtomicInteger taken = new AtomicInteger();
+        RunControl control =
+                new RunControl() {
+                    @Override
+                    public boolean admitsWork() {
+                        return !budget.isExhausted();
+                    }
+
+                    @Override
+                    public void onSourceItem() {
+                        taken.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onStepItem(String stepName) {
+                        budget.succeeded(stepName);
+                    }
+                };
+
+        DeadLetters.addListener(budget);
+        try {
+            Multi<Object> result =
+                    (Multi<Object>)
+                            runner.run(Multi.createFrom().range(0, 1000), List.of(step), control);
+            AssertSubscriber<Object> subscriber =
+                    result.subscribe().withSubscriber(AssertSubscriber.create(1000));
+            subscriber.awaitCompletion(Duration.ofSeconds(10));
+        } finally {
+            DeadLetters.removeListener(budget);
+        }
+
+        assertTrue(budget.isExhausted());
+        assertEquals(6, attempted.get());
+        assertEquals(6, taken.get());
+        assertTrue(budget.summary().contains("DeadLetteringStep 0 succeeded, 6 failed"));
+    }
+
+    @Test
+    void testItemsTakenBeforeTheSourceStopsAreExpandedInFull() {
+        AtomicInteger taken = new AtomicInteger();
+        RunControl control =
+                new RunControl() {
+                    @Override
+                    public boolean admitsWork() {
+                        return taken.get() < 1;
+                    }
+
+                    @Override
+                    public boolean admitsExpansion() {
+                        return true;
+                    }
+
+                    @Override
+                    public void onSourceItem() {
+                        taken.incrementAndGet();
+                    }
+
+                    @Override
+                    public void onStepItem(String stepName) {}
+                };
+
+        Multi<Object> result =
+                (Multi<Object>)
+                        runner.run(
+                                Multi.createFrom().items("a", "b", "c"),
+                                List.of(new TestSteps.TestStepOneToMany()),
+                                control);
+        AssertSubscriber<Object> subscriber =
+                result.subscribe().withSubscriber(AssertSubscriber.create(10));
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+
+        assertEquals(List.of("a-1", "a-2", "a-3"), subscriber.getItems());
+    }
+
+    @Test
+    void testRunReportsTheCallsOfEachStep() {
+        Set<String> calls = ConcurrentHashMap.newKeySet();
+        AtomicInteger ended = new AtomicInteger();
+        Map<Object, AtomicInteger> expanded = new ConcurrentHashMap<>();
+        RunControl control =
+                new RunControl() {
+                    @Override
+                    public boolean admitsWork() {
+                        return true;
+                    }
+
+                    @Override
+                    public void onSourceItem() {}
+
+                    @Override
+                    public void onStepItem(String stepName) {}
+
+                    @Override
+                    public StepCall onStepCall(String stepName) {
+                        calls.add(stepName);
+                        return ended::incrementAndGet;
+                    }
+
+                    @Override
+                    public StepCall onExpansion(String stepName, Object input) {
+                        AtomicInteger items = new AtomicInteger();
+                        expanded.put(input, items);
+                        return new StepCall() {
+                            @Override
+                            public void onItem() {
+                                items.incrementAndGet();
+                            }
+
+                            @Override
+                            public void onEnd() {
+                                ended.incrementAndGet();
+                            }
+                        };
+                    }
+                };
+
+        Multi<Object> result =
+                (Multi<Object>)
+                        runner.run(
+                                Multi.createFrom().items("item1", "item2"),
+                                List.of(
+                                        new TestSteps.TestStepOneToMany(),
+                                        new TestSteps.TestStepOneToOne()),
+                                control);
+        result.subscribe()
+                .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .awaitCompletion(Duration.ofSeconds(5));
+
+        assertEquals(Set.of(DeadLetters.stepName(TestSteps.TestStepOneToOne.class)), calls);
+        assertEquals(Set.of("item1", "item2"), expanded.keySet());
+        assertEquals(3, expanded.get("item1").get());
+        assertEquals(3, expanded.get("item2").get());
+        assertEquals(8, ended.get());
+    }
+
+    @Test
+    void testConcurrentRunsAreChargedTheirOwnDeadLetters() {
+        DeadLetteringStep step = new DeadLetteringStep(new AtomicInteger());
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        AssertSubscriber<Object> firstRun =
+                ((Multi<Object>) runner.run(Multi.createFrom().range(0, 3), List.of(step)))
+                        .subscribe()
+                        .withSubscriber(
+                                AssertSubscriber.create(
+                                        Context.of(
+                                                DeadLetters.RUN_LISTENER,
+                                                (DeadLetters.Listener)
+                                                        (stepName, items, cause) ->
+                                                                first.addAndGet(items)),
+                                        Long.MAX_VALUE));
+        AssertSubscriber<Object> secondRun =
+                ((Multi<Object>) runner.run(Multi.createFrom().range(0, 5), List.of(step)))
+                        .subscribe()
+                        .withSubscriber(
+                                AssertSubscriber.create(
+                                        Context.of(
+                                                DeadLetters.RUN_LISTENER,
+                                                (DeadLetters.Listener)
+                                                        (stepName, items, cause) ->
+                                                                second.addAndGet(items)),
+                                        Long.MAX_VALUE));
+        firstRun.awaitCompletion(Duration.ofSeconds(10));
+        secondRun.awaitCompletion(Duration.ofSeconds(10));
+
+        assertEquals(3, first.get());
+        assertEquals(5, second.get());
+    }
+
+    private static class DeadLetteringStep implements StepOneToOne<Integer, Integer> {
+
+        private final StepConfig config = new StepConfig().recoverOnFailure(true).retryLimit(0);
+        private final AtomicInteger attempted;
+
+        DeadLetteringStep(AtomicInteger attempted) {
+            this.attempted = attempted;
+        }
+
+        @Override
+        public Uni<Integer> applyOneToOne(Integer input) {
+            attempted.incrementAndGet();
+            return Uni.createFrom().failure(new IllegalStateException("provider down"));
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig ignored) {}
+    }
+
+    private static class ClosingStep extends TestSteps.TestStepOneToOneBlocking
+            implements AutoCloseable {
+
+        private final AtomicInteger closed;
+
+        ClosingStep(AtomicInteger closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.incrementAndGet();
+        }
+    }
 }
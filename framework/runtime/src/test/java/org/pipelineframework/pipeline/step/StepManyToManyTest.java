@@ -16,9 +16,15 @@
 
 package org.pipelineframework.pipeline.step;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.config.StepConfig;
 import org.pipelineframework.step.StepManyToMany;
@@ -73,4 +79,79 @@ class StepManyToManyTest {
         subscriber.awaitItems(2, Duration.ofSeconds(5));
         subscriber.assertItems("Streamed: item1", "Streamed: item2");
     }
+
+    @Test
+    void testRetryResumesFromTheLastAcknowledgedInputWithReplayLog() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicBoolean failed = new AtomicBoolean();
+        FailingOnceStep step =
+                new FailingOnceStep(
+                        new StepConfig().replayLogCapacity(16).retryWait(Duration.ofMillis(10)),
+                        failed);
+
+        List<String> result =
+                step.apply(
+                                Multi.createFrom()
+                                        .range(0, 10)
+                                        .onSubscription()
+                                        .invoke(subscriptions::incrementAndGet))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertTrue(failed.get());
+        assertEquals(1, subscriptions.get());
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "out-" + i).toList(), result);
+    }
+
+    @Test
+    void testRetryResubscribesToTheInputWithoutReplayLog() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        FailingOnceStep step =
+                new FailingOnceStep(
+                        new StepConfig().retryWait(Duration.ofMillis(10)), new AtomicBoolean());
+
+        step.apply(
+                        Multi.createFrom()
+                                .range(0, 10)
+                                .onSubscription()
+                                .invoke(subscriptions::incrementAndGet))
+                .collect()
+                .asList()
+                .await()
+                .atMost(Duration.ofSeconds(5));
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    /** Fails the first time it sees input 5. */
+    static class FailingOnceStep implements StepManyToMany<Integer, String> {
+        private final StepConfig config;
+        private final AtomicBoolean failed;
+
+        FailingOnceStep(StepConfig config, AtomicBoolean failed) {
+            this.config = config;
+            this.failed = failed;
+        }
+
+        @Override
+        public Multi<String> applyTransform(Multi<Integer> input) {
+            return input.map(
+                    i -> {
+                        if (i == 5 && failed.compareAndSet(false, true)) {
+                            throw new IllegalStateException("transient");
+                        }
+                        return "out-" + i;
+                    });
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
 }
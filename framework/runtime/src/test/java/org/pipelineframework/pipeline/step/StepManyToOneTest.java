@@ -20,6 +20,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.config.StepConfig;
 import org.pipelineframework.step.StepManyToOne;
@@ -324,4 +328,95 @@ class StepManyToOneTest {
 
         assertNull(subscriber.getItem());
     }
+
+    @Test
+    void testRetryReplaysTheInputWithReplayLog() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        AtomicInteger attempts = new AtomicInteger();
+        ReducingStep step =
+                new ReducingStep(
+                        new StepConfig().replayLogCapacity(16).retryWait(Duration.ofMillis(10)),
+                        attempts,
+                        1);
+
+        Integer result =
+                step.apply(
+                                Multi.createFrom()
+                                        .range(1, 11)
+                                        .onSubscription()
+                                        .invoke(subscriptions::incrementAndGet))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(55, result);
+        assertEquals(2, attempts.get());
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testDeadLetterAccountingDoesNotConsumeTheInputAgain() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ReducingStep step =
+                new ReducingStep(
+                        new StepConfig().recoverOnFailure(true).retryLimit(0),
+                        new AtomicInteger(),
+                        Integer.MAX_VALUE);
+
+        Integer result =
+                step.apply(
+                                Multi.createFrom()
+                                        .range(1, 11)
+                                        .onSubscription()
+                                        .invoke(subscriptions::incrementAndGet))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertNull(result);
+        assertEquals(1, subscriptions.get());
+        assertEquals(10, step.deadLetterCount);
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), step.deadLetterSample);
+    }
+
+    /** Sums its input, failing after the whole input for the given number of attempts. */
+    static class ReducingStep implements StepManyToOne<Integer, Integer> {
+        private final StepConfig config;
+        private final AtomicInteger attempts;
+        private final int failures;
+        volatile long deadLetterCount = -1;
+        volatile List<Integer> deadLetterSample;
+
+        ReducingStep(StepConfig config, AtomicInteger attempts, int failures) {
+            this.config = config;
+            this.attempts = attempts;
+            this.failures = failures;
+        }
+
+        @Override
+        public Uni<Integer> applyReduce(Multi<Integer> input) {
+            return input.collect()
+                    .with(Collectors.summingInt(Integer::intValue))
+                    .map(
+                            sum -> {
+                                if (attempts.incrementAndGet() <= failures) {
+                                    throw new IllegalStateException("transient");
+                                }
+                                return sum;
+                            });
+        }
+
+        @Override
+        public Uni<Integer> deadLetterStream(List<Integer> sample, long count, Throwable error) {
+            deadLetterSample = sample;
+            deadLetterCount = count;
+            return Uni.createFrom().nullItem();
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
 }
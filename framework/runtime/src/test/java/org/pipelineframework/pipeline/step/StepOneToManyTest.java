@@ -16,10 +16,16 @@
 
 package org.pipelineframework.pipeline.step;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.config.StepConfig;
 import org.pipelineframework.step.StepOneToMany;
@@ -76,4 +82,75 @@ class StepOneToManyTest {
         subscriber.awaitItems(6, Duration.ofSeconds(5));
         subscriber.assertItems("item1-1", "item1-2", "item1-3", "item2-1", "item2-2", "item2-3");
     }
+
+    @Test
+    void testRetryResumesAfterTheOutputsAlreadyEmitted() {
+        ResumableStep step = new ResumableStep();
+
+        List<String> result =
+                step.apply(Uni.createFrom().item("in"))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(List.of(0L, 3L), step.resumePositions);
+        assertEquals(IntStream.range(0, 6).mapToObj(i -> "in-" + i).toList(), result);
+    }
+
+    @Test
+    void testRetryResumesWithoutLosingBufferedOutputs() {
+        ResumableStep step = new ResumableStep();
+
+        AssertSubscriber<String> subscriber =
+                step.apply(Uni.createFrom().item("in"))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(1));
+        for (int i = 2; i <= 6; i++) {
+            subscriber.awaitItems(i - 1, Duration.ofSeconds(5));
+            subscriber.request(1);
+        }
+
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+        assertEquals(
+                IntStream.range(0, 6).mapToObj(i -> "in-" + i).toList(), subscriber.getItems());
+    }
+
+    @Test
+    void testDefaultResumeSkipsTheOutputsAlreadyEmitted() {
+        TestStep step = new TestStep();
+
+        AssertSubscriber<String> subscriber =
+                step.applyOneToMany("test", 2)
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(3));
+
+        subscriber.awaitCompletion(Duration.ofSeconds(5));
+        subscriber.assertItems("test-3");
+    }
+
+    /** Emits six outputs and fails once after the third; records each resume position. */
+    static class ResumableStep extends TestStep {
+        final List<Long> resumePositions = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public Multi<String> applyOneToMany(String input, long resumeFrom) {
+            resumePositions.add(resumeFrom);
+            return Multi.createFrom()
+                    .range((int) resumeFrom, 6)
+                    .map(
+                            i -> {
+                                if (i == 3 && failed.compareAndSet(false, true)) {
+                                    throw new IllegalStateException("transient");
+                                }
+                                return input + "-" + i;
+                            });
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return new StepConfig().retryWait(Duration.ofMillis(10));
+        }
+    }
 }
@@ -19,10 +19,18 @@ package org.pipelineframework.pipeline.step.blocking;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.subscription.MultiEmitter;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.config.StepConfig;
 import org.pipelineframework.step.blocking.StepManyToManyBlocking;
@@ -82,4 +90,176 @@ class StepManyToManyBlockingTest {
         subscriber.awaitItems(2, Duration.ofSeconds(5));
         subscriber.assertItems("Streamed: item1", "Streamed: item2");
     }
+
+    @Test
+    void testChunkedModeEmitsEachChunkBeforeTheInputCompletes() {
+        ChunkedStep step = new ChunkedStep(new StepConfig());
+        AtomicReference<MultiEmitter<? super Integer>> emitter = new AtomicReference<>();
+
+        AssertSubscriber<String> subscriber =
+                step.apply(Multi.createFrom().<Integer>emitter(emitter::set))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+        emitter.get().emit(1).emit(2).emit(3);
+
+        subscriber.awaitItems(3, Duration.ofSeconds(5)).assertNotTerminated();
+        assertEquals(List.of("out-1", "out-2", "out-3"), subscriber.getItems());
+        assertEquals(List.of(List.of(1, 2, 3)), step.chunks);
+    }
+
+    @Test
+    void testChunkedModeRetriesOnlyTheFailedChunk() {
+        ChunkedStep step = new ChunkedStep(new StepConfig().retryWait(Duration.ofMillis(10)));
+        step.failOnce.add(4);
+
+        List<String> result =
+                step.apply(Multi.createFrom().range(1, 10))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(IntStream.range(1, 10).mapToObj(i -> "out-" + i).toList(), result);
+        assertEquals(
+                List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(4, 5, 6), List.of(7, 8, 9)),
+                step.chunks);
+    }
+
+    @Test
+    void testChunkedModeDeadLettersOnlyTheFailedChunk() {
+        ChunkedStep step = new ChunkedStep(new StepConfig().recoverOnFailure(true));
+
+        List<String> result =
+                step.apply(Multi.createFrom().range(1, 10).map(i -> i == 5 ? -1 : i))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(
+                List.of(
+                        "out-1", "out-2", "out-3", "dlq-4", "dlq--1", "dlq-6", "out-7", "out-8",
+                        "out-9"),
+                result);
+    }
+
+    @Test
+    void testParallelChunksAreEmittedInInputOrder() {
+        ChunkedStep step = new ChunkedStep(new StepConfig().parallel(true));
+        step.slowFirstChunk = true;
+
+        List<String> result =
+                step.apply(Multi.createFrom().range(1, 31))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(10));
+
+        assertEquals(IntStream.range(1, 31).mapToObj(i -> "out-" + i).toList(), result);
+        assertTrue(step.maxConcurrent.get() > 1);
+    }
+
+    @Test
+    void testChunkThatOutlivesTheTimeoutFails() {
+        ChunkedStep step =
+                new ChunkedStep(
+                        new StepConfig()
+                                .timeout(Duration.ofMillis(50))
+                                .retryLimit(1)
+                                .retryWait(Duration.ofMillis(10)));
+        step.slowFirstChunk = true;
+
+        assertThrows(
+                TimeoutException.class,
+                () ->
+                        step.apply(Multi.createFrom().range(1, 10))
+                                .collect()
+                                .asList()
+                                .await()
+                                .atMost(Duration.ofSeconds(5)));
+        assertEquals(List.of(List.of(1, 2, 3), List.of(1, 2, 3)), step.chunks);
+    }
+
+    @Test
+    void testChunkThatOutlivesTheTimeoutIsDeadLetteredOnce() {
+        ChunkedStep step =
+                new ChunkedStep(
+                        new StepConfig()
+                                .timeout(Duration.ofMillis(50))
+                                .retryLimit(1)
+                                .retryWait(Duration.ofMillis(10))
+                                .recoverOnFailure(true));
+        step.slowFirstChunk = true;
+
+        List<String> result =
+                step.apply(Multi.createFrom().range(1, 7))
+                        .collect()
+                        .asList()
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(List.of("dlq-1", "dlq-2", "dlq-3", "out-4", "out-5", "out-6"), result);
+        assertEquals(1, step.deadLettered.get());
+    }
+
+    static class ChunkedStep implements StepManyToManyBlocking<Integer, String> {
+        private final StepConfig config;
+        final List<List<Integer>> chunks = new CopyOnWriteArrayList<>();
+        final Set<Integer> failOnce = ConcurrentHashMap.newKeySet();
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final AtomicInteger deadLettered = new AtomicInteger();
+        volatile boolean slowFirstChunk;
+
+        ChunkedStep(StepConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public List<String> applyStreamingList(List<Integer> upstream) {
+            chunks.add(List.copyOf(upstream));
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                if (slowFirstChunk && upstream.contains(1)) {
+                    Thread.sleep(200);
+                }
+                if (failOnce.remove(upstream.get(0))) {
+                    throw new IllegalStateException("transient");
+                }
+                if (upstream.contains(-1)) {
+                    throw new IllegalArgumentException("bad item");
+                }
+                return upstream.stream().map(i -> "out-" + i).toList();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        }
+
+        @Override
+        public List<String> deadLetterList(List<Integer> upstream, Throwable err) {
+            deadLettered.incrementAndGet();
+            return upstream.stream().map(i -> "dlq-" + i).toList();
+        }
+
+        @Override
+        public int chunkSize() {
+            return 3;
+        }
+
+        @Override
+        public int chunkConcurrency() {
+            return 4;
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
 }
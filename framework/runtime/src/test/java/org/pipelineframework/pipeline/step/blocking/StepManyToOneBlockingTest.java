@@ -19,9 +19,16 @@ package org.pipelineframework.pipeline.step.blocking;
 import static org.junit.jupiter.api.Assertions.*;
 
 import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
 import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.pipelineframework.config.StepConfig;
 import org.pipelineframework.step.blocking.StepManyToOneBlocking;
@@ -113,4 +120,155 @@ class StepManyToOneBlockingTest {
         subscriber.awaitItems(2, Duration.ofSeconds(5));
         subscriber.assertItems("Batch processed: item1, item2", "Batch processed: item3, item4");
     }
+
+    @Test
+    void testApplyReturnsLastBatchResultByDefault() {
+        TestStepBlocking step = new TestStepBlocking();
+
+        String result =
+                step.apply(Multi.createFrom().items("item1", "item2", "item3"))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals("Batch processed: item3", result);
+    }
+
+    @Test
+    void testApplyMergesBatchResultsIncrementally() {
+        SummingStep step = new SummingStep(new StepConfig());
+
+        Integer result =
+                step.apply(Multi.createFrom().range(1, 101)).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals(5050, result);
+        assertEquals(34, step.batches.get());
+    }
+
+    @Test
+    void testApplyMergesParallelBatchResults() {
+        SummingStep step = new SummingStep(new StepConfig().parallel(true));
+
+        Integer result =
+                step.apply(
+                                Multi.createFrom()
+                                        .range(1, 101)
+                                        .emitOn(Infrastructure.getDefaultExecutor()))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals(5050, result);
+    }
+
+    @Test
+    void testApplyReturnsIdentityForEmptyInput() {
+        SummingStep step = new SummingStep(new StepConfig());
+
+        assertEquals(
+                0, step.apply(Multi.createFrom().empty()).await().atMost(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testSlowBatchFailsWhenItExceedsTheTimeout() throws InterruptedException {
+        SlowStep step =
+                new SlowStep(
+                        new StepConfig()
+                                .timeout(Duration.ofMillis(50))
+                                .retryLimit(1)
+                                .retryWait(Duration.ofMillis(10)));
+
+        long start = System.nanoTime();
+        assertThrows(
+                TimeoutException.class,
+                () ->
+                        step.apply(Multi.createFrom().items(1, 2))
+                                .await()
+                                .atMost(Duration.ofSeconds(5)));
+
+        assertTrue(
+                Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(2, step.batches.get());
+        assertTrue(step.interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSlowBatchIsDeadLetteredOnceItsRetriesAreExhausted() {
+        SlowStep step =
+                new SlowStep(
+                        new StepConfig()
+                                .timeout(Duration.ofMillis(50))
+                                .retryLimit(1)
+                                .retryWait(Duration.ofMillis(10))
+                                .recoverOnFailure(true));
+
+        assertEquals(
+                0,
+                step.apply(Multi.createFrom().items(1, 2)).await().atMost(Duration.ofSeconds(5)));
+        assertEquals(2, step.batches.get());
+        assertEquals(List.of(List.of(1, 2)), step.deadLettered);
+    }
+
+    static class SlowStep extends SummingStep {
+        final CountDownLatch interrupted = new CountDownLatch(2);
+        final List<List<Integer>> deadLettered = new CopyOnWriteArrayList<>();
+
+        SlowStep(StepConfig config) {
+            super(config);
+        }
+
+        @Override
+        public Integer applyBatchList(List<Integer> inputs) {
+            batches.incrementAndGet();
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        }
+
+        @Override
+        public Uni<Integer> deadLetterBatchList(List<Integer> inputs, Throwable error) {
+            deadLettered.add(inputs);
+            return Uni.createFrom().nullItem();
+        }
+    }
+
+    static class SummingStep implements StepManyToOneBlocking<Integer, Integer> {
+        private final StepConfig config;
+        final AtomicInteger batches = new AtomicInteger();
+
+        SummingStep(StepConfig config) {
+            this.config = config;
+        }
+
+        @Override
+        public Integer applyBatchList(List<Integer> inputs) {
+            batches.incrementAndGet();
+            return inputs.stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public Integer identity() {
+            return 0;
+        }
+
+        @Override
+        public Integer merge(Integer partial, Integer batchResult) {
+            return partial + batchResult;
+        }
+
+        @Override
+        public int batchSize() {
+            return 3;
+        }
+
+        @Override
+        public StepConfig effectiveConfig() {
+            return config;
+        }
+
+        @Override
+        public void initialiseWithConfig(StepConfig config) {}
+    }
 }
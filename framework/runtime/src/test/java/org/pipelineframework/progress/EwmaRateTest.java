@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.progress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EwmaRateTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void firstReadIsTheAverageSinceTheStart() {
+        EwmaRate rate = new EwmaRate(Duration.ofSeconds(10), 0);
+
+        assertEquals(50, rate.rate(100, 2 * SECOND), 1e-9);
+    }
+
+    @Test
+    void followsChangesOfRateOverTheWindow() {
+        EwmaRate rate = new EwmaRate(Duration.ofSeconds(10), 0);
+        long count = 0;
+        for (int second = 1; second <= 60; second++) {
+            count += 100;
+            rate.rate(count, second * SECOND);
+        }
+        assertEquals(100, rate.rate(count, 60 * SECOND), 1e-6);
+
+        double afterOneWindow = rate.rate(count, 70 * SECOND);
+        // Ten seconds without items leave e^-1 of the old rate
+        assertEquals(100 * Math.exp(-1), afterOneWindow, 1e-6);
+    }
+
+    @Test
+    void isIndependentOfHowOftenItIsRead() {
+        EwmaRate often = new EwmaRate(Duration.ofSeconds(10), 0);
+        EwmaRate rarely = new EwmaRate(Duration.ofSeconds(10), 0);
+        often.rate(0, SECOND);
+        rarely.rate(0, SECOND);
+
+        for (int tenth = 1; tenth <= 50; tenth++) {
+            often.rate(tenth * 20L, SECOND + tenth * SECOND / 10);
+        }
+        rarely.rate(1000, 6 * SECOND);
+
+        assertEquals(rarely.rate(1000, 6 * SECOND), often.rate(1000, 6 * SECOND), 1e-6);
+    }
+
+    @Test
+    void readsCloserThanTheMinimumIntervalReturnTheLastRate() {
+        EwmaRate rate = new EwmaRate(Duration.ofSeconds(10), 0);
+        double first = rate.rate(100, SECOND);
+
+        assertEquals(first, rate.rate(1_000_000, SECOND + TimeUnit.MILLISECONDS.toNanos(50)));
+        assertEquals(first, rate.rate(1_000_000, SECOND / 2));
+    }
+
+    @Test
+    void windowMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new EwmaRate(Duration.ZERO, 0));
+    }
+}
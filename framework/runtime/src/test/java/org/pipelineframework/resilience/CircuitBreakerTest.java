@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.config.StepConfig;
+
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final String name = "step-" + UUID.randomUUID();
+
+    @Test
+    void opensAtTheFailureRateOnceTheWindowIsFull() {
+        CircuitBreaker breaker = breaker(50, Duration.ZERO, Duration.ofMinutes(1));
+
+        fail(breaker, Status.UNAVAILABLE);
+        fail(breaker, Status.UNAVAILABLE);
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+        fail(breaker, Status.UNAVAILABLE);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        int callsBefore = calls.get();
+        assertInstanceOf(CircuitBreakerOpenException.class, fail(breaker, Status.UNAVAILABLE));
+        assertEquals(callsBefore, calls.get());
+        assertEquals(1, registry.get("pipeline.circuit.state").tag("step", name).gauge().value());
+        assertEquals(
+                1, registry.get("pipeline.circuit.rejected").tag("step", name).counter().count());
+    }
+
+    @Test
+    void olderOutcomesLeaveTheWindow() {
+        CircuitBreaker breaker = breaker(50, Duration.ZERO, Duration.ofMinutes(1));
+
+        fail(breaker, Status.UNAVAILABLE);
+        succeed(breaker);
+        succeed(breaker);
+        succeed(breaker);
+        // The window now holds one failure out of four
+        fail(breaker, Status.UNAVAILABLE);
+        // The first failure left the window: still one out of four
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void callerErrorsDoNotCount() {
+        CircuitBreaker breaker = breaker(50, Duration.ZERO, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 8; i++) {
+            fail(breaker, Status.INVALID_ARGUMENT);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        CircuitBreaker breaker = breaker(100, Duration.ofMillis(10), Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            breaker.call(
+                            () ->
+                                    Uni.createFrom()
+                                            .item("slow")
+                                            .onItem()
+                                            .delayIt()
+                                            .by(Duration.ofMillis(30)))
+                    .await()
+                    .indefinitely();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void closesAfterSuccessfulHalfOpenCalls() throws InterruptedException {
+        CircuitBreaker breaker = breaker(100, Duration.ZERO, Duration.ofMillis(50));
+        openBreaker(breaker);
+
+        Thread.sleep(80);
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed(breaker);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(0, registry.get("pipeline.circuit.state").tag("step", name).gauge().value());
+    }
+
+    @Test
+    void halfOpenLimitsProbeCalls() throws InterruptedException {
+        CircuitBreaker breaker = breaker(100, Duration.ZERO, Duration.ofMillis(50));
+        openBreaker(breaker);
+        Thread.sleep(80);
+
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void reopensOnAFailedHalfOpenCall() throws InterruptedException {
+        CircuitBreaker breaker = breaker(100, Duration.ZERO, Duration.ofMillis(50));
+        openBreaker(breaker);
+
+        Thread.sleep(80);
+        fail(breaker, Status.UNAVAILABLE);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertEquals(
+                2,
+                registry.get("pipeline.circuit.transitions")
+                        .tags("step", name, "state", "OPEN")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void cancelledCallsCountAsFailures() {
+        CircuitBreaker breaker = breaker(50, Duration.ZERO, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            cancel(breaker);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void cancelledHalfOpenCallDoesNotKeepTheBreakerHalfOpen() throws InterruptedException {
+        CircuitBreaker breaker = breaker(100, Duration.ZERO, Duration.ofMillis(50));
+        openBreaker(breaker);
+        Thread.sleep(80);
+
+        cancel(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        Thread.sleep(80);
+        succeed(breaker);
+        succeed(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void cancelledStreamingCallsCountAsFailures() {
+        CircuitBreaker breaker = breaker(50, Duration.ZERO, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 4; i++) {
+            breaker.callMulti(() -> Multi.createFrom().<String>nothing())
+                    .subscribe()
+                    .withSubscriber(AssertSubscriber.create(1))
+                    .cancel();
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void guardsStreamingCalls() {
+        CircuitBreaker breaker = breaker(100, Duration.ZERO, Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            breaker.callMulti(
+                            () ->
+                                    Multi.createFrom()
+                                            .<String>failure(
+                                                    Status.UNAVAILABLE.asRuntimeException()))
+                    .onFailure()
+                    .recoverWithCompletion()
+                    .collect()
+                    .asList()
+                    .await()
+                    .indefinitely();
+        }
+
+        assertThrows(
+                CircuitBreakerOpenException.class,
+                () ->
+                        breaker.callMulti(() -> Multi.createFrom().items(1, 2))
+                                .collect()
+                                .asList()
+                                .await()
+                                .indefinitely());
+    }
+
+    @Test
+    void disabledBreakerLetsEveryCallThrough() {
+        CircuitBreaker breaker = CircuitBreaker.of(name, new StepConfig());
+
+        for (int i = 0; i < 50; i++) {
+            fail(breaker, Status.UNAVAILABLE);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(50, calls.get());
+    }
+
+    @Test
+    void recordsConcurrentSuccessesWithoutOpening() throws Exception {
+        CircuitBreaker breaker = breaker(1, Duration.ZERO, Duration.ofMinutes(1));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < 10_000; i++) {
+                                        assertTrue(breaker.tryAcquire());
+                                        breaker.onResult(System.nanoTime(), null);
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private CircuitBreaker breaker(int failureRate, Duration slowCall, Duration openDuration) {
+        return new CircuitBreaker(name, failureRate, slowCall, 4, openDuration, 2, registry);
+    }
+
+    private void openBreaker(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(breaker, Status.UNAVAILABLE);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private void succeed(CircuitBreaker breaker) {
+        breaker.call(
+                        () -> {
+                            calls.incrementAndGet();
+                            return Uni.createFrom().item("ok");
+                        })
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .awaitItem();
+    }
+
+    private void cancel(CircuitBreaker breaker) {
+        breaker.call(
+                        () -> {
+                            calls.incrementAndGet();
+                            return Uni.createFrom().<String>nothing();
+                        })
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .cancel();
+    }
+
+    private Throwable fail(CircuitBreaker breaker, Status status) {
+        return breaker.call(
+                        () -> {
+                            calls.incrementAndGet();
+                            return Uni.createFrom().<String>failure(status.asRuntimeException());
+                        })
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create())
+                .awaitFailure()
+                .getFailure();
+    }
+}
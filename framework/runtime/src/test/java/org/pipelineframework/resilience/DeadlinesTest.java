@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import grpc.health.v1.MutinyHealthGrpc;
+import io.grpc.Deadline;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.TimeoutException;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.config.StepConfig;
+import org.pipelineframework.step.ConfigurableStep;
+import org.pipelineframework.step.StepOneToOne;
+
+class DeadlinesTest {
+
+    @Test
+    void budgetIsTheShorterOfStepTimeoutAndRunDeadline() {
+        assertNull(Deadlines.budget(Duration.ZERO, null));
+        assertEquals(Duration.ofSeconds(1), Deadlines.budget(Duration.ofSeconds(1), null));
+
+        Deadline runDeadline = Deadline.after(200, TimeUnit.MILLISECONDS);
+        Duration budget = Deadlines.budget(Duration.ofSeconds(1), runDeadline);
+        assertTrue(budget.compareTo(Duration.ofMillis(200)) <= 0);
+        assertTrue(budget.compareTo(Duration.ZERO) > 0);
+        assertEquals(Duration.ofMillis(50), Deadlines.budget(Duration.ofMillis(50), runDeadline));
+    }
+
+    @Test
+    void slowCallFailsWithTimeout() {
+        Uni<String> call = Uni.createFrom().nothing();
+
+        assertThrows(
+                TimeoutException.class,
+                () ->
+                        Deadlines.limit(call, Duration.ofMillis(20), null, "step")
+                                .await()
+                                .atMost(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void callIsNotMadeAfterTheRunDeadline() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Uni<String> call =
+                Uni.createFrom()
+                        .item("done")
+                        .onSubscription()
+                        .invoke(subscriptions::incrementAndGet);
+        Deadline expired = Deadline.after(-1, TimeUnit.MILLISECONDS);
+
+        assertThrows(
+                DeadlineExceededException.class,
+                () -> Deadlines.limit(call, null, expired, "step").await().indefinitely());
+        assertEquals(0, subscriptions.get());
+        assertFalse(RetryPolicies.shouldRetry(new DeadlineExceededException("expired")));
+    }
+
+    @Test
+    void streamFailsWhenTheNextItemIsLate() {
+        Multi<Integer> stream =
+                Multi.createFrom()
+                        .items(1, 2)
+                        .onCompletion()
+                        .switchTo(Multi.createFrom().nothing());
+
+        List<Integer> received = new java.util.concurrent.CopyOnWriteArrayList<>();
+        assertThrows(
+                TimeoutException.class,
+                () ->
+                        Deadlines.limit(stream, Duration.ofMillis(20), null, "step")
+                                .onItem()
+                                .invoke(received::add)
+                                .collect()
+                                .asList()
+                                .await()
+                                .atMost(Duration.ofSeconds(5)));
+        assertEquals(List.of(1, 2), received);
+    }
+
+    @Test
+    void stubDeadlineIsTheBudgetOfTheCall() {
+        ManagedChannel channel =
+                ManagedChannelBuilder.forTarget("localhost:1").usePlaintext().build();
+        try {
+            MutinyHealthGrpc.MutinyHealthStub stub = MutinyHealthGrpc.newMutinyStub(channel);
+
+            assertSame(stub, Deadlines.withDeadline(stub, Duration.ZERO, null));
+            Deadline deadline =
+                    Deadlines.withDeadline(stub, Duration.ofSeconds(30), null)
+                            .getCallOptions()
+                            .getDeadline();
+            assertNotNull(deadline);
+            assertTrue(deadline.timeRemaining(TimeUnit.SECONDS) <= 30);
+            assertTrue(deadline.timeRemaining(TimeUnit.SECONDS) > 20);
+        } finally {
+            channel.shutdownNow();
+        }
+    }
+
+    @Test
+    void timedOutAttemptsOfAStepAreRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        SlowStep step = new SlowStep(attempts);
+        step.initialiseWithConfig(
+                new StepConfig()
+                        .timeout(Duration.ofMillis(20))
+                        .retryLimit(2)
+                        .retryWait(Duration.ofMillis(1)));
+
+        String result =
+                step.apply(Uni.createFrom().item("in")).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("in", result);
+        assertEquals(3, attempts.get());
+    }
+
+    /** Hangs on every attempt but the last. */
+    private static final class SlowStep extends ConfigurableStep
+            implements StepOneToOne<String, String> {
+
+        private final AtomicInteger attempts;
+
+        SlowStep(AtomicInteger attempts) {
+            this.attempts = attempts;
+        }
+
+        @Override
+        public Uni<String> applyOneToOne(String in) {
+            return attempts.incrementAndGet() < 3
+                    ? Uni.createFrom().nothing()
+                    : Uni.createFrom().item(in);
+        }
+    }
+}
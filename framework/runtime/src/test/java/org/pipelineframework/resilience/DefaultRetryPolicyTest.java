@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import java.net.ConnectException;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.resilience.RetryPolicy.Classification;
+
+class DefaultRetryPolicyTest {
+
+    private final DefaultRetryPolicy policy = new DefaultRetryPolicy();
+
+    @Test
+    void classifiesByStatus() {
+        assertEquals(
+                Classification.TRANSIENT,
+                policy.classify(new StatusRuntimeException(Status.UNAVAILABLE)));
+        assertEquals(
+                Classification.PERMANENT,
+                policy.classify(new StatusRuntimeException(Status.INVALID_ARGUMENT)));
+        assertEquals(
+                Classification.UNKNOWN,
+                policy.classify(new StatusRuntimeException(Status.INTERNAL)));
+        assertFalse(policy.isRetryable(new StatusRuntimeException(Status.NOT_FOUND)));
+        assertTrue(policy.isRetryable(new StatusRuntimeException(Status.INTERNAL)));
+    }
+
+    @Test
+    void classifiesByExceptionTypeIncludingSubclasses() {
+        assertEquals(Classification.PERMANENT, policy.classify(new NullPointerException()));
+        assertEquals(
+                Classification.PERMANENT,
+                policy.classify(new NumberFormatException("not a number")));
+        assertEquals(Classification.TRANSIENT, policy.classify(new ConnectException("refused")));
+        assertEquals(
+                Classification.TRANSIENT,
+                policy.classify(new SQLTransientConnectionException("pool exhausted")));
+        assertEquals(Classification.UNKNOWN, policy.classify(new RuntimeException("boom")));
+    }
+
+    @Test
+    void callsThatWereNeverMadeAreAlwaysPermanent() {
+        DefaultRetryPolicy permissive =
+                new DefaultRetryPolicy(List.of(), List.of(), List.of(), List.of(), List.of());
+
+        assertFalse(permissive.isRetryable(new CircuitBreakerOpenException("step")));
+    }
+
+    @Test
+    void classifiesBySqlStatePrefix() {
+        assertTrue(policy.isTransient(new SQLException("connection lost", "08006")));
+        assertTrue(policy.isTransient(new SQLException("deadlock", "40P01")));
+        assertFalse(policy.isTransient(new SQLException("duplicate key", "23505")));
+        assertTrue(policy.isTransient(new DriverException("57P01")));
+        assertFalse(policy.isTransient(new DriverException(null)));
+    }
+
+    @Test
+    void classifiesByTransientMessageWhenNoOtherRuleMatches() {
+        assertTrue(policy.isTransient(new RuntimeException("Connection closed by peer")));
+        assertTrue(
+                policy.isTransient(
+                        new RuntimeException(
+                                "persist failed",
+                                new IllegalStateException("Communications link failure"))));
+        assertEquals(
+                Classification.PERMANENT,
+                policy.classify(new IllegalArgumentException("timeout must be positive")));
+        assertEquals(Classification.UNKNOWN, policy.classify(new RuntimeException("boom")));
+
+        DefaultRetryPolicy withoutMessages =
+                new DefaultRetryPolicy(
+                        List.of(), List.of(), List.of(), List.of(), List.of(), List.of());
+        assertFalse(withoutMessages.isTransient(new RuntimeException("connection reset")));
+    }
+
+    @Test
+    void inspectsCausesUntilARuleMatches() {
+        RuntimeException wrapped =
+                new RuntimeException("persist failed", new DriverException("08001"));
+        assertEquals(Classification.TRANSIENT, policy.classify(wrapped));
+
+        RuntimeException permanent =
+                new RuntimeException(
+                        new IllegalArgumentException("bad", new ConnectException("refused")));
+        assertEquals(Classification.PERMANENT, policy.classify(permanent));
+    }
+
+    @Test
+    void configuredRulesReplaceTheDefaults() {
+        DefaultRetryPolicy custom =
+                new DefaultRetryPolicy(
+                        List.of("internal"),
+                        List.of("UNAVAILABLE"),
+                        List.of(),
+                        List.of(IllegalStateException.class.getName()),
+                        List.of("23"));
+
+        assertTrue(custom.isTransient(new StatusRuntimeException(Status.INTERNAL)));
+        assertFalse(custom.isRetryable(new StatusRuntimeException(Status.UNAVAILABLE)));
+        assertFalse(custom.isRetryable(new IllegalStateException()));
+        assertEquals(Classification.UNKNOWN, custom.classify(new NullPointerException()));
+        assertTrue(custom.isTransient(new SQLException("duplicate key", "23505")));
+    }
+
+    @Test
+    void rejectsUnknownStatusNames() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new DefaultRetryPolicy(
+                                List.of("NOT_A_STATUS"),
+                                List.of(),
+                                List.of(),
+                                List.of(),
+                                List.of()));
+    }
+
+    /** Mimics reactive driver exceptions that expose a SQLState without extending SQLException. */
+    public static class DriverException extends RuntimeException {
+        private final String sqlState;
+
+        DriverException(String sqlState) {
+            super("driver failure " + sqlState);
+            this.sqlState = sqlState;
+        }
+
+        public String getSqlState() {
+            return sqlState;
+        }
+    }
+}
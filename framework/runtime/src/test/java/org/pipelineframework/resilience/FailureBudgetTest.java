@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FailureBudgetTest {
+
+    private static final List<String> STEPS = List.of("org.example.Parse", "org.example.Send");
+    private static final RuntimeException CAUSE = new RuntimeException("provider down");
+
+    @Test
+    void countLimitIsExceededByTheFailureAfterTheLastAllowed() {
+        FailureBudget budget = new FailureBudget(STEPS, 3, 0, Duration.ofSeconds(10), 1);
+
+        budget.deadLettered("org.example.Parse", 2, CAUSE);
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+        assertFalse(budget.isExhausted());
+
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+        assertTrue(budget.isExhausted());
+        assertTrue(
+                budget.summary()
+                        .startsWith(
+                                "Failure budget exceeded: 4 items failed, more than the 3 allowed"));
+    }
+
+    @Test
+    void rateLimitWaitsForTheMinimumNumberOfItems() {
+        FailureBudget budget = new FailureBudget(STEPS, 0, 0.5, Duration.ofSeconds(10), 10);
+
+        for (int i = 0; i < 9; i++) {
+            budget.deadLettered("org.example.Send", 1, CAUSE);
+        }
+        assertFalse(budget.isExhausted());
+
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+        assertTrue(budget.isExhausted());
+        assertTrue(budget.summary().contains("Send failed 100.0% of 10 items"));
+    }
+
+    @Test
+    void rateIsMeasuredPerStep() {
+        FailureBudget budget = new FailureBudget(STEPS, 0, 0.5, Duration.ofSeconds(10), 10);
+
+        for (int i = 0; i < 20; i++) {
+            budget.succeeded("org.example.Parse");
+            budget.succeeded("org.example.Send");
+        }
+        for (int i = 0; i < 20; i++) {
+            budget.deadLettered("org.example.Send", 1, CAUSE);
+        }
+        assertFalse(budget.isExhausted());
+
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+        assertTrue(budget.isExhausted());
+    }
+
+    @Test
+    void failuresOutsideTheWindowAreForgotten() throws InterruptedException {
+        FailureBudget budget = new FailureBudget(STEPS, 0, 0.5, Duration.ofMillis(100), 4);
+
+        budget.deadLettered("org.example.Send", 3, CAUSE);
+        Thread.sleep(150);
+        budget.succeeded("org.example.Send");
+        budget.succeeded("org.example.Send");
+        budget.succeeded("org.example.Send");
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+
+        assertFalse(budget.isExhausted());
+    }
+
+    @Test
+    void failuresOfOtherStepsAreIgnored() {
+        FailureBudget budget = new FailureBudget(STEPS, 1, 0, Duration.ofSeconds(10), 1);
+
+        budget.deadLettered("org.example.Other", 5, CAUSE);
+
+        assertFalse(budget.isExhausted());
+    }
+
+    @Test
+    void summaryListsEveryStep() {
+        FailureBudget budget = new FailureBudget(STEPS, 10, 0, Duration.ofSeconds(10), 1);
+        budget.succeeded("org.example.Parse");
+        budget.deadLettered("org.example.Send", 1, CAUSE);
+
+        assertEquals(
+                "Failure budget not exceeded. Steps: Parse 1 succeeded, 0 failed; Send 0 succeeded, 1 failed",
+                budget.summary());
+    }
+
+    @Test
+    void invalidLimitsAreRejected() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FailureBudget(STEPS, -1, 0, Duration.ofSeconds(1), 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FailureBudget(STEPS, 0, 1.5, Duration.ofSeconds(1), 1));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FailureBudget(STEPS, 0, 0.5, Duration.ofMillis(1), 1));
+    }
+}
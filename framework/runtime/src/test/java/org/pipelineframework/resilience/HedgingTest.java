@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pipelineframework.config.StepConfig;
+
+class HedgingTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final String name = "step-" + UUID.randomUUID();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void slowCallIsHedgedAndTheFirstSuccessWins() {
+        Hedging hedging = hedging(Duration.ofMillis(20), 100);
+        AtomicBoolean firstCancelled = new AtomicBoolean();
+
+        String result =
+                hedging.call(
+                                () ->
+                                        attempts.incrementAndGet() == 1
+                                                ? Uni.createFrom()
+                                                        .<String>nothing()
+                                                        .onCancellation()
+                                                        .invoke(() -> firstCancelled.set(true))
+                                                : Uni.createFrom().item("hedge"))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals("hedge", result);
+        assertEquals(2, attempts.get());
+        assertTrue(firstCancelled.get());
+        assertEquals(1, count("pipeline.hedge.sent"));
+        assertEquals(1, count("pipeline.hedge.wins"));
+    }
+
+    @Test
+    void fastCallIsNotHedged() {
+        Hedging hedging = hedging(Duration.ofMillis(200), 100);
+
+        String result = hedging.call(this::immediate).await().atMost(Duration.ofSeconds(5));
+
+        assertEquals("attempt-1", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1, count("pipeline.hedge.calls"));
+        assertEquals(0, count("pipeline.hedge.sent"));
+    }
+
+    @Test
+    void hedgesAreCappedToTheConfiguredShareOfCalls() {
+        Hedging hedging = hedging(Duration.ofMillis(10), 0);
+
+        String result =
+                hedging.call(
+                                () ->
+                                        Uni.createFrom()
+                                                .item("attempt-" + attempts.incrementAndGet())
+                                                .onItem()
+                                                .delayIt()
+                                                .by(Duration.ofMillis(100)))
+                        .await()
+                        .atMost(Duration.ofSeconds(5));
+
+        assertEquals("attempt-1", result);
+        assertEquals(1, attempts.get());
+        assertEquals(1, count("pipeline.hedge.rejected"));
+    }
+
+    @Test
+    void failsOnlyOnceEveryAttemptFailed() {
+        Hedging hedging = hedging(Duration.ofMillis(10), 100);
+
+        Throwable failure =
+                assertThrows(
+                        RuntimeException.class,
+                        () ->
+                                hedging.call(this::slowFailure)
+                                        .await()
+                                        .atMost(Duration.ofSeconds(5)));
+
+        assertEquals(2, attempts.get());
+        assertTrue(failure.getMessage().contains("attempt-1"));
+    }
+
+    @Test
+    void learnsTheDelayFromTheObservedP95() {
+        Hedging hedging = hedging(Duration.ZERO, 10);
+        assertNull(hedging.delay());
+
+        for (int i = 1; i <= Hedging.RECOMPUTE_EVERY; i++) {
+            hedging.recordLatency(Duration.ofMillis(i).toNanos());
+        }
+
+        assertEquals(Duration.ofMillis(61), hedging.delay());
+    }
+
+    @Test
+    void disabledHedgingMakesEachCallOnce() {
+        Hedging hedging = Hedging.of(name, new StepConfig());
+
+        assertEquals("attempt-1", hedging.call(this::immediate).await().indefinitely());
+        assertNull(hedging.delay());
+        assertEquals(1, attempts.get());
+    }
+
+    private Uni<String> immediate() {
+        return Uni.createFrom().item("attempt-" + attempts.incrementAndGet());
+    }
+
+    private Uni<String> slowFailure() {
+        String description = "attempt-" + attempts.incrementAndGet();
+        return Uni.createFrom()
+                .voidItem()
+                .onItem()
+                .delayIt()
+                .by(Duration.ofMillis(50))
+                .chain(
+                        () ->
+                                Uni.createFrom()
+                                        .failure(
+                                                Status.UNAVAILABLE
+                                                        .withDescription(description)
+                                                        .asRuntimeException()));
+    }
+
+    private Hedging hedging(Duration delay, int maxPercent) {
+        return new Hedging(name, delay, maxPercent, scheduler, registry);
+    }
+
+    private double count(String meter) {
+        return registry.get(meter).tag("step", name).counter().count();
+    }
+}
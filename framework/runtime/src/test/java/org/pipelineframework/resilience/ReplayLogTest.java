@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ReplayLogTest {
+
+    @Test
+    void newAttemptReplaysUnacknowledgedItemsWithoutResubscribing() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ReplayLog<Integer> log =
+                new ReplayLog<>(
+                        Multi.createFrom()
+                                .range(0, 10)
+                                .onSubscription()
+                                .invoke(subscriptions::incrementAndGet),
+                        8);
+
+        AssertSubscriber<Integer> first =
+                log.stream().subscribe().withSubscriber(AssertSubscriber.create(5));
+        first.assertItems(0, 1, 2, 3, 4);
+        log.acknowledge(3);
+        first.cancel();
+
+        AssertSubscriber<Integer> second =
+                log.stream().subscribe().withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        second.assertCompleted().assertItems(3, 4, 5, 6, 7, 8, 9);
+        assertEquals(1, subscriptions.get());
+        assertEquals(3, log.acknowledged());
+        assertEquals(10, log.received());
+        assertTrue(log.canReplay());
+    }
+
+    @Test
+    void acknowledgementIsCappedAtTheDeliveredItems() {
+        ReplayLog<Integer> log = new ReplayLog<>(Multi.createFrom().range(0, 10), 4);
+        log.stream().subscribe().withSubscriber(AssertSubscriber.create(2));
+
+        log.acknowledge(5);
+
+        assertEquals(2, log.acknowledged());
+    }
+
+    @Test
+    void evictingUnacknowledgedItemsMakesTheLogUnreplayable() {
+        ReplayLog<Integer> log = new ReplayLog<>(Multi.createFrom().range(0, 100), 4);
+
+        log.stream()
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE))
+                .assertCompleted();
+
+        assertEquals(100, log.received());
+        assertFalse(log.canReplay());
+    }
+
+    @Test
+    void acknowledgedStreamLargerThanTheLogStaysReplayable() {
+        ReplayLog<Integer> log = new ReplayLog<>(Multi.createFrom().range(0, 100), 4);
+        AssertSubscriber<Integer> subscriber =
+                log.stream()
+                        .onItem()
+                        .invoke(item -> log.acknowledge(1))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+
+        subscriber.assertCompleted();
+        assertEquals(100, subscriber.getItems().size());
+        assertTrue(log.canReplay());
+    }
+
+    @Test
+    void sourceFailureIsNotReplayable() {
+        ReplayLog<Integer> log =
+                new ReplayLog<>(
+                        Multi.createFrom().<Integer>failure(new IllegalStateException("boom")), 4);
+
+        log.stream()
+                .subscribe()
+                .withSubscriber(AssertSubscriber.create(1))
+                .assertFailedWith(IllegalStateException.class, "boom");
+
+        assertFalse(log.canReplay());
+    }
+
+    @Test
+    void closeCancelsTheSource() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        ReplayLog<Integer> log =
+                new ReplayLog<>(
+                        Multi.createFrom()
+                                .range(0, 10)
+                                .onCancellation()
+                                .invoke(() -> cancelled.set(true)),
+                        4);
+        AssertSubscriber<Integer> subscriber =
+                log.stream().subscribe().withSubscriber(AssertSubscriber.create(2));
+        subscriber.cancel();
+        assertFalse(cancelled.get(), "cancelling an attempt keeps the source for the next one");
+
+        log.close();
+
+        assertTrue(cancelled.get());
+        assertFalse(log.canReplay());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void permitsRetriesUpToTheRatioOfRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 0, Duration.ofMinutes(1), registry);
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+        int permitted = 0;
+        for (int i = 0; i < 50; i++) {
+            if (budget.tryAcquireRetry()) {
+                permitted++;
+            }
+        }
+
+        assertEquals(10, permitted);
+        assertEquals(10, registry.get("pipeline.retry.permitted").counter().count());
+        assertEquals(40, registry.get("pipeline.retry.budget.exhausted").counter().count());
+    }
+
+    @Test
+    void minimumRatePermitsRetriesWithoutRequests() {
+        RetryBudget budget = new RetryBudget(0.1, 2, Duration.ofSeconds(10), null);
+
+        int permitted = 0;
+        while (budget.tryAcquireRetry()) {
+            permitted++;
+        }
+
+        assertEquals(20, permitted);
+    }
+
+    @Test
+    void retriesLeaveTheWindow() throws InterruptedException {
+        RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofMillis(100), null);
+        budget.recordRequest();
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        Thread.sleep(150);
+        budget.recordRequest();
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+    }
+
+    @Test
+    void unlimitedBudgetPermitsEveryRetry() {
+        RetryBudget budget = RetryBudget.unlimited();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(budget.tryAcquireRetry());
+        }
+        assertFalse(budget.isEnabled());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RetryBudget(-0.1, 0, Duration.ofSeconds(1), null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RetryBudget(0.1, -1, Duration.ofSeconds(1), null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new RetryBudget(0.1, 0, Duration.ofMillis(5), null));
+    }
+}
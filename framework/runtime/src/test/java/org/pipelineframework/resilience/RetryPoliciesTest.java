@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.pipelineframework.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RetryPoliciesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void restoreBudget() {
+        RetryPolicies.setBudget(RetryBudget.unlimited());
+    }
+
+    @Test
+    void retryLoopTakesOnePermitPerRetryMade() {
+        RetryPolicies.setBudget(new RetryBudget(0, 100, Duration.ofSeconds(1), registry));
+        AtomicInteger attempts = new AtomicInteger();
+
+        Uni<String> call =
+                Uni.createFrom()
+                        .<String>failure(() -> new StatusRuntimeException(Status.UNAVAILABLE))
+                        .onSubscription()
+                        .invoke(attempts::incrementAndGet)
+                        .onFailure(RetryPolicies.retryPredicate(2))
+                        .retry()
+                        .atMost(2);
+
+        assertThrows(StatusRuntimeException.class, () -> call.await().indefinitely());
+        assertEquals(3, attempts.get());
+        assertEquals(2, registry.get("pipeline.retry.permitted").counter().count());
+    }
+
+    @Test
+    void retryPredicateDoesNotSpendPermitsOnPermanentFailures() {
+        RetryPolicies.setBudget(new RetryBudget(0, 100, Duration.ofSeconds(1), registry));
+
+        assertFalse(RetryPolicies.retryPredicate(3).test(new NullPointerException()));
+        assertEquals(0, registry.get("pipeline.retry.permitted").counter().count());
+    }
+}
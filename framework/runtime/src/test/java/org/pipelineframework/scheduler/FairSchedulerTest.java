@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.scheduler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.AssertSubscriber;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+import io.smallrye.mutiny.subscription.MultiEmitter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FairSchedulerTest {
+
+    private static final String STEP = "org.example.Send";
+
+    private SimpleMeterRegistry registry;
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> calls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private FairScheduler scheduler(int capacity) {
+        return new FairScheduler(step -> STEP.equals(step) ? capacity : 0, registry);
+    }
+
+    private UniAssertSubscriber<String> call(Admission admission, String name) {
+        return admission
+                .call(
+                        () -> {
+                            started.add(name);
+                            CompletableFuture<String> result = new CompletableFuture<>();
+                            calls.add(result);
+                            return Uni.createFrom().completionStage(result);
+                        })
+                .subscribe()
+                .withSubscriber(UniAssertSubscriber.create());
+    }
+
+    private void completeNext() {
+        calls.remove(0).complete("done");
+    }
+
+    @Test
+    void stepsWithoutCapacityAreNotScheduled() {
+        ScheduledRun run = scheduler(2).join("run-1", RunShare.DEFAULT);
+
+        assertSame(Admission.DIRECT, run.admission("org.example.Parse"));
+        assertNotSame(Admission.DIRECT, run.admission(STEP));
+    }
+
+    @Test
+    void callsWaitForAFreeSlot() {
+        Admission admission = scheduler(2).join("run-1", RunShare.DEFAULT).admission(STEP);
+
+        List<UniAssertSubscriber<String>> subscribers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            subscribers.add(call(admission, "call-" + i));
+        }
+        assertEquals(List.of("call-0", "call-1"), started);
+
+        completeNext();
+        subscribers.get(0).assertItem("done");
+        assertEquals(List.of("call-0", "call-1", "call-2"), started);
+
+        while (!calls.isEmpty()) {
+            completeNext();
+        }
+        subscribers.forEach(subscriber -> subscriber.assertItem("done"));
+        assertEquals(5, started.size());
+    }
+
+    @Test
+    void slotsAreSharedInProportionToTheWeightsOfTheRuns() {
+        FairScheduler scheduler = scheduler(1);
+        Admission heavy = scheduler.join("heavy", new RunShare(0, 3)).admission(STEP);
+        Admission light = scheduler.join("light", new RunShare(0, 1)).admission(STEP);
+
+        for (int i = 0; i < 40; i++) {
+            call(heavy, "heavy");
+        }
+        for (int i = 0; i < 40; i++) {
+            call(light, "light");
+        }
+        for (int i = 0; i < 39; i++) {
+            completeNext();
+        }
+
+        List<String> first = started.subList(0, 40);
+        assertEquals(30, first.stream().filter("heavy"::equals).count());
+        assertEquals(10, first.stream().filter("light"::equals).count());
+    }
+
+    @Test
+    void aLargeRunDoesNotDelayARunJoiningLater() {
+        FairScheduler scheduler = scheduler(1);
+        Admission large = scheduler.join("large", RunShare.DEFAULT).admission(STEP);
+        for (int i = 0; i < 100; i++) {
+            call(large, "large");
+        }
+        completeNext();
+        completeNext();
+
+        Admission small = scheduler.join("small", RunShare.DEFAULT).admission(STEP);
+        call(small, "small");
+        completeNext();
+
+        assertEquals("small", started.get(started.size() - 1));
+        assertEquals(4, started.size());
+    }
+
+    @Test
+    void higherPriorityRunsGoFirst() {
+        FairScheduler scheduler = scheduler(1);
+        Admission low = scheduler.join("low", new RunShare(0, 10)).admission(STEP);
+        Admission high = scheduler.join("high", new RunShare(1, 1)).admission(STEP);
+
+        call(low, "low");
+        call(low, "low");
+        call(low, "low");
+        call(high, "high");
+        call(high, "high");
+        for (int i = 0; i < 4; i++) {
+            completeNext();
+        }
+
+        assertEquals(List.of("low", "high", "high", "low", "low"), started);
+    }
+
+    @Test
+    void cancelledCallsGiveUpTheirPlace() {
+        FairScheduler scheduler = scheduler(1);
+        Admission admission = scheduler.join("run-1", RunShare.DEFAULT).admission(STEP);
+        StepQueue queue = scheduler.queue(STEP);
+
+        call(admission, "first");
+        UniAssertSubscriber<String> waiting = call(admission, "cancelled");
+        assertEquals(1, queue.queued());
+
+        waiting.cancel();
+        assertEquals(0, queue.queued());
+
+        UniAssertSubscriber<String> running = call(admission, "running");
+        running.cancel();
+        completeNext();
+        assertEquals(List.of("first"), started);
+        assertEquals(0, queue.inFlight());
+
+        call(admission, "next");
+        assertEquals(List.of("first", "next"), started);
+    }
+
+    @Test
+    void streamsHoldTheirSlotUntilTheyTerminate() {
+        Admission admission = scheduler(1).join("run-1", RunShare.DEFAULT).admission(STEP);
+        AtomicReference<MultiEmitter<? super String>> emitter = new AtomicReference<>();
+
+        AssertSubscriber<String> stream =
+                admission.stream(() -> Multi.createFrom().<String>emitter(emitter::set))
+                        .subscribe()
+                        .withSubscriber(AssertSubscriber.create(Long.MAX_VALUE));
+        call(admission, "call");
+        emitter.get().emit("item");
+        assertTrue(started.isEmpty());
+
+        emitter.get().complete();
+        stream.assertCompleted().assertItems("item");
+        assertEquals(List.of("call"), started);
+    }
+
+    @Test
+    void leavingWithdrawsWaitingCallsAndRemovesMetrics() {
+        FairScheduler scheduler = scheduler(2);
+        ScheduledRun first = scheduler.join("first", RunShare.DEFAULT);
+        ScheduledRun second = scheduler.join("second", RunShare.DEFAULT);
+        Admission admission = first.admission(STEP);
+        call(admission, "first");
+        call(second.admission(STEP), "second");
+        call(admission, "waiting");
+
+        assertEquals(
+                0.5, registry.get("pipeline.scheduler.share").tag("run", "first").gauge().value());
+        assertEquals(
+                1, registry.get("pipeline.scheduler.queued").tag("run", "first").gauge().value());
+        assertEquals(
+                2, registry.get("pipeline.scheduler.in.flight").tag("step", STEP).gauges().size());
+        assertEquals(
+                1,
+                registry.get("pipeline.scheduler.granted").tag("run", "second").counter().count());
+        assertEquals(0.5, scheduler.shares(STEP).get("second"));
+
+        first.leave();
+        assertNull(registry.find("pipeline.scheduler.share").tag("run", "first").gauge());
+        assertEquals(0, scheduler.queue(STEP).queued());
+        assertFalse(scheduler.shares(STEP).containsKey("first"));
+        assertThrows(IllegalStateException.class, () -> first.admission(STEP));
+    }
+
+    @Test
+    void weightsMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new RunShare(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RunShare(0, Double.NaN));
+    }
+}
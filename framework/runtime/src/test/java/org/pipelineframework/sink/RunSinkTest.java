@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2023-2025 Mariano Barcia
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.pipelineframework.sink;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.smallrye.mutiny.Uni;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class RunSinkTest {
+
+    @Test
+    void samplingKeepsEveryItemUntilTheSampleIsFull() {
+        SamplingSink sink = RunSink.sampling(5);
+
+        for (int i = 0; i < 3; i++) {
+            sink.accept(i);
+        }
+
+        assertEquals(List.of(0, 1, 2), sink.sample());
+        assertEquals(3, sink.seen());
+    }
+
+    @Test
+    void samplingKeepsABoundedSampleOfDistinctItems() {
+        SamplingSink sink = RunSink.sampling(10);
+
+        for (int i = 0; i < 10_000; i++) {
+            sink.accept(i);
+        }
+
+        List<Object> sample = sink.sample();
+        assertEquals(10, sample.size());
+        assertEquals(10, new HashSet<>(sample).size());
+        assertEquals(10_000, sink.seen());
+    }
+
+    @Test
+    void samplingIsSpreadOverTheWholeStream() {
+        // Over many draws, late items must be sampled too, not only the first ones
+        Set<Object> sampled = new HashSet<>();
+        for (int draw = 0; draw < 200; draw++) {
+            SamplingSink sink = RunSink.sampling(1);
+            for (int i = 0; i < 4; i++) {
+                sink.accept(i);
+            }
+            sampled.addAll(sink.sample());
+        }
+        assertEquals(Set.of(0, 1, 2, 3), sampled);
+    }
+
+    @Test
+    void samplingRejectsEmptySamples() {
+        assertThrows(IllegalArgumentException.class, () -> RunSink.sampling(0));
+    }
+
+    @Test
+    void consumerAndStepSinksPassEveryItem() {
+        List<Object> consumed = new ArrayList<>();
+        RunSink.of(consumed::add).accept("a").await().indefinitely();
+        RunSink.ofStep(item -> Uni.createFrom().item(consumed.add(item)))
+                .accept("b")
+                .await()
+                .indefinitely();
+
+        assertEquals(List.of("a", "b"), consumed);
+    }
+}